@@ -3,16 +3,28 @@ package fr.foacs.hostocars;
 import fr.foacs.hostocars.configuration.StartupWorker;
 import io.swagger.v3.oas.annotations.OpenAPIDefinition;
 import io.swagger.v3.oas.annotations.info.Info;
+import java.util.Arrays;
 import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * Application launcher with arguments.
+ * <br/>
+ * <br/>
+ * With the {@code --import.file=<path>} argument, the application is started without the web server, imports the cars of the given CSV or NDJSON file
+ * and exits. With the {@code --stats.rebuild} argument, it is started the same way, rebuilds the interventions stats from the interventions and exits.
  */
+@EnableScheduling
 @SpringBootApplication
 @OpenAPIDefinition(info = @Info(title = "HostoCars API", version = "2.0.1-SNAPSHOT"))
 public class Application {
 
+    private static final String IMPORT_ARGUMENT = "--import.file=";
+
+    private static final String REBUILD_ARGUMENT = "--stats.rebuild";
+
     /**
      * Main function with arguments.
      *
@@ -23,8 +35,18 @@ public class Application {
         // Performs the pre-run initialization
         StartupWorker.initialize();
 
-        // Runs the application
-        SpringApplication.run(Application.class, args);
+        // Runs the application, headless in the import and rebuild modes
+        final var application = new SpringApplication(Application.class);
+        final var headlessMode = Arrays.stream(args).anyMatch(arg -> arg.startsWith(IMPORT_ARGUMENT) || arg.startsWith(REBUILD_ARGUMENT));
+        if (headlessMode) {
+            application.setWebApplicationType(WebApplicationType.NONE);
+        }
+        final var context = application.run(args);
+
+        // Exits with the code of the import once the file is imported, or once the stats are rebuilt
+        if (headlessMode) {
+            System.exit(SpringApplication.exit(context));
+        }
     }
 
 }
@@ -0,0 +1,124 @@
+package fr.foacs.hostocars.configuration;
+
+import static java.util.Objects.isNull;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import java.time.Duration;
+import java.util.List;
+import java.util.OptionalLong;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration bean used to set up the in-process second-level and query caches of Hibernate.
+ * <br/>
+ * <br/>
+ * The cache regions are created with their size and time to live from the application properties, and Hibernate is configured to fail on any region not
+ * created here.
+ */
+@Configuration
+@ConditionalOnProperty("spring.profiles.active")
+public class CacheConfig {
+
+    /**
+     * The regions of the cached entities and collections, declared on their mappings.
+     */
+    private static final List<String> ENTITY_REGIONS = List.of("attachments", "cars", "cars.interventions", "interventions", "interventions.operations", "operations",
+        "operations.operationLines", "operationLines");
+
+    /**
+     * The default region of the cached query results.
+     */
+    private static final String QUERY_RESULTS_REGION = "default-query-results-region";
+
+    /**
+     * The default region of the last update timestamps of the tables, used to invalidate the cached query results.
+     */
+    private static final String UPDATE_TIMESTAMPS_REGION = "default-update-timestamps-region";
+
+    /**
+     * Creates the JCache manager backed by Caffeine, with all the Hibernate cache regions.
+     *
+     * @param entitySize
+     *     The maximum number of elements of each entity or collection region
+     * @param entityTimeToLive
+     *     The time to live of the elements of the entity and collection regions
+     * @param querySize
+     *     The maximum number of cached query results
+     * @param queryTimeToLive
+     *     The time to live of the cached query results
+     *
+     * @return the cache manager
+     */
+    @Bean
+    public CacheManager hibernateCacheManager(@Value("${cache.entity.size}") final Long entitySize,
+        @Value("${cache.entity.time-to-live}") final Duration entityTimeToLive, @Value("${cache.query.size}") final Long querySize,
+        @Value("${cache.query.time-to-live}") final Duration queryTimeToLive) {
+        final var cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName()).getCacheManager();
+
+        ENTITY_REGIONS.forEach(region -> createCache(cacheManager, region, configuration(entitySize, entityTimeToLive)));
+        createCache(cacheManager, QUERY_RESULTS_REGION, configuration(querySize, queryTimeToLive));
+
+        // The update timestamps must never be evicted, otherwise stale query results could be considered as up to date
+        createCache(cacheManager, UPDATE_TIMESTAMPS_REGION, new CaffeineConfiguration<>());
+
+        return cacheManager;
+    }
+
+    /**
+     * Creates the customizer passing the cache manager to Hibernate, which closes it when the entity manager factory is closed.
+     *
+     * @param hibernateCacheManager
+     *     The cache manager
+     *
+     * @return the Hibernate properties customizer
+     */
+    @Bean
+    public HibernatePropertiesCustomizer hibernateCacheManagerCustomizer(final CacheManager hibernateCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+
+    /**
+     * Generates the configuration of a cache region.
+     *
+     * @param size
+     *     The maximum number of elements
+     * @param timeToLive
+     *     The time to live of the elements
+     *
+     * @return the cache configuration
+     */
+    private static CaffeineConfiguration<Object, Object> configuration(final Long size, final Duration timeToLive) {
+        final var configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(size));
+        configuration.setExpireAfterWrite(OptionalLong.of(timeToLive.toNanos()));
+        return configuration;
+    }
+
+    /**
+     * Creates a cache region if it doesn't exist yet in the cache manager, which is shared by the application contexts of the same class loader.
+     *
+     * @param cacheManager
+     *     The cache manager
+     * @param region
+     *     The name of the region
+     * @param configuration
+     *     The configuration of the region
+     */
+    private static void createCache(final CacheManager cacheManager, final String region, final CaffeineConfiguration<Object, Object> configuration) {
+        // The entries are stored by reference, Hibernate already caching disassembled states
+        configuration.setStoreByValue(false);
+
+        if (isNull(cacheManager.getCache(region))) {
+            cacheManager.createCache(region, configuration);
+        }
+    }
+
+}
@@ -0,0 +1,69 @@
+package fr.foacs.hostocars.configuration;
+
+import fr.foacs.hostocars.repository.CarImporter;
+import fr.foacs.hostocars.repository.CarImporter.Format;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.ExitCodeGenerator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Runner importing the cars of the file given by the {@code import.file} property, once the application is started in the headless import mode.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty({"spring.profiles.active", "import.file"})
+public class CarImportRunner implements ApplicationRunner, ExitCodeGenerator {
+
+    private final CarImporter importer;
+
+    private final Path file;
+
+    private int exitCode;
+
+    /**
+     * Valued autowired constructor.
+     *
+     * @param importer
+     *     The autowired {@link CarImporter} component
+     * @param file
+     *     The path of the file to import, whose format is given by its extension
+     */
+    @Autowired
+    public CarImportRunner(final CarImporter importer, @Value("${import.file}") final Path file) {
+        this.importer = importer;
+        this.file = file;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Loggable(inputs = false)
+    public void run(final ApplicationArguments args) throws IOException {
+        final var format = Format.ofFileName(this.file.getFileName().toString());
+        try (final var input = Files.newInputStream(this.file)) {
+            final var report = this.importer.importCars(input, format);
+            report.getRejectedRows().forEach(row -> log.warn("Line {} rejected: {}", row.getLine(), row.getReason()));
+            this.exitCode = report.getRejectedCount() == 0 ? 0 : 1;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return {@code 0} if all the rows were imported, else {@code 1}
+     */
+    @Override
+    public int getExitCode() {
+        return this.exitCode;
+    }
+
+}
@@ -0,0 +1,189 @@
+package fr.foacs.hostocars.configuration;
+
+import com.zaxxer.hikari.HikariDataSource;
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.Map;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.sqlite.SQLiteConfig;
+import org.sqlite.SQLiteConfig.JournalMode;
+import org.sqlite.SQLiteConfig.Pragma;
+import org.sqlite.SQLiteConfig.SynchronousMode;
+import org.sqlite.SQLiteConfig.TransactionMode;
+
+/**
+ * Configuration bean used to set up the SQLite connections, with a single writer connection and a pool of read-only connections.
+ * <br/>
+ * <br/>
+ * The database is switched to the WAL journal mode, in which the readers aren't blocked by the writer. The read-only transactions are routed to the reader
+ * pool, and all the other statements to the writer connection, so that the write transactions of the application are queued instead of failing with
+ * {@code SQLITE_BUSY}. The connection of a transaction is only acquired by its first statement, once the transaction is known to be read-only or not.
+ */
+@Configuration
+@ConditionalOnProperty("spring.profiles.active")
+public class DataSourceConfig {
+
+    private static final String WRITER_POOL_NAME = "writer";
+
+    private static final String READER_POOL_NAME = "reader";
+
+    /**
+     * Creates the pool holding the single writer connection. Its transactions are started with an immediate lock, so that the writers of other processes
+     * wait for it instead of failing when upgrading their lock.
+     *
+     * @param properties
+     *     The datasource properties, holding the database URL
+     * @param synchronous
+     *     The synchronization mode of the writes
+     * @param mmapSize
+     *     The maximum number of bytes of the database read through memory-mapped I/O
+     * @param cacheSize
+     *     The size of the page cache of each connection, in pages if positive or in KiB if negative
+     * @param busyTimeout
+     *     The time waited for the locks held by other connections
+     *
+     * @return the writer pool
+     */
+    @Bean
+    @Qualifier(WRITER_POOL_NAME)
+    public HikariDataSource writerDataSource(final DataSourceProperties properties, @Value("${database.synchronous}") final SynchronousMode synchronous,
+        @Value("${database.mmap-size}") final Long mmapSize, @Value("${database.cache-size}") final Integer cacheSize,
+        @Value("${database.busy-timeout}") final Duration busyTimeout) {
+        final var config = createConfig(synchronous, mmapSize, cacheSize, busyTimeout);
+        config.setJournalMode(JournalMode.WAL);
+        config.setTransactionMode(TransactionMode.IMMEDIATE);
+        return createPool(properties, config, WRITER_POOL_NAME, 1);
+    }
+
+    /**
+     * Creates the pool of read-only connections.
+     *
+     * @param properties
+     *     The datasource properties, holding the database URL
+     * @param synchronous
+     *     The synchronization mode of the writes
+     * @param mmapSize
+     *     The maximum number of bytes of the database read through memory-mapped I/O
+     * @param cacheSize
+     *     The size of the page cache of each connection, in pages if positive or in KiB if negative
+     * @param busyTimeout
+     *     The time waited for the locks held by other connections
+     * @param size
+     *     The number of read-only connections
+     *
+     * @return the reader pool
+     */
+    @Bean
+    @Qualifier(READER_POOL_NAME)
+    public HikariDataSource readerDataSource(final DataSourceProperties properties, @Value("${database.synchronous}") final SynchronousMode synchronous,
+        @Value("${database.mmap-size}") final Long mmapSize, @Value("${database.cache-size}") final Integer cacheSize,
+        @Value("${database.busy-timeout}") final Duration busyTimeout, @Value("${database.read-pool.size}") final Integer size) {
+        final var config = createConfig(synchronous, mmapSize, cacheSize, busyTimeout);
+        config.setReadOnly(true);
+        final var pool = createPool(properties, config, READER_POOL_NAME, size);
+        pool.setReadOnly(true);
+        return pool;
+    }
+
+    /**
+     * Creates the datasource used by the application, routing each transaction to the reader or the writer pool.
+     * <br/>
+     * <br/>
+     * The pools are injected lazily, and the default connection properties are given instead of being read from a connection: the initialization of each
+     * pool looks the primary datasource up, which would otherwise be a cycle when the pools are created first, as in the headless modes.
+     *
+     * @param writerDataSource
+     *     The writer pool
+     * @param readerDataSource
+     *     The reader pool
+     *
+     * @return the datasource
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(@Lazy @Qualifier(WRITER_POOL_NAME) final DataSource writerDataSource,
+        @Lazy @Qualifier(READER_POOL_NAME) final DataSource readerDataSource) {
+        final var routingDataSource = new ReadWriteRoutingDataSource();
+        routingDataSource.setTargetDataSources(Map.of(true, readerDataSource, false, writerDataSource));
+        routingDataSource.setDefaultTargetDataSource(writerDataSource);
+        routingDataSource.afterPropertiesSet();
+        final var dataSource = new LazyConnectionDataSourceProxy();
+        dataSource.setTargetDataSource(routingDataSource);
+        dataSource.setDefaultAutoCommit(true);
+        dataSource.setDefaultTransactionIsolation(Connection.TRANSACTION_SERIALIZABLE);
+        dataSource.afterPropertiesSet();
+        return dataSource;
+    }
+
+    /**
+     * Creates the SQLite configuration shared by the writer and the readers.
+     *
+     * @param synchronous
+     *     The synchronization mode of the writes
+     * @param mmapSize
+     *     The maximum number of bytes of the database read through memory-mapped I/O
+     * @param cacheSize
+     *     The size of the page cache of each connection, in pages if positive or in KiB if negative
+     * @param busyTimeout
+     *     The time waited for the locks held by other connections
+     *
+     * @return the SQLite configuration
+     */
+    private static SQLiteConfig createConfig(final SynchronousMode synchronous, final Long mmapSize, final Integer cacheSize, final Duration busyTimeout) {
+        final var config = new SQLiteConfig();
+        config.setSynchronous(synchronous);
+        config.setPragma(Pragma.MMAP_SIZE, String.valueOf(mmapSize));
+        config.setCacheSize(cacheSize);
+        config.setBusyTimeout((int) busyTimeout.toMillis());
+        return config;
+    }
+
+    /**
+     * Creates a pool of connections to the database, opened with the given SQLite configuration.
+     *
+     * @param properties
+     *     The datasource properties, holding the database URL
+     * @param config
+     *     The SQLite configuration
+     * @param name
+     *     The name of the pool
+     * @param size
+     *     The number of connections
+     *
+     * @return the pool
+     */
+    private static HikariDataSource createPool(final DataSourceProperties properties, final SQLiteConfig config, final String name, final int size) {
+        final var pool = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        pool.setPoolName(name);
+        pool.setMaximumPoolSize(size);
+        pool.setDataSourceProperties(config.toProperties());
+        return pool;
+    }
+
+    /**
+     * Datasource routing the connections of the read-only transactions to the reader pool, and all the other connections to the writer pool.
+     */
+    static class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        protected Object determineCurrentLookupKey() {
+            return TransactionSynchronizationManager.isActualTransactionActive() && TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+        }
+
+    }
+
+}
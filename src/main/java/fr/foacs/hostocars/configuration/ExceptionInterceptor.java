@@ -3,6 +3,7 @@ package fr.foacs.hostocars.configuration;
 import java.util.Objects;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -28,9 +29,53 @@ public class ExceptionInterceptor {
     public ResponseEntity<String> resolve(final Exception exception) {
         log.error("An error occurred", exception);
 
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(describe(exception));
+    }
+
+    /**
+     * Resolves the intercepted invalid request exception, thrown where the input of a request is validated, by logging it and returning a {@code 400} HTTP
+     * response with the description of the invalid input as the body. The other invalid argument exceptions are internal errors.
+     *
+     * @param exception
+     *     The intercepted exception
+     *
+     * @return a {@code 400} HTTP response
+     */
+    @ExceptionHandler(InvalidRequestException.class)
+    public ResponseEntity<String> resolveBadRequest(final InvalidRequestException exception) {
+        log.warn("An invalid request has been received", exception);
+
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(exception.getMessage());
+    }
+
+    /**
+     * Resolves the intercepted optimistic locking exception, thrown when an entity has been updated since it has been read, by logging it and returning a
+     * {@code 409} HTTP response with the exception as the body.
+     *
+     * @param exception
+     *     The intercepted exception
+     *
+     * @return a {@code 409} HTTP response
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<String> resolveConflict(final OptimisticLockingFailureException exception) {
+        log.warn("An outdated entity has been received", exception);
+
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(describe(exception));
+    }
+
+    /**
+     * Describes the given exception with its class name and its message (if there is one).
+     *
+     * @param exception
+     *     The exception to describe
+     *
+     * @return the exception description
+     */
+    private static String describe(final Exception exception) {
         final var className = exception.getClass().getSimpleName();
         final var message = exception.getLocalizedMessage();
-        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Objects.isNull(message) ? className : className + ": " + message);
+        return Objects.isNull(message) ? className : className + ": " + message;
     }
 
 }
@@ -0,0 +1,36 @@
+package fr.foacs.hostocars.configuration;
+
+import io.undertow.servlet.spec.ServletOutputStreamImpl;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.ResourceHttpMessageConverter;
+
+/**
+ * {@link ResourceHttpMessageConverter} transferring the file resources directly from their {@link FileChannel} to the Undertow output stream, so that their
+ * content is sent by the operating system without being copied on the heap.
+ */
+class FileChannelResourceHttpMessageConverter extends ResourceHttpMessageConverter {
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void writeContent(final Resource resource, final HttpOutputMessage outputMessage) throws IOException {
+        if (resource.isFile()) {
+            // Gets the body first so that the headers are written
+            final var body = outputMessage.getBody();
+            if (body instanceof ServletOutputStreamImpl) {
+                try (final var channel = FileChannel.open(resource.getFile().toPath(), StandardOpenOption.READ)) {
+                    ((ServletOutputStreamImpl) body).transferFrom(channel);
+                }
+                return;
+            }
+        }
+
+        super.writeContent(resource, outputMessage);
+    }
+
+}
@@ -0,0 +1,35 @@
+package fr.foacs.hostocars.configuration;
+
+/**
+ * Exception thrown where the input of a request is validated, resolved as a {@code 400} HTTP response by the {@link ExceptionInterceptor}.
+ * <br/>
+ * <br/>
+ * Its message is sent to the client, so it only describes the invalid input.
+ */
+public class InvalidRequestException extends IllegalArgumentException {
+
+    private static final long serialVersionUID = -3962481275017604318L;
+
+    /**
+     * Valued constructor.
+     *
+     * @param message
+     *     The description of the invalid input
+     */
+    public InvalidRequestException(final String message) {
+        super(message);
+    }
+
+    /**
+     * Valued constructor.
+     *
+     * @param message
+     *     The description of the invalid input
+     * @param cause
+     *     The cause of the exception
+     */
+    public InvalidRequestException(final String message, final Throwable cause) {
+        super(message, cause);
+    }
+
+}
@@ -4,23 +4,29 @@ import static java.util.Objects.isNull;
 import static java.util.Objects.nonNull;
 
 import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializerProvider;
 import com.fasterxml.jackson.databind.module.SimpleModule;
 import com.fasterxml.jackson.databind.ser.std.StdSerializer;
 import java.beans.IntrospectionException;
 import java.beans.Introspector;
-import java.beans.PropertyDescriptor;
 import java.io.IOException;
 import java.io.Serializable;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Field;
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Member;
+import java.lang.reflect.UndeclaredThrowableException;
 import java.math.BigDecimal;
 import java.math.BigInteger;
-import java.util.Arrays;
-import java.util.Optional;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
 import lombok.NoArgsConstructor;
 import lombok.SneakyThrows;
 
@@ -51,11 +57,22 @@ public final class JsonUtil {
 
     /**
      * Custom serializer for {@link Serializable} objects.
+     * <br/>
+     * <br/>
+     * The properties of each serializable class are resolved once into a {@link PropertyWriter} list, kept as long as the class is loaded. The getters are
+     * then called through method handles, and the totally hidden properties are left out of the list.
      */
     private static class CustomSerializer extends StdSerializer<Serializable> {
 
         private static final long serialVersionUID = -3196299493404776431L;
 
+        private static final ClassValue<List<PropertyWriter>> PROPERTY_WRITERS = new ClassValue<>() {
+            @Override
+            protected List<PropertyWriter> computeValue(final Class<?> serializableClass) {
+                return resolvePropertyWriters(serializableClass);
+            }
+        };
+
         /**
          * {@inheritDoc}
          */
@@ -71,25 +88,40 @@ public final class JsonUtil {
         }
 
         /**
-         * Tries to match the property corresponding to the given descriptor with the fields of the given serializable class or its super classes.
+         * Resolves the writers of the properties of the given serializable class, in the order of their names.
+         * <br/>
+         * <br/>
+         * Only the properties having a getter and a matching field in the class or its super classes are written. The getters of totally hidden fields are
+         * not kept, so that their values are never loaded.
          *
          * @param serializableClass
          *     The serializable class
-         * @param propertyDescriptor
-         *     The property descriptor
          *
-         * @return the optional matched field
+         * @return the writers of the properties of the class
          */
-        private static Optional<Field> matchField(final Class<?> serializableClass, final PropertyDescriptor propertyDescriptor) {
-            Optional<Field> result;
-            var currentClass = serializableClass;
+        @SneakyThrows({IllegalAccessException.class, IntrospectionException.class})
+        private static List<PropertyWriter> resolvePropertyWriters(final Class<?> serializableClass) {
+            final Map<String, Field> fields = new HashMap<>();
+            for (var currentClass = serializableClass; nonNull(currentClass); currentClass = currentClass.getSuperclass()) {
+                for (final var field : currentClass.getDeclaredFields()) {
+                    fields.putIfAbsent(field.getName(), field);
+                }
+            }
 
-            do {
-                result = Arrays.stream(currentClass.getDeclaredFields()).filter(field -> field.getName().equals(propertyDescriptor.getName())).findFirst();
-                currentClass = currentClass.getSuperclass();
-            } while (result.isEmpty() && nonNull(currentClass));
+            final List<PropertyWriter> result = new ArrayList<>();
+            for (final var propertyDescriptor : Introspector.getBeanInfo(serializableClass).getPropertyDescriptors()) {
+                final var field = fields.get(propertyDescriptor.getName());
+                final var method = propertyDescriptor.getReadMethod();
+                final var hide = isNull(field) ? null : field.getAnnotation(Hide.class);
 
-            return result;
+                if (nonNull(field) && nonNull(method) && (isNull(hide) || hide.asBoolean())) {
+                    method.setAccessible(true);
+                    final var getter = MethodHandles.lookup().unreflect(method).asType(MethodType.methodType(Object.class, Object.class));
+                    result.add(new PropertyWriter(new SerializedString(field.getName()), getter, nonNull(hide)));
+                }
+            }
+
+            return List.copyOf(result);
         }
 
         /**
@@ -127,29 +159,18 @@ public final class JsonUtil {
          * {@inheritDoc}
          */
         @Override
-        @SneakyThrows({IllegalAccessException.class, IntrospectionException.class, IOException.class, InvocationTargetException.class})
+        @SneakyThrows(IOException.class)
         public void serialize(final Serializable serializable, final JsonGenerator jsonGenerator, final SerializerProvider serializerProvider) {
             jsonGenerator.writeStartObject();
 
-            final Class<?> serializableClass = serializable.getClass();
-            for (final var propertyDescriptor : Introspector.getBeanInfo(serializableClass).getPropertyDescriptors()) {
-                final var matchedField = matchField(serializableClass, propertyDescriptor);
-
-                if (matchedField.isPresent()) {
-                    final var field = matchedField.get();
-                    final var method = propertyDescriptor.getReadMethod();
-
-                    if (nonNull(method)) {
-                        method.setAccessible(true);
-                        final var value = method.invoke(serializable);
-
-                        if (Arrays.stream(field.getAnnotations()).noneMatch(Hide.class::isInstance)) {
-                            this.serializeField(field, value, jsonGenerator, serializerProvider);
-                        } else if (field.getAnnotation(Hide.class).asBoolean()) {
-                            jsonGenerator.writeFieldName(field.getName());
-                            jsonGenerator.writeBoolean(nonNull(value));
-                        }
-                    }
+            for (final var propertyWriter : PROPERTY_WRITERS.get(serializable.getClass())) {
+                final var value = propertyWriter.read(serializable);
+
+                if (propertyWriter.asBoolean) {
+                    jsonGenerator.writeFieldName(propertyWriter.name);
+                    jsonGenerator.writeBoolean(nonNull(value));
+                } else {
+                    this.serializeField(propertyWriter.name, value, jsonGenerator, serializerProvider);
                 }
             }
 
@@ -159,8 +180,8 @@ public final class JsonUtil {
         /**
          * Serializes a field's value in JSON based on its type.
          *
-         * @param field
-         *     The field to serialize
+         * @param name
+         *     The name of the field to serialize
          * @param value
          *     The value of the field to serialize
          * @param jsonGenerator
@@ -169,30 +190,72 @@ public final class JsonUtil {
          *     The serializer provider
          */
         @SneakyThrows(IOException.class)
-        private void serializeField(final Member field, final Object value, final JsonGenerator jsonGenerator, final SerializerProvider serializerProvider) {
+        private void serializeField(final SerializableString name, final Object value, final JsonGenerator jsonGenerator,
+            final SerializerProvider serializerProvider) {
+            jsonGenerator.writeFieldName(name);
             if (isNull(value)) {
-                jsonGenerator.writeFieldName(field.getName());
                 jsonGenerator.writeNull();
             } else if (value instanceof Iterable) {
-                jsonGenerator.writeArrayFieldStart(field.getName());
+                jsonGenerator.writeStartArray();
                 for (final Object item : (Iterable<?>) value) {
                     this.serialize((Serializable) item, jsonGenerator, serializerProvider);
                 }
                 jsonGenerator.writeEndArray();
             } else if (value instanceof Boolean) {
-                jsonGenerator.writeFieldName(field.getName());
                 jsonGenerator.writeBoolean((Boolean) value);
             } else if (value instanceof Number) {
-                jsonGenerator.writeFieldName(field.getName());
                 writeNumber(jsonGenerator, (Number) value);
             } else if (value instanceof String) {
-                jsonGenerator.writeStringField(field.getName(), value.toString());
+                jsonGenerator.writeString(value.toString());
             } else {
-                jsonGenerator.writeFieldName(field.getName());
                 jsonGenerator.writeObject(value);
             }
         }
 
     }
 
+    /**
+     * Writer of a property of a serializable class, resolved by the {@link CustomSerializer}.
+     */
+    @AllArgsConstructor(access = AccessLevel.PRIVATE)
+    private static final class PropertyWriter {
+
+        /**
+         * The name of the property, pre-encoded.
+         */
+        private final SerializableString name;
+
+        /**
+         * The getter of the property, taking the object as {@link Object} and returning the value as {@link Object}.
+         */
+        private final MethodHandle getter;
+
+        /**
+         * If the property is hidden, and only the information of its value being null or not is written.
+         */
+        private final boolean asBoolean;
+
+        /**
+         * Reads the value of the property in the given object.
+         *
+         * @param serializable
+         *     The object to read
+         *
+         * @return the value of the property
+         *
+         * @throws UndeclaredThrowableException
+         *     if the getter throws a checked exception
+         */
+        private Object read(final Object serializable) {
+            try {
+                return (Object) this.getter.invokeExact(serializable);
+            } catch (final RuntimeException | Error e) {
+                throw e;
+            } catch (final Throwable e) {
+                throw new UndeclaredThrowableException(e);
+            }
+        }
+
+    }
+
 }
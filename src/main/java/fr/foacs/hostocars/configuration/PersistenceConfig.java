@@ -0,0 +1,85 @@
+package fr.foacs.hostocars.configuration;
+
+import static java.util.Objects.nonNull;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.datatype.hibernate5.Hibernate5Module;
+import fr.foacs.hostocars.entity.CarSummaryRefresher;
+import fr.foacs.hostocars.entity.InterventionNumberGenerator;
+import fr.foacs.hostocars.repository.KeysetJpaRepository;
+import java.time.Clock;
+import java.util.List;
+import org.hibernate.jpa.boot.internal.EntityManagerFactoryBuilderImpl;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.autoconfigure.orm.jpa.JpaProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.orm.jpa.JpaVendorAdapter;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+
+/**
+ * Configuration bean used to set up the JPA repositories, the transactions, the numbering of the interventions, the refresh of the cars summaries and the
+ * JSON serialization of the lazy associations.
+ */
+@Configuration
+@ConditionalOnProperty("spring.profiles.active")
+@EnableJpaRepositories(basePackages = "fr.foacs.hostocars.repository", repositoryBaseClass = KeysetJpaRepository.class)
+public class PersistenceConfig {
+
+    /**
+     * Creates the Jackson module writing the lazy associations which haven't been fetched by the entity graphs as {@code null}, instead of loading them one
+     * by one during the serialization.
+     *
+     * @return the Jackson module
+     */
+    @Bean
+    public Module hibernate5Module() {
+        return new Hibernate5Module();
+    }
+
+    /**
+     * Creates the Hibernate JPA vendor adapter, configured like the one of Spring Boot but without preparing the JDBC connections of the transactions.
+     * <br/>
+     * <br/>
+     * The read-only transactions are routed to the reader pool by the datasource, and Hibernate releases its connection after each transaction: a connection
+     * marked as read-only when the transaction begins isn't the one reset when it ends, which was logged as a warning for each read-only transaction.
+     *
+     * @param properties
+     *     The JPA properties
+     *
+     * @return the JPA vendor adapter
+     */
+    @Bean
+    public JpaVendorAdapter jpaVendorAdapter(final JpaProperties properties) {
+        final var adapter = new HibernateJpaVendorAdapter();
+        adapter.setPrepareConnection(false);
+        adapter.setShowSql(properties.isShowSql());
+        adapter.setDatabasePlatform(properties.getDatabasePlatform());
+        adapter.setGenerateDdl(properties.isGenerateDdl());
+        if (nonNull(properties.getDatabase())) {
+            adapter.setDatabase(properties.getDatabase());
+        }
+        return adapter;
+    }
+
+    /**
+     * Registers the {@link InterventionNumberGenerator} and the {@link CarSummaryRefresher} in Hibernate, so that the inserted interventions are numbered
+     * by the application and the summaries of their cars are refreshed.
+     *
+     * @param blockSize
+     *     The number of intervention numbers reserved at once
+     *
+     * @return the customizer of the Hibernate properties
+     */
+    @Bean
+    public HibernatePropertiesCustomizer integratorsCustomizer(@Value("${intervention.number.block-size}") final Integer blockSize) {
+        final var generator = new InterventionNumberGenerator(blockSize, Clock.systemDefaultZone());
+        final var refresher = new CarSummaryRefresher();
+        return properties -> properties.put(EntityManagerFactoryBuilderImpl.INTEGRATOR_PROVIDER, (IntegratorProvider) () -> List.of(generator, refresher));
+    }
+
+}
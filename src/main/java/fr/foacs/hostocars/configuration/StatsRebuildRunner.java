@@ -0,0 +1,42 @@
+package fr.foacs.hostocars.configuration;
+
+import fr.foacs.hostocars.repository.InterventionRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Runner rebuilding the interventions stats from the interventions, once the application is started in the headless rebuild mode given by the
+ * {@code stats.rebuild} property.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty({"spring.profiles.active", "stats.rebuild"})
+public class StatsRebuildRunner implements ApplicationRunner {
+
+    private final InterventionRepository repository;
+
+    /**
+     * Valued autowired constructor.
+     *
+     * @param repository
+     *     The autowired {@link InterventionRepository} component
+     */
+    @Autowired
+    public StatsRebuildRunner(final InterventionRepository repository) {
+        this.repository = repository;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Loggable(inputs = false)
+    public void run(final ApplicationArguments args) {
+        log.info("{} interventions stats rebuilt", this.repository.rebuildStats());
+    }
+
+}
@@ -3,11 +3,14 @@ package fr.foacs.hostocars.configuration;
 import static java.util.Objects.nonNull;
 
 import java.io.IOException;
+import java.util.List;
 import lombok.SneakyThrows;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.core.io.Resource;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.ResourceHttpMessageConverter;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
@@ -35,7 +38,17 @@ public class WebMvcConfig implements WebMvcConfigurer {
     @Override
     @Loggable(debug = true, inputs = false)
     public void addCorsMappings(final CorsRegistry registry) {
-        registry.addMapping("/**").allowedHeaders("*").exposedHeaders("Location");
+        registry.addMapping("/**").allowedHeaders("*")
+            .exposedHeaders("Location", "X-Next-Cursor", "X-Total-Count", "ETag", "Accept-Ranges", "Content-Range", "Preference-Applied");
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Loggable(debug = true, inputs = false)
+    public void extendMessageConverters(final List<HttpMessageConverter<?>> converters) {
+        converters.replaceAll(converter -> converter.getClass() == ResourceHttpMessageConverter.class ? new FileChannelResourceHttpMessageConverter() : converter);
     }
 
     /**
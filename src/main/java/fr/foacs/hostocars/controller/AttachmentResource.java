@@ -0,0 +1,36 @@
+package fr.foacs.hostocars.controller;
+
+import fr.foacs.hostocars.repository.AttachmentSummary;
+import java.nio.file.Path;
+import lombok.Getter;
+import lombok.NonNull;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.http.MediaType;
+
+/**
+ * {@link org.springframework.core.io.Resource} of the file holding the content of an attachment, so that the content is never loaded on the heap and can be
+ * transferred from the file system.
+ */
+@Getter
+class AttachmentResource extends FileSystemResource {
+
+    private final MediaType contentType;
+
+    private final String eTag;
+
+    /**
+     * Valued constructor.
+     *
+     * @param summary
+     *     The summary of the attachment
+     * @param path
+     *     The path of the file holding the attachment content
+     */
+    AttachmentResource(@NonNull final AttachmentSummary summary, @NonNull final Path path) {
+        super(path);
+        this.contentType = MediaType.parseMediaType(summary.getContentType());
+        // Attachments are addressed by their content, so their hash identifies their content
+        this.eTag = "\"" + summary.getHash() + '"';
+    }
+
+}
@@ -0,0 +1,54 @@
+package fr.foacs.hostocars.controller;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+/**
+ * Result of an item of a batch request, given in the order of the request items.
+ */
+@Getter
+@JsonInclude(Include.NON_NULL)
+@AllArgsConstructor(access = AccessLevel.PACKAGE)
+public class BatchResult {
+
+    /**
+     * The HTTP status code the item would have had if requested on its own.
+     */
+    private final Integer status;
+
+    /**
+     * The ID of the item, if it exists.
+     */
+    private final Integer id;
+
+    /**
+     * The version of the item, if it has been saved.
+     */
+    private final Integer version;
+
+    /**
+     * Valued constructor of the result of an item which hasn't been saved.
+     *
+     * @param status
+     *     The HTTP status of the item
+     * @param id
+     *     The optional ID of the item
+     */
+    BatchResult(final HttpStatus status, final Integer id) {
+        this(status.value(), id, null);
+    }
+
+    /**
+     * Checks if the item has been processed successfully.
+     *
+     * @return {@code true} if the status of the item is successful
+     */
+    boolean isSuccessful() {
+        return HttpStatus.valueOf(this.status).is2xxSuccessful();
+    }
+
+}
@@ -1,38 +1,82 @@
 package fr.foacs.hostocars.controller;
 
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+import com.fasterxml.jackson.databind.JsonNode;
 import fr.foacs.hostocars.configuration.Loggable;
+import fr.foacs.hostocars.entity.Attachment;
 import fr.foacs.hostocars.entity.Car;
+import fr.foacs.hostocars.repository.AttachmentRepository;
+import fr.foacs.hostocars.repository.AttachmentStore;
+import fr.foacs.hostocars.repository.CarImporter;
 import fr.foacs.hostocars.repository.CarRepository;
+import fr.foacs.hostocars.repository.CarSearchResult;
+import fr.foacs.hostocars.repository.CarSuggestion;
+import fr.foacs.hostocars.repository.CarSuggestionIndex;
+import fr.foacs.hostocars.repository.CarSummary;
+import fr.foacs.hostocars.repository.Keyset;
+import fr.foacs.hostocars.repository.TableVersionRepository;
+import fr.foacs.hostocars.repository.ThumbnailStore;
+import fr.foacs.hostocars.repository.WriteExecutor;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.enums.ParameterIn;
+import io.swagger.v3.oas.annotations.headers.Header;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import io.swagger.v3.oas.annotations.tags.Tags;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
 import lombok.NonNull;
+import lombok.SneakyThrows;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.Resource;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.SerializationUtils;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RequestPart;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 /**
  * REST controller for cars.
+ * <br/>
+ * <br/>
+ * Its methods are run in transactions, which are read-only for the {@code GET} methods so that they are routed to the read-only connections. The writes,
+ * single or by batches, and the imports are all queued in the {@link WriteExecutor} instead, which commits them by groups on the single writer connection.
  */
 @Transactional
 @RestController
@@ -43,6 +87,13 @@ import org.springframework.web.bind.annotation.RestController;
 public class CarController {
 
     private final CarRepository repository;
+    private final AttachmentRepository attachmentRepository;
+    private final AttachmentStore attachmentStore;
+    private final ThumbnailStore thumbnailStore;
+    private final TableVersionRepository tableVersionRepository;
+    private final CarImporter importer;
+    private final CarSuggestionIndex suggestionIndex;
+    private final WriteExecutor writeExecutor;
     private final ControllerHelper helper;
 
     /**
@@ -50,80 +101,528 @@ public class CarController {
      *
      * @param repository
      *     The autowired {@link CarRepository} component
+     * @param attachmentRepository
+     *     The autowired {@link AttachmentRepository} component
+     * @param attachmentStore
+     *     The autowired {@link AttachmentStore} component
+     * @param thumbnailStore
+     *     The autowired {@link ThumbnailStore} component
+     * @param tableVersionRepository
+     *     The autowired {@link TableVersionRepository} component
+     * @param importer
+     *     The autowired {@link CarImporter} component
+     * @param suggestionIndex
+     *     The autowired {@link CarSuggestionIndex} component
+     * @param writeExecutor
+     *     The autowired {@link WriteExecutor} component
      * @param helper
      *     The autowired {@link ControllerHelper} component
      */
     @Autowired
-    public CarController(final CarRepository repository, final ControllerHelper helper) {
+    public CarController(final CarRepository repository, final AttachmentRepository attachmentRepository, final AttachmentStore attachmentStore,
+        final ThumbnailStore thumbnailStore, final TableVersionRepository tableVersionRepository, final CarImporter importer,
+        final CarSuggestionIndex suggestionIndex, final WriteExecutor writeExecutor, final ControllerHelper helper) {
         this.repository = repository;
+        this.attachmentRepository = attachmentRepository;
+        this.attachmentStore = attachmentStore;
+        this.thumbnailStore = thumbnailStore;
+        this.tableVersionRepository = tableVersionRepository;
+        this.importer = importer;
+        this.suggestionIndex = suggestionIndex;
+        this.writeExecutor = writeExecutor;
         this.helper = helper;
     }
 
     /**
-     * Retrieves the list of all the {@link Car} from the database. A list of sorting fields can also be specified.
+     * Retrieves a page of {@link Car} from the database, using a keyset pagination. A list of sorting fields can also be specified.
+     * <br/>
+     * <br/>
+     * The cursor of the next page is given in the {@link ControllerHelper#NEXT_CURSOR_HEADER} header, and the total number of cars can be requested in the
+     * {@link ControllerHelper#TOTAL_COUNT_HEADER} header. The cars of a page are returned without their interventions. The list of all the {@link Car} can
+     * still be retrieved at once, with their interventions, by explicitly disabling the pagination.
+     * <br/>
+     * <br/>
+     * The response can be validated with the {@code If-None-Match} or {@code If-Modified-Since} headers, in which case the cars aren't read if none of them
+     * has changed.
+     * <br/>
+     * <br/>
+     * If a list of IDs is given, the existing cars among them are returned at once instead, with their interventions.
      *
+     * @param request
+     *     The request, holding the optional validators
+     * @param ids
+     *     The optional IDs of the cars to retrieve
+     * @param size
+     *     The optional page size
+     * @param after
+     *     The optional cursor of the page to retrieve
+     * @param count
+     *     If the total number of cars has to be returned
+     * @param unpaged
+     *     If all the cars have to be returned at once
      * @param sortingFields
      *     The optional sorting clause fields
      *
      * @return an HTTP response
      */
     @Loggable
+    @Transactional(readOnly = true)
     @GetMapping
-    @Operation(summary = "Gets all cars.", description = "Retrieves the list of all the cars from the database. A list of sorting fields can also be specified.",
+    @Operation(summary = "Gets cars.",
+        description = "Retrieves a page of cars from the database, without their interventions. The next page can be retrieved with the cursor given in the "
+            + "response. A list of sorting fields can also be specified. All the cars can be retrieved at once, with their interventions, if the pagination "
+            + "is disabled. The cars with the given IDs can also be retrieved at once, with their interventions.",
         responses = @ApiResponse(description = "At least one car has been found.", responseCode = "200",
+            headers = {@Header(name = ControllerHelper.NEXT_CURSOR_HEADER, description = "The cursor of the next page, if there is one."),
+                @Header(name = ControllerHelper.TOTAL_COUNT_HEADER, description = "The total number of cars, if requested."),
+                @Header(name = HttpHeaders.ETAG, description = "The version of the cars.")},
             content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, array = @ArraySchema(schema = @Schema(implementation = Car.class)))))
-    public ResponseEntity<Collection<Car>> getCars(@Parameter(description = "The sorting fields.") @RequestParam(required = false) final String... sortingFields) {
-        final var sort = Objects.isNull(sortingFields) ? Sort.by(new String[] {}) : Sort.by(sortingFields);
-        return this.helper.resolveGetCollectionResponse(() -> this.repository.findAll(sort));
+    public ResponseEntity<Collection<Car>> getCars(final WebRequest request,
+        @Parameter(description = "The IDs of the cars to retrieve.") @RequestParam(required = false) final List<Integer> ids,
+        @Parameter(description = "The page size.") @RequestParam(required = false) final Integer size,
+        @Parameter(description = "The cursor of the page to retrieve.") @RequestParam(required = false) final String after,
+        @Parameter(description = "If the total number of cars has to be returned.") @RequestParam(defaultValue = "false") final Boolean count,
+        @Parameter(description = "If all the cars have to be returned at once.") @RequestParam(defaultValue = "false") final Boolean unpaged,
+        @Parameter(description = "The sorting fields.") @RequestParam(required = false) final String... sortingFields) {
+        final var sort = ControllerHelper.resolveSort(Car.class, sortingFields);
+
+        if (nonNull(ids)) {
+            return this.helper.resolveGetCollectionResponse(request, this.tableVersionRepository::findCarsSummary,
+                () -> this.repository.findAllWithInterventionsByIds(ids, sort));
+        }
+
+        if (Boolean.TRUE.equals(unpaged)) {
+            return this.helper.resolveGetCollectionResponse(request, this.tableVersionRepository::findCarsSummary,
+                () -> this.repository.findAllWithInterventions(sort));
+        }
+
+        final var keysetSort = Keyset.withTieBreaker(sort);
+        return this.helper.resolveGetSliceResponse(request, this.tableVersionRepository::findCarsSummary,
+            () -> this.repository.findSlice(Keyset.after(keysetSort, after), this.helper.resolvePageRequest(size, keysetSort)),
+            car -> Keyset.cursorOf(car, keysetSort), Boolean.TRUE.equals(count) ? this.repository::count : null);
+    }
+
+    /**
+     * Streams all the {@link Car} from the database, with their interventions, as a JSON array or as NDJSON. A list of sorting fields can also be
+     * specified.
+     * <br/>
+     * <br/>
+     * Unlike the unpaged {@link #getCars} response, the cars are read from a database cursor while they are written, so that the memory used doesn't grow
+     * with their number. The response can be validated like the one of {@link #getCars}.
+     *
+     * @param request
+     *     The request, holding the optional validators and accepted media types
+     * @param sortingFields
+     *     The optional sorting clause fields
+     *
+     * @return an HTTP response
+     */
+    @Loggable
+    @Transactional(readOnly = true)
+    @GetMapping(path = "/stream", produces = {MediaType.APPLICATION_JSON_VALUE, CarImporter.NDJSON_VALUE})
+    @Operation(summary = "Streams cars.",
+        description = "Streams all the cars from the database, with their interventions, as a JSON array or as NDJSON if it is accepted. A list of sorting "
+            + "fields can also be specified.",
+        responses = @ApiResponse(description = "The cars are streamed.", responseCode = "200",
+            headers = @Header(name = HttpHeaders.ETAG, description = "The version of the cars."),
+            content = {@Content(mediaType = MediaType.APPLICATION_JSON_VALUE, array = @ArraySchema(schema = @Schema(implementation = Car.class))),
+                @Content(mediaType = CarImporter.NDJSON_VALUE, schema = @Schema(implementation = Car.class))}))
+    public ResponseEntity<StreamingResponseBody> streamCars(final WebRequest request,
+        @Parameter(description = "The sorting fields.") @RequestParam(required = false) final String... sortingFields) {
+        // The rows of each car are consecutive as long as the sorting clause ends with the car ID
+        final var sort = Keyset.withTieBreaker(ControllerHelper.resolveSort(Car.class, sortingFields));
+        return this.helper.resolveGetStreamResponse(request, this.tableVersionRepository::findCarsSummary, () -> this.repository.streamAll(sort));
+    }
+
+    /**
+     * Retrieves the summaries of all the {@link Car} from the database. A list of sorting fields can also be specified.
+     * <br/>
+     * <br/>
+     * The response can be validated like the one of {@link #getCars}.
+     *
+     * @param request
+     *     The request, holding the optional validators
+     * @param sortingFields
+     *     The optional sorting clause fields
+     *
+     * @return an HTTP response
+     */
+    @Loggable
+    @Transactional(readOnly = true)
+    @GetMapping("/summary")
+    @Operation(summary = "Gets car summaries.",
+        description = "Retrieves the summaries of all cars from the database, without their picture, certificate and interventions. A list of sorting fields "
+            + "can also be specified.",
+        responses = @ApiResponse(description = "At least one car has been found.", responseCode = "200",
+            headers = @Header(name = HttpHeaders.ETAG, description = "The version of the cars."),
+            content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, array = @ArraySchema(schema = @Schema(implementation = CarSummary.class)))))
+    public ResponseEntity<Collection<CarSummary>> getCarSummaries(final WebRequest request,
+        @Parameter(description = "The sorting fields.") @RequestParam(required = false) final String... sortingFields) {
+        final var sort = ControllerHelper.resolveSort(Car.class, sortingFields);
+        return this.helper.resolveGetCollectionResponse(request, this.tableVersionRepository::findCarsSummary, () -> this.repository.findSummaries(sort));
+    }
+
+    /**
+     * Searches the {@link Car} whose fields or interventions match the given text, by relevance, as described by {@link CarRepository#search}.
+     * <br/>
+     * <br/>
+     * The number of the next page is given in the {@link ControllerHelper#NEXT_CURSOR_HEADER} header. The response can be validated like the one of
+     * {@link #getCars}.
+     *
+     * @param request
+     *     The request, holding the optional validators
+     * @param text
+     *     The text to search
+     * @param size
+     *     The optional page size
+     * @param page
+     *     The number of the page to retrieve, starting from 0
+     *
+     * @return an HTTP response
+     */
+    @Loggable
+    @Transactional(readOnly = true)
+    @GetMapping("/search")
+    @Operation(summary = "Searches cars.",
+        description = "Retrieves a page of the cars whose registration, owner, brand, model, comments or interventions match all the words of the text, "
+            + "ordered by relevance. Each word is matched as a word prefix, ignoring the case and the accents. The best match of each car is highlighted.",
+        responses = @ApiResponse(description = "At least one car has been found.", responseCode = "200",
+            headers = {@Header(name = ControllerHelper.NEXT_CURSOR_HEADER, description = "The number of the next page, if there is one."),
+                @Header(name = HttpHeaders.ETAG, description = "The version of the cars.")},
+            content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, array = @ArraySchema(schema = @Schema(implementation = CarSearchResult.class)))))
+    public ResponseEntity<Collection<CarSearchResult>> searchCars(final WebRequest request,
+        @Parameter(description = "The text to search.", required = true) @RequestParam("q") @NonNull final String text,
+        @Parameter(description = "The page size.") @RequestParam(required = false) final Integer size,
+        @Parameter(description = "The number of the page to retrieve.") @RequestParam(defaultValue = "0") final Integer page) {
+        final var pageable = this.helper.resolvePageRequest(page, size, Sort.unsorted());
+        return this.helper.resolveGetSliceResponse(request, this.tableVersionRepository::findCarsSummary, () -> this.repository.search(text, pageable),
+            result -> String.valueOf(page + 1), null);
+    }
+
+    /**
+     * Suggests the {@link Car} whose registration or serial number starts with the given prefix, from the {@link CarSuggestionIndex}.
+     * <br/>
+     * <br/>
+     * The suggestions are read from memory, so the method isn't run in a transaction and its response isn't validated.
+     *
+     * @param prefix
+     *     The typed prefix of a registration or serial number
+     * @param size
+     *     The optional maximal number of suggestions
+     *
+     * @return an HTTP response
+     */
+    @Loggable
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @GetMapping("/suggest")
+    @Operation(summary = "Suggests cars.",
+        description = "Retrieves the cars whose registration or serial number starts with the prefix, ignoring the case, the spaces and the dashes. The "
+            + "shortest registrations and serial numbers come first, then in alphabetical order.",
+        responses = @ApiResponse(description = "At least one car has been found.", responseCode = "200",
+            content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, array = @ArraySchema(schema = @Schema(implementation = CarSuggestion.class)))))
+    public ResponseEntity<Collection<CarSuggestion>> suggestCars(
+        @Parameter(description = "The typed prefix of a registration or serial number.", required = true) @RequestParam @NonNull final String prefix,
+        @Parameter(description = "The maximal number of suggestions.") @RequestParam(defaultValue = "10") final Integer size) {
+        final var suggestions = this.suggestionIndex.suggest(prefix, this.helper.resolvePageRequest(size, Sort.unsorted()).getPageSize());
+        return suggestions.isEmpty() ? ResponseEntity.noContent().build() : ResponseEntity.ok(suggestions);
     }
 
     /**
      * Retrieves the {@link Car} with the given ID from the database.
+     * <br/>
+     * <br/>
+     * The response can be validated with the {@code If-None-Match} header, holding the version of the car and its interventions tree, or with the {@code
+     * If-Modified-Since} header.
      *
+     * @param request
+     *     The request, holding the optional validators
      * @param id
      *     The {@link Car} ID
      *
      * @return an HTTP response
      */
     @Loggable
+    @Transactional(readOnly = true)
     @GetMapping("/{id}")
     @Operation(summary = "Gets a car by its ID.", description = "Retrieves the car corresponding to the specified ID from the database.",
         responses = @ApiResponse(description = "A car has been found.", responseCode = "200",
+            headers = @Header(name = HttpHeaders.ETAG, description = "The version of the car and its interventions."),
             content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = Car.class))))
-    public ResponseEntity<Car> getCarById(@Parameter(description = "The car ID to search.", required = true) @PathVariable @NonNull final Integer id) {
-        return this.helper.resolveGetResponse(() -> this.repository.findById(id));
+    public ResponseEntity<Car> getCarById(final WebRequest request,
+        @Parameter(description = "The car ID to search.", required = true) @PathVariable @NonNull final Integer id) {
+        return this.helper.resolveGetResponse(request, this.tableVersionRepository::findCarsSummary, () -> this.repository.findById(id),
+            Car::computeTreeVersion);
+    }
+
+    /**
+     * Streams the picture of the {@link Car} with the given ID from the database, or one of its thumbnails if a size is given.
+     *
+     * @param id
+     *     The {@link Car} ID
+     * @param size
+     *     The optional size of the thumbnail, in pixels
+     *
+     * @return an HTTP response
+     */
+    @Loggable(output = false)
+    @Transactional(readOnly = true)
+    @GetMapping("/{id}/picture")
+    @Operation(summary = "Gets the picture of a car by its ID.",
+        description = "Streams the picture of the car corresponding to the specified ID from the database. Byte ranges can be requested. If a size is "
+            + "specified, the thumbnail of the nearest greater size is streamed instead, or the picture itself while the thumbnail is being generated.",
+        responses = {@ApiResponse(description = "The picture has been found.", responseCode = "200",
+            headers = @Header(name = HttpHeaders.ETAG, description = "The version of the picture.")),
+            @ApiResponse(description = "A range of the picture has been found.", responseCode = "206")})
+    public ResponseEntity<Resource> getCarPicture(@Parameter(description = "The car ID to search.", required = true) @PathVariable @NonNull final Integer id,
+        @Parameter(description = "The maximal dimension of the thumbnail, in pixels.") @RequestParam(required = false) final Integer size) {
+        if (isNull(size)) {
+            return this.helper.resolveGetAttachmentResponse(() -> this.attachmentRepository.findPictureSummaryByCarId(id), this.attachmentStore::resolve);
+        }
+
+        return this.helper.resolveGetAttachmentResponse(
+            () -> this.attachmentRepository.findPictureSummaryByCarId(id).map(picture -> this.thumbnailStore.findThumbnail(picture, size)),
+            this.thumbnailStore::resolve);
+    }
+
+    /**
+     * Streams the certificate of the {@link Car} with the given ID from the database.
+     *
+     * @param id
+     *     The {@link Car} ID
+     *
+     * @return an HTTP response
+     */
+    @Loggable(output = false)
+    @Transactional(readOnly = true)
+    @GetMapping("/{id}/certificate")
+    @Operation(summary = "Gets the certificate of a car by its ID.",
+        description = "Streams the certificate of the car corresponding to the specified ID from the database. Byte ranges can be requested.",
+        responses = {@ApiResponse(description = "The certificate has been found.", responseCode = "200",
+            headers = @Header(name = HttpHeaders.ETAG, description = "The version of the certificate.")),
+            @ApiResponse(description = "A range of the certificate has been found.", responseCode = "206")})
+    public ResponseEntity<Resource> getCarCertificate(
+        @Parameter(description = "The car ID to search.", required = true) @PathVariable @NonNull final Integer id) {
+        return this.helper.resolveGetAttachmentResponse(() -> this.attachmentRepository.findCertificateSummaryByCarId(id),
+            this.attachmentStore::resolve);
+    }
+
+    /**
+     * Replaces the picture of the {@link Car} with the given ID by the uploaded file. The file is written before the write updating the car, which persists
+     * its attachment.
+     *
+     * @param id
+     *     The {@link Car} ID
+     * @param file
+     *     The uploaded picture file
+     *
+     * @return an HTTP response
+     */
+    @Loggable(inputs = false)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @PutMapping(path = "/{id}/picture", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @Operation(summary = "Uploads the picture of a car by its ID.", description = "Replaces the picture of the car corresponding to the specified ID by the uploaded file.",
+        responses = @ApiResponse(description = "The picture has been uploaded successfully.", responseCode = "204", content = @Content))
+    public ResponseEntity updateCarPicture(@Parameter(description = "The car ID to update.", required = true) @PathVariable @NonNull final Integer id,
+        @Parameter(description = "The picture file.", required = true) @RequestPart("file") @NonNull final MultipartFile file) {
+        final var picture = this.toAttachment(file);
+        return this.helper.resolveOptionalPutResponse(() -> this.writeExecutor.execute(() -> this.repository.findById(id).map(car -> {
+            car.setPicture(this.attachmentStore.persist(picture));
+            this.thumbnailStore.generate(picture.getHash());
+            return car;
+        })));
+    }
+
+    /**
+     * Replaces the certificate of the {@link Car} with the given ID by the uploaded file. The file is written before the write updating the car, which
+     * persists its attachment.
+     *
+     * @param id
+     *     The {@link Car} ID
+     * @param file
+     *     The uploaded certificate file
+     *
+     * @return an HTTP response
+     */
+    @Loggable(inputs = false)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @PutMapping(path = "/{id}/certificate", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @Operation(summary = "Uploads the certificate of a car by its ID.", description = "Replaces the certificate of the car corresponding to the specified ID by the uploaded file.",
+        responses = @ApiResponse(description = "The certificate has been uploaded successfully.", responseCode = "204", content = @Content))
+    public ResponseEntity updateCarCertificate(@Parameter(description = "The car ID to update.", required = true) @PathVariable @NonNull final Integer id,
+        @Parameter(description = "The certificate file.", required = true) @RequestPart("file") @NonNull final MultipartFile file) {
+        final var certificate = this.toAttachment(file);
+        return this.helper.resolveOptionalPutResponse(() -> this.writeExecutor.execute(() -> this.repository.findById(id).map(car -> {
+            car.setCertificate(this.attachmentStore.persist(certificate));
+            return car;
+        })));
     }
 
     /**
      * Inserts a new {@link Car} in the database, generated from the REST call body.
      *
+     * @param request
+     *     The request, holding the optional preferences
      * @param car
      *     The {@link Car} to insert
      *
      * @return an HTTP response
      */
     @Loggable
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     @PostMapping
-    @Operation(summary = "Inserts a new car.", description = "Inserts a new car in the database.",
-        responses = @ApiResponse(description = "The car has been inserted successfully.", responseCode = "201", content = @Content))
-    public ResponseEntity createCar(@Parameter(required = true) @RequestBody @NonNull final Car car) {
-        return this.helper.resolvePostResponse(() -> "/cars/" + this.repository.save(car).getId());
+    @Operation(summary = "Inserts a new car.",
+        description = "Inserts a new car in the database. The inserted car is returned if the 'return=representation' preference is requested.",
+        parameters = @Parameter(name = ControllerHelper.PREFER_HEADER, in = ParameterIn.HEADER,
+            description = "The optional 'return=representation' preference."),
+        responses = @ApiResponse(description = "The car has been inserted successfully.", responseCode = "201",
+            content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = Car.class))))
+    public ResponseEntity<Car> createCar(final WebRequest request, @Parameter(required = true) @RequestBody @NonNull final Car car) {
+        final var initialized = ControllerHelper.isRepresentationPreferred(request);
+        return this.helper.resolvePostResponse(request, () -> this.writeExecutor.execute(() -> this.save(copy(car), initialized)),
+            createdCar -> "/cars/" + createdCar.getId(), UnaryOperator.identity());
     }
 
     /**
      * Updates a {@link Car} with the given REST call body in the database.
+     * <br/>
+     * <br/>
+     * If the car holds its version, the update is rejected if the car has been updated meanwhile. The car and the entities of its interventions tree sent
+     * without their version are updated whatever their current version.
      *
+     * @param request
+     *     The request, holding the optional preferences
      * @param car
      *     The {@link Car} to update
      *
      * @return an HTTP response
      */
     @Loggable
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     @PutMapping
-    @Operation(summary = "Updates a car.", description = "Updates an existing car in the database.",
-        responses = @ApiResponse(description = "The car has been updated successfully.", responseCode = "201", content = @Content))
-    public ResponseEntity updateCar(@Parameter(required = true) @RequestBody @NonNull final Car car) {
-        return this.helper.resolvePutResponse(() -> this.repository.save(car));
+    @Operation(summary = "Updates a car.",
+        description = "Updates an existing car in the database. The updated car is returned if the 'return=representation' preference is requested.",
+        parameters = @Parameter(name = ControllerHelper.PREFER_HEADER, in = ParameterIn.HEADER,
+            description = "The optional 'return=representation' preference."),
+        responses = {@ApiResponse(description = "The car has been updated successfully.", responseCode = "204", content = @Content),
+            @ApiResponse(description = "The car has been updated successfully, and is returned.", responseCode = "200",
+                content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = Car.class))),
+            @ApiResponse(description = "The car has been updated meanwhile.", responseCode = "409", content = @Content)})
+    public ResponseEntity<Car> updateCar(final WebRequest request, @Parameter(required = true) @RequestBody @NonNull final Car car) {
+        final var initialized = ControllerHelper.isRepresentationPreferred(request);
+        return this.helper.resolvePutResponse(request, () -> this.writeExecutor.execute(() -> {
+            final var updatedCar = copy(car);
+            Optional.ofNullable(updatedCar.getId()).flatMap(this.repository::findById).ifPresent(updatedCar::completeVersions);
+            return this.save(updatedCar, initialized);
+        }), UnaryOperator.identity());
+    }
+
+    /**
+     * Partially updates the {@link Car} with the given ID in the database, by applying the JSON merge patch of the REST call body.
+     * <br/>
+     * <br/>
+     * The car is patched detached, without loading its attachments nor its interventions tree, which are only replaced if they are part of the patch. If the
+     * patch holds the version of the car, the update is rejected if the car has been updated meanwhile. The entities of the patched interventions tree sent
+     * without their version are updated whatever their current version.
+     *
+     * @param request
+     *     The request, holding the optional preferences
+     * @param id
+     *     The {@link Car} ID
+     * @param patch
+     *     The JSON merge patch
+     *
+     * @return an HTTP response
+     */
+    @Loggable
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @PatchMapping(path = "/{id}", consumes = {ControllerHelper.MERGE_PATCH_JSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    @Operation(summary = "Partially updates a car by its ID.",
+        description = "Applies a JSON merge patch to the car corresponding to the specified ID. Only the patched properties are updated. The updated car is "
+            + "returned if the 'return=representation' preference is requested.",
+        parameters = @Parameter(name = ControllerHelper.PREFER_HEADER, in = ParameterIn.HEADER,
+            description = "The optional 'return=representation' preference."),
+        responses = {@ApiResponse(description = "The car has been updated successfully.", responseCode = "204", content = @Content),
+            @ApiResponse(description = "The car has been updated successfully, and is returned.", responseCode = "200",
+                content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = Car.class))),
+            @ApiResponse(description = "The car has been updated meanwhile.", responseCode = "409", content = @Content)})
+    public ResponseEntity<Car> patchCar(final WebRequest request,
+        @Parameter(description = "The car ID to update.", required = true) @PathVariable @NonNull final Integer id,
+        @Parameter(description = "The JSON merge patch.", required = true) @RequestBody @NonNull final JsonNode patch) {
+        final var initialized = ControllerHelper.isRepresentationPreferred(request);
+        return this.helper.resolveOptionalPatchResponse(request, () -> this.writeExecutor.execute(() -> this.repository.findDetachedById(id).map(car -> {
+            final var patchedCar = this.helper.applyMergePatch(car, patch);
+
+            // The patch can't move the changes to another car
+            patchedCar.setId(id);
+            this.repository.findById(id).ifPresent(patchedCar::completeVersions);
+            return this.save(patchedCar, initialized);
+        })), UnaryOperator.identity());
+    }
+
+    /**
+     * Inserts or updates a list of {@link Car} in the database, in a single write of the {@link WriteExecutor}. The cars without ID are inserted, the others
+     * replace the existing cars like {@link #updateCar}.
+     * <br/>
+     * <br/>
+     * The existing cars are read at once, and the inserts and updates are sent in JDBC batches. The result of each car is given in the order of the request:
+     * an updated car is rejected if it doesn't exist or if its version is outdated, without rejecting the others.
+     *
+     * @param cars
+     *     The list of {@link Car} to insert or update
+     *
+     * @return an HTTP response
+     */
+    @Loggable(inputs = false)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @PostMapping("/batch")
+    @Operation(summary = "Inserts or updates cars.",
+        description = "Inserts the cars without ID and updates the others in the database, in a single transaction. The result of each car is given in the "
+            + "order of the request, with the status it would have had on its own (201, 200, 404 or 409).",
+        responses = {@ApiResponse(description = "All the cars have been saved successfully.", responseCode = "200",
+            content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, array = @ArraySchema(schema = @Schema(implementation = BatchResult.class)))),
+            @ApiResponse(description = "Some cars haven't been saved.", responseCode = "207",
+                content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, array = @ArraySchema(schema = @Schema(implementation = BatchResult.class))))})
+    public ResponseEntity<List<BatchResult>> saveCars(@Parameter(required = true) @RequestBody @NonNull final List<Car> cars) {
+        return this.helper.resolveBatchResponse(() -> this.writeExecutor.execute(() -> {
+            final var existingCars = this.repository.findAllById(cars.stream().map(Car::getId).filter(Objects::nonNull).collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(Car::getId, Function.identity()));
+            final var results = cars.stream().map(car -> this.saveCar(copy(car), existingCars)).collect(Collectors.toList());
+
+            // The versions of the saved cars are only incremented by the flush
+            this.repository.flush();
+            return results.stream().map(Supplier::get).collect(Collectors.toList());
+        }));
+    }
+
+    /**
+     * Imports the {@link Car}s and their interventions trees of the CSV or NDJSON stream of the REST call body, as described by {@link
+     * CarImporter#importCars}.
+     * <br/>
+     * <br/>
+     * The cars are committed by chunks while the body is read, so the import isn't run in the transaction of the controller.
+     *
+     * @param contentType
+     *     The media type of the body
+     * @param body
+     *     The body to import
+     *
+     * @return an HTTP response
+     *
+     * @throws IOException
+     *     if the body cannot be read
+     */
+    @Loggable(inputs = false)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @PostMapping(path = "/import", consumes = {CarImporter.CSV_VALUE, CarImporter.NDJSON_VALUE})
+    @Operation(summary = "Imports cars.",
+        description = "Imports the cars and their interventions from a CSV or NDJSON stream, by chunks. The rows which can't be imported are rejected and "
+            + "described in the report, without rejecting the others.",
+        responses = @ApiResponse(description = "The stream has been imported.", responseCode = "200",
+            content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = CarImporter.Report.class))))
+    public ResponseEntity<CarImporter.Report> importCars(@RequestHeader(HttpHeaders.CONTENT_TYPE) final String contentType,
+        @Parameter(description = "The CSV or NDJSON stream.", required = true) @NonNull final InputStream body) throws IOException {
+        return ResponseEntity.ok(this.importer.importCars(body, CarImporter.Format.ofMediaType(contentType)));
     }
 
     /**
@@ -135,11 +634,145 @@ public class CarController {
      * @return an HTTP response
      */
     @Loggable
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     @DeleteMapping("/{id}")
     @Operation(summary = "Deletes a car by its ID.", description = "Deletes the car corresponding to the specified ID from the database.",
         responses = @ApiResponse(description = "The car has been deleted successfully.", responseCode = "204", content = @Content))
     public ResponseEntity deleteCarById(@Parameter(description = "The ID of the car to delete.", required = true) @PathVariable @NonNull final Integer id) {
-        return this.helper.resolveDeleteResponse(() -> this.repository.deleteById(id));
+        return this.helper.resolveDeleteResponse(() -> this.writeExecutor.execute(() -> {
+            this.repository.deleteById(id);
+            this.suggestionIndex.remove(id);
+            return null;
+        }));
+    }
+
+    /**
+     * Deletes a list of {@link Car} in the database by their IDs, in a single write of the {@link WriteExecutor}. The result of each ID is given in the order
+     * of the request.
+     *
+     * @param ids
+     *     The IDs of the {@link Car} to delete
+     *
+     * @return an HTTP response
+     */
+    @Loggable
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @DeleteMapping("/batch")
+    @Operation(summary = "Deletes cars by their IDs.",
+        description = "Deletes the cars corresponding to the specified IDs from the database, in a single transaction. The result of each ID is given in the "
+            + "order of the request, with the status it would have had on its own (204 or 404).",
+        responses = {@ApiResponse(description = "All the cars have been deleted successfully.", responseCode = "200",
+            content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, array = @ArraySchema(schema = @Schema(implementation = BatchResult.class)))),
+            @ApiResponse(description = "Some cars haven't been found.", responseCode = "207",
+                content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, array = @ArraySchema(schema = @Schema(implementation = BatchResult.class))))})
+    public ResponseEntity<List<BatchResult>> deleteCars(
+        @Parameter(description = "The IDs of the cars to delete.", required = true) @RequestBody @NonNull final List<Integer> ids) {
+        return this.helper.resolveBatchResponse(() -> this.writeExecutor.execute(() -> {
+            final var existingCars = this.repository.findAllById(ids.stream().filter(Objects::nonNull).collect(Collectors.toSet()));
+            this.repository.deleteAll(existingCars);
+            existingCars.forEach(car -> this.suggestionIndex.remove(car.getId()));
+
+            final var deletedIds = existingCars.stream().map(Car::getId).collect(Collectors.toSet());
+            return ids.stream()
+                .map(id -> new BatchResult(deletedIds.contains(id) ? HttpStatus.NO_CONTENT : HttpStatus.NOT_FOUND, id))
+                .collect(Collectors.toList());
+        }));
+    }
+
+    /**
+     * Inserts or updates a {@link Car} of a batch, with the attachments of its body. An updated car is merged into the existing one, after the check of its
+     * version if it has one, with the versions of its interventions tree completed like {@link #updateCar}.
+     *
+     * @param car
+     *     The {@link Car} to insert or update
+     * @param existingCars
+     *     The existing cars of the batch, by ID
+     *
+     * @return the supplier of the result of the car, to call once the batch is flushed
+     */
+    private Supplier<BatchResult> saveCar(final Car car, final Map<Integer, Car> existingCars) {
+        if (isNull(car.getId())) {
+            this.attachmentStore.persistAttachments(car);
+            final var createdCar = this.repository.save(car);
+            this.suggestionIndex.put(createdCar);
+            return () -> new BatchResult(HttpStatus.CREATED.value(), createdCar.getId(), createdCar.getVersion());
+        }
+
+        final var existingCar = existingCars.get(car.getId());
+        if (isNull(existingCar)) {
+            return () -> new BatchResult(HttpStatus.NOT_FOUND, car.getId());
+        }
+
+        // The version is checked here, as an optimistic locking failure would roll the whole batch back
+        if (nonNull(car.getVersion()) && !car.getVersion().equals(existingCar.getVersion())) {
+            return () -> new BatchResult(HttpStatus.CONFLICT, car.getId());
+        }
+
+        car.completeVersions(existingCar);
+        this.attachmentStore.persistAttachments(car);
+        final var updatedCar = this.repository.save(car);
+        this.suggestionIndex.put(updatedCar);
+        return () -> new BatchResult(HttpStatus.OK.value(), updatedCar.getId(), updatedCar.getVersion());
+    }
+
+    /**
+     * Saves a {@link Car} with the attachments of its body and indexes its suggestion, and initializes the saved car for its representation if requested, as
+     * it is detached once the write is committed.
+     *
+     * @param car
+     *     The car to save
+     * @param initialized
+     *     {@code true} if the saved car must be initialized
+     *
+     * @return the saved car
+     */
+    private Car save(final Car car, final boolean initialized) {
+        this.attachmentStore.persistAttachments(car);
+        final var savedCar = this.repository.save(car);
+        this.suggestionIndex.put(savedCar);
+        return initialized ? this.initialize(savedCar) : savedCar;
+    }
+
+    /**
+     * Copies a {@link Car} of a request body with its attachments and its whole interventions tree. As a write can be run several times by the
+     * {@link WriteExecutor}, it saves a copy of the body, so that each run starts from the body as received instead of the car given an ID and a version by
+     * the previous run.
+     *
+     * @param car
+     *     The car to copy
+     *
+     * @return the copy of the car
+     */
+    private static Car copy(final Car car) {
+        return (Car) SerializationUtils.deserialize(SerializationUtils.serialize(car));
+    }
+
+    /**
+     * Initializes the attachments and the whole interventions tree of a {@link Car} of the persistence context, for its representation.
+     *
+     * @param car
+     *     The car to initialize
+     *
+     * @return the initialized car
+     */
+    private Car initialize(final Car car) {
+        return this.repository.initialize(List.of(car), "Car.full").get(0);
+    }
+
+    /**
+     * Writes an uploaded file in the {@link AttachmentStore}. The content type given by the client is only used if it can't be detected from the file
+     * signature.
+     *
+     * @param file
+     *     The uploaded file
+     *
+     * @return the transient attachment of the file content
+     */
+    @SneakyThrows(IOException.class)
+    private Attachment toAttachment(final MultipartFile file) {
+        try (final var inputStream = file.getInputStream()) {
+            return this.attachmentStore.write(inputStream, file.getContentType());
+        }
     }
 
 }
@@ -1,20 +1,55 @@
 package fr.foacs.hostocars.controller;
 
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import fr.foacs.hostocars.configuration.InvalidRequestException;
 import fr.foacs.hostocars.configuration.Loggable;
+import fr.foacs.hostocars.repository.AttachmentSummary;
+import fr.foacs.hostocars.repository.CarImporter;
+import fr.foacs.hostocars.repository.TableVersionSummary;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.net.URI;
+import java.nio.file.Path;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.Callable;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
 import lombok.NonNull;
 import lombok.SneakyThrows;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
+import org.springframework.core.io.Resource;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mapping.PropertyPath;
+import org.springframework.data.mapping.PropertyReferenceException;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Controller;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 /**
  * Helper for controllers.
@@ -23,6 +58,36 @@ import org.springframework.web.client.RestTemplate;
 @ConditionalOnProperty("spring.profiles.active")
 class ControllerHelper {
 
+    /**
+     * The name of the response header holding the cursor of the next page.
+     */
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    /**
+     * The name of the response header holding the total number of results.
+     */
+    static final String TOTAL_COUNT_HEADER = "X-Total-Count";
+
+    /**
+     * The name of the request header holding the client preferences (RFC 7240).
+     */
+    static final String PREFER_HEADER = "Prefer";
+
+    /**
+     * The name of the response header holding the applied client preferences (RFC 7240).
+     */
+    static final String PREFERENCE_APPLIED_HEADER = "Preference-Applied";
+
+    /**
+     * The preference asking for the representation of the created or updated result in the response.
+     */
+    static final String RETURN_REPRESENTATION_PREFERENCE = "return=representation";
+
+    /**
+     * The media type of the JSON merge patches (RFC 7396).
+     */
+    static final String MERGE_PATCH_JSON_VALUE = "application/merge-patch+json";
+
     @NonNull
     @Value("${server.address}")
     private String serverAddress;
@@ -31,66 +96,388 @@ class ControllerHelper {
     @Value("${server.port}")
     private String serverPort;
 
+    @NonNull
+    @Value("${pagination.size.default}")
+    private Integer defaultPageSize;
+
+    @NonNull
+    @Value("${pagination.size.max}")
+    private Integer maxPageSize;
+
+    @NonNull
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @NonNull
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
     /**
-     * Resolves a {@link HttpMethod#GET} method response from an {@link Optional} result.
+     * Resolves a conditional {@link HttpMethod#GET} method response from an {@link Optional} result.
+     * <br/>
+     * <br/>
+     * The result is identified by a strong {@code ETag} header resolved from its version, and by a {@code Last-Modified} header holding the last
+     * modification of the read tables. If the request validators match them, the result isn't serialized.
      *
+     * @param request
+     *     The request, holding the optional validators
+     * @param versionResolver
+     *     The executable retrieving the summary of the versions of the read tables
      * @param executable
      *     The executable to perform
+     * @param eTagResolver
+     *     The function resolving the version of the result
      * @param <T>
      *     The type of the result
      *
-     * @return an {@link HttpStatus#OK} response if the result is present, else a {@link HttpStatus#NOT_FOUND} response
+     * @return an {@link HttpStatus#OK} response if the result is present and has changed, a {@link HttpStatus#NOT_MODIFIED} response if it hasn't changed,
+     *     else a {@link HttpStatus#NOT_FOUND} response
      */
     @Loggable(debug = true, inputs = false, output = false)
     @SneakyThrows(Exception.class)
-    <T> ResponseEntity<T> resolveGetResponse(final Callable<Optional<T>> executable) {
-        return ResponseEntity.of(executable.call());
+    <T> ResponseEntity<T> resolveGetResponse(final WebRequest request, final Callable<TableVersionSummary> versionResolver,
+        final Callable<Optional<T>> executable, final Function<T, String> eTagResolver) {
+        // The versions are read before the result, so that a change made in between is never hidden by the validators
+        final var version = versionResolver.call();
+        final var result = executable.call();
+
+        if (result.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+
+        if (request.checkNotModified('"' + eTagResolver.apply(result.get()) + '"', version.getModifiedAt())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
+
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(result.get());
     }
 
     /**
-     * Resolves a {@link HttpMethod#GET} method response from a {@link Collection} of results.
+     * Resolves a conditional {@link HttpMethod#GET} method response from a {@link Collection} of results.
+     * <br/>
+     * <br/>
+     * The results are identified by a strong {@code ETag} header and a {@code Last-Modified} header, both resolved from the versions of the read tables. If
+     * the request validators match them, the results aren't even read.
      *
+     * @param request
+     *     The request, holding the optional validators
+     * @param versionResolver
+     *     The executable retrieving the summary of the versions of the read tables
      * @param executable
      *     The executable to perform
      * @param <T>
      *     The type of the result
      *
-     * @return an {@link HttpStatus#OK} response
+     * @return an {@link HttpStatus#OK} response if the results have changed, a {@link HttpStatus#NOT_MODIFIED} response if they haven't changed, else a
+     *     {@link HttpStatus#NO_CONTENT} response if there is no result
      */
     @Loggable(debug = true, inputs = false, output = false)
     @SneakyThrows(Exception.class)
-    <T> ResponseEntity<Collection<T>> resolveGetCollectionResponse(final Callable<? extends Collection<T>> executable) {
+    <T> ResponseEntity<Collection<T>> resolveGetCollectionResponse(final WebRequest request, final Callable<TableVersionSummary> versionResolver,
+        final Callable<? extends Collection<T>> executable) {
+        if (checkNotModified(request, versionResolver.call())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
+
         final var result = executable.call();
-        return result.isEmpty() ? ResponseEntity.noContent().build() : ResponseEntity.ok(result);
+        return result.isEmpty() ? ResponseEntity.noContent().build() : ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(result);
+    }
+
+    /**
+     * Resolves the request of the first page of a keyset pagination, with the given size (bounded by the maximal page size) and sorting clause.
+     *
+     * @param size
+     *     The optional requested page size
+     * @param sort
+     *     The sorting clause
+     *
+     * @return the page request
+     */
+    Pageable resolvePageRequest(final Integer size, final Sort sort) {
+        return this.resolvePageRequest(0, size, sort);
+    }
+
+    /**
+     * Resolves the request of the page with the given number, with the given size (bounded by the maximal page size) and sorting clause.
+     *
+     * @param page
+     *     The requested page number, starting from 0
+     * @param size
+     *     The optional requested page size
+     * @param sort
+     *     The sorting clause
+     *
+     * @return the page request
+     *
+     * @throws InvalidRequestException
+     *     if the page number is negative
+     */
+    Pageable resolvePageRequest(final int page, final Integer size, final Sort sort) {
+        if (page < 0) {
+            throw new InvalidRequestException("The page number must not be negative");
+        }
+
+        return PageRequest.of(page, isNull(size) ? this.defaultPageSize : Math.max(1, Math.min(size, this.maxPageSize)), sort);
+    }
+
+    /**
+     * Resolves the sorting clause of the given fields, which must be properties of the given type.
+     *
+     * @param type
+     *     The sorted type
+     * @param fields
+     *     The optional sorting fields
+     *
+     * @return the sorting clause
+     *
+     * @throws InvalidRequestException
+     *     if a field isn't a property of the type
+     */
+    static Sort resolveSort(final Class<?> type, @Nullable final String... fields) {
+        try {
+            final var sort = isNull(fields) ? Sort.unsorted() : Sort.by(fields);
+            sort.forEach(order -> PropertyPath.from(order.getProperty(), type));
+            return sort;
+        } catch (final IllegalArgumentException | PropertyReferenceException e) {
+            throw new InvalidRequestException("Invalid sorting fields " + Arrays.toString(fields), e);
+        }
+    }
+
+    /**
+     * Resolves a {@link HttpMethod#GET} method response from a {@link Slice} of results.
+     * <br/>
+     * <br/>
+     * If there is a next slice, its cursor is given in the {@link #NEXT_CURSOR_HEADER} header. If a counter is given, the total number of results is given
+     * in the {@link #TOTAL_COUNT_HEADER} header. The slice is validated like a collection of results, so that it isn't read again if the tables haven't
+     * changed.
+     *
+     * @param request
+     *     The request, holding the optional validators
+     * @param versionResolver
+     *     The executable retrieving the summary of the versions of the read tables
+     * @param executable
+     *     The executable to perform
+     * @param cursorResolver
+     *     The function resolving the cursor pointing at a result
+     * @param counter
+     *     The optional executable counting the total number of results
+     * @param <T>
+     *     The type of the result
+     *
+     * @return an {@link HttpStatus#OK} response if the slice has content and has changed, a {@link HttpStatus#NOT_MODIFIED} response if it hasn't changed,
+     *     else a {@link HttpStatus#NO_CONTENT} response
+     */
+    @Loggable(debug = true, inputs = false, output = false)
+    @SneakyThrows(Exception.class)
+    <T> ResponseEntity<Collection<T>> resolveGetSliceResponse(final WebRequest request, final Callable<TableVersionSummary> versionResolver,
+        final Callable<Slice<T>> executable, final Function<T, String> cursorResolver, final Callable<Long> counter) {
+        if (checkNotModified(request, versionResolver.call())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
+
+        final var slice = executable.call();
+        final Collection<T> content = slice.getContent();
+        final var headers = new HttpHeaders();
+
+        if (nonNull(counter)) {
+            headers.set(TOTAL_COUNT_HEADER, String.valueOf(counter.call()));
+        }
+
+        if (slice.hasNext()) {
+            headers.set(NEXT_CURSOR_HEADER, cursorResolver.apply(slice.getContent().get(slice.getNumberOfElements() - 1)));
+        }
+
+        return content.isEmpty() ? ResponseEntity.noContent().headers(headers).build()
+            : ResponseEntity.ok().headers(headers).cacheControl(CacheControl.noCache()).body(content);
+    }
+
+    /**
+     * Resolves a conditional {@link HttpMethod#GET} method response from a {@link Stream} of results, written one by one while they are read, as a JSON array
+     * or as NDJSON if the request accepts it.
+     * <br/>
+     * <br/>
+     * The results are validated like a collection of results, with a weak tag naming the representation: both representations are served at the same URL,
+     * and the results, read once the response is committed by the thread writing it, can be newer than the versions. The stream is opened in a read-only
+     * transaction of that thread, and an empty array is written if there is no result.
+     *
+     * @param request
+     *     The request, holding the optional validators and accepted media types
+     * @param versionResolver
+     *     The executable retrieving the summary of the versions of the read tables
+     * @param executable
+     *     The executable opening the stream of results
+     * @param <T>
+     *     The type of the result
+     *
+     * @return an {@link HttpStatus#OK} response if the results have changed, else a {@link HttpStatus#NOT_MODIFIED} response
+     */
+    @Loggable(debug = true, inputs = false, output = false)
+    @SneakyThrows(Exception.class)
+    <T> ResponseEntity<StreamingResponseBody> resolveGetStreamResponse(final WebRequest request, final Callable<TableVersionSummary> versionResolver,
+        final Callable<Stream<T>> executable) {
+        final var ndjson = isNdjsonAccepted(request);
+        final var version = versionResolver.call();
+        if (request.checkNotModified("W/\"" + toTag(version) + (ndjson ? "-ndjson" : "-json") + '"', version.getModifiedAt())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).varyBy(HttpHeaders.ACCEPT).build();
+        }
+
+        final var transactionTemplate = new TransactionTemplate(this.transactionManager);
+        transactionTemplate.setReadOnly(true);
+        return ResponseEntity.ok()
+            .contentType(ndjson ? MediaType.parseMediaType(CarImporter.NDJSON_VALUE) : MediaType.APPLICATION_JSON)
+            .cacheControl(CacheControl.noCache())
+            .varyBy(HttpHeaders.ACCEPT)
+            .body(output -> transactionTemplate.executeWithoutResult(status -> this.writeStream(executable, output, ndjson)));
+    }
+
+    /**
+     * Resolves a {@link HttpMethod#GET} method response streaming an attachment from its optional summary.
+     * <br/>
+     * <br/>
+     * The attachment is identified by an {@code ETag} header, so that it isn't sent again if it hasn't changed. The {@code Range} requests are handled by the
+     * {@link Resource} message converters.
+     *
+     * @param executable
+     *     The executable to perform
+     * @param resolver
+     *     The resolver of the path of the file holding an attachment content from its hash
+     *
+     * @return an {@link HttpStatus#OK} response if the attachment is present, else a {@link HttpStatus#NOT_FOUND} response
+     */
+    @Loggable(debug = true, inputs = false, output = false)
+    @SneakyThrows(Exception.class)
+    ResponseEntity<Resource> resolveGetAttachmentResponse(final Callable<Optional<AttachmentSummary>> executable, final Function<String, Path> resolver) {
+        return executable.call()
+            .map(summary -> new AttachmentResource(summary, resolver.apply(summary.getHash())))
+            .map(resource -> ResponseEntity.ok()
+                .contentType(resource.getContentType())
+                .eTag(resource.getETag())
+                .cacheControl(CacheControl.noCache())
+                .<Resource>body(resource))
+            .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
     /**
-     * Resolves a {@link HttpMethod#POST} method response with a given location.
+     * Resolves a {@link HttpMethod#POST} method response with the location of the created result, and the result itself if the {@code return=representation}
+     * preference is requested.
      *
+     * @param request
+     *     The request, holding the optional preferences
      * @param executable
      *     The executable to perform
+     * @param locationResolver
+     *     The function resolving the location of the result
+     * @param representationResolver
+     *     The function resolving the representation of the result, only called if it is preferred
+     * @param <T>
+     *     The type of the result
      *
      * @return an {@link HttpStatus#CREATED} response
      */
     @Loggable(debug = true, inputs = false, output = false)
     @SneakyThrows(Exception.class)
-    ResponseEntity resolvePostResponse(final Callable<String> executable) {
-        return ResponseEntity.created(new URI("http://" + this.serverAddress + ':' + this.serverPort + executable.call())).build();
+    <T> ResponseEntity<T> resolvePostResponse(final WebRequest request, final Callable<T> executable, final Function<T, String> locationResolver,
+        final UnaryOperator<T> representationResolver) {
+        final var result = executable.call();
+        final var response = ResponseEntity.created(new URI("http://" + this.serverAddress + ':' + this.serverPort + locationResolver.apply(result)));
+        return isRepresentationPreferred(request)
+            ? response.header(PREFERENCE_APPLIED_HEADER, RETURN_REPRESENTATION_PREFERENCE).body(representationResolver.apply(result)) : response.build();
     }
 
     /**
-     * Resolves a {@link HttpMethod#PUT} method response.
+     * Resolves a {@link HttpMethod#PUT} method response, with the updated result if the {@code return=representation} preference is requested.
      *
+     * @param request
+     *     The request, holding the optional preferences
      * @param executable
      *     The executable to perform
+     * @param representationResolver
+     *     The function resolving the representation of the result, only called if it is preferred
+     * @param <T>
+     *     The type of the result
      *
-     * @return an {@link HttpStatus#NO_CONTENT} response
+     * @return an {@link HttpStatus#OK} response if the representation is preferred, else a {@link HttpStatus#NO_CONTENT} response
      */
     @Loggable(debug = true, inputs = false, output = false)
     @SneakyThrows(Exception.class)
-    ResponseEntity resolvePutResponse(final Runnable executable) {
-        executable.run();
-        return ResponseEntity.noContent().build();
+    <T> ResponseEntity<T> resolvePutResponse(final WebRequest request, final Callable<T> executable, final UnaryOperator<T> representationResolver) {
+        return this.resolveOptionalPatchResponse(request, () -> Optional.of(executable.call()), representationResolver);
+    }
+
+    /**
+     * Resolves a {@link HttpMethod#PATCH} method response from an {@link Optional} patched result, with the result if the {@code return=representation}
+     * preference is requested.
+     *
+     * @param request
+     *     The request, holding the optional preferences
+     * @param executable
+     *     The executable to perform
+     * @param representationResolver
+     *     The function resolving the representation of the result, only called if it is preferred
+     * @param <T>
+     *     The type of the result
+     *
+     * @return an {@link HttpStatus#OK} response if the result is present and the representation is preferred, an {@link HttpStatus#NO_CONTENT} response if
+     *     the result is present, else a {@link HttpStatus#NOT_FOUND} response
+     */
+    @Loggable(debug = true, inputs = false, output = false)
+    @SneakyThrows(Exception.class)
+    <T> ResponseEntity<T> resolveOptionalPatchResponse(final WebRequest request, final Callable<Optional<T>> executable,
+        final UnaryOperator<T> representationResolver) {
+        final var result = executable.call();
+
+        if (result.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+
+        return isRepresentationPreferred(request)
+            ? ResponseEntity.ok().header(PREFERENCE_APPLIED_HEADER, RETURN_REPRESENTATION_PREFERENCE).body(representationResolver.apply(result.get()))
+            : ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Applies a JSON merge patch (RFC 7396) to the given object, by deserializing the patch into it. Only the root object is merged, so each patched property
+     * is replaced as a whole, which matches the RFC as long as the properties aren't objects themselves. A {@code null} property is reset.
+     *
+     * @param object
+     *     The object to patch
+     * @param patch
+     *     The JSON merge patch
+     * @param <T>
+     *     The type of the object
+     *
+     * @return the patched object
+     *
+     * @throws InvalidRequestException
+     *     if the patch isn't a JSON object, or doesn't match the object
+     */
+    @SneakyThrows(IOException.class)
+    <T> T applyMergePatch(final T object, final JsonNode patch) {
+        if (!patch.isObject()) {
+            throw new InvalidRequestException("The merge patch must be a JSON object");
+        }
+
+        try {
+            return this.objectMapper.readerForUpdating(object).readValue(patch);
+        } catch (final JsonProcessingException e) {
+            throw new InvalidRequestException("The merge patch doesn't match the patched object", e);
+        }
+    }
+
+    /**
+     * Resolves a {@link HttpMethod#PUT} method response updating an {@link Optional} result.
+     *
+     * @param executable
+     *     The executable to perform
+     * @param <T>
+     *     The type of the result
+     *
+     * @return an {@link HttpStatus#NO_CONTENT} response if the result is present, else a {@link HttpStatus#NOT_FOUND} response
+     */
+    @Loggable(debug = true, inputs = false, output = false)
+    @SneakyThrows(Exception.class)
+    <T> ResponseEntity resolveOptionalPutResponse(final Callable<Optional<T>> executable) {
+        return executable.call().isPresent() ? ResponseEntity.noContent().build() : ResponseEntity.notFound().build();
     }
 
     /**
@@ -108,6 +495,118 @@ class ControllerHelper {
         return ResponseEntity.noContent().build();
     }
 
+    /**
+     * Resolves the response of a batch request, holding the result of each of its items.
+     *
+     * @param executable
+     *     The executable to perform
+     *
+     * @return an {@link HttpStatus#OK} response if all the items have been processed successfully, else an {@link HttpStatus#MULTI_STATUS} response
+     */
+    @Loggable(debug = true, inputs = false, output = false)
+    @SneakyThrows(Exception.class)
+    ResponseEntity<List<BatchResult>> resolveBatchResponse(final Callable<List<BatchResult>> executable) {
+        final var results = executable.call();
+        return ResponseEntity.status(results.stream().allMatch(BatchResult::isSuccessful) ? HttpStatus.OK : HttpStatus.MULTI_STATUS).body(results);
+    }
+
+    /**
+     * Checks the validators of a request against the versions of the read tables. The {@code ETag} and {@code Last-Modified} headers are set on the response
+     * in any case.
+     *
+     * @param request
+     *     The request, holding the optional validators
+     * @param version
+     *     The summary of the versions of the read tables
+     *
+     * @return {@code true} if the read tables haven't changed since the validators have been issued
+     */
+    private static boolean checkNotModified(final WebRequest request, final TableVersionSummary version) {
+        return request.checkNotModified('"' + toTag(version) + '"', version.getModifiedAt());
+    }
+
+    /**
+     * Builds the value of the entity tag of the versions of the read tables, without its quotes.
+     *
+     * @param version
+     *     The summary of the versions of the read tables
+     *
+     * @return the value of the entity tag
+     */
+    private static String toTag(final TableVersionSummary version) {
+        // The modification timestamp is part of the tag, so that a tag issued before a restoration of the database isn't matched by chance
+        return String.valueOf(version.getVersion()) + '-' + version.getModifiedAt();
+    }
+
+    /**
+     * Writes the results of a stream one by one, as a JSON array or as NDJSON, then closes the stream.
+     *
+     * @param executable
+     *     The executable opening the stream of results
+     * @param output
+     *     The output of the response
+     * @param ndjson
+     *     If the results have to be written as NDJSON
+     * @param <T>
+     *     The type of the result
+     */
+    @SneakyThrows(Exception.class)
+    private <T> void writeStream(final Callable<Stream<T>> executable, final OutputStream output, final boolean ndjson) {
+        // The output is flushed by the generator once its buffer is full, instead of after each result
+        final var writer = this.objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        try (final var stream = executable.call(); final var generator = this.objectMapper.getFactory().createGenerator(output)) {
+            // The NDJSON results are separated by line breaks instead of the spaces between the JSON root values
+            generator.setRootValueSeparator(null);
+            if (!ndjson) {
+                generator.writeStartArray();
+            }
+
+            for (final var iterator = stream.iterator(); iterator.hasNext(); ) {
+                writer.writeValue(generator, iterator.next());
+                if (ndjson) {
+                    generator.writeRaw('\n');
+                }
+            }
+
+            if (!ndjson) {
+                generator.writeEndArray();
+            }
+        }
+    }
+
+    /**
+     * Checks if the NDJSON media type is accepted by a request, in which case it is preferred to the JSON one.
+     *
+     * @param request
+     *     The request, holding the optional accepted media types
+     *
+     * @return {@code true} if the NDJSON media type is accepted
+     */
+    private static boolean isNdjsonAccepted(final WebRequest request) {
+        final var ndjson = MediaType.parseMediaType(CarImporter.NDJSON_VALUE);
+        return Optional.ofNullable(request.getHeaderValues(HttpHeaders.ACCEPT)).stream()
+            .flatMap(Arrays::stream)
+            .flatMap(header -> MediaType.parseMediaTypes(header).stream())
+            .anyMatch(ndjson::equalsTypeAndSubtype);
+    }
+
+    /**
+     * Checks if the representation of the created or updated result is requested in the preferences of a request. The preferences are separated by commas,
+     * and can have parameters separated by semicolons.
+     *
+     * @param request
+     *     The request, holding the optional preferences
+     *
+     * @return {@code true} if the representation is preferred
+     */
+    static boolean isRepresentationPreferred(final WebRequest request) {
+        return Optional.ofNullable(request.getHeaderValues(PREFER_HEADER)).stream()
+            .flatMap(Arrays::stream)
+            .flatMap(header -> Arrays.stream(header.split(",")))
+            .map(preference -> preference.split(";")[0].strip())
+            .anyMatch(RETURN_REPRESENTATION_PREFERENCE::equalsIgnoreCase);
+    }
+
     /**
      * {@link RestTemplate} bean for the {@link} component.
      *
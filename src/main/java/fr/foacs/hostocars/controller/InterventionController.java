@@ -0,0 +1,198 @@
+package fr.foacs.hostocars.controller;
+
+import fr.foacs.hostocars.configuration.Loggable;
+import fr.foacs.hostocars.entity.Intervention;
+import fr.foacs.hostocars.repository.InterventionRepository;
+import fr.foacs.hostocars.repository.InterventionSpecifications;
+import fr.foacs.hostocars.repository.Keyset;
+import fr.foacs.hostocars.repository.TableVersionRepository;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.headers.Header;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import io.swagger.v3.oas.annotations.tags.Tags;
+import java.util.Collection;
+import java.util.List;
+import lombok.NonNull;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+/**
+ * REST controller for interventions.
+ * <br/>
+ * <br/>
+ * The interventions are read-only here, as they are written with their car through the {@link CarController}. Its methods are run in read-only
+ * transactions, so that they are routed to the read-only connections.
+ */
+@RestController
+@CrossOrigin(origins = "*")
+@RequestMapping("/interventions")
+@Transactional(readOnly = true)
+@ConditionalOnProperty("spring.profiles.active")
+@Tags(@Tag(name = "Interventions", description = "Services related to interventions."))
+public class InterventionController {
+
+    private final InterventionRepository repository;
+    private final TableVersionRepository tableVersionRepository;
+    private final ControllerHelper helper;
+
+    /**
+     * Valued autowired constructor.
+     *
+     * @param repository
+     *     The autowired {@link InterventionRepository} component
+     * @param tableVersionRepository
+     *     The autowired {@link TableVersionRepository} component
+     * @param helper
+     *     The autowired {@link ControllerHelper} component
+     */
+    @Autowired
+    public InterventionController(final InterventionRepository repository, final TableVersionRepository tableVersionRepository,
+        final ControllerHelper helper) {
+        this.repository = repository;
+        this.tableVersionRepository = tableVersionRepository;
+        this.helper = helper;
+    }
+
+    /**
+     * Retrieves a page of the {@link Intervention}s matching all the given filters from the database, using a keyset pagination. A list of sorting fields
+     * can also be specified.
+     * <br/>
+     * <br/>
+     * The interventions of a page are returned without their operations. The cursor of the next page and the total number of matching interventions are
+     * given like the ones of the cars pages, and the response can be validated like the one of {@link CarController#getCars}.
+     *
+     * @param request
+     *     The request, holding the optional validators
+     * @param statuses
+     *     The optional statuses of the interventions, one of them being matched
+     * @param year
+     *     The optional year of the interventions
+     * @param number
+     *     The optional number of the interventions
+     * @param carId
+     *     The optional ID of the car of the interventions
+     * @param minMileage
+     *     The optional minimal mileage of the interventions
+     * @param maxMileage
+     *     The optional maximal mileage of the interventions
+     * @param unpaid
+     *     The optional balance of the interventions, {@code true} for the unpaid ones and {@code false} for the other ones
+     * @param size
+     *     The optional page size
+     * @param after
+     *     The optional cursor of the page to retrieve
+     * @param count
+     *     If the total number of matching interventions has to be returned
+     * @param sortingFields
+     *     The optional sorting clause fields
+     *
+     * @return an HTTP response
+     */
+    @Loggable
+    @GetMapping
+    @Operation(summary = "Gets interventions.",
+        description = "Retrieves a page of the interventions matching all the filters from the database, without their operations. The next page can be "
+            + "retrieved with the cursor given in the response. A list of sorting fields can also be specified.",
+        responses = @ApiResponse(description = "At least one intervention has been found.", responseCode = "200",
+            headers = {@Header(name = ControllerHelper.NEXT_CURSOR_HEADER, description = "The cursor of the next page, if there is one."),
+                @Header(name = ControllerHelper.TOTAL_COUNT_HEADER, description = "The total number of matching interventions, if requested."),
+                @Header(name = HttpHeaders.ETAG, description = "The version of the interventions.")},
+            content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, array = @ArraySchema(schema = @Schema(implementation = Intervention.class)))))
+    public ResponseEntity<Collection<Intervention>> getInterventions(final WebRequest request,
+        @Parameter(description = "The statuses of the interventions.") @RequestParam(name = "status", required = false) final List<String> statuses,
+        @Parameter(description = "The year of the interventions.") @RequestParam(required = false) final Integer year,
+        @Parameter(description = "The number of the interventions.") @RequestParam(required = false) final Integer number,
+        @Parameter(description = "The ID of the car of the interventions.") @RequestParam(required = false) final Integer carId,
+        @Parameter(description = "The minimal mileage of the interventions.") @RequestParam(required = false) final Integer minMileage,
+        @Parameter(description = "The maximal mileage of the interventions.") @RequestParam(required = false) final Integer maxMileage,
+        @Parameter(description = "If the interventions have to be unpaid, or paid.") @RequestParam(required = false) final Boolean unpaid,
+        @Parameter(description = "The page size.") @RequestParam(required = false) final Integer size,
+        @Parameter(description = "The cursor of the page to retrieve.") @RequestParam(required = false) final String after,
+        @Parameter(description = "If the total number of matching interventions has to be returned.") @RequestParam(defaultValue = "false") final Boolean count,
+        @Parameter(description = "The sorting fields.") @RequestParam(required = false) final String... sortingFields) {
+        final var keysetSort = Keyset.withTieBreaker(ControllerHelper.resolveSort(Intervention.class, sortingFields));
+        final var specification = Specification.where(InterventionSpecifications.hasStatus(statuses))
+            .and(InterventionSpecifications.hasYear(year))
+            .and(InterventionSpecifications.hasNumber(number))
+            .and(InterventionSpecifications.hasCar(carId))
+            .and(InterventionSpecifications.hasMileageBetween(minMileage, maxMileage))
+            .and(InterventionSpecifications.isUnpaid(unpaid));
+
+        return this.helper.resolveGetSliceResponse(request, this.tableVersionRepository::findInterventionsSummary,
+            () -> this.repository.findSlice(specification.and(Keyset.after(keysetSort, after)), this.helper.resolvePageRequest(size, keysetSort)),
+            intervention -> Keyset.cursorOf(intervention, keysetSort), Boolean.TRUE.equals(count) ? () -> this.repository.count(specification) : null);
+    }
+
+    /**
+     * Retrieves the {@link Intervention} with the given ID from the database, with its operations.
+     * <br/>
+     * <br/>
+     * The response can be validated like the one of {@link CarController#getCarById}, with the version of the intervention and its operations tree.
+     *
+     * @param request
+     *     The request, holding the optional validators
+     * @param id
+     *     The {@link Intervention} ID
+     *
+     * @return an HTTP response
+     */
+    @Loggable
+    @GetMapping("/{id}")
+    @Operation(summary = "Gets an intervention by its ID.", description = "Retrieves the intervention corresponding to the specified ID from the database.",
+        responses = @ApiResponse(description = "An intervention has been found.", responseCode = "200",
+            headers = @Header(name = HttpHeaders.ETAG, description = "The version of the intervention and its operations."),
+            content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = Intervention.class))))
+    public ResponseEntity<Intervention> getInterventionById(final WebRequest request,
+        @Parameter(description = "The intervention ID to search.", required = true) @PathVariable @NonNull final Integer id) {
+        return this.helper.resolveGetResponse(request, this.tableVersionRepository::findInterventionsSummary, () -> this.repository.findById(id),
+            Intervention::computeTreeVersion);
+    }
+
+    /**
+     * Retrieves the {@link Intervention} with the given year and number from the database, with its operations.
+     * <br/>
+     * <br/>
+     * The response can be validated like the one of {@link #getInterventionById}.
+     *
+     * @param request
+     *     The request, holding the optional validators
+     * @param year
+     *     The year of the intervention
+     * @param number
+     *     The number of the intervention in its year
+     *
+     * @return an HTTP response
+     */
+    @Loggable
+    @GetMapping("/{year}/{number}")
+    @Operation(summary = "Gets an intervention by its year and number.",
+        description = "Retrieves the intervention corresponding to the specified year and number from the database.",
+        responses = @ApiResponse(description = "An intervention has been found.", responseCode = "200",
+            headers = @Header(name = HttpHeaders.ETAG, description = "The version of the intervention and its operations."),
+            content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = Intervention.class))))
+    public ResponseEntity<Intervention> getInterventionByNumber(final WebRequest request,
+        @Parameter(description = "The year of the intervention to search.", required = true) @PathVariable @NonNull final Integer year,
+        @Parameter(description = "The number of the intervention to search.", required = true) @PathVariable @NonNull final Integer number) {
+        return this.helper.resolveGetResponse(request, this.tableVersionRepository::findInterventionsSummary,
+            () -> this.repository.findByYearAndNumber(year, number), Intervention::computeTreeVersion);
+    }
+
+}
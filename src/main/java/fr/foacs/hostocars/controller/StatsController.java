@@ -0,0 +1,91 @@
+package fr.foacs.hostocars.controller;
+
+import fr.foacs.hostocars.configuration.Loggable;
+import fr.foacs.hostocars.repository.InterventionRepository;
+import fr.foacs.hostocars.repository.InterventionStats;
+import fr.foacs.hostocars.repository.TableVersionRepository;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.headers.Header;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import io.swagger.v3.oas.annotations.tags.Tags;
+import java.util.Collection;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+/**
+ * REST controller for the workshop dashboard stats.
+ * <br/>
+ * <br/>
+ * The stats are read from the aggregates maintained along the interventions, so that their cost depends on the number of years, months and statuses only.
+ * Its methods are run in read-only transactions, so that they are routed to the read-only connections.
+ */
+@RestController
+@CrossOrigin(origins = "*")
+@RequestMapping("/stats")
+@Transactional(readOnly = true)
+@ConditionalOnProperty("spring.profiles.active")
+@Tags(@Tag(name = "Stats", description = "Services related to the workshop dashboard stats."))
+public class StatsController {
+
+    private final InterventionRepository repository;
+    private final TableVersionRepository tableVersionRepository;
+    private final ControllerHelper helper;
+
+    /**
+     * Valued autowired constructor.
+     *
+     * @param repository
+     *     The autowired {@link InterventionRepository} component
+     * @param tableVersionRepository
+     *     The autowired {@link TableVersionRepository} component
+     * @param helper
+     *     The autowired {@link ControllerHelper} component
+     */
+    @Autowired
+    public StatsController(final InterventionRepository repository, final TableVersionRepository tableVersionRepository, final ControllerHelper helper) {
+        this.repository = repository;
+        this.tableVersionRepository = tableVersionRepository;
+        this.helper = helper;
+    }
+
+    /**
+     * Retrieves the {@link InterventionStats} of all the years, or of the given year only, by month and status.
+     * <br/>
+     * <br/>
+     * The response can be validated like the one of {@link CarController#getCars}, with the versions of the interventions tables.
+     *
+     * @param request
+     *     The request, holding the optional validators
+     * @param year
+     *     The optional year of the stats
+     *
+     * @return an HTTP response
+     */
+    @Loggable
+    @GetMapping
+    @Operation(summary = "Gets the interventions stats.",
+        description = "Retrieves the number, the amounts, the outstanding balance and the times of the interventions, by year, month and status.",
+        responses = @ApiResponse(description = "At least one intervention has been found.", responseCode = "200",
+            headers = @Header(name = HttpHeaders.ETAG, description = "The version of the interventions."),
+            content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, array = @ArraySchema(schema = @Schema(implementation = InterventionStats.class)))))
+    public ResponseEntity<Collection<InterventionStats>> getStats(final WebRequest request,
+        @Parameter(description = "The year of the stats.") @RequestParam(required = false) final Integer year) {
+        return this.helper.resolveGetCollectionResponse(request, this.tableVersionRepository::findInterventionsSummary, () -> this.repository.findStats(year));
+    }
+
+}
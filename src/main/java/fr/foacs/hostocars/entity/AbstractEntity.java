@@ -6,16 +6,34 @@ import static java.util.Objects.nonNull;
 
 import fr.foacs.hostocars.configuration.JsonUtil;
 import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import javax.persistence.Column;
 import javax.persistence.GeneratedValue;
-import javax.persistence.GenerationType;
 import javax.persistence.Id;
 import javax.persistence.MappedSuperclass;
+import javax.persistence.Version;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.Hibernate;
+import org.hibernate.annotations.GenericGenerator;
+import org.springframework.util.DigestUtils;
 
 /**
  * Abstract representation of a DTO.
+ * <br/>
+ * <br/>
+ * The ID of an entity is allocated by the {@link PooledIdGenerator} when it is persisted, so that its insert can be batched.
+ * <br/>
+ * <br/>
+ * The version of an entity is incremented by each update, and checked by the updates of its detached instances, which are rejected if it has been updated
+ * meanwhile.
  */
 @Getter
 @Setter
@@ -25,10 +43,15 @@ abstract class AbstractEntity implements Serializable {
     private static final long serialVersionUID = 6385609581190828938L;
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
-    @Column(name = "id", unique = true, nullable = false, insertable = false, updatable = false, columnDefinition = "INTEGER")
+    @GeneratedValue(generator = PooledIdGenerator.NAME)
+    @GenericGenerator(name = PooledIdGenerator.NAME, strategy = "fr.foacs.hostocars.entity.PooledIdGenerator")
+    @Column(name = "id", unique = true, nullable = false, updatable = false, columnDefinition = "INTEGER")
     private Integer id;
 
+    @Version
+    @Column(name = "version", nullable = false, columnDefinition = "INTEGER")
+    private Integer version;
+
     /**
      * {@inheritDoc}
      */
@@ -62,4 +85,75 @@ abstract class AbstractEntity implements Serializable {
         return JsonUtil.writeValueAsJson(this);
     }
 
+    /**
+     * Computes the version of a tree of entities, which changes whenever one of them is inserted, updated or deleted.
+     *
+     * @param entities
+     *     The entities of the tree
+     *
+     * @return the MD5 hash of the IDs and versions of the entities
+     */
+    static String computeVersion(final Stream<AbstractEntity> entities) {
+        final var versions = entities
+            .map(entity -> entity.getClass().getSimpleName() + ':' + entity.getId() + ':' + entity.getVersion())
+            .sorted()
+            .collect(Collectors.joining(","));
+        return DigestUtils.md5DigestAsHex(versions.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Completes the versions of the given entities without children, as described by {@link #completeVersions(Collection, Supplier, BiConsumer)}.
+     *
+     * @param entities
+     *     The entities to complete
+     * @param existingEntities
+     *     The supplier of the existing entities, only called if one of the entities has an ID
+     * @param <T>
+     *     The type of the entities
+     */
+    static <T extends AbstractEntity> void completeVersions(final Collection<T> entities, final Supplier<? extends Collection<T>> existingEntities) {
+        completeVersions(entities, existingEntities, null);
+    }
+
+    /**
+     * Completes the versions of the given entities sent with their ID but without their version, with the ones of the existing entities with the same ID, so
+     * that they are updated instead of being inserted again. The uninitialized collections, which haven't been replaced, are left as is.
+     *
+     * @param entities
+     *     The entities to complete
+     * @param existingEntities
+     *     The supplier of the existing entities, only called if one of the entities has an ID
+     * @param childrenCompleter
+     *     The completion of the children of an entity with the ones of the existing entity with the same ID, if any
+     * @param <T>
+     *     The type of the entities
+     */
+    static <T extends AbstractEntity> void completeVersions(final Collection<T> entities, final Supplier<? extends Collection<T>> existingEntities,
+        final BiConsumer<T, T> childrenCompleter) {
+        if (!Hibernate.isInitialized(entities)) {
+            return;
+        }
+
+        Map<Integer, T> existingEntitiesById = null;
+        for (final var entity : entities) {
+            if (isNull(entity.getId())) {
+                continue;
+            }
+
+            if (isNull(existingEntitiesById)) {
+                existingEntitiesById = existingEntities.get().stream().collect(Collectors.toMap(AbstractEntity::getId, Function.identity()));
+            }
+
+            final var existingEntity = existingEntitiesById.get(entity.getId());
+            if (nonNull(existingEntity)) {
+                if (isNull(entity.getVersion())) {
+                    entity.setVersion(existingEntity.getVersion());
+                }
+                if (nonNull(childrenCompleter)) {
+                    childrenCompleter.accept(entity, existingEntity);
+                }
+            }
+        }
+    }
+
 }
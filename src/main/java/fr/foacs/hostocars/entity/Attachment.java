@@ -0,0 +1,40 @@
+package fr.foacs.hostocars.entity;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Table;
+import lombok.Getter;
+import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+/**
+ * Entity for the {@code attachments} table.
+ * <br/>
+ * <br/>
+ * The content of an attachment is stored in a file named after its SHA-256 hash, so that identical contents are stored once. As an attachment is never
+ * updated, it is cached as read-only.
+ */
+@Entity
+@Getter
+@Setter
+@Table(name = "attachments")
+@Cache(usage = CacheConcurrencyStrategy.READ_ONLY, region = "attachments")
+public class Attachment extends AbstractEntity {
+
+    private static final long serialVersionUID = 3208475693468524337L;
+
+    @Column(name = "hash", unique = true, nullable = false, updatable = false, columnDefinition = "TEXT")
+    private String hash;
+
+    @Column(name = "size", nullable = false, updatable = false, columnDefinition = "INTEGER")
+    private Integer size;
+
+    @Column(name = "contentType", nullable = false, updatable = false, columnDefinition = "TEXT")
+    private String contentType;
+
+    // Maintained by the database triggers on the cars table, so the cached value is never read
+    @Column(name = "referenceCount", nullable = false, insertable = false, updatable = false, columnDefinition = "INTEGER")
+    private Integer referenceCount;
+
+}
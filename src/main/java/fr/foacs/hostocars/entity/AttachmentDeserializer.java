@@ -0,0 +1,43 @@
+package fr.foacs.hostocars.entity;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import fr.foacs.hostocars.repository.AttachmentStore;
+import java.io.IOException;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * JSON deserializer writing a Base64 string in the {@link AttachmentStore} and returning its transient {@link Attachment}.
+ * <br/>
+ * <br/>
+ * The string is decoded into the store while it is parsed, without being held in memory. The attachment is only persisted by the write saving the car
+ * referencing it, so that a rejected body doesn't insert any attachment: its file is garbage-collected by the store.
+ */
+class AttachmentDeserializer extends StdDeserializer<Attachment> {
+
+    private static final long serialVersionUID = 4415738010286369263L;
+
+    private final transient AttachmentStore store;
+
+    /**
+     * Valued autowired constructor.
+     *
+     * @param store
+     *     The autowired {@link AttachmentStore} component
+     */
+    @Autowired
+    AttachmentDeserializer(final AttachmentStore store) {
+        super(Attachment.class);
+        this.store = store;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Attachment deserialize(final JsonParser jsonParser, final DeserializationContext deserializationContext) throws IOException {
+        return this.store.write(jsonParser::readBinaryValue, null);
+    }
+
+}
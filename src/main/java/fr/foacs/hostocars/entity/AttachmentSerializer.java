@@ -0,0 +1,42 @@
+package fr.foacs.hostocars.entity;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import fr.foacs.hostocars.repository.AttachmentStore;
+import java.io.IOException;
+import java.nio.file.Files;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * JSON serializer streaming the content of an {@link Attachment} from the {@link AttachmentStore} as a Base64 string.
+ */
+class AttachmentSerializer extends StdSerializer<Attachment> {
+
+    private static final long serialVersionUID = -2046447436563137446L;
+
+    private final transient AttachmentStore store;
+
+    /**
+     * Valued autowired constructor.
+     *
+     * @param store
+     *     The autowired {@link AttachmentStore} component
+     */
+    @Autowired
+    AttachmentSerializer(final AttachmentStore store) {
+        super(Attachment.class);
+        this.store = store;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void serialize(final Attachment attachment, final JsonGenerator jsonGenerator, final SerializerProvider serializerProvider) throws IOException {
+        try (final var inputStream = Files.newInputStream(this.store.resolve(attachment.getHash()))) {
+            jsonGenerator.writeBinary(inputStream, attachment.getSize());
+        }
+    }
+
+}
@@ -1,25 +1,66 @@
 package fr.foacs.hostocars.entity;
 
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
 import com.fasterxml.jackson.annotation.JsonManagedReference;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonProperty.Access;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import fr.foacs.hostocars.configuration.Hide;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.stream.Stream;
 import javax.persistence.CascadeType;
 import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.FetchType;
+import javax.persistence.JoinColumn;
+import javax.persistence.ManyToOne;
+import javax.persistence.NamedAttributeNode;
+import javax.persistence.NamedEntityGraph;
+import javax.persistence.NamedSubgraph;
 import javax.persistence.OneToMany;
 import javax.persistence.Table;
 import lombok.Getter;
+import lombok.NonNull;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
 
 /**
  * Entity for the {@code cars} table.
+ * <br/>
+ * <br/>
+ * All the associations are lazy, and are fetched with one of the following entity graphs:
+ * <ul>
+ * <li>{@code Car.list}: the certificate and the picture, for the pages of cars</li>
+ * <li>{@code Car.full}: the certificate, the picture and the whole interventions tree, for a car or the list of all the cars</li>
+ * </ul>
+ * The cars, their interventions trees and their attachments are kept in the second-level cache, which is updated on each write through Hibernate. The
+ * updates only write the modified columns.
+ * <br/>
+ * <br/>
+ * As the version of a car isn't incremented by the updates of its interventions tree, the version of the whole tree is computed from the versions of all
+ * its entities.
+ * <br/>
+ * <br/>
+ * The summary of the interventions of a car (their number, the last mileage, the last creation date and the outstanding balance) is maintained by
+ * triggers whenever they are written, and is never written by Hibernate. It is refreshed in the persistence context by the {@link CarSummaryRefresher}.
  */
 @Entity
 @Getter
 @Setter
+@DynamicUpdate
 @Table(name = "cars")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "cars")
+@NamedEntityGraph(name = "Car.list", attributeNodes = {@NamedAttributeNode("certificate"), @NamedAttributeNode("picture")})
+@NamedEntityGraph(name = "Car.full",
+    attributeNodes = {@NamedAttributeNode("certificate"), @NamedAttributeNode("picture"), @NamedAttributeNode(value = "interventions", subgraph = "interventions")},
+    subgraphs = {@NamedSubgraph(name = "interventions", attributeNodes = @NamedAttributeNode(value = "operations", subgraph = "operations")),
+        @NamedSubgraph(name = "operations", attributeNodes = @NamedAttributeNode("operationLines"))})
 public class Car extends AbstractEntity {
 
     private static final long serialVersionUID = -8531072274006990095L;
@@ -51,17 +92,93 @@ public class Car extends AbstractEntity {
     @Column(name = "comments", columnDefinition = "TEXT")
     private String comments;
 
-    @Hide(asBoolean = true)
-    @Column(name = "certificate", columnDefinition = "BLOB")
-    private byte[] certificate;
+    @Hide
+    @JsonSerialize(using = AttachmentSerializer.class)
+    @JsonDeserialize(using = AttachmentDeserializer.class)
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "certificateId", referencedColumnName = "id")
+    private Attachment certificate;
+
+    @Hide
+    @JsonSerialize(using = AttachmentSerializer.class)
+    @JsonDeserialize(using = AttachmentDeserializer.class)
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "pictureId", referencedColumnName = "id")
+    private Attachment picture;
+
+    @JsonProperty(access = Access.READ_ONLY)
+    @Column(name = "hasCertificate", nullable = false, columnDefinition = "BOOLEAN")
+    private Boolean hasCertificate = false;
+
+    @JsonProperty(access = Access.READ_ONLY)
+    @Column(name = "hasPicture", nullable = false, columnDefinition = "BOOLEAN")
+    private Boolean hasPicture = false;
+
+    @JsonProperty(access = Access.READ_ONLY)
+    @Column(name = "interventionCount", insertable = false, updatable = false, columnDefinition = "INTEGER")
+    private Integer interventionCount = 0;
 
-    @Hide(asBoolean = true)
-    @Column(name = "picture", columnDefinition = "BLOB")
-    private byte[] picture;
+    @JsonProperty(access = Access.READ_ONLY)
+    @Column(name = "lastMileage", insertable = false, updatable = false, columnDefinition = "INTEGER")
+    private Integer lastMileage;
+
+    @JsonProperty(access = Access.READ_ONLY)
+    @Column(name = "lastInterventionDate", insertable = false, updatable = false, columnDefinition = "DATE")
+    private String lastInterventionDate;
+
+    @JsonProperty(access = Access.READ_ONLY)
+    @Column(name = "balance", insertable = false, updatable = false, columnDefinition = "REAL")
+    private Double balance = 0.0;
 
     @JsonManagedReference
-    @OneToMany(mappedBy = "car", cascade = CascadeType.ALL, fetch = FetchType.EAGER, orphanRemoval = true)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "cars.interventions")
+    @OneToMany(mappedBy = "car", cascade = CascadeType.ALL, fetch = FetchType.LAZY, orphanRemoval = true)
     private Set<Intervention> interventions = new HashSet<>(0);
 
-}
+    /**
+     * Sets the certificate of the car and its presence flag.
+     *
+     * @param certificate
+     *     The certificate to set
+     */
+    public void setCertificate(final Attachment certificate) {
+        this.certificate = certificate;
+        this.hasCertificate = nonNull(certificate);
+    }
+
+    /**
+     * Sets the picture of the car and its presence flag.
+     *
+     * @param picture
+     *     The picture to set
+     */
+    public void setPicture(final Attachment picture) {
+        this.picture = picture;
+        this.hasPicture = nonNull(picture);
+    }
+
+    /**
+     * Computes the version of the car and its whole interventions tree, which changes whenever one of their entities is inserted, updated or deleted.
+     *
+     * @return the MD5 hash of the IDs and versions of the tree entities
+     */
+    public String computeTreeVersion() {
+        return computeVersion(Stream.concat(Stream.of(this), this.interventions.stream().flatMap(Intervention::streamTree)));
+    }
+
+    /**
+     * Completes the versions of the car and its interventions tree, for the entities sent with their ID but without their version, with the ones of the
+     * existing car, so that they are updated instead of being inserted again under new IDs.
+     *
+     * @param existingCar
+     *     The existing car with the same ID
+     */
+    public void completeVersions(@NonNull final Car existingCar) {
+        if (isNull(this.getVersion())) {
+            this.setVersion(existingCar.getVersion());
+        }
+
+        completeVersions(this.interventions, existingCar::getInterventions, Intervention::completeVersions);
+    }
 
+}
@@ -0,0 +1,153 @@
+package fr.foacs.hostocars.entity;
+
+import static java.util.Objects.isNull;
+
+import java.sql.SQLException;
+import org.hibernate.HibernateException;
+import org.hibernate.action.spi.AfterTransactionCompletionProcess;
+import org.hibernate.action.spi.BeforeTransactionCompletionProcess;
+import org.hibernate.boot.Metadata;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventSource;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.proxy.HibernateProxy;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+
+/**
+ * Hibernate listener refreshing the summary of the {@link Car}s whose {@link Intervention}s are written.
+ * <br/>
+ * <br/>
+ * The summary columns of a car are updated by triggers in the statements writing its interventions. As these statements may be batched, the summary is
+ * read back with the same connection once the session is flushed before the commit, and set on the car of the interventions if it is loaded. As the car
+ * itself isn't updated through Hibernate, its second-level cache entry is evicted and the cached queries over the cars are invalidated once the
+ * transaction is completed, like for an update of the car.
+ */
+public class CarSummaryRefresher implements Integrator, PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener {
+
+    private static final long serialVersionUID = -2265482720331586641L;
+
+    private static final String[] CARS_SPACES = {"cars"};
+
+    private static final String SELECT_SUMMARY_SQL = "SELECT interventionCount, lastMileage, lastInterventionDate, balance FROM cars WHERE id = ?";
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void integrate(final Metadata metadata, final SessionFactoryImplementor sessionFactory, final SessionFactoryServiceRegistry serviceRegistry) {
+        final var eventListenerRegistry = serviceRegistry.getService(EventListenerRegistry.class);
+        eventListenerRegistry.appendListeners(EventType.POST_INSERT, this);
+        eventListenerRegistry.appendListeners(EventType.POST_UPDATE, this);
+        eventListenerRegistry.appendListeners(EventType.POST_DELETE, this);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void disintegrate(final SessionFactoryImplementor sessionFactory, final SessionFactoryServiceRegistry serviceRegistry) {
+        // Nothing to release
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @SuppressWarnings("deprecation")
+    public boolean requiresPostCommitHanding(final EntityPersister persister) {
+        return false;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void onPostInsert(final PostInsertEvent event) {
+        this.refresh(event.getSession(), event.getEntity());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void onPostUpdate(final PostUpdateEvent event) {
+        this.refresh(event.getSession(), event.getEntity());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void onPostDelete(final PostDeleteEvent event) {
+        this.refresh(event.getSession(), event.getEntity());
+    }
+
+    /**
+     * Refreshes the summary of the car of the given entity, if it is a written intervention.
+     *
+     * @param session
+     *     The session of the write
+     * @param entity
+     *     The written entity
+     */
+    private void refresh(final EventSource session, final Object entity) {
+        if (!(entity instanceof Intervention) || isNull(((Intervention) entity).getCar())) {
+            return;
+        }
+
+        final var intervention = (Intervention) entity;
+        final var carId = intervention.getCarId();
+        final var cache = session.getFactory().getCache();
+        cache.getTimestampsCache().preInvalidate(CARS_SPACES, session);
+        session.getActionQueue().registerProcess((AfterTransactionCompletionProcess) (success, completedSession) -> {
+            cache.evictEntityData(Car.class, carId);
+            cache.getTimestampsCache().invalidate(CARS_SPACES, completedSession);
+        });
+
+        // An uninitialized proxy will read the summary from the database when initialized
+        final var car = intervention.getCar();
+        if (!(car instanceof HibernateProxy) || !((HibernateProxy) car).getHibernateLazyInitializer().isUninitialized()) {
+            final var loadedCar = car instanceof HibernateProxy ? (Car) ((HibernateProxy) car).getHibernateLazyInitializer().getImplementation() : car;
+            session.getActionQueue().registerProcess((BeforeTransactionCompletionProcess) flushedSession -> read(flushedSession, loadedCar, carId));
+        }
+    }
+
+    /**
+     * Reads the summary of a car from the database, and sets it on the car.
+     *
+     * @param session
+     *     The flushed session
+     * @param car
+     *     The car
+     * @param carId
+     *     The ID of the car
+     */
+    private static void read(final SessionImplementor session, final Car car, final Integer carId) {
+        final var connection = session.getJdbcCoordinator().getLogicalConnection().getPhysicalConnection();
+        try (final var statement = connection.prepareStatement(SELECT_SUMMARY_SQL)) {
+            statement.setInt(1, carId);
+            try (final var resultSet = statement.executeQuery()) {
+                if (resultSet.next()) {
+                    car.setInterventionCount(resultSet.getInt(1));
+                    final var lastMileage = resultSet.getInt(2);
+                    car.setLastMileage(resultSet.wasNull() ? null : lastMileage);
+                    car.setLastInterventionDate(resultSet.getString(3));
+                    car.setBalance(resultSet.getDouble(4));
+                }
+            }
+        } catch (final SQLException e) {
+            throw new HibernateException("Unable to refresh the summary of the car " + carId, e);
+        }
+    }
+
+}
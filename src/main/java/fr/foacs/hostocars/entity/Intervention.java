@@ -1,36 +1,59 @@
 package fr.foacs.hostocars.entity;
 
+import static java.util.Objects.isNull;
+
 import com.fasterxml.jackson.annotation.JsonBackReference;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonProperty.Access;
 import fr.foacs.hostocars.configuration.Hide;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.stream.Stream;
 import javax.persistence.CascadeType;
 import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.FetchType;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
+import javax.persistence.NamedAttributeNode;
+import javax.persistence.NamedEntityGraph;
+import javax.persistence.NamedSubgraph;
 import javax.persistence.OneToMany;
 import javax.persistence.Table;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.proxy.HibernateProxy;
 
 /**
  * Entity for the {@code interventions} table.
+ * <br/>
+ * <br/>
+ * The operations are lazy, and are fetched with their lines by the {@code Intervention.full} entity graph. The ID of the car is given without loading it.
  */
 @Entity
 @Getter
 @Setter
+@DynamicUpdate
 @Table(name = "interventions")
-class Intervention extends AbstractEntity {
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "interventions")
+@NamedEntityGraph(name = "Intervention.full", attributeNodes = @NamedAttributeNode(value = "operations", subgraph = "operations"),
+    subgraphs = @NamedSubgraph(name = "operations", attributeNodes = @NamedAttributeNode("operationLines")))
+public class Intervention extends AbstractEntity {
 
     private static final long serialVersionUID = -9130046034547531677L;
 
-    @Column(name = "year", insertable = false, updatable = false, columnDefinition = "INTEGER")
+    // All given by the InterventionNumberGenerator when the intervention is inserted
+    @Column(name = "creationDate", updatable = false, columnDefinition = "DATE")
+    private String creationDate;
+
+    @Column(name = "year", updatable = false, columnDefinition = "INTEGER")
     private Integer year;
 
-    @Column(name = "number", insertable = false, updatable = false, columnDefinition = "INTEGER")
+    @Column(name = "number", updatable = false, columnDefinition = "INTEGER")
     private Integer number;
 
     @Column(name = "status", nullable = false, columnDefinition = "TEXT")
@@ -59,12 +82,58 @@ class Intervention extends AbstractEntity {
 
     @Hide
     @JsonBackReference
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "carId", referencedColumnName = "id")
     private Car car;
 
     @JsonManagedReference
-    @OneToMany(mappedBy = "intervention", cascade = CascadeType.ALL, fetch = FetchType.EAGER, orphanRemoval = true)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "interventions.operations")
+    @OneToMany(mappedBy = "intervention", cascade = CascadeType.ALL, fetch = FetchType.LAZY, orphanRemoval = true)
     private Set<Operation> operations = new HashSet<>(0);
 
+    /**
+     * Gets the ID of the car of the intervention, read from the proxy of the car if it isn't loaded.
+     *
+     * @return the ID of the car
+     */
+    @JsonProperty(access = Access.READ_ONLY)
+    public Integer getCarId() {
+        if (this.car instanceof HibernateProxy) {
+            return (Integer) ((HibernateProxy) this.car).getHibernateLazyInitializer().getIdentifier();
+        }
+
+        return isNull(this.car) ? null : this.car.getId();
+    }
+
+    /**
+     * Computes the version of the intervention and its operations tree, which changes whenever one of their entities is inserted, updated or deleted.
+     *
+     * @return the MD5 hash of the IDs and versions of the tree entities
+     */
+    public String computeTreeVersion() {
+        return computeVersion(this.streamTree());
+    }
+
+    /**
+     * Streams the intervention, its operations and their lines.
+     *
+     * @return the stream of the tree entities
+     */
+    Stream<AbstractEntity> streamTree() {
+        return Stream.concat(Stream.of(this), this.operations.stream()
+            .flatMap(operation -> Stream.concat(Stream.of(operation), operation.getOperationLines().stream())));
+    }
+
+    /**
+     * Completes the versions of the operations tree of the intervention, for the entities sent with their ID but without their version, with the ones of the
+     * existing intervention.
+     *
+     * @param existingIntervention
+     *     The existing intervention with the same ID
+     */
+    void completeVersions(final Intervention existingIntervention) {
+        completeVersions(this.operations, existingIntervention::getOperations,
+            (operation, existingOperation) -> completeVersions(operation.getOperationLines(), existingOperation::getOperationLines));
+    }
+
 }
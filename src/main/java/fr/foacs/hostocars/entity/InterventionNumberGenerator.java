@@ -0,0 +1,305 @@
+package fr.foacs.hostocars.entity;
+
+import static java.util.Objects.nonNull;
+
+import java.sql.SQLException;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.transaction.Status;
+import javax.transaction.Synchronization;
+import org.hibernate.HibernateException;
+import org.hibernate.boot.Metadata;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.AbstractPreDatabaseOperationEvent;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PreInsertEvent;
+import org.hibernate.event.spi.PreInsertEventListener;
+import org.hibernate.event.spi.PreUpdateEvent;
+import org.hibernate.event.spi.PreUpdateEventListener;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+
+/**
+ * Hibernate listener numbering the inserted {@link Intervention}s by year, allocating the numbers by blocks from the {@code interventionsSequences} table.
+ * <br/>
+ * <br/>
+ * Like the IDs of the {@link PooledIdGenerator}, a block is reserved in the transaction of the insert requiring it, after the numbers already reserved by
+ * this generator or by any other process, so that the numbers stay unique across restarts. The numbers of a block are then handed out by an atomic counter,
+ * without locking nor querying the database. A block whose reservation is rolled back is dropped with it, as the sequence no longer covers its numbers,
+ * and they are reserved again by the next insert. The numbers handed out to another rolled back transaction and the rest of the block of a stopped
+ * application are skipped. The year and the number of an intervention are never updated afterwards.
+ * <br/>
+ * <br/>
+ * The creation date of the inserted interventions is given by the same clock as their year, and is never updated either.
+ */
+public class InterventionNumberGenerator implements Integrator, PreInsertEventListener, PreUpdateEventListener {
+
+    private static final long serialVersionUID = 2484618208526389011L;
+
+    private static final String YEAR_PROPERTY = "year";
+    private static final String NUMBER_PROPERTY = "number";
+    private static final String CREATION_DATE_PROPERTY = "creationDate";
+
+    // The sequence of a year starts after the numbers given to its interventions before the sequences were maintained
+    private static final String INSERT_SEQUENCE_SQL = "INSERT INTO interventionsSequences (year, number) "
+        + "SELECT ?, (SELECT IFNULL(MAX(number), 0) FROM interventions WHERE year = ?) WHERE NOT EXISTS (SELECT 1 FROM interventionsSequences WHERE year = ?)";
+
+    private static final String UPDATE_SEQUENCE_SQL = "UPDATE interventionsSequences SET number = MAX(number, ?) + ? WHERE year = ?";
+
+    private static final String SELECT_SEQUENCE_SQL = "SELECT number FROM interventionsSequences WHERE year = ?";
+
+    private final int blockSize;
+
+    private final Clock clock;
+
+    private transient volatile Block block = new Block(0, 1, 0);
+
+    /**
+     * Valued constructor.
+     *
+     * @param blockSize
+     *     The number of numbers reserved at once
+     * @param clock
+     *     The clock giving the creation date and the year of the inserted interventions
+     */
+    public InterventionNumberGenerator(final int blockSize, final Clock clock) {
+        this.blockSize = blockSize;
+        this.clock = clock;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void integrate(final Metadata metadata, final SessionFactoryImplementor sessionFactory, final SessionFactoryServiceRegistry serviceRegistry) {
+        final var eventListenerRegistry = serviceRegistry.getService(EventListenerRegistry.class);
+        eventListenerRegistry.appendListeners(EventType.PRE_INSERT, this);
+        eventListenerRegistry.appendListeners(EventType.PRE_UPDATE, this);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void disintegrate(final SessionFactoryImplementor sessionFactory, final SessionFactoryServiceRegistry serviceRegistry) {
+        // Nothing to release
+    }
+
+    /**
+     * {@inheritDoc}
+     * <br/>
+     * <br/>
+     * Dates and numbers the inserted interventions, whatever creation date, year and number they were given.
+     */
+    @Override
+    public boolean onPreInsert(final PreInsertEvent event) {
+        if (event.getEntity() instanceof Intervention) {
+            final var intervention = (Intervention) event.getEntity();
+            final var creationDate = LocalDate.now(this.clock);
+            intervention.setCreationDate(creationDate.toString());
+            intervention.setYear(creationDate.getYear());
+            intervention.setNumber(this.generate(event.getSession(), creationDate.getYear()));
+            setState(event, event.getState(), CREATION_DATE_PROPERTY, intervention.getCreationDate());
+            setState(event, event.getState(), YEAR_PROPERTY, intervention.getYear());
+            setState(event, event.getState(), NUMBER_PROPERTY, intervention.getNumber());
+        }
+        return false;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <br/>
+     * <br/>
+     * Restores the creation date, the year and the number of the updated interventions, which can't be updated, so that the cached state is the one of the
+     * database.
+     */
+    @Override
+    public boolean onPreUpdate(final PreUpdateEvent event) {
+        if (event.getEntity() instanceof Intervention && nonNull(event.getOldState())) {
+            final var intervention = (Intervention) event.getEntity();
+            intervention.setCreationDate((String) getState(event, event.getOldState(), CREATION_DATE_PROPERTY));
+            intervention.setYear((Integer) getState(event, event.getOldState(), YEAR_PROPERTY));
+            intervention.setNumber((Integer) getState(event, event.getOldState(), NUMBER_PROPERTY));
+            setState(event, event.getState(), CREATION_DATE_PROPERTY, intervention.getCreationDate());
+            setState(event, event.getState(), YEAR_PROPERTY, intervention.getYear());
+            setState(event, event.getState(), NUMBER_PROPERTY, intervention.getNumber());
+        }
+        return false;
+    }
+
+    /**
+     * Generates the next number of the given year, reserving a new block with the connection of the given session if the current one is exhausted or belongs
+     * to another year. The new block is dropped if the transaction of the session is rolled back.
+     *
+     * @param session
+     *     The session of the insert
+     * @param year
+     *     The year of the inserted intervention
+     *
+     * @return the number of the intervention
+     */
+    int generate(final SharedSessionContractImplementor session, final int year) {
+        while (true) {
+            final var current = this.block;
+            if (current.year == year) {
+                final var number = current.next.getAndIncrement();
+                if (number <= current.last) {
+                    return number;
+                }
+            }
+
+            synchronized (this) {
+                // Another thread may have reserved the next block meanwhile
+                if (this.block == current) {
+                    final var last = this.allocate(session, year, current.year == year ? current.last : 0);
+                    final var allocated = new Block(year, last - this.blockSize + 1, last);
+                    this.block = allocated;
+                    session.accessTransaction().registerSynchronization(new BlockSynchronization(allocated));
+                }
+            }
+        }
+    }
+
+    /**
+     * Reserves the next block of numbers of the given year in the {@code interventionsSequences} table.
+     *
+     * @param session
+     *     The session of the insert
+     * @param year
+     *     The year of the numbers
+     * @param previousLast
+     *     The last number of the previous block of the year reserved by this generator, or {@code 0}
+     *
+     * @return the last number of the block
+     */
+    private int allocate(final SharedSessionContractImplementor session, final int year, final int previousLast) {
+        final var connection = session.getJdbcCoordinator().getLogicalConnection().getPhysicalConnection();
+        try (final var insertStatement = connection.prepareStatement(INSERT_SEQUENCE_SQL);
+            final var updateStatement = connection.prepareStatement(UPDATE_SEQUENCE_SQL);
+            final var selectStatement = connection.prepareStatement(SELECT_SEQUENCE_SQL)) {
+            insertStatement.setInt(1, year);
+            insertStatement.setInt(2, year);
+            insertStatement.setInt(3, year);
+            insertStatement.executeUpdate();
+
+            updateStatement.setInt(1, previousLast);
+            updateStatement.setInt(2, this.blockSize);
+            updateStatement.setInt(3, year);
+            updateStatement.executeUpdate();
+
+            selectStatement.setInt(1, year);
+            try (final var resultSet = selectStatement.executeQuery()) {
+                resultSet.next();
+                return resultSet.getInt(1);
+            }
+        } catch (final SQLException e) {
+            throw new HibernateException("Unable to allocate the intervention numbers of " + year, e);
+        }
+    }
+
+    /**
+     * Reads a property of an entity state.
+     *
+     * @param event
+     *     The event of the entity
+     * @param state
+     *     The state of the entity
+     * @param property
+     *     The name of the property
+     *
+     * @return the value of the property
+     */
+    private static Object getState(final AbstractPreDatabaseOperationEvent event, final Object[] state, final String property) {
+        return state[event.getPersister().getEntityMetamodel().getPropertyIndex(property)];
+    }
+
+    /**
+     * Writes a property of an entity state.
+     *
+     * @param event
+     *     The event of the entity
+     * @param state
+     *     The state of the entity
+     * @param property
+     *     The name of the property
+     * @param value
+     *     The value of the property
+     */
+    private static void setState(final AbstractPreDatabaseOperationEvent event, final Object[] state, final String property, final Object value) {
+        state[event.getPersister().getEntityMetamodel().getPropertyIndex(property)] = value;
+    }
+
+    /**
+     * Synchronization dropping a block when the transaction having reserved it is rolled back, unless another block has been reserved since.
+     */
+    private class BlockSynchronization implements Synchronization {
+
+        private final Block allocated;
+
+        /**
+         * Valued constructor.
+         *
+         * @param allocated
+         *     The block reserved by the transaction
+         */
+        BlockSynchronization(final Block allocated) {
+            this.allocated = allocated;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void beforeCompletion() {
+            // Nothing to do before the completion
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void afterCompletion(final int status) {
+            if (status != Status.STATUS_COMMITTED) {
+                synchronized (InterventionNumberGenerator.this) {
+                    if (InterventionNumberGenerator.this.block == this.allocated) {
+                        InterventionNumberGenerator.this.block = new Block(0, 1, 0);
+                    }
+                }
+            }
+        }
+
+    }
+
+    /**
+     * Block of numbers of a year, handed out from its first number to its last one.
+     */
+    private static class Block {
+
+        private final int year;
+
+        private final AtomicInteger next;
+
+        private final int last;
+
+        /**
+         * Valued constructor.
+         *
+         * @param year
+         *     The year of the numbers
+         * @param first
+         *     The first number of the block
+         * @param last
+         *     The last number of the block
+         */
+        Block(final int year, final int first, final int last) {
+            this.year = year;
+            this.next = new AtomicInteger(first);
+            this.last = last;
+        }
+
+    }
+
+}
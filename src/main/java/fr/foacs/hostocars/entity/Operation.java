@@ -15,6 +15,9 @@ import javax.persistence.OneToMany;
 import javax.persistence.Table;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
 
 /**
  * Entity for the {@code operations} table.
@@ -22,8 +25,10 @@ import lombok.Setter;
 @Entity
 @Getter
 @Setter
+@DynamicUpdate
 @Table(name = "operations")
-class Operation extends AbstractEntity {
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "operations")
+public class Operation extends AbstractEntity {
 
     private static final long serialVersionUID = -6271290610333034638L;
 
@@ -32,12 +37,13 @@ class Operation extends AbstractEntity {
 
     @Hide
     @JsonBackReference
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "interventionId", referencedColumnName = "id")
     private Intervention intervention;
 
     @JsonManagedReference
-    @OneToMany(mappedBy = "operation", cascade = CascadeType.ALL, fetch = FetchType.EAGER, orphanRemoval = true)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "operations.operationLines")
+    @OneToMany(mappedBy = "operation", cascade = CascadeType.ALL, fetch = FetchType.LAZY, orphanRemoval = true)
     private Set<OperationLine> operationLines = new HashSet<>(0);
 
 }
@@ -10,6 +10,9 @@ import javax.persistence.ManyToOne;
 import javax.persistence.Table;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
 
 /**
  * Entity for the {@code operationLines} table.
@@ -17,8 +20,10 @@ import lombok.Setter;
 @Entity
 @Getter
 @Setter
+@DynamicUpdate
 @Table(name = "operationLines")
-class OperationLine extends AbstractEntity {
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "operationLines")
+public class OperationLine extends AbstractEntity {
 
     private static final long serialVersionUID = 7694570052168923210L;
 
@@ -33,7 +38,7 @@ class OperationLine extends AbstractEntity {
 
     @Hide
     @JsonBackReference
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "operationId", referencedColumnName = "id")
     private Operation operation;
 
@@ -0,0 +1,106 @@
+package fr.foacs.hostocars.entity;
+
+import java.io.Serializable;
+import java.sql.SQLException;
+import java.util.Properties;
+import org.hibernate.HibernateException;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.Configurable;
+import org.hibernate.id.IdentifierGenerator;
+import org.hibernate.id.PersistentIdentifierGenerator;
+import org.hibernate.internal.util.config.ConfigurationHelper;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+/**
+ * Hibernate generator of the entity IDs, allocating them by blocks from the {@code sqlite_sequence} table, so that the inserts can be sent to the database
+ * in JDBC batches, unlike with the {@code AUTOINCREMENT} columns read after each insert.
+ * <br/>
+ * <br/>
+ * A block has the size of the JDBC batches, and is reserved in the transaction of the insert requiring it: the IDs inserted without Hibernate are allocated
+ * after the committed blocks by SQLite. As a block handed out by a rolled back transaction is still used by the following inserts, the next block is always
+ * allocated after it.
+ */
+public class PooledIdGenerator implements IdentifierGenerator, Configurable {
+
+    /**
+     * The name of this generator, referenced by the mappings.
+     */
+    public static final String NAME = "pooled";
+
+    private static final int DEFAULT_BLOCK_SIZE = 50;
+
+    private static final String INSERT_SEQUENCE_SQL = "INSERT INTO sqlite_sequence (name, seq) SELECT ?, 0 "
+        + "WHERE NOT EXISTS (SELECT 1 FROM sqlite_sequence WHERE name = ?)";
+
+    private static final String UPDATE_SEQUENCE_SQL = "UPDATE sqlite_sequence SET seq = MAX(seq, ?) + ? WHERE name = ?";
+
+    private static final String SELECT_SEQUENCE_SQL = "SELECT seq FROM sqlite_sequence WHERE name = ?";
+
+    private String table;
+
+    private int blockSize;
+
+    private int next = 1;
+
+    private int last;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void configure(final Type type, final Properties params, final ServiceRegistry serviceRegistry) {
+        this.table = params.getProperty(PersistentIdentifierGenerator.TABLE);
+        this.blockSize = ConfigurationHelper.getInt(AvailableSettings.STATEMENT_BATCH_SIZE,
+            serviceRegistry.getService(ConfigurationService.class).getSettings(), DEFAULT_BLOCK_SIZE);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized Serializable generate(final SharedSessionContractImplementor session, final Object object) {
+        if (this.next > this.last) {
+            this.last = this.allocate(session);
+            this.next = this.last - this.blockSize + 1;
+        }
+
+        return this.next++;
+    }
+
+    /**
+     * Reserves the next block of IDs in the {@code sqlite_sequence} table, with the connection of the given session.
+     *
+     * @param session
+     *     The session of the insert
+     *
+     * @return the last ID of the block
+     */
+    private int allocate(final SharedSessionContractImplementor session) {
+        final var connection = session.getJdbcCoordinator().getLogicalConnection().getPhysicalConnection();
+        try (final var insertStatement = connection.prepareStatement(INSERT_SEQUENCE_SQL);
+            final var updateStatement = connection.prepareStatement(UPDATE_SEQUENCE_SQL);
+            final var selectStatement = connection.prepareStatement(SELECT_SEQUENCE_SQL)) {
+            // The sequence of a table is only created by SQLite on its first insert
+            insertStatement.setString(1, this.table);
+            insertStatement.setString(2, this.table);
+            insertStatement.executeUpdate();
+
+            updateStatement.setInt(1, this.last);
+            updateStatement.setInt(2, this.blockSize);
+            updateStatement.setString(3, this.table);
+            updateStatement.executeUpdate();
+
+            selectStatement.setString(1, this.table);
+            try (final var resultSet = selectStatement.executeQuery()) {
+                resultSet.next();
+                return resultSet.getInt(1);
+            }
+        } catch (final SQLException e) {
+            throw new HibernateException("Unable to allocate the IDs of the " + this.table + " table", e);
+        }
+    }
+
+}
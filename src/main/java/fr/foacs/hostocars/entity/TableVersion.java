@@ -0,0 +1,33 @@
+package fr.foacs.hostocars.entity;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Table;
+import lombok.Getter;
+import lombok.Setter;
+import org.hibernate.annotations.Immutable;
+
+/**
+ * Entity for the {@code tableVersions} table.
+ * <br/>
+ * <br/>
+ * The version and the modification timestamp of a table are maintained by the database triggers on this table, so that a change of its content can be
+ * detected without reading it. As they change behind Hibernate, the table versions are never cached.
+ */
+@Entity
+@Getter
+@Setter
+@Immutable
+@Table(name = "tableVersions")
+public class TableVersion extends AbstractEntity {
+
+    private static final long serialVersionUID = -4290174358913506752L;
+
+    @Column(name = "name", unique = true, nullable = false, updatable = false, columnDefinition = "TEXT")
+    private String name;
+
+    // The number of milliseconds since the epoch
+    @Column(name = "modifiedAt", nullable = false, updatable = false, columnDefinition = "INTEGER")
+    private Long modifiedAt;
+
+}
@@ -0,0 +1,365 @@
+package fr.foacs.hostocars.repository;
+
+import java.io.BufferedOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import lombok.NonNull;
+import lombok.SneakyThrows;
+import lombok.Value;
+import org.springframework.http.MediaType;
+
+/**
+ * Content-addressed store of attachment files.
+ * <br/>
+ * <br/>
+ * Each file is named after the SHA-256 hash of its content, in a sub-directory named after the first two characters of the hash, so that identical contents
+ * are stored once. Files are first written as temporary files and then moved to their final location, so that a stored file is always complete.
+ */
+public final class AttachmentFiles {
+
+    private static final String HASH_ALGORITHM = "SHA-256";
+    private static final String TEMPORARY_FILE_SUFFIX = ".tmp";
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int SIGNATURE_SIZE = 12;
+
+    private static final byte[] PNG_SIGNATURE = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+    private static final byte[] JPEG_SIGNATURE = {(byte) 0xFF, (byte) 0xD8, (byte) 0xFF};
+    private static final byte[] GIF_SIGNATURE = "GIF8".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] RIFF_SIGNATURE = "RIFF".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] WEBP_SIGNATURE = "WEBP".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] PDF_SIGNATURE = "%PDF".getBytes(StandardCharsets.US_ASCII);
+
+    private final Path directory;
+
+    /**
+     * Valued constructor.
+     *
+     * @param directory
+     *     The root directory of the store
+     */
+    public AttachmentFiles(@NonNull final Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Writes the content of the given stream in the store, using a bounded buffer. If an identical content is already stored, its file is kept and its last
+     * modification time is refreshed.
+     *
+     * @param input
+     *     The stream of the content to write
+     *
+     * @return the written file description
+     *
+     * @throws IOException
+     *     if the content cannot be read or written
+     */
+    public StoredFile write(@NonNull final InputStream input) throws IOException {
+        return this.write(input::transferTo);
+    }
+
+    /**
+     * Writes the content written by the given writer in the store, through a bounded buffer, so that a content which isn't read from a stream, like a Base64
+     * value decoded while it is parsed, is never held in memory. If an identical content is already stored, its file is kept and its last modification time
+     * is refreshed.
+     *
+     * @param writer
+     *     The writer of the content
+     *
+     * @return the written file description
+     *
+     * @throws IOException
+     *     if the content cannot be read or written
+     */
+    @SneakyThrows(NoSuchAlgorithmException.class)
+    public StoredFile write(@NonNull final ContentWriter writer) throws IOException {
+        Files.createDirectories(this.directory);
+        final var temporaryFile = Files.createTempFile(this.directory, null, TEMPORARY_FILE_SUFFIX);
+
+        try {
+            final ContentOutputStream output;
+            try (final var channel = FileChannel.open(temporaryFile, StandardOpenOption.WRITE)) {
+                output = new ContentOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel), BUFFER_SIZE),
+                    MessageDigest.getInstance(HASH_ALGORITHM));
+                writer.writeTo(output);
+                output.flush();
+                channel.force(true);
+            }
+
+            final var hash = String.format("%064x", new BigInteger(1, output.digest.digest()));
+            final var path = this.resolve(hash);
+
+            if (Files.exists(path)) {
+                Files.setLastModifiedTime(path, FileTime.from(Instant.now()));
+            } else {
+                Files.createDirectories(path.getParent());
+                try {
+                    Files.move(temporaryFile, path, StandardCopyOption.ATOMIC_MOVE);
+                } catch (final FileAlreadyExistsException e) {
+                    // The same content has been stored concurrently
+                }
+            }
+
+            return new StoredFile(hash, output.size, detectContentType(Arrays.copyOf(output.signature.array(), output.signature.position())));
+        } finally {
+            Files.deleteIfExists(temporaryFile);
+        }
+    }
+
+    /**
+     * Resolves the path of the file with the given hash.
+     *
+     * @param hash
+     *     The hash of the file content
+     *
+     * @return the path of the file
+     */
+    public Path resolve(@NonNull final String hash) {
+        return this.directory.resolve(hash.substring(0, 2)).resolve(hash);
+    }
+
+    /**
+     * Checks if the file with the given hash has been last modified before the given instant. A missing file is considered as modified before.
+     *
+     * @param hash
+     *     The hash of the file content
+     * @param instant
+     *     The instant to compare to
+     *
+     * @return if the file has been last modified before the instant
+     *
+     * @throws IOException
+     *     if the file attributes cannot be read
+     */
+    public boolean isModifiedBefore(@NonNull final String hash, @NonNull final Instant instant) throws IOException {
+        final var path = this.resolve(hash);
+        return !Files.exists(path) || Files.getLastModifiedTime(path).toInstant().isBefore(instant);
+    }
+
+    /**
+     * Deletes the file with the given hash, if it exists.
+     *
+     * @param hash
+     *     The hash of the file content
+     *
+     * @throws IOException
+     *     if the file cannot be deleted
+     */
+    public void delete(@NonNull final String hash) throws IOException {
+        Files.deleteIfExists(this.resolve(hash));
+    }
+
+    /**
+     * Lists the hashes of the stored files last modified before the given instant.
+     *
+     * @param instant
+     *     The instant to compare to
+     *
+     * @return the list of hashes
+     *
+     * @throws IOException
+     *     if the store cannot be browsed
+     */
+    public List<String> findHashesModifiedBefore(@NonNull final Instant instant) throws IOException {
+        return this.findFilesModifiedBefore(instant, false).stream().map(path -> path.getFileName().toString()).collect(Collectors.toList());
+    }
+
+    /**
+     * Deletes the temporary files last modified before the given instant, left by interrupted writes.
+     *
+     * @param instant
+     *     The instant to compare to
+     *
+     * @return the number of deleted files
+     *
+     * @throws IOException
+     *     if the store cannot be browsed or a file cannot be deleted
+     */
+    public int deleteTemporaryFilesModifiedBefore(@NonNull final Instant instant) throws IOException {
+        final var temporaryFiles = this.findFilesModifiedBefore(instant, true);
+        for (final var temporaryFile : temporaryFiles) {
+            Files.deleteIfExists(temporaryFile);
+        }
+        return temporaryFiles.size();
+    }
+
+    /**
+     * Finds the stored or temporary files last modified before the given instant.
+     *
+     * @param instant
+     *     The instant to compare to
+     * @param temporary
+     *     If temporary files have to be found instead of stored files
+     *
+     * @return the list of file paths
+     *
+     * @throws IOException
+     *     if the store cannot be browsed
+     */
+    private List<Path> findFilesModifiedBefore(final Instant instant, final boolean temporary) throws IOException {
+        if (!Files.isDirectory(this.directory)) {
+            return List.of();
+        }
+
+        try (final var paths = Files.find(this.directory, 2,
+            (path, attributes) -> attributes.isRegularFile() && attributes.lastModifiedTime().toInstant().isBefore(instant)
+                && path.getFileName().toString().endsWith(TEMPORARY_FILE_SUFFIX) == temporary)) {
+            return paths.collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * Detects the content type of data from its signature.
+     *
+     * @param signature
+     *     The first bytes of the data
+     *
+     * @return the detected content type, or {@link MediaType#APPLICATION_OCTET_STREAM_VALUE} if the signature isn't known
+     */
+    static String detectContentType(final byte[] signature) {
+        if (startsWith(signature, 0, PNG_SIGNATURE)) {
+            return MediaType.IMAGE_PNG_VALUE;
+        } else if (startsWith(signature, 0, JPEG_SIGNATURE)) {
+            return MediaType.IMAGE_JPEG_VALUE;
+        } else if (startsWith(signature, 0, GIF_SIGNATURE)) {
+            return MediaType.IMAGE_GIF_VALUE;
+        } else if (startsWith(signature, 0, RIFF_SIGNATURE) && startsWith(signature, 8, WEBP_SIGNATURE)) {
+            return "image/webp";
+        } else if (startsWith(signature, 0, PDF_SIGNATURE)) {
+            return MediaType.APPLICATION_PDF_VALUE;
+        }
+
+        return MediaType.APPLICATION_OCTET_STREAM_VALUE;
+    }
+
+    /**
+     * Checks if the given data contains the given signature at the given offset.
+     *
+     * @param data
+     *     The data
+     * @param offset
+     *     The offset of the signature
+     * @param signature
+     *     The signature
+     *
+     * @return if the data contains the signature at the offset
+     */
+    private static boolean startsWith(final byte[] data, final int offset, final byte[] signature) {
+        return data.length >= offset + signature.length && Arrays.equals(data, offset, offset + signature.length, signature, 0, signature.length);
+    }
+
+    /**
+     * Writer of a content to store.
+     */
+    @FunctionalInterface
+    public interface ContentWriter {
+
+        /**
+         * Writes the content in the given stream.
+         *
+         * @param output
+         *     The stream of the stored file
+         *
+         * @throws IOException
+         *     if the content cannot be read or written
+         */
+        void writeTo(OutputStream output) throws IOException;
+
+    }
+
+    /**
+     * Stream writing a content in a file, while computing its hash, its size and its signature.
+     */
+    private static class ContentOutputStream extends FilterOutputStream {
+
+        private final MessageDigest digest;
+        private final ByteBuffer signature = ByteBuffer.allocate(SIGNATURE_SIZE);
+        private long size;
+
+        /**
+         * Valued constructor.
+         *
+         * @param file
+         *     The stream of the file
+         * @param digest
+         *     The digest computing the hash of the content
+         */
+        ContentOutputStream(final OutputStream file, final MessageDigest digest) {
+            super(file);
+            this.digest = digest;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void write(final int b) throws IOException {
+            this.write(new byte[] {(byte) b}, 0, 1);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void write(final byte[] b, final int off, final int len) throws IOException {
+            this.digest.update(b, off, len);
+            this.signature.put(b, off, Math.min(len, this.signature.remaining()));
+            this.out.write(b, off, len);
+            this.size += len;
+        }
+
+        /**
+         * {@inheritDoc}
+         * <br/>
+         * <br/>
+         * The stream of the file is closed with its channel.
+         */
+        @Override
+        public void close() throws IOException {
+            this.flush();
+        }
+
+    }
+
+    /**
+     * Description of a file written in the store.
+     */
+    @Value
+    public static class StoredFile {
+
+        /**
+         * The SHA-256 hash of the file content, in hexadecimal.
+         */
+        String hash;
+
+        /**
+         * The size of the file, in bytes.
+         */
+        long size;
+
+        /**
+         * The content type detected from the file signature.
+         */
+        String contentType;
+
+    }
+
+}
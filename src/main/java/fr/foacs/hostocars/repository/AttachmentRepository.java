@@ -0,0 +1,91 @@
+package fr.foacs.hostocars.repository;
+
+import fr.foacs.hostocars.entity.Attachment;
+import fr.foacs.hostocars.entity.Car;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Repository for the {@link Attachment} entity.
+ */
+@Repository
+@ConditionalOnProperty("spring.profiles.active")
+public interface AttachmentRepository extends JpaRepository<Attachment, Integer> {
+
+    /**
+     * Retrieves the summary of the picture of the {@link Car} with the given ID.
+     *
+     * @param carId
+     *     The {@link Car} ID
+     *
+     * @return the optional picture summary
+     */
+    @Query("SELECT a.id AS id, a.hash AS hash, a.size AS size, a.contentType AS contentType FROM Car c JOIN c.picture a WHERE c.id = :carId")
+    Optional<AttachmentSummary> findPictureSummaryByCarId(@Param("carId") Integer carId);
+
+    /**
+     * Retrieves the summary of the certificate of the {@link Car} with the given ID.
+     *
+     * @param carId
+     *     The {@link Car} ID
+     *
+     * @return the optional certificate summary
+     */
+    @Query("SELECT a.id AS id, a.hash AS hash, a.size AS size, a.contentType AS contentType FROM Car c JOIN c.certificate a WHERE c.id = :carId")
+    Optional<AttachmentSummary> findCertificateSummaryByCarId(@Param("carId") Integer carId);
+
+    /**
+     * Retrieves the {@link Attachment} with the given hash.
+     *
+     * @param hash
+     *     The hash of the attachment content
+     *
+     * @return the optional attachment
+     */
+    Optional<Attachment> findByHash(String hash);
+
+    /**
+     * Retrieves the {@link Attachment}s not referenced by any {@link Car}.
+     *
+     * @return the list of unreferenced attachments
+     */
+    @Query("SELECT a FROM Attachment a WHERE a.referenceCount = 0")
+    List<Attachment> findUnreferenced();
+
+    /**
+     * Retrieves the hashes of all the {@link Attachment}s.
+     *
+     * @return the list of hashes
+     */
+    @Query("SELECT a.hash FROM Attachment a")
+    List<String> findAllHashes();
+
+    /**
+     * Retrieves the distinct hashes of the pictures of all the {@link Car}s.
+     *
+     * @return the list of picture hashes
+     */
+    @Query("SELECT DISTINCT a.hash FROM Car c JOIN c.picture a")
+    List<String> findAllPictureHashes();
+
+    /**
+     * Deletes the {@link Attachment} with the given ID, only if it isn't referenced by any {@link Car}.
+     *
+     * @param id
+     *     The attachment ID
+     *
+     * @return the number of deleted attachments
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM Attachment a WHERE a.id = :id AND a.referenceCount = 0")
+    int deleteIfUnreferenced(@Param("id") Integer id);
+
+}
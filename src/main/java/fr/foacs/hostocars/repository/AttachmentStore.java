@@ -0,0 +1,234 @@
+package fr.foacs.hostocars.repository;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+import fr.foacs.hostocars.configuration.Loggable;
+import fr.foacs.hostocars.entity.Attachment;
+import fr.foacs.hostocars.entity.Car;
+import fr.foacs.hostocars.repository.AttachmentFiles.ContentWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+import lombok.NonNull;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Deduplicated store of the {@link Attachment} contents.
+ * <br/>
+ * <br/>
+ * The contents are stored as files keyed by their SHA-256 hash, and each distinct content has a single {@link Attachment} row whose reference count is
+ * maintained by the database. The files are written by the request threads, and the rows are persisted by the {@link WriteExecutor} writes referencing
+ * them. Unreferenced attachments and orphan files are periodically garbage-collected, after a grace period protecting the contents stored but not yet
+ * referenced.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty("spring.profiles.active")
+public class AttachmentStore {
+
+    private final AttachmentRepository repository;
+    private final AttachmentFiles files;
+    private final WriteExecutor writeExecutor;
+    private final Duration gracePeriod;
+
+    // Prevents the garbage collection from deleting the file of a content being stored
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Valued autowired constructor.
+     *
+     * @param repository
+     *     The autowired {@link AttachmentRepository} component
+     * @param writeExecutor
+     *     The autowired {@link WriteExecutor} component
+     * @param directory
+     *     The root directory of the store
+     * @param gracePeriod
+     *     The minimal age of the unreferenced contents to garbage-collect
+     */
+    @Autowired
+    public AttachmentStore(final AttachmentRepository repository, final WriteExecutor writeExecutor,
+        @Value("${attachment.store.directory}") final Path directory, @Value("${attachment.store.grace-period}") final Duration gracePeriod) {
+        this.repository = repository;
+        this.writeExecutor = writeExecutor;
+        this.files = new AttachmentFiles(directory);
+        this.gracePeriod = gracePeriod;
+    }
+
+    /**
+     * Writes the content of the given stream in the store, without persisting its {@link Attachment}.
+     *
+     * @param input
+     *     The stream of the content to write
+     * @param declaredContentType
+     *     The content type declared by the client, used if the content type cannot be detected from the content
+     *
+     * @return the transient attachment of the content, to persist with {@link #persist} in the write referencing it
+     *
+     * @throws IOException
+     *     if the content cannot be read or written
+     */
+    @Loggable(inputs = false)
+    public Attachment write(@NonNull final InputStream input, final String declaredContentType) throws IOException {
+        return this.write(input::transferTo, declaredContentType);
+    }
+
+    /**
+     * Writes the content written by the given writer in the store, without persisting its {@link Attachment}.
+     *
+     * @param writer
+     *     The writer of the content
+     * @param declaredContentType
+     *     The content type declared by the client, used if the content type cannot be detected from the content
+     *
+     * @return the transient attachment of the content, to persist with {@link #persist} in the write referencing it
+     *
+     * @throws IOException
+     *     if the content cannot be read or written
+     */
+    @Loggable(inputs = false)
+    public Attachment write(@NonNull final ContentWriter writer, final String declaredContentType) throws IOException {
+        this.lock.readLock().lock();
+        try {
+            final var storedFile = this.files.write(writer);
+            final var attachment = new Attachment();
+            attachment.setHash(storedFile.getHash());
+            attachment.setSize(Math.toIntExact(storedFile.getSize()));
+            attachment.setContentType(MediaType.APPLICATION_OCTET_STREAM_VALUE.equals(storedFile.getContentType()) && nonNull(declaredContentType)
+                ? MediaType.parseMediaType(declaredContentType).toString() : storedFile.getContentType());
+            return attachment;
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Persists the given {@link Attachment} written in the store, reusing the existing attachment if an identical content is already persisted. It is called
+     * in the {@link WriteExecutor} write referencing the attachment, so that its row is inserted in the same transaction as the reference, by the single
+     * writer thread.
+     * <br/>
+     * <br/>
+     * The given attachment isn't modified, as the write can be run several times: a copy of it is inserted.
+     *
+     * @param attachment
+     *     The attachment to persist, can be {@code null} or already persisted
+     *
+     * @return the persisted attachment
+     */
+    public Attachment persist(final Attachment attachment) {
+        if (isNull(attachment) || nonNull(attachment.getId())) {
+            return attachment;
+        }
+
+        return this.repository.findByHash(attachment.getHash()).orElseGet(() -> {
+            final var newAttachment = new Attachment();
+            newAttachment.setHash(attachment.getHash());
+            newAttachment.setSize(attachment.getSize());
+            newAttachment.setContentType(attachment.getContentType());
+            return this.repository.save(newAttachment);
+        });
+    }
+
+    /**
+     * Persists the attachments of the given {@link Car} written in the store, like {@link #persist}.
+     *
+     * @param car
+     *     The car referencing the attachments
+     */
+    public void persistAttachments(@NonNull final Car car) {
+        car.setPicture(this.persist(car.getPicture()));
+        car.setCertificate(this.persist(car.getCertificate()));
+    }
+
+    /**
+     * Resolves the path of the file holding the content with the given hash.
+     *
+     * @param hash
+     *     The hash of the content
+     *
+     * @return the path of the file
+     */
+    public Path resolve(@NonNull final String hash) {
+        return this.files.resolve(hash);
+    }
+
+    /**
+     * Deletes the unreferenced {@link Attachment}s, the orphan files and the temporary files older than the grace period.
+     * <br/>
+     * <br/>
+     * The attachments are deleted by a {@link WriteExecutor} write, ordered with the writes referencing them, and their files once the deletion is committed.
+     * The store is only locked while deleting the files, so that the writes of the executor never wait for the garbage collection.
+     *
+     * @throws IOException
+     *     if the store cannot be browsed or a file cannot be deleted
+     */
+    @Loggable(debug = true)
+    @Scheduled(fixedDelayString = "${attachment.store.gc.delay}")
+    public void collectGarbage() throws IOException {
+        final var limit = Instant.now().minus(this.gracePeriod);
+
+        // Deletes the unreferenced attachments, keeping the recently stored ones which can be about to be referenced
+        final var unreferencedAttachments = this.repository.findUnreferenced().stream().filter(attachment -> this.isModifiedBefore(attachment, limit))
+            .collect(Collectors.toList());
+        final List<Attachment> deletedAttachments = unreferencedAttachments.isEmpty() ? List.of() : this.writeExecutor.execute(
+            () -> unreferencedAttachments.stream().filter(attachment -> this.repository.deleteIfUnreferenced(attachment.getId()) > 0)
+                .collect(Collectors.toList()));
+
+        this.lock.writeLock().lock();
+        try {
+            // Deletes the files of the deleted attachments, unless their content has been stored again since
+            for (final var attachment : deletedAttachments) {
+                if (this.files.isModifiedBefore(attachment.getHash(), limit)) {
+                    this.files.delete(attachment.getHash());
+                }
+            }
+
+            // Deletes the files without attachment
+            final var hashes = new HashSet<>(this.repository.findAllHashes());
+            var deletedFiles = 0;
+            for (final var hash : this.files.findHashesModifiedBefore(limit)) {
+                if (!hashes.contains(hash)) {
+                    this.files.delete(hash);
+                    deletedFiles++;
+                }
+            }
+
+            deletedFiles += this.files.deleteTemporaryFilesModifiedBefore(limit);
+
+            log.info("Attachments garbage collection deleted {} attachments and {} orphan files", deletedAttachments.size(), deletedFiles);
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Checks if the file of the given {@link Attachment} has been last modified before the given instant.
+     *
+     * @param attachment
+     *     The attachment
+     * @param instant
+     *     The instant to compare to
+     *
+     * @return if the file has been last modified before the instant
+     */
+    @SneakyThrows(IOException.class)
+    private boolean isModifiedBefore(final Attachment attachment, final Instant instant) {
+        return this.files.isModifiedBefore(attachment.getHash(), instant);
+    }
+
+}
@@ -0,0 +1,38 @@
+package fr.foacs.hostocars.repository;
+
+import fr.foacs.hostocars.entity.Attachment;
+
+/**
+ * Projection of the {@link Attachment} entity holding its metadata, without its data.
+ */
+public interface AttachmentSummary {
+
+    /**
+     * Returns the ID of the attachment.
+     *
+     * @return the ID of the attachment
+     */
+    Integer getId();
+
+    /**
+     * Returns the SHA-256 hash of the attachment content.
+     *
+     * @return the hash of the attachment content
+     */
+    String getHash();
+
+    /**
+     * Returns the size of the attachment, in bytes.
+     *
+     * @return the size of the attachment
+     */
+    Integer getSize();
+
+    /**
+     * Returns the content type of the attachment.
+     *
+     * @return the content type of the attachment
+     */
+    String getContentType();
+
+}
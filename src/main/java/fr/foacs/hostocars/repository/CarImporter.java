@@ -0,0 +1,608 @@
+package fr.foacs.hostocars.repository;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import fr.foacs.hostocars.configuration.InvalidRequestException;
+import fr.foacs.hostocars.configuration.Loggable;
+import fr.foacs.hostocars.entity.Car;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Component;
+
+/**
+ * Importer of the {@link Car}s and their interventions trees from CSV or NDJSON streams, such as the exports of other garage software.
+ * <br/>
+ * <br/>
+ * The stream is parsed record by record, and the cars are inserted by chunks, each one run as a single write of the {@link WriteExecutor} like the other
+ * writes, which clears the persistence context afterwards, so that the memory used doesn't grow with the size of the stream. If a chunk can't be committed,
+ * its cars are inserted one by one, so that only the faulty ones are rejected. The IDs and versions of the imported data are ignored: the cars are always inserted, and are added to the
+ * {@link CarSuggestionIndex} once committed.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty("spring.profiles.active")
+public class CarImporter {
+
+    /**
+     * The media type of the CSV streams.
+     */
+    public static final String CSV_VALUE = "text/csv";
+
+    /**
+     * The media type of the NDJSON streams.
+     */
+    public static final String NDJSON_VALUE = "application/x-ndjson";
+
+    private static final String CAR_GROUP = "car";
+    private static final String INTERVENTION_GROUP = "intervention";
+    private static final String OPERATION_GROUP = "operation";
+    private static final String OPERATION_LINE_GROUP = "operationLine";
+    private static final List<String> GROUPS = List.of(CAR_GROUP, INTERVENTION_GROUP, OPERATION_GROUP, OPERATION_LINE_GROUP);
+
+    private final CarRepository repository;
+    private final CarSuggestionIndex suggestionIndex;
+    private final AttachmentStore attachmentStore;
+    private final ObjectMapper objectMapper;
+    private final WriteExecutor writeExecutor;
+    private final int chunkSize;
+    private final int maxRejectedRows;
+
+    /**
+     * Valued autowired constructor.
+     *
+     * @param repository
+     *     The autowired {@link CarRepository} component
+     * @param suggestionIndex
+     *     The autowired {@link CarSuggestionIndex} component
+     * @param attachmentStore
+     *     The autowired {@link AttachmentStore} component
+     * @param objectMapper
+     *     The autowired {@link ObjectMapper} component, mapping the records onto the cars like the REST calls bodies
+     * @param writeExecutor
+     *     The autowired {@link WriteExecutor} component
+     * @param chunkSize
+     *     The number of cars inserted in each transaction
+     * @param maxRejectedRows
+     *     The maximal number of rejected rows described in the report
+     */
+    @Autowired
+    public CarImporter(final CarRepository repository, final CarSuggestionIndex suggestionIndex, final AttachmentStore attachmentStore,
+        final ObjectMapper objectMapper, final WriteExecutor writeExecutor, @Value("${import.chunk-size}") final Integer chunkSize,
+        @Value("${import.rejected-rows.max}") final Integer maxRejectedRows) {
+        this.repository = repository;
+        this.suggestionIndex = suggestionIndex;
+        this.attachmentStore = attachmentStore;
+        this.objectMapper = objectMapper;
+        this.writeExecutor = writeExecutor;
+        this.chunkSize = chunkSize;
+        this.maxRejectedRows = maxRejectedRows;
+    }
+
+    /**
+     * Imports the cars of the given stream, encoded in UTF-8.
+     * <br/>
+     * <br/>
+     * In the {@link Format#NDJSON} format, each line holds a car with its interventions tree, like the REST calls bodies. In the {@link Format#CSV} format,
+     * each row is the flattening of a car, an intervention, an operation and an operation line, whose fields are given by the columns named
+     * {@code <group>.<field>} with the groups {@code car}, {@code intervention}, {@code operation} and {@code operationLine} (the {@code car} group can be
+     * omitted). The consecutive rows with the same car registration belong to the same car, and within it, the consecutive rows with the same intervention
+     * or operation fields belong to the same intervention or operation. The empty fields are ignored.
+     *
+     * @param input
+     *     The stream to import
+     * @param format
+     *     The format of the stream
+     *
+     * @return the report of the import
+     *
+     * @throws IOException
+     *     if the stream cannot be read
+     * @throws InvalidRequestException
+     *     if the CSV header is invalid
+     */
+    @Loggable(inputs = false)
+    public Report importCars(@NonNull final InputStream input, @NonNull final Format format) throws IOException {
+        final var execution = new Execution();
+        try (final var reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            if (format == Format.NDJSON) {
+                this.readNdjson(reader, execution);
+            } else {
+                this.readCsv(new CsvReader(reader), execution);
+            }
+        } catch (final IllegalArgumentException e) {
+            if (execution.line == 0) {
+                throw new InvalidRequestException(e.getMessage(), e);
+            }
+
+            // The stream can't be read any further, but the previous records are still imported
+            execution.reject(execution.line, e.getMessage());
+        }
+
+        this.commit(execution);
+
+        final var duration = System.nanoTime() - execution.start;
+        final var report = new Report(execution.importedCount, execution.rejectedCount, duration / 1_000_000,
+            duration > 0 ? execution.importedCount * 1_000_000_000L / duration : 0, execution.rejectedRows);
+        log.info("{} cars imported and {} rows rejected in {} ms ({} cars/s)", report.getImportedCount(), report.getRejectedCount(),
+            report.getDurationMillis(), report.getThroughput());
+        return report;
+    }
+
+    /**
+     * Reads the cars of an NDJSON stream, one per line.
+     *
+     * @param reader
+     *     The reader of the stream
+     * @param execution
+     *     The execution of the import
+     *
+     * @throws IOException
+     *     if the stream cannot be read
+     */
+    private void readNdjson(final BufferedReader reader, final Execution execution) throws IOException {
+        String line;
+        while (nonNull(line = reader.readLine())) {
+            execution.line++;
+            if (line.isBlank()) {
+                continue;
+            }
+
+            try {
+                final var node = this.objectMapper.readTree(line);
+                if (!node.isObject()) {
+                    throw new IllegalArgumentException("The line must hold a JSON object");
+                }
+                this.add(new ImportedCar(execution.line, (ObjectNode) node), execution);
+            } catch (final IOException | IllegalArgumentException e) {
+                execution.reject(execution.line, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Reads the cars of a CSV stream, assembling the consecutive rows of each car into its interventions tree.
+     *
+     * @param reader
+     *     The reader of the stream
+     * @param execution
+     *     The execution of the import
+     *
+     * @throws IOException
+     *     if the stream cannot be read
+     */
+    private void readCsv(final CsvReader reader, final Execution execution) throws IOException {
+        final var header = Optional.ofNullable(reader.readRecord()).orElseThrow(() -> new IllegalArgumentException("The CSV header is missing"));
+        final var columns = header.stream().map(CarImporter::parseColumn).toArray(String[][]::new);
+
+        ImportedCar car = null;
+        ObjectNode intervention = null;
+        ObjectNode operation = null;
+        List<String> record;
+        while (nonNull(record = reader.readRecord())) {
+            execution.line = reader.getRecordLine();
+            if (record.size() != columns.length) {
+                if (record.size() > 1 || !record.get(0).isEmpty()) {
+                    execution.reject(execution.line, "The row has " + record.size() + " fields instead of " + columns.length);
+                }
+                continue;
+            }
+
+            final var groups = this.readGroups(columns, record);
+            final var carFields = groups.get(CAR_GROUP);
+            final var registration = carFields.path("registration").asText(null);
+            if (isNull(car) || isNull(registration) || !registration.equals(car.getRegistration())) {
+                if (nonNull(car)) {
+                    this.add(car, execution);
+                }
+                car = new ImportedCar(execution.line, carFields);
+                intervention = null;
+                operation = null;
+            }
+
+            if (!groups.get(INTERVENTION_GROUP).isEmpty() && !groups.get(INTERVENTION_GROUP).equals(fieldsOf(intervention, "operations"))) {
+                intervention = car.getNode().withArray("interventions").addObject().setAll(groups.get(INTERVENTION_GROUP));
+                operation = null;
+            }
+
+            if (!groups.get(OPERATION_GROUP).isEmpty() && !groups.get(OPERATION_GROUP).equals(fieldsOf(operation, "operationLines"))) {
+                if (isNull(intervention)) {
+                    car.reject("The operation at line " + execution.line + " has no intervention");
+                    continue;
+                }
+                operation = intervention.withArray("operations").addObject().setAll(groups.get(OPERATION_GROUP));
+            }
+
+            if (!groups.get(OPERATION_LINE_GROUP).isEmpty()) {
+                if (isNull(operation)) {
+                    car.reject("The operation line at line " + execution.line + " has no operation");
+                    continue;
+                }
+                operation.withArray("operationLines").add(groups.get(OPERATION_LINE_GROUP));
+            }
+        }
+
+        if (nonNull(car)) {
+            this.add(car, execution);
+        }
+    }
+
+    /**
+     * Splits the non-empty fields of a CSV record into their groups.
+     *
+     * @param columns
+     *     The group and the field of each column
+     * @param record
+     *     The fields of the record
+     *
+     * @return the JSON objects of the fields, by group
+     */
+    private Map<String, ObjectNode> readGroups(final String[][] columns, final List<String> record) {
+        final var groups = new HashMap<String, ObjectNode>(GROUPS.size());
+        GROUPS.forEach(group -> groups.put(group, this.objectMapper.createObjectNode()));
+        for (var index = 0; index < columns.length; index++) {
+            if (!record.get(index).isEmpty()) {
+                groups.get(columns[index][0]).put(columns[index][1], record.get(index));
+            }
+        }
+        return groups;
+    }
+
+    /**
+     * Adds a car to the current chunk, which is committed once full.
+     *
+     * @param car
+     *     The car to add
+     * @param execution
+     *     The execution of the import
+     */
+    private void add(final ImportedCar car, final Execution execution) {
+        if (nonNull(car.getRejection())) {
+            execution.reject(car.getLine(), car.getRejection());
+            return;
+        }
+
+        execution.chunk.add(car);
+        if (execution.chunk.size() >= this.chunkSize) {
+            this.commit(execution);
+        }
+    }
+
+    /**
+     * Inserts the cars of the current chunk in a single transaction, or one by one if the chunk can't be committed.
+     *
+     * @param execution
+     *     The execution of the import
+     */
+    private void commit(final Execution execution) {
+        if (execution.chunk.isEmpty()) {
+            return;
+        }
+
+        // The cars are mapped again each time the write is run, so that a write run again doesn't save the cars of the previous run
+        try {
+            this.writeExecutor.execute(() -> {
+                execution.chunk.forEach(car -> {
+                    try {
+                        this.suggestionIndex.put(this.repository.save(this.toCar(car)));
+                    } catch (final IllegalArgumentException e) {
+                        car.reject(e.getMessage());
+                    }
+                });
+                this.repository.flush();
+                return null;
+            });
+            execution.chunk.forEach(car -> execution.count(car));
+        } catch (final RuntimeException chunkException) {
+            log.debug("The chunk of {} cars can't be committed, inserting them one by one", execution.chunk.size(), chunkException);
+            execution.chunk.forEach(car -> {
+                try {
+                    this.writeExecutor.execute(() -> {
+                        this.suggestionIndex.put(this.repository.saveAndFlush(this.toCar(car)));
+                        return null;
+                    });
+                } catch (final RuntimeException e) {
+                    car.reject(NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+                }
+                execution.count(car);
+            });
+        }
+
+        log.debug("{} cars imported until line {}", execution.importedCount, execution.line);
+        execution.chunk.clear();
+    }
+
+    /**
+     * Maps an imported car onto a new {@link Car}, ignoring the IDs and versions of its whole tree, and persists its attachments.
+     *
+     * @param car
+     *     The imported car
+     *
+     * @return the car to insert
+     *
+     * @throws IllegalArgumentException
+     *     if the car can't be mapped
+     */
+    private Car toCar(final ImportedCar car) {
+        final var node = car.getNode().deepCopy();
+        node.findParents("id").forEach(parent -> ((ObjectNode) parent).remove("id"));
+        node.findParents("version").forEach(parent -> ((ObjectNode) parent).remove("version"));
+        final var mappedCar = this.objectMapper.convertValue(node, Car.class);
+        this.attachmentStore.persistAttachments(mappedCar);
+        return mappedCar;
+    }
+
+    /**
+     * Parses the name of a CSV column into its group and its field.
+     *
+     * @param column
+     *     The name of the column
+     *
+     * @return the group and the field of the column
+     *
+     * @throws IllegalArgumentException
+     *     if the group of the column doesn't exist
+     */
+    private static String[] parseColumn(final String column) {
+        // The byte order mark written by some spreadsheets is ignored
+        final var parts = column.replace("\uFEFF", "").strip().split("\\.", 2);
+        if (parts.length == 1) {
+            return new String[] {CAR_GROUP, parts[0]};
+        }
+
+        if (!GROUPS.contains(parts[0])) {
+            throw new IllegalArgumentException("The CSV column " + column + " doesn't belong to any of the groups " + GROUPS);
+        }
+
+        return parts;
+    }
+
+    /**
+     * Retrieves the fields of an intervention or an operation, without its children.
+     *
+     * @param node
+     *     The optional JSON object of the intervention or the operation
+     * @param children
+     *     The name of its children field
+     *
+     * @return the fields of the JSON object, or {@code null} if there is none
+     */
+    private static JsonNode fieldsOf(final ObjectNode node, final String children) {
+        return isNull(node) ? null : node.deepCopy().without(children);
+    }
+
+    /**
+     * Formats of the imported streams.
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public enum Format {
+
+        /**
+         * Comma separated values, with a header.
+         */
+        CSV(CSV_VALUE, ".csv"),
+
+        /**
+         * Newline delimited JSON.
+         */
+        NDJSON(NDJSON_VALUE, ".ndjson");
+
+        /**
+         * The media type of the format.
+         */
+        private final String mediaType;
+
+        /**
+         * The file extension of the format.
+         */
+        private final String extension;
+
+        /**
+         * Resolves the format of a media type.
+         *
+         * @param mediaType
+         *     The media type
+         *
+         * @return the format
+         *
+         * @throws InvalidRequestException
+         *     if the media type isn't supported
+         */
+        public static Format ofMediaType(final String mediaType) {
+            return Arrays.stream(values())
+                .filter(format -> nonNull(mediaType) && mediaType.toLowerCase().startsWith(format.mediaType))
+                .findFirst()
+                .orElseThrow(() -> new InvalidRequestException("The media type " + mediaType + " can't be imported"));
+        }
+
+        /**
+         * Resolves the format of a file name.
+         *
+         * @param fileName
+         *     The file name
+         *
+         * @return the format
+         *
+         * @throws IllegalArgumentException
+         *     if the file extension isn't supported
+         */
+        public static Format ofFileName(final String fileName) {
+            return Arrays.stream(values())
+                .filter(format -> fileName.toLowerCase().endsWith(format.extension))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("The file " + fileName + " can't be imported"));
+        }
+
+    }
+
+    /**
+     * Report of an import.
+     */
+    @Getter
+    @ToString
+    @AllArgsConstructor(access = AccessLevel.PRIVATE)
+    public static class Report {
+
+        /**
+         * The number of imported cars.
+         */
+        private final long importedCount;
+
+        /**
+         * The number of rejected rows.
+         */
+        private final long rejectedCount;
+
+        /**
+         * The duration of the import, in milliseconds.
+         */
+        private final long durationMillis;
+
+        /**
+         * The number of cars imported per second.
+         */
+        private final long throughput;
+
+        /**
+         * The first rejected rows.
+         */
+        private final List<RejectedRow> rejectedRows;
+
+    }
+
+    /**
+     * Row rejected by an import.
+     */
+    @Getter
+    @ToString
+    @AllArgsConstructor(access = AccessLevel.PRIVATE)
+    public static class RejectedRow {
+
+        /**
+         * The line number of the row, or of the first row of its car.
+         */
+        private final int line;
+
+        /**
+         * The reason of the rejection.
+         */
+        private final String reason;
+
+    }
+
+    /**
+     * Car read from an imported stream, not yet mapped onto an entity.
+     */
+    @Getter
+    private static class ImportedCar {
+
+        private final int line;
+
+        private final ObjectNode node;
+
+        private final String registration;
+
+        private String rejection;
+
+        /**
+         * Valued constructor.
+         *
+         * @param line
+         *     The line number of the car, or of its first row
+         * @param node
+         *     The JSON object of the car
+         */
+        ImportedCar(final int line, final ObjectNode node) {
+            this.line = line;
+            this.node = node;
+            this.registration = node.path("registration").asText(null);
+        }
+
+        /**
+         * Rejects the car, keeping its first rejection reason.
+         *
+         * @param reason
+         *     The reason of the rejection
+         */
+        void reject(final String reason) {
+            if (isNull(this.rejection)) {
+                this.rejection = reason;
+            }
+        }
+
+    }
+
+    /**
+     * State of an import execution.
+     */
+    private class Execution {
+
+        private final long start = System.nanoTime();
+
+        private final List<ImportedCar> chunk = new ArrayList<>(CarImporter.this.chunkSize);
+
+        private final List<RejectedRow> rejectedRows = new ArrayList<>();
+
+        // The line number of the current row
+        private int line;
+
+        private long importedCount;
+
+        private long rejectedCount;
+
+        /**
+         * Counts a car of a committed chunk as imported, or as rejected if it has been rejected during its insert.
+         *
+         * @param car
+         *     The car of the committed chunk
+         */
+        void count(final ImportedCar car) {
+            if (isNull(car.getRejection())) {
+                this.importedCount++;
+            } else {
+                this.reject(car.getLine(), car.getRejection());
+            }
+        }
+
+        /**
+         * Counts a rejected row, and describes it in the report if the maximal number of described rows isn't reached.
+         *
+         * @param line
+         *     The line number of the row
+         * @param reason
+         *     The reason of the rejection
+         */
+        void reject(final int line, final String reason) {
+            this.rejectedCount++;
+            if (this.rejectedRows.size() < CarImporter.this.maxRejectedRows) {
+                this.rejectedRows.add(new RejectedRow(line, reason));
+            }
+        }
+
+    }
+
+}
@@ -1,15 +1,200 @@
 package fr.foacs.hostocars.repository;
 
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.QueryHints.HINT_PASS_DISTINCT_THROUGH;
+
 import fr.foacs.hostocars.entity.Car;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.MatchResult;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import javax.persistence.QueryHint;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
-import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Repository for the {@link Car} entity.
  */
 @Repository
 @ConditionalOnProperty("spring.profiles.active")
-public interface CarRepository extends JpaRepository<Car, Integer> {
+public interface CarRepository extends KeysetRepository<Car, Integer> {
+
+    /**
+     * Retrieves the {@link Car} with the given ID, with its attachments and its whole interventions tree, in a single query.
+     *
+     * @param id
+     *     The {@link Car} ID
+     *
+     * @return the optional car
+     */
+    @Override
+    @EntityGraph("Car.full")
+    Optional<Car> findById(Integer id);
+
+    /**
+     * Retrieves a slice of the {@link Car} matching the given specification, with their attachments but without their interventions. The slice is kept in
+     * the query cache until one of the read tables is written through Hibernate.
+     *
+     * @param specification
+     *     The optional specification to match
+     * @param pageable
+     *     The page request
+     *
+     * @return a slice of cars
+     */
+    @Override
+    @EntityGraph("Car.list")
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+    Slice<Car> findSlice(Specification<Car> specification, Pageable pageable);
+
+    /**
+     * Retrieves all the {@link Car}, with their attachments and their whole interventions trees, in a single query. The rows duplicated by the joins are
+     * merged by Hibernate instead of the database. The result is kept in the query cache until one of the read tables is written through Hibernate.
+     *
+     * @param sort
+     *     The sorting clause
+     *
+     * @return the list of cars
+     */
+    @Transactional(readOnly = true)
+    default List<Car> findAllWithInterventions(final Sort sort) {
+        return this.initialize(this.findAllCached(sort), "Car.full");
+    }
+
+    /**
+     * Retrieves all the {@link Car} from the query cache, or else with their attachments and their whole interventions trees in a single query.
+     *
+     * @param sort
+     *     The sorting clause
+     *
+     * @return the list of cars, with uninitialized associations if read from the query cache
+     */
+    @EntityGraph("Car.full")
+    @Query("SELECT DISTINCT c FROM Car c")
+    @QueryHints({@QueryHint(name = HINT_PASS_DISTINCT_THROUGH, value = "false"), @QueryHint(name = HINT_CACHEABLE, value = "true")})
+    List<Car> findAllCached(Sort sort);
+
+    /**
+     * Retrieves the {@link Car} with the given IDs, with their attachments and their whole interventions trees, in a single query.
+     *
+     * @param ids
+     *     The {@link Car} IDs
+     * @param sort
+     *     The sorting clause
+     *
+     * @return the list of the existing cars
+     */
+    @EntityGraph("Car.full")
+    @Query("SELECT DISTINCT c FROM Car c WHERE c.id IN :ids")
+    @QueryHints(@QueryHint(name = HINT_PASS_DISTINCT_THROUGH, value = "false"))
+    List<Car> findAllWithInterventionsByIds(@Param("ids") Collection<Integer> ids, Sort sort);
+
+    /**
+     * Streams all the {@link Car}, with their attachments and their whole interventions trees, from a single query whose rows are read while the stream is
+     * consumed. Each car is detached from the persistence context once the following one is read.
+     *
+     * @param sort
+     *     The sorting clause, ending with the car ID
+     *
+     * @return the stream of cars
+     */
+    @Override
+    @EntityGraph("Car.full")
+    Stream<Car> streamAll(Sort sort);
+
+    /**
+     * Retrieves the summaries of all the {@link Car}, without reading their attachments nor their interventions, whose summary is maintained in the cars
+     * table.
+     *
+     * @param sort
+     *     The sorting clause
+     *
+     * @return the list of car summaries
+     */
+    @Query("SELECT c.id AS id, c.registration AS registration, c.serialNumber AS serialNumber, c.owner AS owner, c.brand AS brand, c.model AS model, "
+        + "c.motorization AS motorization, c.engineCode AS engineCode, c.releaseDate AS releaseDate, "
+        + "c.hasPicture AS hasPicture, c.hasCertificate AS hasCertificate, c.interventionCount AS interventionCount, c.lastMileage AS lastMileage, "
+        + "c.lastInterventionDate AS lastInterventionDate, c.balance AS balance FROM Car c")
+    List<CarSummary> findSummaries(Sort sort);
+
+    /**
+     * Retrieves the suggestions of all the {@link Car}, from which the {@link CarSuggestionIndex} is built.
+     *
+     * @return the list of suggestions
+     */
+    @Transactional(readOnly = true)
+    @Query("SELECT new fr.foacs.hostocars.repository.CarSuggestion(c.id, c.registration, c.serialNumber, c.version) FROM Car c")
+    List<CarSuggestion> findSuggestions();
+
+    /**
+     * Searches the {@link Car} whose fields or interventions match all the words of the given text, by relevance. Each word is matched as the prefix of a
+     * word of the registration, the owner, the brand, the model or the comments of a car, or of the description or the comments of one of its
+     * interventions, ignoring the case and the diacritics.
+     * <br/>
+     * <br/>
+     * The words are matched in the full-text indexes of the cars and interventions tables, and only the highlighted extracts of the requested page are
+     * computed.
+     *
+     * @param text
+     *     The text to search
+     * @param pageable
+     *     The page request, whose sorting clause is ignored
+     *
+     * @return a slice of search results, empty if the text holds no word
+     */
+    @Transactional(readOnly = true)
+    default Slice<CarSearchResult> search(final String text, final Pageable pageable) {
+        final var matchQuery = Pattern.compile("[\\p{L}\\p{N}]+").matcher(text).results()
+            .map(MatchResult::group)
+            // Each word is quoted, so that it can't be read as an operator of the FTS5 query syntax
+            .map(word -> '"' + word + "\"*")
+            .collect(Collectors.joining(" "));
+        if (matchQuery.isEmpty()) {
+            return new SliceImpl<>(List.of(), pageable, false);
+        }
+
+        final var results = this.findByMatchQuery(matchQuery, pageable.getPageSize() + 1, pageable.getOffset());
+        final var hasNext = results.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? results.subList(0, pageable.getPageSize()) : results, pageable, hasNext);
+    }
+
+    /**
+     * Retrieves a page of the {@link Car} matching the given FTS5 query in their fields or in the fields of their interventions, ordered by the relevance of
+     * their best match. The registration and the owner weigh more than the other fields.
+     *
+     * @param matchQuery
+     *     The FTS5 query
+     * @param limit
+     *     The maximal number of results
+     * @param offset
+     *     The number of results to skip
+     *
+     * @return the list of search results
+     */
+    @Query(value = "SELECT c.id AS id, c.registration AS registration, c.owner AS owner, c.brand AS brand, c.model AS model, m.score AS score, "
+        + "CASE WHEN m.interventionId IS NULL "
+        + "THEN (SELECT snippet(carsSearch, -1, '<mark>', '</mark>', '...', 16) FROM carsSearch WHERE carsSearch MATCH :query AND rowid = m.carId) "
+        + "ELSE (SELECT snippet(interventionsSearch, -1, '<mark>', '</mark>', '...', 16) FROM interventionsSearch "
+        + "WHERE interventionsSearch MATCH :query AND rowid = m.interventionId) END AS highlight "
+        + "FROM (SELECT carId, interventionId, MIN(score) AS score FROM ("
+        + "SELECT rowid AS carId, NULL AS interventionId, bm25(carsSearch, 10.0, 5.0, 2.0, 2.0, 1.0) AS score FROM carsSearch WHERE carsSearch MATCH :query "
+        + "UNION ALL SELECT i.carId, i.id, bm25(interventionsSearch, 1.0, 1.0) FROM interventionsSearch "
+        + "JOIN interventions i ON i.id = interventionsSearch.rowid WHERE interventionsSearch MATCH :query) "
+        + "GROUP BY carId ORDER BY score, carId LIMIT :limit OFFSET :offset) m "
+        + "JOIN cars c ON c.id = m.carId ORDER BY m.score, m.carId", nativeQuery = true)
+    List<CarSearchResult> findByMatchQuery(@Param("query") String matchQuery, @Param("limit") int limit, @Param("offset") long offset);
 
 }
@@ -0,0 +1,60 @@
+package fr.foacs.hostocars.repository;
+
+import fr.foacs.hostocars.entity.Car;
+
+/**
+ * Projection of a {@link Car} matching a full-text search, with the relevance and the highlighted extract of its best match.
+ */
+public interface CarSearchResult {
+
+    /**
+     * Returns the ID of the car.
+     *
+     * @return the ID of the car
+     */
+    Integer getId();
+
+    /**
+     * Returns the registration of the car.
+     *
+     * @return the registration of the car
+     */
+    String getRegistration();
+
+    /**
+     * Returns the owner of the car.
+     *
+     * @return the owner of the car
+     */
+    String getOwner();
+
+    /**
+     * Returns the brand of the car.
+     *
+     * @return the brand of the car
+     */
+    String getBrand();
+
+    /**
+     * Returns the model of the car.
+     *
+     * @return the model of the car
+     */
+    String getModel();
+
+    /**
+     * Returns the relevance of the best match of the car, as a BM25 score which is lower for the more relevant matches.
+     *
+     * @return the relevance of the best match of the car
+     */
+    Double getScore();
+
+    /**
+     * Returns the extract of the car or intervention field holding the best match of the car, with the matched terms enclosed in {@code <mark>} tags. The
+     * rest of the extract isn't escaped.
+     *
+     * @return the highlighted extract of the best match of the car
+     */
+    String getHighlight();
+
+}
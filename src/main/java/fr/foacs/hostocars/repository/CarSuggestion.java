@@ -0,0 +1,51 @@
+package fr.foacs.hostocars.repository;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+import fr.foacs.hostocars.entity.Car;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Suggestion of a {@link Car} whose registration or serial number starts with a typed prefix, held by the {@link CarSuggestionIndex}.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+@JsonInclude(Include.NON_NULL)
+public class CarSuggestion {
+
+    /**
+     * The ID of the car.
+     */
+    private final Integer id;
+
+    /**
+     * The registration of the car.
+     */
+    private final String registration;
+
+    /**
+     * The serial number of the car, if it has one.
+     */
+    private final String serialNumber;
+
+    /**
+     * The version of the car, ordering the suggestions of its successive updates.
+     */
+    @JsonIgnore
+    private final Integer version;
+
+    /**
+     * Valued constructor of the suggestion of a saved car.
+     *
+     * @param car
+     *     The saved car
+     */
+    CarSuggestion(final Car car) {
+        this(car.getId(), car.getRegistration(), car.getSerialNumber(), car.getVersion());
+    }
+
+}
@@ -0,0 +1,268 @@
+package fr.foacs.hostocars.repository;
+
+import static java.util.Objects.nonNull;
+
+import fr.foacs.hostocars.entity.Car;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * In-memory index of the registrations and serial numbers of the {@link Car}s, suggesting the cars whose registration or serial number starts with a typed
+ * prefix without querying the database.
+ * <br/>
+ * <br/>
+ * The index is built at startup, then maintained by the writes of the cars once they are committed. Its keys are the normalized values, followed by the car
+ * ID, in a sorted concurrent map: the suggestions of a prefix are the range of the keys starting with it, read without locking. The changes are serialized,
+ * and the suggestion of a car is only replaced by the one of a newer version, as the writes of concurrent transactions can be committed in any order.
+ * <br/>
+ * <br/>
+ * For the same reason, the ID of a deleted car is kept while a write started before its delete may still be committed, and dropped once all these writes
+ * are completed, so that the deleted cars aren't remembered for the life of the application.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty("spring.profiles.active")
+public class CarSuggestionIndex implements InitializingBean {
+
+    // The spaces and dashes typed or not in the middle of the registrations and serial numbers
+    private static final Pattern SEPARATORS = Pattern.compile("[\\s-]+");
+
+    // Lower than all the characters of the normalized values, so that the shortest values come first
+    private static final char ID_SEPARATOR = '\u0000';
+
+    private final CarRepository repository;
+
+    private final ConcurrentNavigableMap<String, CarSuggestion> suggestions = new ConcurrentSkipListMap<>();
+
+    // Current suggestion of each car, guarded by the index
+    private final Map<Integer, CarSuggestion> suggestionsById = new HashMap<>();
+
+    // Number of deletes applied to the index, ordering the deletes and the starts of the writes, guarded by the index
+    private long deleteCount;
+
+    // Numbers of the pending writes by delete count at their start, guarded by the index
+    private final NavigableMap<Long, Integer> pendingWrites = new TreeMap<>();
+
+    // Delete count of the deleted cars whose older writes may still be committed afterwards, by car ID, guarded by the index
+    private final Map<Integer, Long> removedIds = new HashMap<>();
+
+    /**
+     * Valued autowired constructor.
+     *
+     * @param repository
+     *     The autowired {@link CarRepository} component
+     */
+    @Autowired
+    public CarSuggestionIndex(final CarRepository repository) {
+        this.repository = repository;
+    }
+
+    /**
+     * Normalizes a registration, a serial number or a prefix of them, by removing their spaces and dashes and ignoring their case.
+     *
+     * @param value
+     *     The value to normalize
+     *
+     * @return the normalized value
+     */
+    static String normalize(final String value) {
+        return SEPARATORS.matcher(value).replaceAll("").toUpperCase(Locale.ROOT);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <br/>
+     * <br/>
+     * Builds the index from the suggestions of all the cars of the database.
+     */
+    @Override
+    public void afterPropertiesSet() {
+        this.repository.findSuggestions().forEach(suggestion -> this.add(suggestion, this.deleteCount));
+        log.info("Suggestion index built with {} cars", this.suggestionsById.size());
+    }
+
+    /**
+     * Suggests the cars whose normalized registration or serial number starts with the normalized prefix, the shortest values first, then in alphabetical
+     * order.
+     *
+     * @param prefix
+     *     The typed prefix
+     * @param size
+     *     The maximal number of suggestions
+     *
+     * @return the list of suggestions, which is empty if the prefix is blank
+     */
+    public List<CarSuggestion> suggest(final String prefix, final int size) {
+        final var normalizedPrefix = normalize(prefix);
+        if (normalizedPrefix.isEmpty()) {
+            return List.of();
+        }
+
+        // A car whose registration and serial number both match is suggested once
+        final var suggestedIds = new HashSet<Integer>();
+        return this.suggestions.subMap(normalizedPrefix, normalizedPrefix + Character.MAX_VALUE)
+            .values()
+            .stream()
+            .filter(suggestion -> suggestedIds.add(suggestion.getId()))
+            .limit(size)
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Indexes the registration and serial number of a saved {@link Car}, once its transaction is committed.
+     *
+     * @param car
+     *     The saved car, whose version is read once it is flushed
+     */
+    public void put(final Car car) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            synchronized (this) {
+                this.add(new CarSuggestion(car), this.deleteCount);
+            }
+            return;
+        }
+
+        final var start = this.startWrite();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+            @Override
+            public void afterCompletion(final int status) {
+                CarSuggestionIndex.this.completeWrite(start, status == STATUS_COMMITTED ? new CarSuggestion(car) : null);
+            }
+        });
+    }
+
+    /**
+     * Removes the {@link Car} with the given ID from the index, once its transaction is committed.
+     *
+     * @param id
+     *     The ID of the deleted car
+     */
+    public void remove(final Integer id) {
+        afterCommit(() -> this.delete(id));
+    }
+
+    /**
+     * Registers a pending write.
+     *
+     * @return the delete count at the start of the write
+     */
+    private synchronized long startWrite() {
+        this.pendingWrites.merge(this.deleteCount, 1, Integer::sum);
+        return this.deleteCount;
+    }
+
+    /**
+     * Completes a pending write, adding its suggestion if it has been committed, then drops the IDs of the deleted cars which no pending write started
+     * before.
+     *
+     * @param start
+     *     The delete count at the start of the write
+     * @param suggestion
+     *     The suggestion of the committed write, or {@code null} if it has been rolled back
+     */
+    private synchronized void completeWrite(final long start, final CarSuggestion suggestion) {
+        this.pendingWrites.computeIfPresent(start, (key, count) -> count > 1 ? count - 1 : null);
+        if (nonNull(suggestion)) {
+            this.add(suggestion, start);
+        }
+
+        final var oldestStart = this.pendingWrites.isEmpty() ? this.deleteCount : this.pendingWrites.firstKey();
+        this.removedIds.values().removeIf(count -> count <= oldestStart);
+    }
+
+    /**
+     * Adds the suggestion of a car to the index, unless its car has been deleted after the start of the write or a newer version is indexed.
+     *
+     * @param suggestion
+     *     The suggestion to add
+     * @param start
+     *     The delete count at the start of the write
+     */
+    private synchronized void add(final CarSuggestion suggestion, final long start) {
+        final var previous = this.suggestionsById.get(suggestion.getId());
+        if (this.removedIds.getOrDefault(suggestion.getId(), start) > start
+            || nonNull(previous) && nonNull(previous.getVersion()) && nonNull(suggestion.getVersion())
+            && previous.getVersion() >= suggestion.getVersion()) {
+            return;
+        }
+
+        // The new keys are added before the outdated ones are removed, so that the car is always suggested
+        this.suggestionsById.put(suggestion.getId(), suggestion);
+        final var keys = keysOf(suggestion).collect(Collectors.toSet());
+        keys.forEach(key -> this.suggestions.put(key, suggestion));
+        if (nonNull(previous)) {
+            keysOf(previous).filter(key -> !keys.contains(key)).forEach(this.suggestions::remove);
+        }
+    }
+
+    /**
+     * Deletes the suggestion of a car from the index.
+     *
+     * @param id
+     *     The ID of the deleted car
+     */
+    private synchronized void delete(final Integer id) {
+        this.deleteCount++;
+        // Only the writes already started can be committed after the delete
+        if (!this.pendingWrites.isEmpty()) {
+            this.removedIds.put(id, this.deleteCount);
+        }
+        final var previous = this.suggestionsById.remove(id);
+        if (nonNull(previous)) {
+            keysOf(previous).forEach(this.suggestions::remove);
+        }
+    }
+
+    /**
+     * Generates the keys of a suggestion in the index.
+     *
+     * @param suggestion
+     *     The suggestion
+     *
+     * @return the keys of its normalized registration and serial number
+     */
+    private static Stream<String> keysOf(final CarSuggestion suggestion) {
+        return Stream.of(suggestion.getRegistration(), suggestion.getSerialNumber())
+            .filter(Objects::nonNull)
+            .map(value -> normalize(value) + ID_SEPARATOR + suggestion.getId());
+    }
+
+    /**
+     * Runs an action once the current transaction is committed, or right away if there is none. The action is dropped if the transaction is rolled back.
+     *
+     * @param action
+     *     The action to run
+     */
+    private static void afterCommit(final Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+}
@@ -0,0 +1,115 @@
+package fr.foacs.hostocars.repository;
+
+import fr.foacs.hostocars.entity.Car;
+
+/**
+ * Projection of the {@link Car} entity holding only its scalar fields, used by the list views.
+ */
+public interface CarSummary {
+
+    /**
+     * Returns the ID of the car.
+     *
+     * @return the ID of the car
+     */
+    Integer getId();
+
+    /**
+     * Returns the registration of the car.
+     *
+     * @return the registration of the car
+     */
+    String getRegistration();
+
+    /**
+     * Returns the serial number of the car.
+     *
+     * @return the serial number of the car
+     */
+    String getSerialNumber();
+
+    /**
+     * Returns the owner of the car.
+     *
+     * @return the owner of the car
+     */
+    String getOwner();
+
+    /**
+     * Returns the brand of the car.
+     *
+     * @return the brand of the car
+     */
+    String getBrand();
+
+    /**
+     * Returns the model of the car.
+     *
+     * @return the model of the car
+     */
+    String getModel();
+
+    /**
+     * Returns the motorization of the car.
+     *
+     * @return the motorization of the car
+     */
+    String getMotorization();
+
+    /**
+     * Returns the engine code of the car.
+     *
+     * @return the engine code of the car
+     */
+    String getEngineCode();
+
+    /**
+     * Returns the release date of the car.
+     *
+     * @return the release date of the car
+     */
+    String getReleaseDate();
+
+    /**
+     * Returns if the car has a picture.
+     *
+     * @return if the car has a picture
+     */
+    Boolean getHasPicture();
+
+    /**
+     * Returns if the car has a certificate.
+     *
+     * @return if the car has a certificate
+     */
+    Boolean getHasCertificate();
+
+    /**
+     * Returns the number of interventions of the car.
+     *
+     * @return the number of interventions of the car
+     */
+    Integer getInterventionCount();
+
+    /**
+     * Returns the highest mileage of the interventions of the car.
+     *
+     * @return the highest mileage of the interventions of the car
+     */
+    Integer getLastMileage();
+
+    /**
+     * Returns the creation date of the last intervention of the car.
+     *
+     * @return the creation date of the last intervention of the car
+     */
+    String getLastInterventionDate();
+
+    /**
+     * Returns the outstanding balance of the interventions of the car.
+     *
+     * @return the total amount minus the total paid amount of the interventions of the car
+     */
+    Double getBalance();
+
+}
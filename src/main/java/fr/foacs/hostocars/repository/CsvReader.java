@@ -0,0 +1,156 @@
+package fr.foacs.hostocars.repository;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Getter;
+
+/**
+ * Streaming reader of CSV records (RFC 4180), read one by one from a character stream without loading the whole content.
+ * <br/>
+ * <br/>
+ * The fields are separated by commas and the records by line breaks ({@code CRLF} or {@code LF}). A field enclosed in double quotes can hold commas, line
+ * breaks and escaped double quotes ({@code ""}).
+ */
+class CsvReader implements Closeable {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private final Reader reader;
+
+    private final char[] buffer = new char[BUFFER_SIZE];
+
+    private int position;
+
+    private int limit;
+
+    private int line = 1;
+
+    /**
+     * The line number of the beginning of the last read record.
+     */
+    @Getter
+    private int recordLine;
+
+    /**
+     * Valued constructor.
+     *
+     * @param reader
+     *     The character stream to read
+     */
+    CsvReader(final Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * Reads the next record.
+     *
+     * @return the fields of the record, or {@code null} if the end of the stream has been reached
+     *
+     * @throws IOException
+     *     if the stream cannot be read
+     * @throws IllegalArgumentException
+     *     if a quoted field isn't terminated
+     */
+    List<String> readRecord() throws IOException {
+        var character = this.read();
+        if (character < 0) {
+            return null;
+        }
+
+        this.recordLine = this.line;
+        final var fields = new ArrayList<String>();
+        final var field = new StringBuilder();
+        var quoted = false;
+
+        while (true) {
+            if (character < 0) {
+                if (quoted) {
+                    throw new IllegalArgumentException("The quoted field starting at line " + this.recordLine + " isn't terminated");
+                }
+                break;
+            }
+
+            if (quoted) {
+                if (character == '"') {
+                    if (this.peek() == '"') {
+                        field.append((char) this.read());
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    if (character == '\n') {
+                        this.line++;
+                    }
+                    field.append((char) character);
+                }
+            } else if (character == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (character == '"' && field.length() == 0) {
+                quoted = true;
+            } else if (character == '\r' || character == '\n') {
+                if (character == '\r' && this.peek() == '\n') {
+                    this.read();
+                }
+                this.line++;
+                break;
+            } else {
+                field.append((char) character);
+            }
+
+            character = this.read();
+        }
+
+        fields.add(field.toString());
+        return fields;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void close() throws IOException {
+        this.reader.close();
+    }
+
+    /**
+     * Reads the next character.
+     *
+     * @return the character, or {@code -1} if the end of the stream has been reached
+     *
+     * @throws IOException
+     *     if the stream cannot be read
+     */
+    private int read() throws IOException {
+        final var character = this.peek();
+        if (character >= 0) {
+            this.position++;
+        }
+        return character;
+    }
+
+    /**
+     * Reads the next character without consuming it.
+     *
+     * @return the character, or {@code -1} if the end of the stream has been reached
+     *
+     * @throws IOException
+     *     if the stream cannot be read
+     */
+    private int peek() throws IOException {
+        if (this.position == this.limit) {
+            this.limit = this.reader.read(this.buffer);
+            this.position = 0;
+            if (this.limit <= 0) {
+                this.limit = 0;
+                return -1;
+            }
+        }
+
+        return this.buffer[this.position];
+    }
+
+}
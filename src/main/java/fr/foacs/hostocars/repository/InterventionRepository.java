@@ -0,0 +1,100 @@
+package fr.foacs.hostocars.repository;
+
+import fr.foacs.hostocars.entity.Intervention;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Repository for the {@link Intervention} entity.
+ * <br/>
+ * <br/>
+ * The interventions are filtered by the {@link InterventionSpecifications}, and their slices are read without their operations.
+ * <br/>
+ * <br/>
+ * Their {@link InterventionStats} are read from the {@code interventionsStats} table, maintained by triggers in the transactions writing the
+ * interventions. They can be rebuilt from the interventions if they ever drift from them.
+ */
+@Repository
+@ConditionalOnProperty("spring.profiles.active")
+public interface InterventionRepository extends KeysetRepository<Intervention, Integer> {
+
+    /**
+     * Retrieves the {@link Intervention} with the given ID, with its whole operations tree.
+     *
+     * @param id
+     *     The {@link Intervention} ID
+     *
+     * @return the optional intervention
+     */
+    @Override
+    @EntityGraph("Intervention.full")
+    Optional<Intervention> findById(Integer id);
+
+    /**
+     * Retrieves the {@link Intervention} with the given year and number, with its whole operations tree, in a single query searching the index of the
+     * numbers.
+     *
+     * @param year
+     *     The year of the intervention
+     * @param number
+     *     The number of the intervention in its year
+     *
+     * @return the optional intervention
+     */
+    @EntityGraph("Intervention.full")
+    Optional<Intervention> findByYearAndNumber(Integer year, Integer number);
+
+    /**
+     * Retrieves the {@link InterventionStats} of all the years, or of the given year only, from the aggregates table, without reading the interventions.
+     *
+     * @param year
+     *     The optional year of the stats
+     *
+     * @return the list of stats, sorted by year, month and status
+     */
+    @Query(value = "SELECT year, month, status, count, amount, paidAmount, amount - paidAmount AS balance, estimatedTime, realTime "
+        + "FROM interventionsStats WHERE :year IS NULL OR year = :year ORDER BY year, month, status", nativeQuery = true)
+    List<InterventionStats> findStats(@Param("year") Integer year);
+
+    /**
+     * Deletes all the {@link InterventionStats}.
+     *
+     * @return the number of deleted stats
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM interventionsStats", nativeQuery = true)
+    int deleteStats();
+
+    /**
+     * Inserts the {@link InterventionStats} aggregated from all the {@link Intervention}s.
+     *
+     * @return the number of inserted stats
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO interventionsStats (year, month, status, count, amount, paidAmount, estimatedTime, realTime) "
+        + "SELECT IFNULL(year, 0), IFNULL(CAST(STRFTIME('%m', creationDate) AS INTEGER), 0), status, COUNT(*), IFNULL(SUM(amount), 0), "
+        + "IFNULL(SUM(paidAmount), 0), IFNULL(SUM(estimatedTime), 0), IFNULL(SUM(realTime), 0) FROM interventions GROUP BY 1, 2, 3", nativeQuery = true)
+    int insertStats();
+
+    /**
+     * Rebuilds the {@link InterventionStats} from all the {@link Intervention}s, in a single transaction so that the stats are never read partially
+     * rebuilt.
+     *
+     * @return the number of rebuilt stats
+     */
+    @Transactional
+    default int rebuildStats() {
+        this.deleteStats();
+        return this.insertStats();
+    }
+
+}
@@ -0,0 +1,124 @@
+package fr.foacs.hostocars.repository;
+
+import static java.util.Objects.isNull;
+
+import fr.foacs.hostocars.entity.Intervention;
+import java.util.Collection;
+import javax.persistence.criteria.Expression;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.lang.Nullable;
+
+/**
+ * Utility class for the filters of the {@link Intervention}s.
+ * <br/>
+ * <br/>
+ * Each filter is {@code null} if its criterion isn't given, so that the filters can be combined with {@link Specification#and} whatever criteria are given.
+ * The status, year and number filters are served by the {@code (status, year, number)} and {@code (year, number)} indexes, the car and mileage ones by the
+ * {@code (carId, mileage)} index.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class InterventionSpecifications {
+
+    /**
+     * Creates the specification selecting the interventions having one of the given statuses.
+     *
+     * @param statuses
+     *     The optional statuses
+     *
+     * @return the specification, or {@code null} if there is no status
+     */
+    @Nullable
+    public static Specification<Intervention> hasStatus(@Nullable final Collection<String> statuses) {
+        return isNull(statuses) || statuses.isEmpty() ? null : (root, query, builder) -> root.get("status").in(statuses);
+    }
+
+    /**
+     * Creates the specification selecting the interventions of the given year.
+     *
+     * @param year
+     *     The optional year
+     *
+     * @return the specification, or {@code null} if there is no year
+     */
+    @Nullable
+    public static Specification<Intervention> hasYear(@Nullable final Integer year) {
+        return isNull(year) ? null : (root, query, builder) -> builder.equal(root.get("year"), year);
+    }
+
+    /**
+     * Creates the specification selecting the interventions with the given number, in any year.
+     *
+     * @param number
+     *     The optional number
+     *
+     * @return the specification, or {@code null} if there is no number
+     */
+    @Nullable
+    public static Specification<Intervention> hasNumber(@Nullable final Integer number) {
+        return isNull(number) ? null : (root, query, builder) -> builder.equal(root.get("number"), number);
+    }
+
+    /**
+     * Creates the specification selecting the interventions of the car with the given ID. The car isn't joined, its ID being read from the foreign key.
+     *
+     * @param carId
+     *     The optional ID of the car
+     *
+     * @return the specification, or {@code null} if there is no car ID
+     */
+    @Nullable
+    public static Specification<Intervention> hasCar(@Nullable final Integer carId) {
+        return isNull(carId) ? null : (root, query, builder) -> builder.equal(root.get("car").get("id"), carId);
+    }
+
+    /**
+     * Creates the specification selecting the interventions whose mileage is in the given range, both bounds included.
+     *
+     * @param minMileage
+     *     The optional minimal mileage
+     * @param maxMileage
+     *     The optional maximal mileage
+     *
+     * @return the specification, or {@code null} if there is no bound
+     */
+    @Nullable
+    public static Specification<Intervention> hasMileageBetween(@Nullable final Integer minMileage, @Nullable final Integer maxMileage) {
+        if (isNull(minMileage) && isNull(maxMileage)) {
+            return null;
+        }
+
+        return (root, query, builder) -> {
+            final Expression<Integer> mileage = root.get("mileage");
+            if (isNull(maxMileage)) {
+                return builder.greaterThanOrEqualTo(mileage, minMileage);
+            }
+
+            return isNull(minMileage) ? builder.lessThanOrEqualTo(mileage, maxMileage) : builder.between(mileage, minMileage, maxMileage);
+        };
+    }
+
+    /**
+     * Creates the specification selecting the interventions whose amount is greater than their paid amount, or the other ones. An intervention without
+     * amount is never unpaid, and a missing paid amount counts as nothing paid.
+     *
+     * @param unpaid
+     *     {@code true} to select the unpaid interventions, {@code false} to select the other ones, or {@code null}
+     *
+     * @return the specification, or {@code null} if the balance doesn't matter
+     */
+    @Nullable
+    public static Specification<Intervention> isUnpaid(@Nullable final Boolean unpaid) {
+        if (isNull(unpaid)) {
+            return null;
+        }
+
+        return (root, query, builder) -> {
+            final Expression<Double> amount = root.get("amount");
+            final var paidAmount = builder.coalesce(root.<Double>get("paidAmount"), 0.0);
+            return unpaid ? builder.greaterThan(amount, paidAmount) : builder.or(builder.isNull(amount), builder.lessThanOrEqualTo(amount, paidAmount));
+        };
+    }
+
+}
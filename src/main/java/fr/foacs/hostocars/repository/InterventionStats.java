@@ -0,0 +1,76 @@
+package fr.foacs.hostocars.repository;
+
+import fr.foacs.hostocars.entity.Intervention;
+
+/**
+ * Projection of the aggregates of the {@link Intervention}s of a year, a month and a status, read from the {@code interventionsStats} table.
+ * <br/>
+ * <br/>
+ * The interventions whose year or creation date is unknown are aggregated in the year or the month {@code 0}.
+ */
+public interface InterventionStats {
+
+    /**
+     * Returns the year of the interventions.
+     *
+     * @return the year of the interventions
+     */
+    Integer getYear();
+
+    /**
+     * Returns the month of the creation of the interventions.
+     *
+     * @return the month of the creation of the interventions
+     */
+    Integer getMonth();
+
+    /**
+     * Returns the status of the interventions.
+     *
+     * @return the status of the interventions
+     */
+    String getStatus();
+
+    /**
+     * Returns the number of interventions.
+     *
+     * @return the number of interventions
+     */
+    Integer getCount();
+
+    /**
+     * Returns the total amount of the interventions.
+     *
+     * @return the total amount of the interventions
+     */
+    Double getAmount();
+
+    /**
+     * Returns the total paid amount of the interventions.
+     *
+     * @return the total paid amount of the interventions
+     */
+    Double getPaidAmount();
+
+    /**
+     * Returns the outstanding balance of the interventions.
+     *
+     * @return the total amount minus the total paid amount of the interventions
+     */
+    Double getBalance();
+
+    /**
+     * Returns the total estimated time of the interventions.
+     *
+     * @return the total estimated time of the interventions
+     */
+    Double getEstimatedTime();
+
+    /**
+     * Returns the total real time of the interventions.
+     *
+     * @return the total real time of the interventions
+     */
+    Double getRealTime();
+
+}
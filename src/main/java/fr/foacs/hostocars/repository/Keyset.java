@@ -0,0 +1,200 @@
+package fr.foacs.hostocars.repository;
+
+import static java.util.Objects.isNull;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import fr.foacs.hostocars.configuration.InvalidRequestException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.stream.Collectors;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.springframework.beans.PropertyAccessorFactory;
+import org.springframework.core.convert.ConversionException;
+import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.lang.Nullable;
+
+/**
+ * Utility class for the keyset (a.k.a. cursor) pagination.
+ * <br/>
+ * <br/>
+ * A cursor is an opaque token holding the values of the sorting fields of the last entity of a page. The next page is then retrieved with a predicate
+ * selecting the entities placed strictly after these values, which stays efficient whatever the depth of the page is.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class Keyset {
+
+    /**
+     * The name of the property used to make the sorting clauses deterministic.
+     */
+    private static final String TIE_BREAKER = "id";
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    /**
+     * Adds the ID to the given sorting clause (if not already present), so that two entities can never share the same position.
+     *
+     * @param sort
+     *     The sorting clause
+     *
+     * @return the deterministic sorting clause
+     */
+    public static Sort withTieBreaker(final Sort sort) {
+        return isNull(sort.getOrderFor(TIE_BREAKER)) ? sort.and(Sort.by(TIE_BREAKER)) : sort;
+    }
+
+    /**
+     * Creates the cursor pointing at the position of the given entity in the given sorting clause.
+     *
+     * @param entity
+     *     The entity
+     * @param sort
+     *     The sorting clause
+     *
+     * @return the cursor
+     */
+    public static String cursorOf(final Object entity, final Sort sort) {
+        final var accessor = PropertyAccessorFactory.forBeanPropertyAccess(entity);
+        final var values = sort.stream().map(order -> accessor.getPropertyValue(order.getProperty())).collect(Collectors.toList());
+
+        try {
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(objectMapper.writeValueAsBytes(values));
+        } catch (final Exception e) {
+            throw new IllegalStateException("Unable to create the cursor", e);
+        }
+    }
+
+    /**
+     * Creates the specification selecting the entities placed strictly after the given cursor in the given sorting clause.
+     * <br/>
+     * <br/>
+     * The cursor is decoded immediately, so that an invalid cursor is reported before any query is performed.
+     *
+     * @param sort
+     *     The sorting clause the cursor has been created with
+     * @param cursor
+     *     The optional cursor
+     * @param <T>
+     *     The type of the entity
+     *
+     * @return the specification, or {@code null} if there is no cursor
+     *
+     * @throws InvalidRequestException
+     *     if the cursor is invalid or doesn't match the sorting clause, the values of the cursor being checked against the types of the sorting fields when
+     *     the specification is applied
+     */
+    @Nullable
+    public static <T> Specification<T> after(final Sort sort, @Nullable final String cursor) {
+        if (isNull(cursor)) {
+            return null;
+        }
+
+        final var orders = sort.toList();
+        final var values = decode(cursor);
+        if (orders.size() != values.size()) {
+            throw new InvalidRequestException("Cursor not matching the sorting fields");
+        }
+
+        return (root, query, builder) -> {
+            final var alternatives = new ArrayList<Predicate>(orders.size());
+            final var equalities = new ArrayList<Predicate>(orders.size());
+
+            for (var i = 0; i < orders.size(); i++) {
+                final var order = orders.get(i);
+                final Path<Comparable<Object>> path = root.get(order.getProperty());
+                final var value = convert(values.get(i), path.getJavaType());
+
+                // The entity is after the cursor if all the previous fields are equal and the current one is strictly after
+                final var alternative = new ArrayList<>(equalities);
+                alternative.add(strictlyAfter(builder, path, value, order.isAscending()));
+                alternatives.add(builder.and(alternative.toArray(Predicate[]::new)));
+
+                equalities.add(isNull(value) ? builder.isNull(path) : builder.equal(path, value));
+            }
+
+            return builder.or(alternatives.toArray(Predicate[]::new));
+        };
+    }
+
+    /**
+     * Converts a value of a cursor to the type of its sorting field.
+     *
+     * @param value
+     *     The value of the cursor
+     * @param type
+     *     The type of the sorting field
+     *
+     * @return the converted value
+     *
+     * @throws InvalidRequestException
+     *     if the value can't be converted
+     */
+    @SuppressWarnings("unchecked")
+    private static Comparable<Object> convert(final Object value, final Class<?> type) {
+        try {
+            return (Comparable<Object>) DefaultConversionService.getSharedInstance().convert(value, type);
+        } catch (final ConversionException e) {
+            throw new InvalidRequestException("Invalid cursor", e);
+        }
+    }
+
+    /**
+     * Decodes the given cursor.
+     *
+     * @param cursor
+     *     The cursor
+     *
+     * @return the values of the sorting fields
+     *
+     * @throws InvalidRequestException
+     *     if the cursor is invalid
+     */
+    private static List<Object> decode(final String cursor) {
+        final List<Object> values;
+        try {
+            values = objectMapper.readValue(Base64.getUrlDecoder().decode(cursor.getBytes(StandardCharsets.US_ASCII)), new TypeReference<List<Object>>() {});
+        } catch (final Exception e) {
+            throw new InvalidRequestException("Invalid cursor", e);
+        }
+
+        if (values.stream().anyMatch(value -> !isNull(value) && !(value instanceof String) && !(value instanceof Number) && !(value instanceof Boolean))) {
+            throw new InvalidRequestException("Invalid cursor");
+        }
+
+        return values;
+    }
+
+    /**
+     * Creates the predicate selecting the values placed strictly after the given one.
+     * <br/>
+     * <br/>
+     * SQLite considers {@code NULL} as lower than any other value, so the {@code NULL} values come first in ascending order and last in descending order.
+     *
+     * @param builder
+     *     The criteria builder
+     * @param path
+     *     The path of the sorting field
+     * @param value
+     *     The value of the cursor for the sorting field
+     * @param ascending
+     *     If the sorting field is in ascending order
+     *
+     * @return the predicate
+     */
+    private static Predicate strictlyAfter(final CriteriaBuilder builder, final Path<Comparable<Object>> path, final Comparable<Object> value, final boolean ascending) {
+        if (ascending) {
+            return isNull(value) ? builder.isNotNull(path) : builder.greaterThan(path, value);
+        }
+
+        return isNull(value) ? builder.disjunction() : builder.or(builder.lessThan(path, value), builder.isNull(path));
+    }
+
+}
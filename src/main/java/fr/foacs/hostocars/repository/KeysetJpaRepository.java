@@ -0,0 +1,160 @@
+package fr.foacs.hostocars.repository;
+
+import static java.util.Objects.nonNull;
+
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+import javax.persistence.AttributeNode;
+import javax.persistence.EntityManager;
+import org.hibernate.CacheMode;
+import org.hibernate.Hibernate;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.jpa.QueryHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.support.CrudMethodMetadata;
+import org.springframework.data.jpa.repository.support.JpaEntityInformation;
+import org.springframework.data.jpa.repository.support.SimpleJpaRepository;
+import org.springframework.lang.Nullable;
+
+/**
+ * Implementation of the {@link KeysetRepository}, used as the base class of all the repositories.
+ *
+ * @param <T>
+ *     The type of the entity
+ * @param <I>
+ *     The type of the entity ID
+ */
+public class KeysetJpaRepository<T, I extends Serializable> extends SimpleJpaRepository<T, I> implements KeysetRepository<T, I> {
+
+    private final EntityManager entityManager;
+
+    /**
+     * Valued constructor.
+     *
+     * @param entityInformation
+     *     The entity information
+     * @param entityManager
+     *     The entity manager
+     */
+    public KeysetJpaRepository(final JpaEntityInformation<T, ?> entityInformation, final EntityManager entityManager) {
+        super(entityInformation, entityManager);
+        this.entityManager = entityManager;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Slice<T> findSlice(@Nullable final Specification<T> specification, final Pageable pageable) {
+        final var query = this.getQuery(specification, pageable.getSort());
+        query.setFirstResult((int) pageable.getOffset());
+
+        // Fetches one more entity than requested in order to know if there is a next slice
+        query.setMaxResults(pageable.getPageSize() + 1);
+
+        final var content = this.initializeEntityGraph(query.getResultList());
+        final var hasNext = content.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? content.subList(0, pageable.getPageSize()) : content, pageable, hasNext);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <br/>
+     * <br/>
+     * The entity graph of the repository method is initialized on the found entity, which can be read from the second-level cache without its associations.
+     */
+    @Override
+    public Optional<T> findById(final I id) {
+        final var entity = super.findById(id);
+        entity.ifPresent(value -> this.initializeEntityGraph(List.of(value)));
+        return entity;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<T> initialize(final List<T> entities, final String entityGraphName) {
+        final var attributeNodes = this.entityManager.getEntityGraph(entityGraphName).getAttributeNodes();
+        entities.forEach(entity -> this.initialize(entity, attributeNodes));
+        return entities;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Optional<T> findDetachedById(final I id) {
+        final var entity = Optional.ofNullable(this.entityManager.find(this.getDomainClass(), id));
+        entity.ifPresent(this.entityManager::detach);
+        return entity;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Stream<T> streamAll(final Sort sort) {
+        final var query = this.getQuery(null, sort);
+        query.setHint(QueryHints.HINT_READONLY, true);
+        // The streamed entities aren't put in the second-level cache, where they would evict the entities read by the other requests
+        query.setHint(QueryHints.HINT_CACHE_MODE, CacheMode.IGNORE);
+
+        final var previous = new AtomicReference<T>();
+        return query.getResultStream().map(entity -> {
+            Optional.ofNullable(previous.getAndSet(entity)).ifPresent(this.entityManager::detach);
+            return entity;
+        });
+    }
+
+    /**
+     * Initializes the associations of the given entities described by the entity graph of the current repository method, if there is one.
+     *
+     * @param entities
+     *     The entities to initialize
+     *
+     * @return the initialized entities
+     */
+    private List<T> initializeEntityGraph(final List<T> entities) {
+        Optional.ofNullable(this.getRepositoryMethodMetadata()).flatMap(CrudMethodMetadata::getEntityGraph)
+            .ifPresent(entityGraph -> this.initialize(entities, entityGraph.value()));
+        return entities;
+    }
+
+    /**
+     * Initializes the associations of the given entity described by the given entity graph nodes, and the ones of the associated entities described by the
+     * sub-graphs.
+     *
+     * @param entity
+     *     The entity to initialize
+     * @param attributeNodes
+     *     The entity graph nodes of the associations to initialize
+     */
+    private void initialize(final Object entity, final List<AttributeNode<?>> attributeNodes) {
+        final var unproxiedEntity = Hibernate.unproxy(entity);
+        final var persister = this.entityManager.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class).getMetamodel()
+            .entityPersister(unproxiedEntity.getClass());
+
+        for (final var attributeNode : attributeNodes) {
+            final var value = persister.getPropertyValue(unproxiedEntity, attributeNode.getAttributeName());
+            Hibernate.initialize(value);
+
+            for (final var subgraph : attributeNode.getSubgraphs().values()) {
+                if (value instanceof Collection) {
+                    ((Collection<?>) value).forEach(element -> this.initialize(element, subgraph.getAttributeNodes()));
+                } else if (nonNull(value)) {
+                    this.initialize(value, subgraph.getAttributeNodes());
+                }
+            }
+        }
+    }
+
+}
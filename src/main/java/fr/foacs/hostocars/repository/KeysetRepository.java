@@ -0,0 +1,78 @@
+package fr.foacs.hostocars.repository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.repository.NoRepositoryBean;
+import org.springframework.lang.Nullable;
+
+/**
+ * Base repository adding the keyset pagination, the entity graphs initialization, the detached loading and the streaming to the {@link JpaRepository}
+ * features.
+ *
+ * @param <T>
+ *     The type of the entity
+ * @param <I>
+ *     The type of the entity ID
+ */
+@NoRepositoryBean
+public interface KeysetRepository<T, I> extends JpaRepository<T, I>, JpaSpecificationExecutor<T> {
+
+    /**
+     * Retrieves a slice of the entities matching the given specification, without counting the total number of entities.
+     *
+     * @param specification
+     *     The optional specification to match (see {@link Keyset#after})
+     * @param pageable
+     *     The page request, holding the page size and the sorting clause
+     *
+     * @return a slice of entities
+     */
+    Slice<T> findSlice(@Nullable Specification<T> specification, Pageable pageable);
+
+    /**
+     * Initializes the associations of the given entities described by the named entity graph. The entities of a query result read from the query cache are
+     * read from the second-level cache without their fetched associations, which have to be initialized before leaving the session.
+     *
+     * @param entities
+     *     The entities to initialize
+     * @param entityGraphName
+     *     The name of the entity graph describing the associations to initialize
+     *
+     * @return the initialized entities
+     */
+    List<T> initialize(List<T> entities, String entityGraphName);
+
+    /**
+     * Retrieves the entity with the given ID, detached from the persistence context so that it can be modified without being flushed. Its lazy associations
+     * aren't initialized, and are left untouched when the entity is saved again as long as they stay uninitialized.
+     *
+     * @param id
+     *     The entity ID
+     *
+     * @return the optional detached entity
+     */
+    Optional<T> findDetachedById(I id);
+
+    /**
+     * Streams all the entities from a forward-only cursor, as read-only entities. Each entity is detached from the persistence context once the following
+     * one is read, so that the memory used doesn't grow with the number of entities. The stream has to be consumed in a transaction, then closed.
+     * <br/>
+     * <br/>
+     * If the entity graph of the repository method fetches collections, the sorting clause has to end with the entity ID, so that the rows of each entity
+     * are consecutive.
+     *
+     * @param sort
+     *     The sorting clause
+     *
+     * @return the stream of entities
+     */
+    Stream<T> streamAll(Sort sort);
+
+}
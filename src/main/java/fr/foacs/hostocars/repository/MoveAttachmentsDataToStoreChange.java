@@ -0,0 +1,101 @@
+package fr.foacs.hostocars.repository;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import liquibase.change.custom.CustomTaskChange;
+import liquibase.database.Database;
+import liquibase.database.jvm.JdbcConnection;
+import liquibase.exception.CustomChangeException;
+import liquibase.exception.ValidationErrors;
+import liquibase.resource.ResourceAccessor;
+import lombok.Setter;
+
+/**
+ * Liquibase change moving the data of the {@code attachments} table to the {@link AttachmentFiles} store, filling the {@code hash} column of each
+ * attachment. The data are read one attachment at a time, so that they are never entirely loaded on the heap.
+ */
+public class MoveAttachmentsDataToStoreChange implements CustomTaskChange {
+
+    /**
+     * The root directory of the store, given as a change parameter.
+     */
+    @Setter
+    private String directory;
+
+    private int movedAttachmentsCount;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void execute(final Database database) throws CustomChangeException {
+        final var files = new AttachmentFiles(Paths.get(this.directory));
+        final var connection = ((JdbcConnection) database.getConnection()).getUnderlyingConnection();
+
+        try {
+            // Collects the IDs first, so that no result set is open while the attachments are updated
+            final var ids = new ArrayList<Integer>();
+            try (final var statement = connection.createStatement(); final var resultSet = statement.executeQuery("SELECT id FROM attachments")) {
+                while (resultSet.next()) {
+                    ids.add(resultSet.getInt(1));
+                }
+            }
+
+            try (final var selectStatement = connection.prepareStatement("SELECT data FROM attachments WHERE id = ?");
+                final var updateStatement = connection.prepareStatement("UPDATE attachments SET hash = ? WHERE id = ?")) {
+                for (final var id : ids) {
+                    selectStatement.setInt(1, id);
+                    try (final var resultSet = selectStatement.executeQuery()) {
+                        resultSet.next();
+                        try (final var inputStream = resultSet.getBinaryStream(1)) {
+                            updateStatement.setString(1, files.write(inputStream).getHash());
+                        }
+                    }
+                    updateStatement.setInt(2, id);
+                    updateStatement.executeUpdate();
+                }
+            }
+
+            this.movedAttachmentsCount = ids.size();
+        } catch (final SQLException | IOException e) {
+            throw new CustomChangeException("Failed to move the attachments data to " + this.directory, e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getConfirmationMessage() {
+        return this.movedAttachmentsCount + " attachments moved to " + this.directory;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setUp() {
+        // Nothing to set up
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setFileOpener(final ResourceAccessor resourceAccessor) {
+        // No resource to access
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ValidationErrors validate(final Database database) {
+        final var errors = new ValidationErrors();
+        errors.checkRequiredField("directory", this.directory);
+        return errors;
+    }
+
+}
@@ -0,0 +1,38 @@
+package fr.foacs.hostocars.repository;
+
+import fr.foacs.hostocars.entity.Car;
+import fr.foacs.hostocars.entity.Intervention;
+import fr.foacs.hostocars.entity.TableVersion;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository for the {@link TableVersion} entity.
+ */
+@Repository
+@ConditionalOnProperty("spring.profiles.active")
+public interface TableVersionRepository extends JpaRepository<TableVersion, Integer> {
+
+    /**
+     * Retrieves the summary of the versions of the tables holding the {@link Car} entities and their interventions trees, in a single query reading only
+     * the table versions.
+     *
+     * @return the summary of the table versions
+     */
+    @Query("SELECT SUM(t.version) AS version, MAX(t.modifiedAt) AS modifiedAt FROM TableVersion t "
+        + "WHERE t.name IN ('cars', 'interventions', 'operations', 'operationLines')")
+    TableVersionSummary findCarsSummary();
+
+    /**
+     * Retrieves the summary of the versions of the tables holding the {@link Intervention} entities and their operations trees, in a single query reading
+     * only the table versions.
+     *
+     * @return the summary of the table versions
+     */
+    @Query("SELECT SUM(t.version) AS version, MAX(t.modifiedAt) AS modifiedAt FROM TableVersion t "
+        + "WHERE t.name IN ('interventions', 'operations', 'operationLines')")
+    TableVersionSummary findInterventionsSummary();
+
+}
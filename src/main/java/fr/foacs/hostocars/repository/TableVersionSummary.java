@@ -0,0 +1,24 @@
+package fr.foacs.hostocars.repository;
+
+import fr.foacs.hostocars.entity.TableVersion;
+
+/**
+ * Projection of a set of {@link TableVersion} entities, summing their versions and keeping their last modification timestamp.
+ */
+public interface TableVersionSummary {
+
+    /**
+     * Returns the sum of the versions of the tables, which is incremented by each change of one of their rows.
+     *
+     * @return the sum of the versions of the tables
+     */
+    Long getVersion();
+
+    /**
+     * Returns the timestamp of the last modification of one of the tables, in milliseconds since the epoch.
+     *
+     * @return the timestamp of the last modification of the tables
+     */
+    Long getModifiedAt();
+
+}
@@ -0,0 +1,367 @@
+package fr.foacs.hostocars.repository;
+
+import static java.util.Objects.isNull;
+
+import fr.foacs.hostocars.configuration.Loggable;
+import java.awt.Color;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.imageio.ImageIO;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Store of the thumbnails of the car pictures.
+ * <br/>
+ * <br/>
+ * The thumbnails are generated in the background by a bounded pool of low priority threads, with the JDK image I/O only, and are cached as JPEG files named
+ * after the hash of their picture and their size. While a thumbnail isn't generated yet, the original picture is used instead. The missing thumbnails of the
+ * existing pictures are periodically backfilled when the pool is idle.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty("spring.profiles.active")
+public class ThumbnailStore implements DisposableBean {
+
+    private static final String THUMBNAIL_FORMAT = "jpeg";
+
+    private final AttachmentRepository repository;
+    private final AttachmentStore attachmentStore;
+    private final AttachmentFiles files;
+    private final TreeSet<Integer> sizes;
+    private final Duration gracePeriod;
+    private final ThreadPoolExecutor executor;
+
+    // Hashes of the pictures whose thumbnails are being generated
+    private final Set<String> pendingHashes = ConcurrentHashMap.newKeySet();
+
+    // Hashes of the pictures which cannot be read as images, so that their thumbnails aren't generated again and again
+    private final Set<String> unreadableHashes = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Valued autowired constructor.
+     *
+     * @param repository
+     *     The autowired {@link AttachmentRepository} component
+     * @param attachmentStore
+     *     The autowired {@link AttachmentStore} component
+     * @param directory
+     *     The root directory of the thumbnails
+     * @param sizes
+     *     The maximal dimensions of the thumbnails to generate, in pixels
+     * @param gracePeriod
+     *     The minimal age of the thumbnails of deleted pictures to delete
+     * @param threads
+     *     The number of threads generating the thumbnails
+     * @param queueCapacity
+     *     The maximal number of pictures waiting for their thumbnails to be generated
+     */
+    @Autowired
+    public ThumbnailStore(final AttachmentRepository repository, final AttachmentStore attachmentStore,
+        @Value("${attachment.thumbnail.directory}") final Path directory, @Value("${attachment.thumbnail.sizes}") final List<Integer> sizes,
+        @Value("${attachment.store.grace-period}") final Duration gracePeriod, @Value("${attachment.thumbnail.threads}") final Integer threads,
+        @Value("${attachment.thumbnail.queue-capacity}") final Integer queueCapacity) {
+        this.repository = repository;
+        this.attachmentStore = attachmentStore;
+        this.files = new AttachmentFiles(directory);
+        this.sizes = new TreeSet<>(sizes);
+        this.gracePeriod = gracePeriod;
+
+        final var threadCount = new AtomicInteger();
+        // When the queue is full, the picture is dropped and its thumbnails are generated by a later backfill
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+            final var thread = new Thread(runnable, "thumbnail-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        }, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Finds the thumbnail of the given picture with the smallest generated size greater than or equal to the given size, or the largest one if there is no
+     * such size. If the thumbnail isn't generated yet, its generation is requested and the picture itself is returned.
+     *
+     * @param picture
+     *     The summary of the picture
+     * @param size
+     *     The requested size, in pixels
+     *
+     * @return the summary of the thumbnail, or of the picture if the thumbnail isn't available
+     */
+    public AttachmentSummary findThumbnail(@NonNull final AttachmentSummary picture, final int size) {
+        final var thumbnailSize = Optional.ofNullable(this.sizes.ceiling(size)).orElseGet(this.sizes::last);
+        final var thumbnailHash = thumbnailHash(picture.getHash(), thumbnailSize);
+        final var path = this.files.resolve(thumbnailHash);
+
+        if (Files.exists(path)) {
+            try {
+                return new Thumbnail(picture.getId(), thumbnailHash, Math.toIntExact(Files.size(path)), MediaType.IMAGE_JPEG_VALUE);
+            } catch (final IOException e) {
+                log.warn("Failed to read the size of the thumbnail {}", thumbnailHash, e);
+            }
+        } else {
+            this.generate(picture.getHash());
+        }
+
+        return picture;
+    }
+
+    /**
+     * Resolves the path of the thumbnail or the picture with the given hash.
+     *
+     * @param hash
+     *     The hash of a thumbnail returned by {@link #findThumbnail}, or of a picture
+     *
+     * @return the path of the thumbnail or the picture
+     */
+    public Path resolve(@NonNull final String hash) {
+        return isThumbnailHash(hash) ? this.files.resolve(hash) : this.attachmentStore.resolve(hash);
+    }
+
+    /**
+     * Requests the generation of the thumbnails of the picture with the given hash, if they aren't already being generated.
+     *
+     * @param hash
+     *     The hash of the picture
+     */
+    public void generate(@NonNull final String hash) {
+        if (this.unreadableHashes.contains(hash) || !this.pendingHashes.add(hash)) {
+            return;
+        }
+
+        try {
+            this.executor.execute(() -> {
+                try {
+                    this.generateThumbnails(hash);
+                } catch (final IOException | RuntimeException e) {
+                    log.warn("Failed to generate the thumbnails of the picture {}", hash, e);
+                } finally {
+                    this.pendingHashes.remove(hash);
+                }
+            });
+        } catch (final RejectedExecutionException e) {
+            this.pendingHashes.remove(hash);
+            log.debug("Thumbnails generation queue full, the picture {} will be handled by the next backfill", hash);
+        }
+    }
+
+    /**
+     * Requests the generation of the missing thumbnails of the car pictures and deletes the thumbnails of the pictures which don't exist anymore. Nothing is
+     * done while thumbnails are being generated, so that the backfill only runs at idle time.
+     *
+     * @throws IOException
+     *     if the thumbnails cannot be browsed or deleted
+     */
+    @Loggable(debug = true)
+    @Scheduled(initialDelayString = "${attachment.thumbnail.backfill.delay}", fixedDelayString = "${attachment.thumbnail.backfill.delay}")
+    public void backfill() throws IOException {
+        if (this.executor.getActiveCount() > 0 || !this.executor.getQueue().isEmpty()) {
+            return;
+        }
+
+        final var pictureHashes = new HashSet<>(this.repository.findAllPictureHashes());
+
+        // Requests the missing thumbnails, until the queue is full
+        var requestedPictures = 0;
+        for (final var hash : pictureHashes) {
+            if (this.executor.getQueue().remainingCapacity() == 0) {
+                break;
+            }
+
+            if (!this.unreadableHashes.contains(hash) && this.sizes.stream().anyMatch(size -> !Files.exists(this.files.resolve(thumbnailHash(hash, size))))) {
+                this.generate(hash);
+                requestedPictures++;
+            }
+        }
+
+        // Deletes the thumbnails of the deleted or replaced pictures, keeping the recent ones whose picture can be about to be referenced
+        final var limit = Instant.now().minus(this.gracePeriod);
+        var deletedThumbnails = 0;
+        for (final var thumbnailHash : this.files.findHashesModifiedBefore(limit)) {
+            if (!pictureHashes.contains(pictureHash(thumbnailHash))) {
+                this.files.delete(thumbnailHash);
+                deletedThumbnails++;
+            }
+        }
+        deletedThumbnails += this.files.deleteTemporaryFilesModifiedBefore(limit);
+
+        if (requestedPictures > 0 || deletedThumbnails > 0) {
+            log.info("Thumbnails backfill requested {} pictures and deleted {} thumbnails", requestedPictures, deletedThumbnails);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <br/>
+     * <br/>
+     * The waiting pictures are dropped, and the thumbnails being generated are written before the pool stops.
+     */
+    @Override
+    public void destroy() throws InterruptedException {
+        this.executor.shutdownNow();
+        if (!this.executor.awaitTermination(1, TimeUnit.MINUTES)) {
+            log.warn("Thumbnails generation still running after the shutdown of the pool");
+        }
+    }
+
+    /**
+     * Generates the missing thumbnails of the picture with the given hash.
+     *
+     * @param hash
+     *     The hash of the picture
+     *
+     * @throws IOException
+     *     if the picture cannot be read or a thumbnail cannot be written
+     */
+    void generateThumbnails(final String hash) throws IOException {
+        final var missingSizes = new TreeSet<Integer>();
+        for (final var size : this.sizes) {
+            if (!Files.exists(this.files.resolve(thumbnailHash(hash, size)))) {
+                missingSizes.add(size);
+            }
+        }
+
+        if (missingSizes.isEmpty()) {
+            return;
+        }
+
+        final var picture = ImageIO.read(this.attachmentStore.resolve(hash).toFile());
+        if (isNull(picture)) {
+            log.debug("The picture {} cannot be read as an image, its thumbnails won't be generated", hash);
+            this.unreadableHashes.add(hash);
+            return;
+        }
+
+        // Scales the largest thumbnails first, so that each smaller one is scaled from the previous one
+        var image = picture;
+        for (final var size : missingSizes.descendingSet()) {
+            image = scale(image, size);
+
+            final var path = this.files.resolve(thumbnailHash(hash, size));
+            Files.createDirectories(path.getParent());
+            final var temporaryFile = Files.createTempFile(path.getParent(), null, ".tmp");
+            try {
+                ImageIO.write(image, THUMBNAIL_FORMAT, temporaryFile.toFile());
+                Files.move(temporaryFile, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } finally {
+                Files.deleteIfExists(temporaryFile);
+            }
+        }
+    }
+
+    /**
+     * Scales an image so that its largest dimension doesn't exceed the given size, keeping its aspect ratio. The image is halved step by step before the last
+     * scaling, so that the bilinear interpolation keeps a good quality. The transparent areas are filled in white, as JPEG doesn't support transparency.
+     *
+     * @param image
+     *     The image to scale
+     * @param size
+     *     The maximal dimension of the scaled image, in pixels
+     *
+     * @return the scaled image
+     */
+    static BufferedImage scale(@NonNull final BufferedImage image, final int size) {
+        final var ratio = Math.min(1, (double) size / Math.max(image.getWidth(), image.getHeight()));
+        final var targetWidth = Math.max(1, (int) Math.round(image.getWidth() * ratio));
+        final var targetHeight = Math.max(1, (int) Math.round(image.getHeight() * ratio));
+
+        var scaledImage = image;
+        do {
+            final var width = Math.max(targetWidth, scaledImage.getWidth() / 2);
+            final var height = Math.max(targetHeight, scaledImage.getHeight() / 2);
+
+            final var stepImage = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+            final var graphics = stepImage.createGraphics();
+            try {
+                graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                graphics.drawImage(scaledImage, 0, 0, width, height, Color.WHITE, null);
+            } finally {
+                graphics.dispose();
+            }
+
+            scaledImage = stepImage;
+        } while (scaledImage.getWidth() != targetWidth || scaledImage.getHeight() != targetHeight);
+
+        return scaledImage;
+    }
+
+    /**
+     * Builds the hash of the thumbnail of the given size of a picture.
+     *
+     * @param pictureHash
+     *     The hash of the picture
+     * @param size
+     *     The size of the thumbnail
+     *
+     * @return the hash of the thumbnail
+     */
+    private static String thumbnailHash(final String pictureHash, final int size) {
+        return pictureHash + '-' + size;
+    }
+
+    /**
+     * Extracts the hash of the picture from the hash of one of its thumbnails.
+     *
+     * @param thumbnailHash
+     *     The hash of the thumbnail
+     *
+     * @return the hash of the picture
+     */
+    private static String pictureHash(final String thumbnailHash) {
+        return thumbnailHash.substring(0, thumbnailHash.lastIndexOf('-'));
+    }
+
+    /**
+     * Checks if the given hash is the hash of a thumbnail.
+     *
+     * @param hash
+     *     The hash to check
+     *
+     * @return if the hash is the hash of a thumbnail
+     */
+    private static boolean isThumbnailHash(final String hash) {
+        return hash.indexOf('-') > 0;
+    }
+
+    /**
+     * Summary of a generated thumbnail.
+     */
+    @Getter
+    @RequiredArgsConstructor
+    private static class Thumbnail implements AttachmentSummary {
+
+        private final Integer id;
+        private final String hash;
+        private final Integer size;
+        private final String contentType;
+
+    }
+
+}
@@ -0,0 +1,312 @@
+package fr.foacs.hostocars.repository;
+
+import static java.util.Objects.nonNull;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Executor of the writes to the database, queued and run one after the other by a single thread, with a commit shared by groups of writes.
+ * <br/>
+ * <br/>
+ * The writes queued while a group is committed, up to a maximal number and within a short delay after the first one, are run in a single transaction
+ * (group commit), so that they share its commit and its synchronization to the disk. Each write is flushed on its own, and the persistence context cleared
+ * afterwards, so that it doesn't see the entities of the other writes. The future of each write is only completed once the group has been committed.
+ * <br/>
+ * <br/>
+ * A write failing while it is run is rejected alone, and the other writes of its group are run again without it. If the group can't be committed, its
+ * writes are run again one by one, each one in its own transaction. The writes can thus be run several times, and must read the entities they update
+ * instead of relying on entities they changed themselves.
+ * <br/>
+ * <br/>
+ * The depth of the queue and the size of the committed groups are published as the {@code write.queue.depth} and {@code write.group.size} metrics.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty("spring.profiles.active")
+public class WriteExecutor implements DisposableBean {
+
+    private static final Write<?> STOP = new Write<>(null);
+
+    private final TransactionTemplate transactionTemplate;
+    private final int maxGroupSize;
+    private final long maxDelayNanos;
+    private final DistributionSummary groupSizes;
+    private final BlockingQueue<Write<?>> queue = new LinkedBlockingQueue<>();
+    private final Thread thread;
+    private boolean closed;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Valued autowired constructor.
+     *
+     * @param transactionManager
+     *     The autowired {@link PlatformTransactionManager} component
+     * @param meterRegistry
+     *     The autowired {@link MeterRegistry} component, publishing the metrics of the executor
+     * @param maxGroupSize
+     *     The maximal number of writes committed in a single transaction
+     * @param maxDelay
+     *     The maximal time waited for other writes, after the first write of a group
+     */
+    @Autowired
+    public WriteExecutor(final PlatformTransactionManager transactionManager, final MeterRegistry meterRegistry,
+        @Value("${write.group.max-size}") final Integer maxGroupSize, @Value("${write.group.max-delay}") final Duration maxDelay) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // Each group is committed on its own, even if a write is submitted by the executor thread itself
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.maxGroupSize = maxGroupSize;
+        this.maxDelayNanos = maxDelay.toNanos();
+
+        Gauge.builder("write.queue.depth", this.queue, Collection::size).description("The number of writes waiting to be run").register(meterRegistry);
+        this.groupSizes = DistributionSummary.builder("write.group.size").description("The number of writes committed together").register(meterRegistry);
+
+        this.thread = new Thread(this::run, "writer");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    /**
+     * Queues a write, run in a transaction shared with the other writes of its group.
+     *
+     * @param write
+     *     The write to run, which can be run several times
+     * @param <T>
+     *     The type of the result
+     *
+     * @return the future of the result of the write, completed once it has been committed
+     *
+     * @throws IllegalStateException
+     *     if the executor is closed
+     */
+    public <T> CompletableFuture<T> submit(@NonNull final Supplier<T> write) {
+        final var queuedWrite = new Write<>(write);
+        synchronized (this.queue) {
+            if (this.closed) {
+                throw new IllegalStateException("The write executor is closed");
+            }
+            this.queue.add(queuedWrite);
+        }
+        return queuedWrite.future;
+    }
+
+    /**
+     * Runs a write in a transaction shared with the other writes of its group, and waits for its commit.
+     *
+     * @param write
+     *     The write to run, which can be run several times
+     * @param <T>
+     *     The type of the result
+     *
+     * @return the result of the write
+     *
+     * @throws IllegalStateException
+     *     if the executor is closed
+     */
+    public <T> T execute(@NonNull final Supplier<T> write) {
+        try {
+            return this.submit(write).join();
+        } catch (final CompletionException e) {
+            // The exception of the write is rethrown as is, so that it is resolved like an exception of the caller
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <br/>
+     * <br/>
+     * The writes already queued are run before the executor thread stops.
+     */
+    @Override
+    public void destroy() throws InterruptedException {
+        synchronized (this.queue) {
+            this.closed = true;
+            this.queue.add(STOP);
+        }
+        this.thread.join();
+    }
+
+    /**
+     * Runs the queued writes by groups, until the executor is closed.
+     */
+    private void run() {
+        var stopped = false;
+        while (!stopped) {
+            final var group = this.takeGroup();
+            stopped = group.remove(STOP);
+            if (!group.isEmpty()) {
+                this.groupSizes.record(group.size());
+                this.commit(group);
+            }
+        }
+
+        synchronized (this.queue) {
+            this.closed = true;
+        }
+        this.queue.stream()
+            .filter(write -> write != STOP)
+            .forEach(write -> write.future.completeExceptionally(new IllegalStateException("The write executor is closed")));
+    }
+
+    /**
+     * Takes the next group of writes from the queue, waiting for the first one.
+     *
+     * @return the group of writes
+     */
+    private List<Write<?>> takeGroup() {
+        final var group = new ArrayList<Write<?>>(this.maxGroupSize);
+        try {
+            group.add(this.queue.take());
+            final var deadline = System.nanoTime() + this.maxDelayNanos;
+            this.queue.drainTo(group, this.maxGroupSize - group.size());
+            while (group.size() < this.maxGroupSize && !group.contains(STOP)) {
+                final var write = this.queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                if (write == null) {
+                    break;
+                }
+                group.add(write);
+                this.queue.drainTo(group, this.maxGroupSize - group.size());
+            }
+        } catch (final InterruptedException e) {
+            // The executor isn't expected to be interrupted, but it is then closed, rejecting the queued writes
+            log.warn("The write executor has been interrupted");
+            Thread.currentThread().interrupt();
+            group.add(STOP);
+        }
+        return group;
+    }
+
+    /**
+     * Runs a group of writes in a single transaction, then completes their futures. A failing write is rejected and the others are run again without it.
+     *
+     * @param group
+     *     The group of writes
+     */
+    private void commit(final List<Write<?>> group) {
+        var writes = group;
+        while (!writes.isEmpty()) {
+            final var runWrites = writes;
+            final var failure = new Failure();
+            final List<Object> results;
+            try {
+                results = this.transactionTemplate.execute(status -> {
+                    final var groupResults = new ArrayList<>(runWrites.size());
+                    for (final var write : runWrites) {
+                        try {
+                            groupResults.add(write.task.get());
+                            this.entityManager.flush();
+                        } catch (final RuntimeException e) {
+                            failure.write = write;
+                            failure.exception = e;
+                            status.setRollbackOnly();
+                            return null;
+                        } finally {
+                            this.entityManager.clear();
+                        }
+                    }
+                    return groupResults;
+                });
+            } catch (final RuntimeException | Error e) {
+                log.debug("The group of {} writes can't be committed, running them one by one", runWrites.size(), e);
+                runWrites.forEach(this::commit);
+                return;
+            }
+
+            if (nonNull(failure.write)) {
+                failure.write.future.completeExceptionally(failure.exception);
+                writes = new ArrayList<>(runWrites);
+                writes.remove(failure.write);
+            } else {
+                for (var index = 0; index < runWrites.size(); index++) {
+                    runWrites.get(index).complete(results.get(index));
+                }
+                writes = List.of();
+            }
+        }
+    }
+
+    /**
+     * Runs a single write in its own transaction, then completes its future.
+     *
+     * @param write
+     *     The write
+     */
+    private void commit(final Write<?> write) {
+        try {
+            write.complete(this.transactionTemplate.execute(status -> write.task.get()));
+        } catch (final RuntimeException | Error e) {
+            write.future.completeExceptionally(e);
+        }
+    }
+
+    /**
+     * Write queued in the executor, with the future of its result.
+     *
+     * @param <T>
+     *     The type of the result
+     */
+    @RequiredArgsConstructor
+    private static class Write<T> {
+
+        private final Supplier<T> task;
+
+        private final CompletableFuture<T> future = new CompletableFuture<>();
+
+        /**
+         * Completes the future with the given result of the task.
+         *
+         * @param result
+         *     The result of the task
+         */
+        @SuppressWarnings("unchecked")
+        private void complete(final Object result) {
+            this.future.complete((T) result);
+        }
+
+    }
+
+    /**
+     * Failure of a write of a group.
+     */
+    private static class Failure {
+
+        private Write<?> write;
+
+        private RuntimeException exception;
+
+    }
+
+}
@@ -3,14 +3,14 @@ import axios from 'axios';
 
 import { carsActionTypes as types, enqueueNotificationAction } from 'actions';
 import { ErrorNotificationContent } from 'components';
-import { extractEntityIdFromUrl, NO_CONTENT_STATUS, NOT_FOUND_STATUS, OK_STATUS, WEB_SERVICE_BASE_URL } from 'resources';
+import { NO_CONTENT_STATUS, NOT_FOUND_STATUS, OK_STATUS, RETURN_REPRESENTATION_HEADERS, WEB_SERVICE_BASE_URL } from 'resources';
 
 const CARS_SERVICE_BASE_URL = `${WEB_SERVICE_BASE_URL}/cars`;
 
 /**
  * Creates a new car and returns the action promise.
  * <br />
- * If the operation is successful, calls the service given in the response location header.
+ * If the operation is successful, the created car is given in the response.
  * <br />
  * If the operation fails, an error notification is shown.
  *
@@ -23,16 +23,15 @@ export const createCarAction = (car) => {
     return (dispatch) => {
         dispatch(createCarStart());
 
-        return axios.post(CARS_SERVICE_BASE_URL, car)
+        return axios.post(CARS_SERVICE_BASE_URL, car, { headers: RETURN_REPRESENTATION_HEADERS })
                 .then(res => {
-                    dispatch(createCarSuccess());
+                    dispatch(createCarSuccess(res.data));
                     dispatch(enqueueNotificationAction({
                         message: 'Voiture ajoutée avec succès.',
                         options: {
                             variant: 'success'
                         }
                     }));
-                    return dispatch(getCarByIdAction(extractEntityIdFromUrl(res.headers.location)));
                 })
                 .catch(e => {
                     dispatch(createCarFailure());
@@ -60,9 +59,13 @@ const createCarStart = () => ({
 /**
  * Returns the action object for the {@link CREATE_CAR_OK} action type.
  *
+ * @param {object} car
+ *     The created car
+ *
  * @returns {object} the action object
  */
-const createCarSuccess = () => ({
+const createCarSuccess = (car) => ({
+    car,
     type: types.CREATE_CAR_OK
 });
 
@@ -237,7 +240,7 @@ export const getCarsAction = () => {
     return dispatch => {
         dispatch(getCarsStart());
 
-        return axios.get(CARS_SERVICE_BASE_URL)
+        return axios.get(CARS_SERVICE_BASE_URL, { params: { unpaged: true } })
                 .then(res => {
                     if (OK_STATUS === res.status) {
                         dispatch(getCarsSuccess(res.data));
@@ -302,7 +305,7 @@ const getCarsFailure = () => ({
 /**
  * Updates an existing car and returns the action promise.
  * <br />
- * If the operation is successful, a success notification is shown and the car is reloaded.
+ * If the operation is successful, a success notification is shown and the updated car is given in the response.
  * <br />
  * If the operation fails, an error notification is shown.
  *
@@ -315,16 +318,15 @@ export const updateCarAction = (car) => {
     return dispatch => {
         dispatch(updateCarStart());
 
-        return axios.put(CARS_SERVICE_BASE_URL, car)
-                .then(() => {
-                    dispatch(updateCarSuccess());
+        return axios.put(CARS_SERVICE_BASE_URL, car, { headers: RETURN_REPRESENTATION_HEADERS })
+                .then(res => {
+                    dispatch(updateCarSuccess(res.data));
                     dispatch(enqueueNotificationAction({
                         message: 'Voiture éditée avec succès.',
                         options: {
                             variant: 'success'
                         }
                     }));
-                    return dispatch(getCarByIdAction(car.id));
                 })
                 .catch(e => {
                     dispatch(updateCarFailure());
@@ -352,9 +354,13 @@ const updateCarStart = () => ({
 /**
  * Returns the action object for the {@link UPDATE_CAR_OK} action type.
  *
+ * @param {object} car
+ *     The updated car
+ *
  * @returns {object} the action object
  */
-const updateCarSuccess = () => ({
+const updateCarSuccess = (car) => ({
+    car,
     type: types.UPDATE_CAR_OK
 });
 
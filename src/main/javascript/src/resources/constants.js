@@ -68,6 +68,13 @@ export const NOTIFICATION_WARNING_VARIANT = 'warning';
  */
 export const OK_STATUS = 200;
 
+/**
+ * The web service request headers asking for the representation of the created or updated entity in the response.
+ *
+ * @type {object}
+ */
+export const RETURN_REPRESENTATION_HEADERS = { Prefer: 'return=representation' };
+
 /**
  * The web services base URL.
  *
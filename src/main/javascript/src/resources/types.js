@@ -10,6 +10,8 @@ export const CarPropType = PropTypes.shape({
     certificate: PropTypes.blob,
     comments: PropTypes.string,
     engineCode: PropTypes.string,
+    hasCertificate: PropTypes.bool,
+    hasPicture: PropTypes.bool,
     id: PropTypes.number,
     interventions: PropTypes.arrayOf(PropTypes.object),
     model: PropTypes.string,
@@ -15,6 +15,18 @@ const initialState = {
     isUpdateInProgress: false
 };
 
+/**
+ * Returns the given cars with the given car, replacing the one with the same ID if there is one.
+ *
+ * @param {object[]} cars
+ *     The current cars
+ * @param {object} car
+ *     The car to insert or replace
+ *
+ * @returns {object[]} the next cars
+ */
+const upsertCar = (cars, car) => cars.map(c => c.id).includes(car.id) ? cars.map(c => car.id === c.id ? car : c) : [ ...cars, car ];
+
 /**
  * Returns the next reducer's state after the current action.
  *
@@ -42,6 +54,7 @@ const carsReducer = (state = initialState, action) => {
         case types.CREATE_CAR_OK:
             return {
                 ...state,
+                cars: upsertCar(state.cars, action.car),
                 isCreateInError: initialState.isCreateInError,
                 isCreateInProgress: initialState.isCreateInProgress
             };
@@ -86,10 +99,7 @@ const carsReducer = (state = initialState, action) => {
         case types.GET_CAR_BY_ID_OK:
             return {
                 ...state,
-                cars: state.cars.map(car => car.id)
-                        .includes(action.car.id)
-                        ? state.cars.map(car => action.car.id === car.id ? action.car : car)
-                        : [ ...state.cars, action.car ],
+                cars: upsertCar(state.cars, action.car),
                 isGetInError: initialState.isGetInError,
                 isGetInProgress: initialState.isGetInProgress
             };
@@ -136,6 +146,7 @@ const carsReducer = (state = initialState, action) => {
         case types.UPDATE_CAR_OK:
             return {
                 ...state,
+                cars: upsertCar(state.cars, action.car),
                 isUpdateInError: initialState.isUpdateInError,
                 isUpdateInProgress: initialState.isUpdateInProgress
             };
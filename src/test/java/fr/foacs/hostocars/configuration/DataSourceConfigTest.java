@@ -0,0 +1,120 @@
+package fr.foacs.hostocars.configuration;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.zaxxer.hikari.HikariDataSource;
+import java.nio.file.Path;
+import java.time.Duration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.sqlite.SQLiteConfig.SynchronousMode;
+
+/**
+ * Test class for the {@link DataSourceConfig} class, on a SQLite database.
+ */
+@DisplayName("Datasource configuration")
+class DataSourceConfigTest {
+
+    private static final Duration BUSY_TIMEOUT = Duration.ofSeconds(2);
+
+    private static final int READ_POOL_SIZE = 2;
+
+    @TempDir
+    Path directory;
+
+    private HikariDataSource writerDataSource;
+
+    private HikariDataSource readerDataSource;
+
+    private JdbcTemplate jdbcTemplate;
+
+    private TransactionTemplate transactionTemplate;
+
+    /**
+     * Initialization method called before all tests.
+     */
+    @BeforeEach
+    void initialize() {
+        final var properties = new DataSourceProperties();
+        properties.setDriverClassName("org.sqlite.JDBC");
+        properties.setUrl("jdbc:sqlite:file:" + this.directory.resolve("test.db"));
+
+        final var config = new DataSourceConfig();
+        this.writerDataSource = config.writerDataSource(properties, SynchronousMode.NORMAL, 1_048_576L, -2000, BUSY_TIMEOUT);
+        this.readerDataSource = config.readerDataSource(properties, SynchronousMode.NORMAL, 1_048_576L, -2000, BUSY_TIMEOUT, READ_POOL_SIZE);
+        final var dataSource = config.dataSource(this.writerDataSource, this.readerDataSource);
+
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.execute("CREATE TABLE cars (id INTEGER PRIMARY KEY AUTOINCREMENT, owner TEXT)");
+        this.transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+    }
+
+    /**
+     * Cleaning method called after all tests.
+     */
+    @AfterEach
+    void clean() {
+        this.readerDataSource.close();
+        this.writerDataSource.close();
+    }
+
+    /**
+     * Tests the pragmas of the {@link DataSourceConfig#writerDataSource} connections.
+     */
+    @Test
+    @DisplayName("Writer datasource")
+    void testWriterDataSource() {
+        // Calls the method
+        final var jdbcTemplate = new JdbcTemplate(this.writerDataSource);
+
+        // Checks the result
+        assertAll("Result different from expected", () -> assertEquals("wal", jdbcTemplate.queryForObject("PRAGMA journal_mode", String.class)),
+            () -> assertEquals(1, jdbcTemplate.queryForObject("PRAGMA synchronous", Integer.class)),
+            () -> assertEquals(BUSY_TIMEOUT.toMillis(), jdbcTemplate.queryForObject("PRAGMA busy_timeout", Long.class)),
+            () -> assertEquals(1, this.writerDataSource.getMaximumPoolSize()));
+    }
+
+    /**
+     * Tests the routing of the {@link DataSourceConfig#dataSource} connections in a read-write transaction.
+     */
+    @Test
+    @DisplayName("Datasource (read-write transaction)")
+    void testDataSourceInReadWriteTransaction() {
+        // Calls the method
+        this.transactionTemplate.executeWithoutResult(status -> this.jdbcTemplate.update("INSERT INTO cars (owner) VALUES ('Owner')"));
+
+        // Checks the result
+        assertEquals(1, this.jdbcTemplate.queryForObject("SELECT COUNT(*) FROM cars", Integer.class), "Result different from expected");
+    }
+
+    /**
+     * Tests the routing of the {@link DataSourceConfig#dataSource} connections in a read-only transaction.
+     */
+    @Test
+    @DisplayName("Datasource (read-only transaction)")
+    void testDataSourceInReadOnlyTransaction() {
+        // Prepares the inputs
+        this.jdbcTemplate.update("INSERT INTO cars (owner) VALUES ('Owner')");
+        this.transactionTemplate.setReadOnly(true);
+
+        // Calls the method
+        final var result = this.transactionTemplate.execute(status -> this.jdbcTemplate.queryForObject("SELECT COUNT(*) FROM cars", Integer.class));
+
+        // Checks the result
+        assertAll("Result different from expected", () -> assertEquals(1, result),
+            () -> assertThrows(DataAccessException.class, () -> this.transactionTemplate.executeWithoutResult(
+                status -> this.jdbcTemplate.update("INSERT INTO cars (owner) VALUES ('Owner')"))),
+            () -> assertEquals(READ_POOL_SIZE, this.readerDataSource.getHikariPoolMXBean().getTotalConnections()));
+    }
+
+}
@@ -5,6 +5,7 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 
 /**
@@ -45,4 +46,34 @@ class ExceptionInterceptorTest {
         assertEquals("Exception: message", result.getBody(), "Response body different from expected");
     }
 
+    /**
+     * Tests the {@link ExceptionInterceptor#resolveBadRequest} method.
+     */
+    @Test
+    @DisplayName("Resolve bad request")
+    void testResolveBadRequest() {
+        // Calls the method
+        final var result = this.interceptor.resolveBadRequest(new InvalidRequestException("message"));
+
+        // Checks the result
+        assertNotNull(result, "Result object unexpectedly null");
+        assertEquals(HttpStatus.BAD_REQUEST, result.getStatusCode(), "Response status different from expected");
+        assertEquals("message", result.getBody(), "Response body different from expected");
+    }
+
+    /**
+     * Tests the {@link ExceptionInterceptor#resolveConflict} method.
+     */
+    @Test
+    @DisplayName("Resolve conflict")
+    void testResolveConflict() {
+        // Calls the method
+        final var result = this.interceptor.resolveConflict(new OptimisticLockingFailureException("message"));
+
+        // Checks the result
+        assertNotNull(result, "Result object unexpectedly null");
+        assertEquals(HttpStatus.CONFLICT, result.getStatusCode(), "Response status different from expected");
+        assertEquals("OptimisticLockingFailureException: message", result.getBody(), "Response body different from expected");
+    }
+
 }
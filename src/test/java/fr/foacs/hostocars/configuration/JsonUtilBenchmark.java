@@ -0,0 +1,269 @@
+package fr.foacs.hostocars.configuration;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import fr.foacs.hostocars.entity.Car;
+import fr.foacs.hostocars.entity.Intervention;
+import java.beans.IntrospectionException;
+import java.beans.Introspector;
+import java.beans.PropertyDescriptor;
+import java.io.IOException;
+import java.io.Serializable;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import lombok.SneakyThrows;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Benchmark of the {@link JsonUtil} class, comparing the cached serialization plans with the introspection and reflection calls made for each object before.
+ * <br/>
+ * <br/>
+ * Not run by the tests, it is launched with its main method on the test classpath:
+ * {@code mvn test-compile exec:java -Dexec.mainClass=fr.foacs.hostocars.configuration.JsonUtilBenchmark -Dexec.classpathScope=test}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonUtilBenchmark {
+
+    private final ObjectMapper reflectionObjectMapper =
+        new ObjectMapper().registerModule(new SimpleModule("ReflectionSerializer").addSerializer(Serializable.class, new ReflectionSerializer()));
+
+    private Car car;
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args
+     *     The arguments, ignored
+     *
+     * @throws RunnerException
+     *     if the benchmark fails
+     */
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(JsonUtilBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    /**
+     * Creates the logged car, with the interventions of a usual car, and checks that both paths write the same JSON.
+     *
+     * @throws JsonProcessingException
+     *     if the car can't be written with the reflection path
+     */
+    @Setup
+    public void initialize() throws JsonProcessingException {
+        this.car = new Car();
+        this.car.setId(12);
+        this.car.setVersion(3);
+        this.car.setRegistration("AB-123-CD");
+        this.car.setSerialNumber("VF1AB123456789012");
+        this.car.setOwner("Owner");
+        this.car.setBrand("Renault");
+        this.car.setModel("Clio");
+        this.car.setComments("Comments");
+        for (int index = 1; index <= 3; index++) {
+            final var intervention = new Intervention();
+            intervention.setId(index);
+            intervention.setYear(2020);
+            intervention.setNumber(index);
+            intervention.setStatus("DONE");
+            intervention.setDescription("Intervention " + index);
+            intervention.setMileage(10_000 * index);
+            intervention.setAmount(100.0 * index);
+            intervention.setCar(this.car);
+            this.car.getInterventions().add(intervention);
+        }
+
+        if (!this.cachedPlans().equals(this.reflection())) {
+            throw new IllegalStateException("The cached plans and the reflection path write different JSONs");
+        }
+    }
+
+    /**
+     * Writes the car with the cached serialization plans of {@link JsonUtil}.
+     *
+     * @return the JSON of the car
+     */
+    @Benchmark
+    public String cachedPlans() {
+        return JsonUtil.writeValueAsJson(this.car);
+    }
+
+    /**
+     * Writes the car introspecting its class and calling its getters through reflection for each object.
+     *
+     * @return the JSON of the car
+     *
+     * @throws JsonProcessingException
+     *     if the car can't be written
+     */
+    @Benchmark
+    public String reflection() throws JsonProcessingException {
+        return this.reflectionObjectMapper.writeValueAsString(this.car);
+    }
+
+    /**
+     * Serializer for {@link Serializable} objects, as written by {@link JsonUtil} before the caching of the serialization plans.
+     */
+    private static class ReflectionSerializer extends StdSerializer<Serializable> {
+
+        private static final long serialVersionUID = 6364512374951254087L;
+
+        /**
+         * {@inheritDoc}
+         */
+        ReflectionSerializer() {
+            super(Serializable.class);
+        }
+
+        /**
+         * Tries to match the property corresponding to the given descriptor with the fields of the given serializable class or its super classes.
+         *
+         * @param serializableClass
+         *     The serializable class
+         * @param propertyDescriptor
+         *     The property descriptor
+         *
+         * @return the optional matched field
+         */
+        private static Optional<Field> matchField(final Class<?> serializableClass, final PropertyDescriptor propertyDescriptor) {
+            Optional<Field> result;
+            var currentClass = serializableClass;
+
+            do {
+                result = Arrays.stream(currentClass.getDeclaredFields()).filter(field -> field.getName().equals(propertyDescriptor.getName())).findFirst();
+                currentClass = currentClass.getSuperclass();
+            } while (result.isEmpty() && nonNull(currentClass));
+
+            return result;
+        }
+
+        /**
+         * Writes the given number using the given JSON generator.
+         *
+         * @param jsonGenerator
+         *     The JSON generator to use
+         * @param value
+         *     The value to write
+         *
+         * @throws IOException
+         *     see {@link JsonGenerator}
+         */
+        private static void writeNumber(final JsonGenerator jsonGenerator, final Number value) throws IOException {
+            final Class<?> valueClass = value.getClass();
+
+            if (Short.TYPE == valueClass || Short.class == valueClass) {
+                jsonGenerator.writeNumber((Short) value);
+            } else if (Integer.TYPE == valueClass || Integer.class == valueClass) {
+                jsonGenerator.writeNumber((Integer) value);
+            } else if (Long.TYPE == valueClass || Long.class == valueClass) {
+                jsonGenerator.writeNumber((Long) value);
+            } else if (Float.TYPE == valueClass || Float.class == valueClass) {
+                jsonGenerator.writeNumber((Float) value);
+            } else if (Double.TYPE == valueClass || Double.class == valueClass) {
+                jsonGenerator.writeNumber((Double) value);
+            } else if (BigInteger.class == valueClass) {
+                jsonGenerator.writeNumber((BigInteger) value);
+            } else if (BigDecimal.class == valueClass) {
+                jsonGenerator.writeNumber((BigDecimal) value);
+            }
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        @SneakyThrows({IllegalAccessException.class, IntrospectionException.class, IOException.class, InvocationTargetException.class})
+        public void serialize(final Serializable serializable, final JsonGenerator jsonGenerator, final SerializerProvider serializerProvider) {
+            jsonGenerator.writeStartObject();
+
+            final Class<?> serializableClass = serializable.getClass();
+            for (final var propertyDescriptor : Introspector.getBeanInfo(serializableClass).getPropertyDescriptors()) {
+                final var matchedField = matchField(serializableClass, propertyDescriptor);
+
+                if (matchedField.isPresent()) {
+                    final var field = matchedField.get();
+                    final var method = propertyDescriptor.getReadMethod();
+                    final var hide = field.getAnnotation(Hide.class);
+
+                    if (nonNull(method) && (isNull(hide) || hide.asBoolean())) {
+                        method.setAccessible(true);
+                        final var value = method.invoke(serializable);
+
+                        if (isNull(hide)) {
+                            this.serializeField(field.getName(), value, jsonGenerator, serializerProvider);
+                        } else {
+                            jsonGenerator.writeFieldName(field.getName());
+                            jsonGenerator.writeBoolean(nonNull(value));
+                        }
+                    }
+                }
+            }
+
+            jsonGenerator.writeEndObject();
+        }
+
+        /**
+         * Serializes a field's value in JSON based on its type.
+         *
+         * @param name
+         *     The name of the field to serialize
+         * @param value
+         *     The value of the field to serialize
+         * @param jsonGenerator
+         *     The JSON generator
+         * @param serializerProvider
+         *     The serializer provider
+         */
+        @SneakyThrows(IOException.class)
+        private void serializeField(final String name, final Object value, final JsonGenerator jsonGenerator, final SerializerProvider serializerProvider) {
+            jsonGenerator.writeFieldName(name);
+            if (isNull(value)) {
+                jsonGenerator.writeNull();
+            } else if (value instanceof Iterable) {
+                jsonGenerator.writeStartArray();
+                for (final Object item : (Iterable<?>) value) {
+                    this.serialize((Serializable) item, jsonGenerator, serializerProvider);
+                }
+                jsonGenerator.writeEndArray();
+            } else if (value instanceof Boolean) {
+                jsonGenerator.writeBoolean((Boolean) value);
+            } else if (value instanceof Number) {
+                writeNumber(jsonGenerator, (Number) value);
+            } else if (value instanceof String) {
+                jsonGenerator.writeString(value.toString());
+            } else {
+                jsonGenerator.writeObject(value);
+            }
+        }
+
+    }
+
+}
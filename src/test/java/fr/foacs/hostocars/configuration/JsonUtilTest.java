@@ -47,6 +47,17 @@ class JsonUtilTest {
         assertEquals("Unable to write as JSON", JsonUtil.writeValueAsJson(value), "Result different from expected");
     }
 
+    /**
+     * Tests the {@link JsonUtil#writeValueAsJson(Object)} method with a hidden field that cannot be read.
+     */
+    @Test
+    @DisplayName("Write value as JSON (hidden field not read)")
+    void testWriteValueAsJsonWithHiddenFieldNotRead() {
+        final var value = mock(HiddenFieldClass.class);
+        doThrow(UnsupportedOperationException.class).when(value).getHiddenField();
+        assertEquals("{}", JsonUtil.writeValueAsJson(value), "Result different from expected");
+    }
+
     /**
      * Serializable parent class for unit tests.
      */
@@ -123,4 +134,18 @@ class JsonUtilTest {
 
     }
 
+    /**
+     * Serializable class with a hidden field for unit tests.
+     */
+    @Getter
+    @Setter
+    private static class HiddenFieldClass implements Serializable {
+
+        private static final long serialVersionUID = 5L;
+
+        @Hide
+        private String hiddenField;
+
+    }
+
 }
@@ -12,11 +12,17 @@ import static org.mockito.Mockito.when;
 
 import fr.foacs.hostocars.configuration.WebMvcConfig.CustomPathResourceResolver;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 import lombok.SneakyThrows;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.core.io.Resource;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.ResourceHttpMessageConverter;
+import org.springframework.http.converter.ResourceRegionHttpMessageConverter;
+import org.springframework.http.converter.StringHttpMessageConverter;
 import org.springframework.web.servlet.config.annotation.CorsRegistration;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.ResourceChainRegistration;
@@ -99,7 +105,7 @@ class WebMvcConfigTest {
         // Mocks the calls
         when(registry.addMapping("/**")).thenReturn(registryRegistration);
         when(registryRegistration.allowedHeaders("*")).thenReturn(registryRegistration);
-        when(registryRegistration.exposedHeaders("Location")).thenReturn(registryRegistration);
+        when(registryRegistration.exposedHeaders("Location", "X-Next-Cursor", "X-Total-Count", "ETag", "Accept-Ranges", "Content-Range", "Preference-Applied")).thenReturn(registryRegistration);
 
         // Calls the method
         this.webMvcConfig.addCorsMappings(registry);
@@ -107,7 +113,28 @@ class WebMvcConfigTest {
         // Checks the mocks calls
         verify(registry).addMapping("/**");
         verify(registryRegistration).allowedHeaders("*");
-        verify(registryRegistration).exposedHeaders("Location");
+        verify(registryRegistration).exposedHeaders("Location", "X-Next-Cursor", "X-Total-Count", "ETag", "Accept-Ranges", "Content-Range", "Preference-Applied");
+    }
+
+    /**
+     * Tests the {@link WebMvcConfig#extendMessageConverters} method.
+     */
+    @Test
+    @DisplayName("Extend message converters")
+    final void testExtendMessageConverters() {
+        // Prepares the inputs
+        final var stringConverter = new StringHttpMessageConverter();
+        final var regionConverter = new ResourceRegionHttpMessageConverter();
+        final List<HttpMessageConverter<?>> converters = new ArrayList<>(List.of(stringConverter, new ResourceHttpMessageConverter(), regionConverter));
+
+        // Calls the method
+        this.webMvcConfig.extendMessageConverters(converters);
+
+        // Checks the result
+        assertEquals(3, converters.size(), "Converters count different from expected");
+        assertSame(stringConverter, converters.get(0), "Converter different from expected");
+        assertSame(FileChannelResourceHttpMessageConverter.class, converters.get(1).getClass(), "Converter class different from expected");
+        assertSame(regionConverter, converters.get(2), "Converter different from expected");
     }
 
     /**
@@ -0,0 +1,99 @@
+package fr.foacs.hostocars.controller;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import fr.foacs.hostocars.repository.AttachmentSummary;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.MediaType;
+
+/**
+ * Test class for the {@link AttachmentResource} class.
+ */
+@DisplayName("Attachment resource")
+class AttachmentResourceTest {
+
+    private static final byte[] DATA = {1, 2, 3, 4, 5};
+
+    @TempDir
+    Path directory;
+
+    private AttachmentSummary summary;
+
+    /**
+     * Initialization method called before all tests.
+     */
+    @BeforeEach
+    void initialize() {
+        this.summary = mock(AttachmentSummary.class);
+        when(this.summary.getHash()).thenReturn("hash");
+        when(this.summary.getContentType()).thenReturn(MediaType.IMAGE_JPEG_VALUE);
+    }
+
+    /**
+     * Tests the {@link AttachmentResource} metadata.
+     *
+     * @throws IOException
+     *     if the test file cannot be written
+     */
+    @Test
+    @DisplayName("Metadata")
+    void testMetadata() throws IOException {
+        // Prepares the inputs
+        final var path = Files.write(this.directory.resolve("hash"), DATA);
+
+        // Calls the method
+        final var resource = new AttachmentResource(this.summary, path);
+
+        // Checks the result
+        assertAll("Metadata different from expected", () -> assertEquals(DATA.length, resource.contentLength()),
+            () -> assertEquals(MediaType.IMAGE_JPEG, resource.getContentType()), () -> assertEquals("\"hash\"", resource.getETag()),
+            () -> assertEquals(path.toFile(), resource.getFile()));
+    }
+
+    /**
+     * Tests the {@link AttachmentResource#getInputStream} method.
+     *
+     * @throws IOException
+     *     if the test file cannot be written or read
+     */
+    @Test
+    @DisplayName("Get input stream")
+    void testGetInputStream() throws IOException {
+        // Prepares the inputs
+        final var path = Files.write(this.directory.resolve("hash"), DATA);
+
+        // Calls the method
+        final byte[] result;
+        try (final var inputStream = new AttachmentResource(this.summary, path).getInputStream()) {
+            result = inputStream.readAllBytes();
+        }
+
+        // Checks the result
+        assertArrayEquals(DATA, result, "Result different from expected");
+    }
+
+    /**
+     * Tests the {@link AttachmentResource#getInputStream} method when the attachment file doesn't exist anymore.
+     */
+    @Test
+    @DisplayName("Get input stream (deleted attachment)")
+    void testGetInputStreamWithDeletedAttachment() {
+        // Prepares the inputs
+        final var resource = new AttachmentResource(this.summary, this.directory.resolve("hash"));
+
+        // Calls the method and checks the result
+        assertThrows(IOException.class, resource::getInputStream, "Expected exception not thrown");
+    }
+
+}
@@ -0,0 +1,244 @@
+package fr.foacs.hostocars.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import fr.foacs.hostocars.repository.AttachmentStore;
+import fr.foacs.hostocars.repository.CarImporter;
+import fr.foacs.hostocars.repository.CarSuggestionIndex;
+import fr.foacs.hostocars.repository.SqliteDataJpaTest;
+import fr.foacs.hostocars.repository.ThumbnailStore;
+import fr.foacs.hostocars.repository.WriteExecutor;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.request.ServletWebRequest;
+
+/**
+ * Regression test class for the number of SQL statements run by the {@link CarController#getCars} and {@link CarController#streamCars} methods with empty
+ * caches, on a SQLite database migrated by Liquibase and configured with the application properties.
+ * <br/>
+ * <br/>
+ * Each test is run in a rolled back transaction, which also plays the role of the open session in view of the application.
+ */
+@SqliteDataJpaTest
+@DisplayName("Car controller statement count")
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import({CarController.class, ControllerHelper.class})
+@TestPropertySource(properties = "spring.datasource.url=jdbc:sqlite:file:./target/statement-count-test.db")
+class CarControllerStatementCountTest {
+
+    private static final int SMALL_DATASET_SIZE = 10;
+    private static final int LARGE_DATASET_SIZE = 10_000;
+
+    @TempDir
+    Path directory;
+
+    @MockBean
+    private AttachmentStore attachmentStore;
+
+    @MockBean
+    private ThumbnailStore thumbnailStore;
+
+    @MockBean
+    private CarImporter importer;
+
+    @MockBean
+    private CarSuggestionIndex suggestionIndex;
+
+    @MockBean
+    private WriteExecutor writeExecutor;
+
+    @Autowired
+    private CarController controller;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private MockMvc mockMvc;
+
+    /**
+     * Initialization method called before all tests.
+     *
+     * @throws IOException
+     *     if the attachment file cannot be created
+     */
+    @BeforeEach
+    void initialize() throws IOException {
+        // The attachments of the dataset share an empty content
+        final var attachmentFile = Files.createFile(this.directory.resolve("hash"));
+        when(this.attachmentStore.resolve(any())).thenReturn(attachmentFile);
+
+        this.mockMvc = MockMvcBuilders.standaloneSetup(this.controller).setMessageConverters(new MappingJackson2HttpMessageConverter(this.objectMapper))
+            .build();
+    }
+
+    /**
+     * Tests the statement count of the {@link CarController#getCars} method with the pagination.
+     *
+     * @throws Exception
+     *     if the request fails
+     */
+    @Test
+    @DisplayName("Get cars - paged")
+    void testGetCarsPaged() throws Exception {
+        // Checks the result
+        assertEquals(this.countStatements(SMALL_DATASET_SIZE, "/cars?count=true"), this.countStatements(LARGE_DATASET_SIZE, "/cars?count=true"),
+            "Result different from expected");
+    }
+
+    /**
+     * Tests the statement count of the {@link CarController#getCars} method without the pagination.
+     *
+     * @throws Exception
+     *     if the request fails
+     */
+    @Test
+    @DisplayName("Get cars - unpaged")
+    void testGetCarsUnpaged() throws Exception {
+        // Checks the result
+        assertEquals(this.countStatements(SMALL_DATASET_SIZE, "/cars?unpaged=true"), this.countStatements(LARGE_DATASET_SIZE, "/cars?unpaged=true"),
+            "Result different from expected");
+    }
+
+    /**
+     * Tests the statement count of the {@link CarController#streamCars} method, and the number of entities left in the persistence context.
+     *
+     * @throws Exception
+     *     if the request fails
+     */
+    @Test
+    @DisplayName("Stream cars")
+    void testStreamCars() throws Exception {
+        // Checks the result
+        assertEquals(this.countStreamStatements(SMALL_DATASET_SIZE), this.countStreamStatements(LARGE_DATASET_SIZE), "Result different from expected");
+    }
+
+    /**
+     * Grows the dataset to the given number of cars, then counts the statements run by a {@code GET} request on the given URI with an empty persistence
+     * context.
+     *
+     * @param carCount
+     *     The number of cars of the dataset
+     * @param uri
+     *     The URI to request
+     *
+     * @return the number of statements
+     *
+     * @throws Exception
+     *     if the request fails
+     */
+    private long countStatements(final int carCount, final String uri) throws Exception {
+        final var statistics = this.prepareDataset(carCount);
+
+        // Calls the method
+        this.mockMvc.perform(get(uri)).andExpect(status().isOk());
+
+        return statistics.getPrepareStatementCount();
+    }
+
+    /**
+     * Grows the dataset to the given number of cars, then counts the statements run by the streaming of all the cars with an empty persistence context.
+     * The stream is written in the transaction of the test, instead of the one of the asynchronous request processing, which wouldn't see the dataset.
+     *
+     * @param carCount
+     *     The number of cars of the dataset
+     *
+     * @return the number of statements
+     *
+     * @throws Exception
+     *     if the stream cannot be written
+     */
+    private long countStreamStatements(final int carCount) throws Exception {
+        final var statistics = this.prepareDataset(carCount);
+        final var output = new ByteArrayOutputStream();
+
+        // Calls the method
+        final var response = this.controller.streamCars(new ServletWebRequest(new MockHttpServletRequest()));
+        Objects.requireNonNull(response.getBody()).writeTo(output);
+
+        // Checks the result
+        assertEquals(carCount, this.objectMapper.readTree(output.toByteArray()).size(), "Streamed car count different from expected");
+        assertTrue(this.entityManager.unwrap(Session.class).getStatistics().getEntityCount() < SMALL_DATASET_SIZE,
+            "Persistence context growing with the number of cars");
+
+        return statistics.getPrepareStatementCount();
+    }
+
+    /**
+     * Grows the dataset to the given number of cars, each one with a picture, a certificate and an intervention tree, then empties the persistence context
+     * and the caches.
+     *
+     * @param carCount
+     *     The number of cars of the dataset
+     *
+     * @return the cleared statistics
+     */
+    private Statistics prepareDataset(final int carCount) {
+        this.jdbcTemplate.update("INSERT INTO attachments (hash, size, contentType) SELECT 'hash', 0, 'image/png' "
+            + "WHERE NOT EXISTS (SELECT 1 FROM attachments WHERE hash = 'hash')");
+        final var attachmentId = this.jdbcTemplate.queryForObject("SELECT id FROM attachments WHERE hash = 'hash'", Integer.class);
+        final var existingCarCount = this.jdbcTemplate.queryForObject("SELECT COUNT(*) FROM cars", Integer.class);
+        final List<Object[]> cars = IntStream.range(existingCarCount, carCount)
+            .mapToObj(index -> new Object[] {"Owner " + index, "REG-" + index, attachmentId, attachmentId})
+            .collect(Collectors.toList());
+        this.jdbcTemplate.batchUpdate("INSERT INTO cars (owner, registration, pictureId, certificateId, hasPicture, hasCertificate) VALUES (?, ?, ?, ?, 1, 1)",
+            cars);
+        this.jdbcTemplate.update("INSERT INTO interventions (carId, status) SELECT c.id, 'DONE' FROM cars c "
+            + "WHERE NOT EXISTS (SELECT 1 FROM interventions i WHERE i.carId = c.id)");
+        this.jdbcTemplate.update("INSERT INTO operations (interventionId, label) SELECT i.id, 'Operation' FROM interventions i "
+            + "WHERE NOT EXISTS (SELECT 1 FROM operations o WHERE o.interventionId = i.id)");
+        this.jdbcTemplate.update("INSERT INTO operationLines (operationId, type, description) SELECT o.id, 'TODO', 'Line' FROM operations o "
+            + "WHERE NOT EXISTS (SELECT 1 FROM operationLines l WHERE l.operationId = o.id)");
+        this.entityManager.clear();
+
+        // The dataset has been written without Hibernate, so the caches aren't up to date
+        final var sessionFactory = this.entityManagerFactory.unwrap(SessionFactory.class);
+        sessionFactory.getCache().evictAll();
+        sessionFactory.getCache().evictQueryRegions();
+
+        final var statistics = sessionFactory.getStatistics();
+        statistics.clear();
+        return statistics;
+    }
+
+}
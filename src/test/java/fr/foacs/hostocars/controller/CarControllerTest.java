@@ -1,22 +1,66 @@
 package fr.foacs.hostocars.controller;
 
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import fr.foacs.hostocars.entity.Attachment;
 import fr.foacs.hostocars.entity.Car;
+import fr.foacs.hostocars.repository.AttachmentRepository;
+import fr.foacs.hostocars.repository.AttachmentStore;
+import fr.foacs.hostocars.repository.AttachmentSummary;
+import fr.foacs.hostocars.repository.CarImporter;
+import fr.foacs.hostocars.repository.CarImporter.Format;
+import fr.foacs.hostocars.repository.CarRepository;
+import fr.foacs.hostocars.repository.CarSearchResult;
+import fr.foacs.hostocars.repository.CarSuggestion;
+import fr.foacs.hostocars.repository.CarSuggestionIndex;
+import fr.foacs.hostocars.repository.CarSummary;
+import fr.foacs.hostocars.repository.TableVersionRepository;
+import fr.foacs.hostocars.repository.ThumbnailStore;
+import fr.foacs.hostocars.repository.WriteExecutor;
+import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.Callable;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.Resource;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 /**
  * Test class for the {@link CarController} class.
@@ -28,6 +72,33 @@ class CarControllerTest {
     @Mock
     private ControllerHelper helper;
 
+    @Mock
+    private CarRepository repository;
+
+    @Mock
+    private AttachmentRepository attachmentRepository;
+
+    @Mock
+    private AttachmentStore attachmentStore;
+
+    @Mock
+    private ThumbnailStore thumbnailStore;
+
+    @Mock
+    private TableVersionRepository tableVersionRepository;
+
+    @Mock
+    private CarImporter importer;
+
+    @Mock
+    private CarSuggestionIndex suggestionIndex;
+
+    @Mock
+    private WriteExecutor writeExecutor;
+
+    @Mock
+    private WebRequest request;
+
     @InjectMocks
     private CarController carController;
 
@@ -41,13 +112,13 @@ class CarControllerTest {
         final ResponseEntity<Collection<Car>> response = mock(ResponseEntity.class);
 
         // Mocks the calls
-        when(this.helper.resolveGetCollectionResponse(any(Callable.class))).thenReturn(response);
+        when(this.helper.resolveGetSliceResponse(eq(this.request), any(Callable.class), any(Callable.class), any(Function.class), isNull())).thenReturn(response);
 
         // Calls the method
-        final var result = this.carController.getCars((String[]) null);
+        final var result = this.carController.getCars(this.request, null, null, null, false, false, (String[]) null);
 
         // Checks the mocks calls
-        verify(this.helper).resolveGetCollectionResponse(any(Callable.class));
+        verify(this.helper).resolveGetSliceResponse(eq(this.request), any(Callable.class), any(Callable.class), any(Function.class), isNull());
 
         // Checks the result
         assertSame(response, result, "Result different from expected");
@@ -63,18 +134,213 @@ class CarControllerTest {
         final ResponseEntity<Collection<Car>> response = mock(ResponseEntity.class);
 
         // Mocks the calls
-        when(this.helper.resolveGetCollectionResponse(any(Callable.class))).thenReturn(response);
+        when(this.helper.resolveGetSliceResponse(eq(this.request), any(Callable.class), any(Callable.class), any(Function.class), isNull())).thenReturn(response);
+
+        // Calls the method
+        final var result = this.carController.getCars(this.request, null, 10, null, false, false, "owner", "registration");
+
+        // Checks the mocks calls
+        verify(this.helper).resolveGetSliceResponse(eq(this.request), any(Callable.class), any(Callable.class), any(Function.class), isNull());
+
+        // Checks the result
+        assertSame(response, result, "Result different from expected");
+    }
+
+    /**
+     * Tests the {@link CarController#getCars} method with the total count requested.
+     */
+    @Test
+    @DisplayName("Get cars (with count)")
+    void testGetCarsWithCount() {
+        // Prepares the intermediary results
+        final ResponseEntity<Collection<Car>> response = mock(ResponseEntity.class);
+
+        // Mocks the calls
+        when(this.helper.resolveGetSliceResponse(eq(this.request), any(Callable.class), any(Callable.class), any(Function.class), any(Callable.class))).thenReturn(response);
+
+        // Calls the method
+        final var result = this.carController.getCars(this.request, null, null, null, true, false, (String[]) null);
+
+        // Checks the mocks calls
+        verify(this.helper).resolveGetSliceResponse(eq(this.request), any(Callable.class), any(Callable.class), any(Function.class), any(Callable.class));
+
+        // Checks the result
+        assertSame(response, result, "Result different from expected");
+    }
+
+    /**
+     * Tests the {@link CarController#getCars} method without pagination.
+     *
+     * @throws Exception
+     *     if the cars cannot be retrieved
+     */
+    @Test
+    @DisplayName("Get cars (unpaged)")
+    void testGetCarsUnpaged() throws Exception {
+        // Prepares the intermediary results
+        final ResponseEntity<Collection<Car>> response = mock(ResponseEntity.class);
+        final ArgumentCaptor<Callable<Collection<Car>>> captor = ArgumentCaptor.forClass(Callable.class);
+
+        // Mocks the calls
+        when(this.helper.resolveGetCollectionResponse(eq(this.request), any(Callable.class), captor.capture())).thenReturn(response);
+
+        // Calls the method
+        final var result = this.carController.getCars(this.request, null, null, null, false, true, "owner", "registration");
+        captor.getValue().call();
+
+        // Checks the mocks calls
+        verify(this.helper).resolveGetCollectionResponse(eq(this.request), any(Callable.class), any(Callable.class));
+        verify(this.repository).findAllWithInterventions(Sort.by("owner", "registration"));
+
+        // Checks the result
+        assertSame(response, result, "Result different from expected");
+    }
+
+    /**
+     * Tests the {@link CarController#getCars} method with a list of IDs.
+     *
+     * @throws Exception
+     *     if the cars cannot be retrieved
+     */
+    @Test
+    @DisplayName("Get cars (by IDs)")
+    void testGetCarsByIds() throws Exception {
+        // Prepares the intermediary results
+        final ResponseEntity<Collection<Car>> response = mock(ResponseEntity.class);
+        final ArgumentCaptor<Callable<Collection<Car>>> captor = ArgumentCaptor.forClass(Callable.class);
+
+        // Mocks the calls
+        when(this.helper.resolveGetCollectionResponse(eq(this.request), any(Callable.class), captor.capture())).thenReturn(response);
+
+        // Calls the method
+        final var result = this.carController.getCars(this.request, List.of(1, 2), null, null, false, true, "owner");
+        captor.getValue().call();
+
+        // Checks the mocks calls
+        verify(this.repository).findAllWithInterventionsByIds(List.of(1, 2), Sort.by("owner"));
+        verify(this.repository, never()).findAllWithInterventions(any(Sort.class));
+
+        // Checks the result
+        assertSame(response, result, "Result different from expected");
+    }
+
+    /**
+     * Tests the {@link CarController#streamCars} method.
+     *
+     * @throws Exception
+     *     if the stream cannot be opened
+     */
+    @Test
+    @DisplayName("Stream cars")
+    void testStreamCars() throws Exception {
+        // Prepares the intermediary results
+        final ResponseEntity<StreamingResponseBody> response = mock(ResponseEntity.class);
+        final ArgumentCaptor<Callable<Stream<Car>>> captor = ArgumentCaptor.forClass(Callable.class);
+        final var stream = Stream.<Car>empty();
+
+        // Mocks the calls
+        when(this.helper.resolveGetStreamResponse(eq(this.request), any(Callable.class), captor.capture())).thenReturn(response);
+        when(this.repository.streamAll(Sort.by("owner", "id"))).thenReturn(stream);
+
+        // Calls the method
+        final var result = this.carController.streamCars(this.request, "owner");
+
+        // Checks the mocks calls
+        assertSame(stream, captor.getValue().call(), "Stream different from expected");
+
+        // Checks the result
+        assertSame(response, result, "Result different from expected");
+    }
+
+    /**
+     * Tests the {@link CarController#getCarSummaries} method.
+     */
+    @Test
+    @DisplayName("Get car summaries")
+    void testGetCarSummaries() {
+        // Prepares the intermediary results
+        final ResponseEntity<Collection<CarSummary>> response = mock(ResponseEntity.class);
+
+        // Mocks the calls
+        when(this.helper.resolveGetCollectionResponse(eq(this.request), any(Callable.class), any(Callable.class))).thenReturn(response);
 
         // Calls the method
-        final var result = this.carController.getCars("field1", "field2");
+        final var result = this.carController.getCarSummaries(this.request, "owner", "registration");
 
         // Checks the mocks calls
-        verify(this.helper).resolveGetCollectionResponse(any(Callable.class));
+        verify(this.helper).resolveGetCollectionResponse(eq(this.request), any(Callable.class), any(Callable.class));
 
         // Checks the result
         assertSame(response, result, "Result different from expected");
     }
 
+    /**
+     * Tests the {@link CarController#searchCars} method.
+     *
+     * @throws Exception
+     *     if the search fails
+     */
+    @Test
+    @DisplayName("Search cars")
+    void testSearchCars() throws Exception {
+        // Prepares the intermediary results
+        final ResponseEntity<Collection<CarSearchResult>> response = mock(ResponseEntity.class);
+        final ArgumentCaptor<Callable<Slice<CarSearchResult>>> captor = ArgumentCaptor.forClass(Callable.class);
+        final ArgumentCaptor<Function<CarSearchResult, String>> cursorCaptor = ArgumentCaptor.forClass(Function.class);
+        final Slice<CarSearchResult> slice = mock(Slice.class);
+
+        // Mocks the calls
+        when(this.helper.resolvePageRequest(2, 10, Sort.unsorted())).thenReturn(PageRequest.of(2, 10));
+        when(this.helper.resolveGetSliceResponse(eq(this.request), any(Callable.class), captor.capture(), cursorCaptor.capture(), isNull()))
+            .thenReturn(response);
+        when(this.repository.search("dupont", PageRequest.of(2, 10))).thenReturn(slice);
+
+        // Calls the method
+        final var result = this.carController.searchCars(this.request, "dupont", 10, 2);
+
+        // Checks the result
+        assertAll("Result different from expected", () -> assertSame(response, result), () -> assertSame(slice, captor.getValue().call()),
+            () -> assertEquals("3", cursorCaptor.getValue().apply(mock(CarSearchResult.class))));
+    }
+
+    /**
+     * Tests the {@link CarController#suggestCars} method.
+     */
+    @Test
+    @DisplayName("Suggest cars")
+    void testSuggestCars() {
+        // Prepares the intermediary results
+        final var suggestions = List.of(new CarSuggestion(1, "AB-123-CD", null, 0));
+
+        // Mocks the calls
+        when(this.helper.resolvePageRequest(5, Sort.unsorted())).thenReturn(PageRequest.of(0, 5));
+        when(this.suggestionIndex.suggest("ab 1", 5)).thenReturn(suggestions);
+
+        // Calls the method
+        final var result = this.carController.suggestCars("ab 1", 5);
+
+        // Checks the result
+        assertAll("Result different from expected", () -> assertEquals(HttpStatus.OK, result.getStatusCode()),
+            () -> assertSame(suggestions, result.getBody()));
+    }
+
+    /**
+     * Tests the {@link CarController#suggestCars} method without suggestions.
+     */
+    @Test
+    @DisplayName("Suggest cars (no suggestion)")
+    void testSuggestCarsWithoutSuggestions() {
+        // Mocks the calls
+        when(this.helper.resolvePageRequest(10, Sort.unsorted())).thenReturn(PageRequest.of(0, 10));
+        when(this.suggestionIndex.suggest("ZZ", 10)).thenReturn(List.of());
+
+        // Calls the method
+        final var result = this.carController.suggestCars("ZZ", 10);
+
+        // Checks the result
+        assertEquals(HttpStatus.NO_CONTENT, result.getStatusCode(), "Result different from expected");
+    }
+
     /**
      * Tests the {@link CarController#getCarById} method with a null ID.
      */
@@ -82,7 +348,7 @@ class CarControllerTest {
     @DisplayName("Get car by ID (null ID)")
     void testGetCarByNullId() {
         // Calls the method
-        assertThrows(NullPointerException.class, () -> this.carController.getCarById(null));
+        assertThrows(NullPointerException.class, () -> this.carController.getCarById(this.request, null));
     }
 
     /**
@@ -95,13 +361,89 @@ class CarControllerTest {
         final ResponseEntity<Car> response = mock(ResponseEntity.class);
 
         // Mocks the calls
-        when(this.helper.resolveGetResponse(any(Callable.class))).thenReturn(response);
+        when(this.helper.resolveGetResponse(eq(this.request), any(Callable.class), any(Callable.class), any(Function.class))).thenReturn(response);
+
+        // Calls the method
+        final var result = this.carController.getCarById(this.request, 0);
+
+        // Checks the mocks calls
+        verify(this.helper).resolveGetResponse(eq(this.request), any(Callable.class), any(Callable.class), any(Function.class));
+
+        // Checks the result
+        assertSame(response, result, "Result different from expected");
+    }
+
+    /**
+     * Tests the {@link CarController#getCarPicture} method.
+     */
+    @Test
+    @DisplayName("Get car picture")
+    void testGetCarPicture() {
+        // Prepares the intermediary results
+        final ResponseEntity<Resource> response = mock(ResponseEntity.class);
+
+        // Mocks the calls
+        when(this.helper.resolveGetAttachmentResponse(any(Callable.class), any(Function.class))).thenReturn(response);
+
+        // Calls the method
+        final var result = this.carController.getCarPicture(0, null);
+
+        // Checks the mocks calls
+        verify(this.helper).resolveGetAttachmentResponse(any(Callable.class), any(Function.class));
+
+        // Checks the result
+        assertSame(response, result, "Result different from expected");
+    }
+
+    /**
+     * Tests the {@link CarController#getCarPicture} method with a thumbnail size.
+     *
+     * @throws Exception
+     *     if the picture summary cannot be retrieved
+     */
+    @Test
+    @DisplayName("Get car picture (with size)")
+    void testGetCarPictureWithSize() throws Exception {
+        // Prepares the intermediary results
+        final ResponseEntity<Resource> response = mock(ResponseEntity.class);
+        final var picture = mock(AttachmentSummary.class);
+        final var thumbnail = mock(AttachmentSummary.class);
+        final ArgumentCaptor<Callable<Optional<AttachmentSummary>>> captor = ArgumentCaptor.forClass(Callable.class);
+
+        // Mocks the calls
+        when(this.helper.resolveGetAttachmentResponse(captor.capture(), any(Function.class))).thenReturn(response);
+        when(this.attachmentRepository.findPictureSummaryByCarId(0)).thenReturn(Optional.of(picture));
+        when(this.thumbnailStore.findThumbnail(picture, 300)).thenReturn(thumbnail);
+
+        // Calls the method
+        final var result = this.carController.getCarPicture(0, 300);
+        final var summary = captor.getValue().call();
+
+        // Checks the mocks calls
+        verify(this.thumbnailStore).findThumbnail(picture, 300);
+
+        // Checks the result
+        assertSame(response, result, "Result different from expected");
+        assertSame(thumbnail, summary.orElseThrow(), "Summary different from expected");
+    }
+
+    /**
+     * Tests the {@link CarController#getCarCertificate} method.
+     */
+    @Test
+    @DisplayName("Get car certificate")
+    void testGetCarCertificate() {
+        // Prepares the intermediary results
+        final ResponseEntity<Resource> response = mock(ResponseEntity.class);
+
+        // Mocks the calls
+        when(this.helper.resolveGetAttachmentResponse(any(Callable.class), any(Function.class))).thenReturn(response);
 
         // Calls the method
-        final var result = this.carController.getCarById(0);
+        final var result = this.carController.getCarCertificate(0);
 
         // Checks the mocks calls
-        verify(this.helper).resolveGetResponse(any(Callable.class));
+        verify(this.helper).resolveGetAttachmentResponse(any(Callable.class), any(Function.class));
 
         // Checks the result
         assertSame(response, result, "Result different from expected");
@@ -114,29 +456,40 @@ class CarControllerTest {
     @DisplayName("Create car (null car)")
     void testCreateNullCar() {
         // Calls the method
-        assertThrows(NullPointerException.class, () -> this.carController.createCar(null));
+        assertThrows(NullPointerException.class, () -> this.carController.createCar(this.request, null));
     }
 
     /**
-     * Tests the {@link CarController#createCar} method.
+     * Tests the {@link CarController#createCar} method, whose write is run twice like after a group rollback of the {@link WriteExecutor}.
+     *
+     * @throws Exception
+     *     if the car cannot be saved
      */
     @Test
     @DisplayName("Create car")
-    void testCreateCar() {
+    void testCreateCar() throws Exception {
+        // Prepares the inputs
+        final var car = this.createCar(null, null);
+        car.setRegistration("AA-111-AA");
+
         // Prepares the intermediary results
         final ResponseEntity<?> response = mock(ResponseEntity.class);
+        final ArgumentCaptor<Callable<Car>> captor = ArgumentCaptor.forClass(Callable.class);
 
         // Mocks the calls
-        when(this.helper.resolvePostResponse(any(Callable.class))).thenReturn(response);
+        when(this.helper.resolvePostResponse(eq(this.request), captor.capture(), any(Function.class), any(UnaryOperator.class))).thenReturn(response);
+        when(this.repository.save(any(Car.class))).then(invocation -> this.persist(invocation.getArgument(0)));
+        this.mockWriteExecutor();
 
         // Calls the method
-        final ResponseEntity<?> result = this.carController.createCar(new Car());
-
-        // Checks the mocks calls
-        verify(this.helper).resolvePostResponse(any(Callable.class));
+        final ResponseEntity<?> result = this.carController.createCar(this.request, car);
+        final var firstRun = captor.getValue().call();
+        final var secondRun = captor.getValue().call();
 
         // Checks the result
         assertSame(response, result, "Result different from expected");
+        assertAll("Saved cars different from expected", () -> assertNotSame(car, firstRun), () -> assertNotSame(firstRun, secondRun),
+            () -> assertEquals("AA-111-AA", secondRun.getRegistration()), () -> assertNull(car.getId()), () -> assertNull(car.getVersion()));
     }
 
     /**
@@ -146,7 +499,7 @@ class CarControllerTest {
     @DisplayName("Update car (null car)")
     void testUpdateNullCar() {
         // Calls the method
-        assertThrows(NullPointerException.class, () -> this.carController.updateCar(null));
+        assertThrows(NullPointerException.class, () -> this.carController.updateCar(this.request, null));
     }
 
     /**
@@ -159,16 +512,287 @@ class CarControllerTest {
         final ResponseEntity<?> response = mock(ResponseEntity.class);
 
         // Mocks the calls
-        when(this.helper.resolvePutResponse(any(Runnable.class))).thenReturn(response);
+        when(this.helper.resolvePutResponse(eq(this.request), any(Callable.class), any(UnaryOperator.class))).thenReturn(response);
+
+        // Calls the method
+        final ResponseEntity<?> result = this.carController.updateCar(this.request, new Car());
+
+        // Checks the mocks calls
+        verify(this.helper).resolvePutResponse(eq(this.request), any(Callable.class), any(UnaryOperator.class));
+
+        // Checks the result
+        assertSame(response, result, "Result different from expected");
+    }
+
+    /**
+     * Tests the {@link CarController#patchCar} method with a null ID.
+     */
+    @Test
+    @DisplayName("Patch car (null ID)")
+    void testPatchCarNullId() {
+        // Calls the method
+        assertThrows(NullPointerException.class, () -> this.carController.patchCar(this.request, null, mock(JsonNode.class)));
+    }
+
+    /**
+     * Tests the {@link CarController#patchCar} method.
+     *
+     * @throws Exception
+     *     if the patch fails
+     */
+    @Test
+    @DisplayName("Patch car")
+    void testPatchCar() throws Exception {
+        // Prepares the inputs
+        final var patch = mock(JsonNode.class);
+
+        // Prepares the intermediary results
+        final ResponseEntity<Car> response = mock(ResponseEntity.class);
+        final var car = new Car();
+        final var patchedCar = new Car();
+        patchedCar.setId(1);
+        final var savedCar = new Car();
+        final ArgumentCaptor<Callable<Optional<Car>>> captor = ArgumentCaptor.forClass(Callable.class);
+
+        // Mocks the calls
+        when(this.helper.resolveOptionalPatchResponse(eq(this.request), captor.capture(), any(UnaryOperator.class))).thenReturn(response);
+        when(this.repository.findDetachedById(0)).thenReturn(Optional.of(car));
+        when(this.helper.applyMergePatch(car, patch)).thenReturn(patchedCar);
+        when(this.repository.save(patchedCar)).thenReturn(savedCar);
+        this.mockWriteExecutor();
+
+        // Calls the method
+        final ResponseEntity<?> result = this.carController.patchCar(this.request, 0, patch);
+        final var patchResult = captor.getValue().call();
+
+        // Checks the mocks calls
+        verify(this.repository).save(patchedCar);
+        verify(this.writeExecutor).execute(any(Supplier.class));
+
+        // Checks the result
+        assertSame(response, result, "Result different from expected");
+        assertAll("Patched car different from expected", () -> assertSame(savedCar, patchResult.orElseThrow()), () -> assertEquals(0, patchedCar.getId()));
+    }
+
+    /**
+     * Tests the {@link CarController#updateCarPicture} method.
+     *
+     * @throws Exception
+     *     if the update fails
+     */
+    @Test
+    @DisplayName("Update car picture")
+    void testUpdateCarPicture() throws Exception {
+        // Prepares the inputs
+        final var file = new MockMultipartFile("file", "picture", MediaType.IMAGE_JPEG_VALUE, new byte[] {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'});
+
+        // Prepares the intermediary results
+        final ResponseEntity<?> response = mock(ResponseEntity.class);
+        final var car = new Car();
+        final var attachment = new Attachment();
+        attachment.setHash("hash");
+        final var persistedAttachment = new Attachment();
+        final ArgumentCaptor<Callable<Optional<Car>>> captor = ArgumentCaptor.forClass(Callable.class);
+
+        // Mocks the calls
+        when(this.helper.resolveOptionalPutResponse(captor.capture())).thenReturn(response);
+        when(this.repository.findById(0)).thenReturn(Optional.of(car));
+        when(this.attachmentStore.write(any(InputStream.class), eq(MediaType.IMAGE_JPEG_VALUE))).thenReturn(attachment);
+        when(this.attachmentStore.persist(attachment)).thenReturn(persistedAttachment);
+        this.mockWriteExecutor();
+
+        // Calls the method
+        final ResponseEntity<?> result = this.carController.updateCarPicture(0, file);
+        captor.getValue().call();
+
+        // Checks the mocks calls
+        verify(this.attachmentStore).write(any(InputStream.class), eq(MediaType.IMAGE_JPEG_VALUE));
+        verify(this.attachmentStore).persist(attachment);
+        verify(this.thumbnailStore).generate("hash");
+
+        // Checks the result
+        assertSame(response, result, "Result different from expected");
+        assertAll("Car picture different from expected", () -> assertTrue(car.getHasPicture()), () -> assertSame(persistedAttachment, car.getPicture()));
+    }
+
+    /**
+     * Tests the {@link CarController#updateCarCertificate} method.
+     *
+     * @throws Exception
+     *     if the update fails
+     */
+    @Test
+    @DisplayName("Update car certificate")
+    void testUpdateCarCertificate() throws Exception {
+        // Prepares the inputs
+        final var file = new MockMultipartFile("file", "certificate", MediaType.IMAGE_JPEG_VALUE, new byte[] {0, 1, 2});
+
+        // Prepares the intermediary results
+        final ResponseEntity<?> response = mock(ResponseEntity.class);
+        final var car = new Car();
+        final var attachment = new Attachment();
+        final var persistedAttachment = new Attachment();
+        final ArgumentCaptor<Callable<Optional<Car>>> captor = ArgumentCaptor.forClass(Callable.class);
+
+        // Mocks the calls
+        when(this.helper.resolveOptionalPutResponse(captor.capture())).thenReturn(response);
+        when(this.repository.findById(0)).thenReturn(Optional.of(car));
+        when(this.attachmentStore.write(any(InputStream.class), eq(MediaType.IMAGE_JPEG_VALUE))).thenReturn(attachment);
+        when(this.attachmentStore.persist(attachment)).thenReturn(persistedAttachment);
+        this.mockWriteExecutor();
+
+        // Calls the method
+        final ResponseEntity<?> result = this.carController.updateCarCertificate(0, file);
+        captor.getValue().call();
+
+        // Checks the mocks calls
+        verify(this.attachmentStore).write(any(InputStream.class), eq(MediaType.IMAGE_JPEG_VALUE));
+        verify(this.attachmentStore).persist(attachment);
+
+        // Checks the result
+        assertSame(response, result, "Result different from expected");
+        assertAll("Car certificate different from expected", () -> assertTrue(car.getHasCertificate()),
+            () -> assertSame(persistedAttachment, car.getCertificate()));
+    }
+
+    /**
+     * Tests the {@link CarController#saveCars} method with a null list.
+     */
+    @Test
+    @DisplayName("Save cars (null list)")
+    void testSaveNullCars() {
+        // Calls the method
+        assertThrows(NullPointerException.class, () -> this.carController.saveCars(null));
+    }
+
+    /**
+     * Tests the {@link CarController#saveCars} method.
+     *
+     * @throws Exception
+     *     if the cars cannot be saved
+     */
+    @Test
+    @DisplayName("Save cars")
+    void testSaveCars() throws Exception {
+        // Prepares the inputs
+        final var newCar = new Car();
+        final var updatedCar = this.createCar(1, 0);
+        final var missingCar = this.createCar(2, 0);
+        final var outdatedCar = this.createCar(3, 0);
+        final var unversionedCar = this.createCar(4, null);
+
+        // Prepares the intermediary results
+        final ResponseEntity<List<BatchResult>> response = mock(ResponseEntity.class);
+        final ArgumentCaptor<Callable<List<BatchResult>>> captor = ArgumentCaptor.forClass(Callable.class);
+
+        final List<String> savedCars = new ArrayList<>();
+
+        // Mocks the calls
+        when(this.helper.resolveBatchResponse(captor.capture())).thenReturn(response);
+        when(this.repository.findAllById(Set.of(1, 2, 3, 4))).thenReturn(List.of(this.createCar(1, 0), this.createCar(3, 1), this.createCar(4, 2)));
+        when(this.repository.save(any(Car.class))).then(invocation -> {
+            final Car car = invocation.getArgument(0);
+            savedCars.add(car.getId() + ":" + car.getVersion());
+            return car.getId() == null ? this.createCar(5, 0) : this.createCar(car.getId(), car.getVersion() + 1);
+        });
+        this.mockWriteExecutor();
+
+        // Calls the method
+        final var result = this.carController.saveCars(List.of(newCar, updatedCar, missingCar, outdatedCar, unversionedCar));
+        final var results = captor.getValue().call();
+
+        // Checks the mocks calls
+        verify(this.repository).flush();
+        verify(this.suggestionIndex, times(3)).put(any(Car.class));
+
+        // Checks the result
+        assertSame(response, result, "Result different from expected");
+        assertEquals("201:5:0,200:1:1,404:2:null,409:3:null,200:4:3",
+            results.stream().map(item -> item.getStatus() + ":" + item.getId() + ':' + item.getVersion()).collect(Collectors.joining(",")),
+            "Results different from expected");
+        assertEquals(List.of("null:null", "1:0", "4:2"), savedCars, "Saved cars different from expected");
+        assertNull(unversionedCar.getVersion(), "Unversioned car version different from expected");
+    }
+
+    /**
+     * Tests the {@link CarController#deleteCars} method with a null list.
+     */
+    @Test
+    @DisplayName("Delete cars (null list)")
+    void testDeleteNullCars() {
+        // Calls the method
+        assertThrows(NullPointerException.class, () -> this.carController.deleteCars(null));
+    }
+
+    /**
+     * Tests the {@link CarController#deleteCars} method.
+     *
+     * @throws Exception
+     *     if the cars cannot be deleted
+     */
+    @Test
+    @DisplayName("Delete cars")
+    void testDeleteCars() throws Exception {
+        // Prepares the intermediary results
+        final ResponseEntity<List<BatchResult>> response = mock(ResponseEntity.class);
+        final ArgumentCaptor<Callable<List<BatchResult>>> captor = ArgumentCaptor.forClass(Callable.class);
+        final var existingCars = List.of(this.createCar(1, 0));
+
+        // Mocks the calls
+        when(this.helper.resolveBatchResponse(captor.capture())).thenReturn(response);
+        when(this.repository.findAllById(Set.of(1, 2))).thenReturn(existingCars);
+        this.mockWriteExecutor();
 
         // Calls the method
-        final ResponseEntity<?> result = this.carController.updateCar(new Car());
+        final var result = this.carController.deleteCars(List.of(1, 2));
+        final var results = captor.getValue().call();
 
         // Checks the mocks calls
-        verify(this.helper).resolvePutResponse(any(Runnable.class));
+        verify(this.repository).deleteAll(existingCars);
+        verify(this.suggestionIndex).remove(1);
 
         // Checks the result
         assertSame(response, result, "Result different from expected");
+        assertEquals("204:1,404:2", results.stream().map(item -> item.getStatus() + ":" + item.getId()).collect(Collectors.joining(",")),
+            "Results different from expected");
+    }
+
+    /**
+     * Tests the {@link CarController#importCars} method with a null body.
+     */
+    @Test
+    @DisplayName("Import cars (null body)")
+    void testImportCarsNullBody() {
+        // Calls the method
+        assertThrows(NullPointerException.class, () -> this.carController.importCars(CarImporter.CSV_VALUE, null), "Expected exception not thrown");
+    }
+
+    /**
+     * Tests the {@link CarController#importCars} method.
+     *
+     * @throws Exception
+     *     if the cars cannot be imported
+     */
+    @Test
+    @DisplayName("Import cars")
+    void testImportCars() throws Exception {
+        // Prepares the inputs
+        final var body = mock(InputStream.class);
+
+        // Prepares the intermediary results
+        final var report = mock(CarImporter.Report.class);
+
+        // Mocks the calls
+        when(this.importer.importCars(body, Format.NDJSON)).thenReturn(report);
+
+        // Calls the method
+        final var result = this.carController.importCars(CarImporter.NDJSON_VALUE + ";charset=UTF-8", body);
+
+        // Checks the mocks calls
+        verify(this.importer).importCars(body, Format.NDJSON);
+
+        // Checks the result
+        assertSame(report, result.getBody(), "Result different from expected");
     }
 
     /**
@@ -203,4 +827,42 @@ class CarControllerTest {
         assertSame(response, result, "Result different from expected");
     }
 
+    /**
+     * Mocks the {@link WriteExecutor#execute} method, running the writes directly.
+     */
+    private void mockWriteExecutor() {
+        when(this.writeExecutor.execute(any(Supplier.class))).then(invocation -> invocation.<Supplier<?>>getArgument(0).get());
+    }
+
+    /**
+     * Persists a {@link Car} like the repository, giving it an ID and a version.
+     *
+     * @param car
+     *     The car to persist
+     *
+     * @return the persisted car
+     */
+    private Car persist(final Car car) {
+        car.setId(1);
+        car.setVersion(0);
+        return car;
+    }
+
+    /**
+     * Creates a {@link Car} with the given ID and version.
+     *
+     * @param id
+     *     The ID of the car
+     * @param version
+     *     The version of the car
+     *
+     * @return the car
+     */
+    private Car createCar(final Integer id, final Integer version) {
+        final var car = new Car();
+        car.setId(id);
+        car.setVersion(version);
+        return car;
+    }
+
 }
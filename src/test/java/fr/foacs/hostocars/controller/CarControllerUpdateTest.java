@@ -0,0 +1,251 @@
+package fr.foacs.hostocars.controller;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import fr.foacs.hostocars.configuration.ExceptionInterceptor;
+import fr.foacs.hostocars.repository.AttachmentStore;
+import fr.foacs.hostocars.repository.CarImporter;
+import fr.foacs.hostocars.repository.CarSuggestionIndex;
+import fr.foacs.hostocars.repository.SqliteDataJpaTest;
+import fr.foacs.hostocars.repository.ThumbnailStore;
+import fr.foacs.hostocars.repository.WriteExecutor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Test class for the updates of the {@link CarController} class sent without the versions of the entities or with attachments, run through the
+ * {@link WriteExecutor} and the {@link AttachmentStore} on a SQLite database migrated by Liquibase.
+ */
+@SqliteDataJpaTest
+@DisplayName("Car controller update")
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import({CarController.class, ControllerHelper.class, WriteExecutor.class, AttachmentStore.class, SimpleMeterRegistry.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = "spring.datasource.url=jdbc:sqlite:file:./target/update-test.db")
+class CarControllerUpdateTest {
+
+    // Base64 content starting with the PNG signature
+    private static final String PICTURE = Base64.getEncoder().encodeToString(new byte[] {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n', 1, 2, 3});
+
+    @MockBean
+    private ThumbnailStore thumbnailStore;
+
+    @MockBean
+    private CarImporter importer;
+
+    @MockBean
+    private CarSuggestionIndex suggestionIndex;
+
+    @Autowired
+    private CarController controller;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private MockMvc mockMvc;
+
+    private Integer carId;
+
+    private Integer interventionId;
+
+    private Integer operationId;
+
+    private Integer operationLineId;
+
+    /**
+     * Initialization method called before all tests.
+     */
+    @BeforeEach
+    void initialize() {
+        this.jdbcTemplate.update("INSERT INTO cars (owner, registration) VALUES ('Owner', 'AA-111-AA')");
+        this.carId = this.jdbcTemplate.queryForObject("SELECT id FROM cars", Integer.class);
+        this.jdbcTemplate.update("INSERT INTO interventions (carId, year, number, status) VALUES (?, 2026, 1, 'Diagnostic')", this.carId);
+        this.interventionId = this.jdbcTemplate.queryForObject("SELECT id FROM interventions", Integer.class);
+        this.jdbcTemplate.update("INSERT INTO operations (interventionId, label) VALUES (?, 'Vidange')", this.interventionId);
+        this.operationId = this.jdbcTemplate.queryForObject("SELECT id FROM operations", Integer.class);
+        this.jdbcTemplate.update("INSERT INTO operationLines (operationId, type, description) VALUES (?, 'TODO', 'Huile')", this.operationId);
+        this.operationLineId = this.jdbcTemplate.queryForObject("SELECT id FROM operationLines", Integer.class);
+
+        this.mockMvc = MockMvcBuilders.standaloneSetup(this.controller).setControllerAdvice(new ExceptionInterceptor())
+            .setMessageConverters(new MappingJackson2HttpMessageConverter(this.objectMapper)).build();
+    }
+
+    /**
+     * Cleaning method called after all tests.
+     */
+    @AfterEach
+    void clean() {
+        this.jdbcTemplate.update("DELETE FROM operationLines");
+        this.jdbcTemplate.update("DELETE FROM operations");
+        this.jdbcTemplate.update("DELETE FROM interventions");
+        this.jdbcTemplate.update("DELETE FROM cars");
+        this.jdbcTemplate.update("DELETE FROM attachments");
+    }
+
+    /**
+     * Tests the {@link CarController#updateCar} method with a car and an interventions tree sent without their versions.
+     *
+     * @throws Exception
+     *     if the request fails
+     */
+    @Test
+    @DisplayName("Update car - without versions")
+    void testUpdateCarWithoutVersions() throws Exception {
+        // Prepares the inputs
+        final var body = Map.of("id", this.carId, "registration", "AA-111-AA", "owner", "New owner", "interventions", List.of(this.createIntervention()));
+
+        // Calls the method
+        this.mockMvc.perform(put("/cars").contentType(MediaType.APPLICATION_JSON).content(this.objectMapper.writeValueAsString(body)))
+            .andExpect(status().isNoContent());
+
+        // Checks the result
+        this.assertTree("New owner", 1);
+    }
+
+    /**
+     * Tests the {@link CarController#patchCar} method with an interventions tree sent without its versions.
+     *
+     * @throws Exception
+     *     if the request fails
+     */
+    @Test
+    @DisplayName("Patch car - without versions")
+    void testPatchCarWithoutVersions() throws Exception {
+        // Prepares the inputs
+        final var patch = Map.of("interventions", List.of(this.createIntervention()));
+
+        // Calls the method
+        this.mockMvc.perform(patch("/cars/" + this.carId).contentType(MediaType.APPLICATION_JSON).content(this.objectMapper.writeValueAsString(patch)))
+            .andExpect(status().isNoContent());
+
+        // Checks the result
+        this.assertTree("Owner", 0);
+    }
+
+    /**
+     * Tests the {@link CarController#updateCarPicture} method.
+     *
+     * @throws Exception
+     *     if the request fails
+     */
+    @Test
+    @DisplayName("Update car picture")
+    void testUpdateCarPicture() throws Exception {
+        // Prepares the inputs
+        final var file = new MockMultipartFile("file", "picture", MediaType.IMAGE_PNG_VALUE, new byte[] {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'});
+
+        // Calls the method
+        this.mockMvc.perform(multipart("/cars/" + this.carId + "/picture").file(file).with(request -> {
+            request.setMethod(HttpMethod.PUT.name());
+            return request;
+        })).andExpect(status().isNoContent());
+
+        // Checks the result
+        assertEquals(List.of(Map.of("contentType", MediaType.IMAGE_PNG_VALUE, "referenceCount", 1, "hasPicture", 1)),
+            this.jdbcTemplate.queryForList("SELECT a.contentType AS contentType, a.referenceCount AS referenceCount, c.hasPicture AS hasPicture "
+                + "FROM cars c JOIN attachments a ON a.id = c.pictureId"), "Result different from expected");
+    }
+
+    /**
+     * Tests the {@link CarController#updateCar} method with a picture in the body.
+     *
+     * @throws Exception
+     *     if the request fails
+     */
+    @Test
+    @DisplayName("Update car - with picture")
+    void testUpdateCarWithPicture() throws Exception {
+        // Prepares the inputs
+        final var body = Map.of("id", this.carId, "registration", "AA-111-AA", "owner", "Owner", "picture", PICTURE);
+
+        // Calls the method
+        this.mockMvc.perform(put("/cars").contentType(MediaType.APPLICATION_JSON).content(this.objectMapper.writeValueAsString(body)))
+            .andExpect(status().isNoContent());
+
+        // Checks the result
+        assertEquals(List.of(Map.of("contentType", MediaType.IMAGE_PNG_VALUE, "referenceCount", 1, "hasPicture", 1)),
+            this.jdbcTemplate.queryForList("SELECT a.contentType AS contentType, a.referenceCount AS referenceCount, c.hasPicture AS hasPicture "
+                + "FROM cars c JOIN attachments a ON a.id = c.pictureId"), "Result different from expected");
+    }
+
+    /**
+     * Tests the {@link CarController#updateCar} method with a picture in the body of a rejected update.
+     *
+     * @throws Exception
+     *     if the request fails
+     */
+    @Test
+    @DisplayName("Update car - with picture, outdated version")
+    void testUpdateCarWithPictureAndOutdatedVersion() throws Exception {
+        // Prepares the inputs
+        final var body = Map.of("id", this.carId, "version", 5, "registration", "AA-111-AA", "owner", "Owner", "picture", PICTURE);
+
+        // Calls the method
+        this.mockMvc.perform(put("/cars").contentType(MediaType.APPLICATION_JSON).content(this.objectMapper.writeValueAsString(body)))
+            .andExpect(status().isConflict());
+
+        // Checks the result
+        assertEquals(0, this.jdbcTemplate.queryForObject("SELECT COUNT(*) FROM attachments", Integer.class), "Result different from expected");
+    }
+
+    /**
+     * Creates the body of the existing intervention, with its ID and the ones of its operations tree but without their versions, and updated values.
+     *
+     * @return the body of the intervention
+     */
+    private Map<String, Object> createIntervention() {
+        final var operationLine = Map.of("id", this.operationLineId, "type", "DONE", "description", "Huile", "done", true);
+        final var operation = Map.of("id", this.operationId, "label", "Vidange", "operationLines", List.of(operationLine));
+        return Map.of("id", this.interventionId, "year", 2026, "number", 1, "status", "Terminé", "operations", List.of(operation));
+    }
+
+    /**
+     * Checks that the existing car and its interventions tree have been updated in place, instead of being inserted again.
+     *
+     * @param owner
+     *     The expected owner of the car
+     * @param version
+     *     The expected version of the car
+     */
+    private void assertTree(final String owner, final int version) {
+        assertAll("Result different from expected",
+            () -> assertEquals(List.of(Map.of("id", this.carId, "owner", owner, "version", version)),
+                this.jdbcTemplate.queryForList("SELECT id, owner, version FROM cars")),
+            () -> assertEquals(List.of(Map.of("id", this.interventionId, "number", 1, "status", "Terminé")),
+                this.jdbcTemplate.queryForList("SELECT id, number, status FROM interventions")),
+            () -> assertEquals(List.of(this.operationId), this.jdbcTemplate.queryForList("SELECT id FROM operations", Integer.class)),
+            () -> assertEquals(List.of(Map.of("id", this.operationLineId, "type", "DONE")),
+                this.jdbcTemplate.queryForList("SELECT id, type FROM operationLines")));
+    }
+
+}
@@ -1,18 +1,48 @@
 package fr.foacs.hostocars.controller;
 
+import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import fr.foacs.hostocars.configuration.InvalidRequestException;
+import fr.foacs.hostocars.entity.Car;
+import fr.foacs.hostocars.repository.AttachmentSummary;
+import fr.foacs.hostocars.repository.CarImporter;
+import fr.foacs.hostocars.repository.TableVersionSummary;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.web.context.request.ServletWebRequest;
 
 /**
  * Test class for the {@link ControllerHelper} class.
@@ -20,8 +50,20 @@ import org.springframework.test.util.ReflectionTestUtils;
 @DisplayName("Controller helper")
 class ControllerHelperTest {
 
+    private static final Long MODIFIED_AT = 1_600_000_000_000L;
+
     private final ControllerHelper helper = new ControllerHelper();
 
+    private final TableVersionSummary version = mock(TableVersionSummary.class);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private MockHttpServletRequest servletRequest;
+
+    private MockHttpServletResponse servletResponse;
+
+    private ServletWebRequest request;
+
     /**
      * Initialization method called before all tests.
      */
@@ -29,6 +71,17 @@ class ControllerHelperTest {
     void initialize() {
         ReflectionTestUtils.setField(this.helper, "serverAddress", "serverAddress");
         ReflectionTestUtils.setField(this.helper, "serverPort", "serverPort");
+        ReflectionTestUtils.setField(this.helper, "defaultPageSize", 50);
+        ReflectionTestUtils.setField(this.helper, "maxPageSize", 500);
+        ReflectionTestUtils.setField(this.helper, "objectMapper", this.objectMapper);
+        ReflectionTestUtils.setField(this.helper, "transactionManager", mock(PlatformTransactionManager.class));
+
+        when(this.version.getVersion()).thenReturn(42L);
+        when(this.version.getModifiedAt()).thenReturn(MODIFIED_AT);
+
+        this.servletRequest = new MockHttpServletRequest("GET", "/");
+        this.servletResponse = new MockHttpServletResponse();
+        this.request = new ServletWebRequest(this.servletRequest, this.servletResponse);
     }
 
     /**
@@ -38,11 +91,49 @@ class ControllerHelperTest {
     @DisplayName("Resolve GET response (with content)")
     void testResolveGetResponseWithContent() {
         // Calls the method
-        final var result = this.helper.resolveGetResponse(() -> Optional.of(new Object()));
+        final var result = this.helper.resolveGetResponse(this.request, () -> this.version, () -> Optional.of("value"), value -> value + "Version");
 
         // Checks the result
         assertNotNull(result, "Result object unexpectedly null");
         assertEquals(HttpStatus.OK, result.getStatusCode(), "Response status different from expected");
+        assertEquals("\"valueVersion\"", this.servletResponse.getHeader(HttpHeaders.ETAG), "ETag header different from expected");
+        assertEquals(MODIFIED_AT, this.servletResponse.getDateHeader(HttpHeaders.LAST_MODIFIED), "Last-Modified header different from expected");
+    }
+
+    /**
+     * Tests the {@link ControllerHelper#resolveGetResponse} method with a matching {@code If-None-Match} header.
+     */
+    @Test
+    @DisplayName("Resolve GET response (not modified)")
+    void testResolveGetResponseNotModified() {
+        // Prepares the inputs
+        this.servletRequest.addHeader(HttpHeaders.IF_NONE_MATCH, "\"valueVersion\"");
+
+        // Calls the method
+        final var result = this.helper.resolveGetResponse(this.request, () -> this.version, () -> Optional.of("value"), value -> value + "Version");
+
+        // Checks the result
+        assertNotNull(result, "Result object unexpectedly null");
+        assertEquals(HttpStatus.NOT_MODIFIED, result.getStatusCode(), "Response status different from expected");
+        assertFalse(result.hasBody(), "Response body unexpectedly present");
+    }
+
+    /**
+     * Tests the {@link ControllerHelper#resolveGetResponse} method with an outdated {@code If-None-Match} header.
+     */
+    @Test
+    @DisplayName("Resolve GET response (modified)")
+    void testResolveGetResponseModified() {
+        // Prepares the inputs
+        this.servletRequest.addHeader(HttpHeaders.IF_NONE_MATCH, "\"oldVersion\"");
+
+        // Calls the method
+        final var result = this.helper.resolveGetResponse(this.request, () -> this.version, () -> Optional.of("value"), value -> value + "Version");
+
+        // Checks the result
+        assertNotNull(result, "Result object unexpectedly null");
+        assertEquals(HttpStatus.OK, result.getStatusCode(), "Response status different from expected");
+        assertEquals("value", result.getBody(), "Response body different from expected");
     }
 
     /**
@@ -52,7 +143,7 @@ class ControllerHelperTest {
     @DisplayName("Resolve GET response (without content)")
     void testResolveGetResponseWithoutContent() {
         // Calls the method
-        final var result = this.helper.resolveGetResponse(Optional::empty);
+        final var result = this.helper.resolveGetResponse(this.request, () -> this.version, Optional::empty, Object::toString);
 
         // Checks the result
         assertNotNull(result, "Result object unexpectedly null");
@@ -66,7 +157,7 @@ class ControllerHelperTest {
     @DisplayName("Resolve GET response (error case)")
     void testResolveGetResponseInError() {
         // Calls the method
-        assertThrows(NullPointerException.class, () -> this.helper.resolveGetResponse(null), "Expected exception not thrown");
+        assertThrows(NullPointerException.class, () -> this.helper.resolveGetResponse(this.request, () -> this.version, null, Object::toString), "Expected exception not thrown");
     }
 
     /**
@@ -76,11 +167,52 @@ class ControllerHelperTest {
     @DisplayName("Resolve GET collection response")
     void testResolveGetCollectionResponse() {
         // Calls the method
-        final ResponseEntity<Collection<Object>> result = this.helper.resolveGetCollectionResponse(() -> Collections.singleton(""));
+        final ResponseEntity<Collection<Object>> result =
+            this.helper.resolveGetCollectionResponse(this.request, () -> this.version, () -> Collections.singleton(""));
 
         // Checks the result
         assertNotNull(result, "Result object unexpectedly null");
         assertEquals(HttpStatus.OK, result.getStatusCode(), "Response status different from expected");
+        assertEquals("\"42-" + MODIFIED_AT + '"', this.servletResponse.getHeader(HttpHeaders.ETAG), "ETag header different from expected");
+        assertEquals(MODIFIED_AT, this.servletResponse.getDateHeader(HttpHeaders.LAST_MODIFIED), "Last-Modified header different from expected");
+    }
+
+    /**
+     * Tests the {@link ControllerHelper#resolveGetCollectionResponse} method with a matching {@code If-None-Match} header.
+     */
+    @Test
+    @DisplayName("Resolve GET collection response (not modified)")
+    void testResolveGetCollectionResponseNotModified() {
+        // Prepares the inputs
+        this.servletRequest.addHeader(HttpHeaders.IF_NONE_MATCH, "\"42-" + MODIFIED_AT + '"');
+
+        // Calls the method
+        final ResponseEntity<Collection<Object>> result = this.helper.resolveGetCollectionResponse(this.request, () -> this.version, () -> {
+            throw new IllegalStateException("The results must not be read");
+        });
+
+        // Checks the result
+        assertNotNull(result, "Result object unexpectedly null");
+        assertEquals(HttpStatus.NOT_MODIFIED, result.getStatusCode(), "Response status different from expected");
+    }
+
+    /**
+     * Tests the {@link ControllerHelper#resolveGetCollectionResponse} method with a matching {@code If-Modified-Since} header.
+     */
+    @Test
+    @DisplayName("Resolve GET collection response (not modified since)")
+    void testResolveGetCollectionResponseNotModifiedSince() {
+        // Prepares the inputs
+        this.servletRequest.addHeader(HttpHeaders.IF_MODIFIED_SINCE, MODIFIED_AT);
+
+        // Calls the method
+        final ResponseEntity<Collection<Object>> result = this.helper.resolveGetCollectionResponse(this.request, () -> this.version, () -> {
+            throw new IllegalStateException("The results must not be read");
+        });
+
+        // Checks the result
+        assertNotNull(result, "Result object unexpectedly null");
+        assertEquals(HttpStatus.NOT_MODIFIED, result.getStatusCode(), "Response status different from expected");
     }
 
     /**
@@ -90,7 +222,8 @@ class ControllerHelperTest {
     @DisplayName("Resolve GET collection response (empty result list)")
     void testResolveGetCollectionResponseWithEmptyResultList() {
         // Calls the method
-        final ResponseEntity<Collection<String>> result = this.helper.resolveGetCollectionResponse(Collections::emptyList);
+        final ResponseEntity<Collection<String>> result = this.helper.resolveGetCollectionResponse(this.request, () -> this.version,
+            Collections::emptyList);
 
         // Checks the result
         assertNotNull(result, "Result object unexpectedly null");
@@ -104,7 +237,313 @@ class ControllerHelperTest {
     @DisplayName("Resolve GET collection response (error case)")
     void testResolveGetCollectionResponseInError() {
         // Calls the method
-        assertThrows(NullPointerException.class, () -> this.helper.resolveGetCollectionResponse(null), "Expected exception not thrown");
+        assertThrows(NullPointerException.class, () -> this.helper.resolveGetCollectionResponse(this.request, () -> this.version, null), "Expected exception not thrown");
+    }
+
+    /**
+     * Tests the {@link ControllerHelper#resolveGetStreamResponse} method.
+     *
+     * @throws IOException
+     *     if the response cannot be written
+     */
+    @Test
+    @DisplayName("Resolve GET stream response")
+    void testResolveGetStreamResponse() throws IOException {
+        // Prepares the intermediary results
+        final var output = new ByteArrayOutputStream();
+
+        // Calls the method
+        final var result = this.helper.resolveGetStreamResponse(this.request, () -> this.version, () -> Stream.of(Map.of("id", 1), Map.of("id", 2)));
+        Objects.requireNonNull(result.getBody()).writeTo(output);
+
+        // Checks the result
+        assertAll("Result different from expected", () -> assertEquals(HttpStatus.OK, result.getStatusCode()),
+            () -> assertEquals(MediaType.APPLICATION_JSON, result.getHeaders().getContentType()),
+            () -> assertEquals("W/\"42-" + MODIFIED_AT + "-json\"", this.servletResponse.getHeader(HttpHeaders.ETAG)),
+            () -> assertEquals(List.of(HttpHeaders.ACCEPT), result.getHeaders().getVary()),
+            () -> assertEquals("[{\"id\":1},{\"id\":2}]", output.toString(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Tests the {@link ControllerHelper#resolveGetStreamResponse} method with the NDJSON media type accepted.
+     *
+     * @throws IOException
+     *     if the response cannot be written
+     */
+    @Test
+    @DisplayName("Resolve GET stream response (NDJSON)")
+    void testResolveGetStreamResponseAsNdjson() throws IOException {
+        // Prepares the inputs
+        this.servletRequest.addHeader(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE + ", " + CarImporter.NDJSON_VALUE + ";q=0.9");
+
+        // Prepares the intermediary results
+        final var output = new ByteArrayOutputStream();
+
+        // Calls the method
+        final var result = this.helper.resolveGetStreamResponse(this.request, () -> this.version, () -> Stream.of(Map.of("id", 1), Map.of("id", 2)));
+        Objects.requireNonNull(result.getBody()).writeTo(output);
+
+        // Checks the result
+        assertAll("Result different from expected", () -> assertEquals(HttpStatus.OK, result.getStatusCode()),
+            () -> assertEquals(MediaType.parseMediaType(CarImporter.NDJSON_VALUE), result.getHeaders().getContentType()),
+            () -> assertEquals("W/\"42-" + MODIFIED_AT + "-ndjson\"", this.servletResponse.getHeader(HttpHeaders.ETAG)),
+            () -> assertEquals(List.of(HttpHeaders.ACCEPT), result.getHeaders().getVary()),
+            () -> assertEquals("{\"id\":1}\n{\"id\":2}\n", output.toString(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Tests the {@link ControllerHelper#resolveGetStreamResponse} method with an empty stream.
+     *
+     * @throws IOException
+     *     if the response cannot be written
+     */
+    @Test
+    @DisplayName("Resolve GET stream response (empty stream)")
+    void testResolveGetStreamResponseWithEmptyStream() throws IOException {
+        // Prepares the intermediary results
+        final var output = new ByteArrayOutputStream();
+
+        // Calls the method
+        final var result = this.helper.resolveGetStreamResponse(this.request, () -> this.version, Stream::empty);
+        Objects.requireNonNull(result.getBody()).writeTo(output);
+
+        // Checks the result
+        assertAll("Result different from expected", () -> assertEquals(HttpStatus.OK, result.getStatusCode()),
+            () -> assertEquals("[]", output.toString(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Tests the {@link ControllerHelper#resolveGetStreamResponse} method with a matching {@code If-None-Match} header.
+     */
+    @Test
+    @DisplayName("Resolve GET stream response (not modified)")
+    void testResolveGetStreamResponseNotModified() {
+        // Prepares the inputs
+        this.servletRequest.addHeader(HttpHeaders.IF_NONE_MATCH, "W/\"42-" + MODIFIED_AT + "-json\"");
+
+        // Calls the method
+        final ResponseEntity<?> result = this.helper.resolveGetStreamResponse(this.request, () -> this.version, () -> {
+            throw new IllegalStateException("The results must not be read");
+        });
+
+        // Checks the result
+        assertAll("Result different from expected", () -> assertEquals(HttpStatus.NOT_MODIFIED, result.getStatusCode()),
+            () -> assertEquals(List.of(HttpHeaders.ACCEPT), result.getHeaders().getVary()), () -> assertNull(result.getBody()));
+    }
+
+    /**
+     * Tests the {@link ControllerHelper#resolveGetStreamResponse} method with the NDJSON media type accepted and the {@code If-None-Match} header of the JSON
+     * representation.
+     */
+    @Test
+    @DisplayName("Resolve GET stream response (NDJSON, tag of the JSON representation)")
+    void testResolveGetStreamResponseAsNdjsonWithJsonTag() {
+        // Prepares the inputs
+        this.servletRequest.addHeader(HttpHeaders.ACCEPT, CarImporter.NDJSON_VALUE);
+        this.servletRequest.addHeader(HttpHeaders.IF_NONE_MATCH, "W/\"42-" + MODIFIED_AT + "-json\"");
+
+        // Calls the method
+        final var result = this.helper.resolveGetStreamResponse(this.request, () -> this.version, () -> Stream.of(Map.of("id", 1)));
+
+        // Checks the result
+        assertAll("Result different from expected", () -> assertEquals(HttpStatus.OK, result.getStatusCode()),
+            () -> assertEquals("W/\"42-" + MODIFIED_AT + "-ndjson\"", this.servletResponse.getHeader(HttpHeaders.ETAG)));
+    }
+
+    /**
+     * Tests the {@link ControllerHelper#resolvePageRequest} method without size.
+     */
+    @Test
+    @DisplayName("Resolve page request (without size)")
+    void testResolvePageRequestWithoutSize() {
+        // Prepares the inputs
+        final var sort = Sort.by("field");
+
+        // Calls the method
+        final var result = this.helper.resolvePageRequest(null, sort);
+
+        // Checks the result
+        assertNotNull(result, "Result object unexpectedly null");
+        assertEquals(0, result.getPageNumber(), "Page number different from expected");
+        assertEquals(50, result.getPageSize(), "Page size different from expected");
+        assertEquals(sort, result.getSort(), "Sort different from expected");
+    }
+
+    /**
+     * Tests the {@link ControllerHelper#resolvePageRequest} method with out of bounds sizes.
+     */
+    @Test
+    @DisplayName("Resolve page request (out of bounds sizes)")
+    void testResolvePageRequestWithOutOfBoundsSizes() {
+        // Calls the method and checks the results
+        assertAll("Page size different from expected", () -> assertEquals(500, this.helper.resolvePageRequest(1000, Sort.unsorted()).getPageSize()),
+            () -> assertEquals(1, this.helper.resolvePageRequest(-1, Sort.unsorted()).getPageSize()),
+            () -> assertEquals(20, this.helper.resolvePageRequest(20, Sort.unsorted()).getPageSize()));
+    }
+
+    /**
+     * Tests the {@link ControllerHelper#resolvePageRequest} method with a page number.
+     */
+    @Test
+    @DisplayName("Resolve page request (page number)")
+    void testResolvePageRequestWithPageNumber() {
+        // Calls the method
+        final var result = this.helper.resolvePageRequest(3, 20, Sort.unsorted());
+
+        // Checks the result
+        assertEquals(PageRequest.of(3, 20), result, "Result different from expected");
+    }
+
+    /**
+     * Tests the {@link ControllerHelper#resolvePageRequest} method with a negative page number.
+     */
+    @Test
+    @DisplayName("Resolve page request (negative page number)")
+    void testResolvePageRequestWithNegativePageNumber() {
+        // Calls the method
+        assertThrows(InvalidRequestException.class, () -> this.helper.resolvePageRequest(-1, 20, Sort.unsorted()), "Expected exception not thrown");
+    }
+
+    /**
+     * Tests the {@link ControllerHelper#resolveSort} method.
+     */
+    @Test
+    @DisplayName("Resolve sort")
+    void testResolveSort() {
+        // Calls the method and checks the results
+        assertAll("Result different from expected", () -> assertEquals(Sort.unsorted(), ControllerHelper.resolveSort(Car.class, (String[]) null)),
+            () -> assertEquals(Sort.by("owner", "registration"), ControllerHelper.resolveSort(Car.class, "owner", "registration")));
+    }
+
+    /**
+     * Tests the {@link ControllerHelper#resolveSort} method with invalid fields.
+     */
+    @Test
+    @DisplayName("Resolve sort (invalid fields)")
+    void testResolveSortWithInvalidFields() {
+        // Calls the method and checks the results
+        assertAll("Expected exception not thrown",
+            () -> assertThrows(InvalidRequestException.class, () -> ControllerHelper.resolveSort(Car.class, "unknown")),
+            () -> assertThrows(InvalidRequestException.class, () -> ControllerHelper.resolveSort(Car.class, "")));
+    }
+
+    /**
+     * Tests the {@link ControllerHelper#resolveGetSliceResponse} method with a next slice.
+     */
+    @Test
+    @DisplayName("Resolve GET slice response (with next slice)")
+    void testResolveGetSliceResponseWithNextSlice() {
+        // Calls the method
+        final ResponseEntity<Collection<String>> result =
+            this.helper.resolveGetSliceResponse(this.request, () -> this.version, () -> new SliceImpl<>(List.of("first", "last"), PageRequest.of(0, 2), true),
+                value -> value + "Cursor", () -> 3L);
+
+        // Checks the result
+        assertNotNull(result, "Result object unexpectedly null");
+        assertEquals(HttpStatus.OK, result.getStatusCode(), "Response status different from expected");
+        assertEquals(List.of("first", "last"), result.getBody(), "Response body different from expected");
+        assertEquals("lastCursor", result.getHeaders().getFirst(ControllerHelper.NEXT_CURSOR_HEADER), "Next cursor header different from expected");
+        assertEquals("3", result.getHeaders().getFirst(ControllerHelper.TOTAL_COUNT_HEADER), "Total count header different from expected");
+    }
+
+    /**
+     * Tests the {@link ControllerHelper#resolveGetSliceResponse} method with the last slice.
+     */
+    @Test
+    @DisplayName("Resolve GET slice response (last slice)")
+    void testResolveGetSliceResponseWithLastSlice() {
+        // Calls the method
+        final ResponseEntity<Collection<String>> result =
+            this.helper.resolveGetSliceResponse(this.request, () -> this.version, () -> new SliceImpl<>(List.of("first", "last"), PageRequest.of(0, 2), false),
+                value -> value + "Cursor", null);
+
+        // Checks the result
+        assertNotNull(result, "Result object unexpectedly null");
+        assertEquals(HttpStatus.OK, result.getStatusCode(), "Response status different from expected");
+        assertFalse(result.getHeaders().containsKey(ControllerHelper.NEXT_CURSOR_HEADER), "Next cursor header unexpectedly present");
+        assertFalse(result.getHeaders().containsKey(ControllerHelper.TOTAL_COUNT_HEADER), "Total count header unexpectedly present");
+    }
+
+    /**
+     * Tests the {@link ControllerHelper#resolveGetSliceResponse} method with an empty slice.
+     */
+    @Test
+    @DisplayName("Resolve GET slice response (empty slice)")
+    void testResolveGetSliceResponseWithEmptySlice() {
+        // Calls the method
+        final ResponseEntity<Collection<String>> result =
+            this.helper.resolveGetSliceResponse(this.request, () -> this.version, () -> new SliceImpl<>(List.of()), value -> value, () -> 0L);
+
+        // Checks the result
+        assertNotNull(result, "Result object unexpectedly null");
+        assertEquals(HttpStatus.NO_CONTENT, result.getStatusCode(), "Response status different from expected");
+        assertEquals("0", result.getHeaders().getFirst(ControllerHelper.TOTAL_COUNT_HEADER), "Total count header different from expected");
+    }
+
+    /**
+     * Tests the {@link ControllerHelper#resolveGetSliceResponse} method with a matching {@code If-None-Match} header.
+     */
+    @Test
+    @DisplayName("Resolve GET slice response (not modified)")
+    void testResolveGetSliceResponseNotModified() {
+        // Prepares the inputs
+        this.servletRequest.addHeader(HttpHeaders.IF_NONE_MATCH, "\"42-" + MODIFIED_AT + '"');
+
+        // Calls the method
+        final ResponseEntity<Collection<String>> result = this.helper.resolveGetSliceResponse(this.request, () -> this.version, () -> {
+            throw new IllegalStateException("The slice must not be read");
+        }, value -> value, null);
+
+        // Checks the result
+        assertNotNull(result, "Result object unexpectedly null");
+        assertEquals(HttpStatus.NOT_MODIFIED, result.getStatusCode(), "Response status different from expected");
+    }
+
+    /**
+     * Tests the {@link ControllerHelper#resolveGetSliceResponse} method in error.
+     */
+    @Test
+    @DisplayName("Resolve GET slice response (error case)")
+    void testResolveGetSliceResponseInError() {
+        // Calls the method
+        assertThrows(NullPointerException.class, () -> this.helper.resolveGetSliceResponse(this.request, () -> this.version, null, null, null), "Expected exception not thrown");
+    }
+
+    /**
+     * Tests the {@link ControllerHelper#resolveGetAttachmentResponse} method with an attachment.
+     */
+    @Test
+    @DisplayName("Resolve GET attachment response (with attachment)")
+    void testResolveGetAttachmentResponseWithAttachment() {
+        // Prepares the intermediary results
+        final var summary = mock(AttachmentSummary.class);
+
+        // Mocks the calls
+        when(summary.getHash()).thenReturn("hash");
+        when(summary.getContentType()).thenReturn(MediaType.IMAGE_PNG_VALUE);
+
+        // Calls the method
+        final var result = this.helper.resolveGetAttachmentResponse(() -> Optional.of(summary), Paths::get);
+
+        // Checks the result
+        assertNotNull(result, "Result object unexpectedly null");
+        assertAll("Response different from expected", () -> assertEquals(HttpStatus.OK, result.getStatusCode()),
+            () -> assertEquals(MediaType.IMAGE_PNG, result.getHeaders().getContentType()), () -> assertEquals("\"hash\"", result.getHeaders().getETag()),
+            () -> assertEquals(Paths.get("hash").toFile(), Objects.requireNonNull(result.getBody()).getFile()));
+    }
+
+    /**
+     * Tests the {@link ControllerHelper#resolveGetAttachmentResponse} method without attachment.
+     */
+    @Test
+    @DisplayName("Resolve GET attachment response (without attachment)")
+    void testResolveGetAttachmentResponseWithoutAttachment() {
+        // Calls the method
+        final var result = this.helper.resolveGetAttachmentResponse(Optional::empty, Paths::get);
+
+        // Checks the result
+        assertNotNull(result, "Result object unexpectedly null");
+        assertEquals(HttpStatus.NOT_FOUND, result.getStatusCode(), "Response status different from expected");
     }
 
     /**
@@ -114,7 +553,7 @@ class ControllerHelperTest {
     @DisplayName("Resolve POST response")
     void testResolvePostResponse() {
         // Calls the method
-        final var result = this.helper.resolvePostResponse(() -> "/location");
+        final var result = this.helper.resolvePostResponse(this.request, () -> "value", value -> "/location", value -> value + "Representation");
 
         // Checks the result
         assertNotNull(result, "Result object unexpectedly null");
@@ -123,6 +562,28 @@ class ControllerHelperTest {
         assertNotNull(result.getHeaders().get("location"), "Response location header unexpectedly null");
         assertEquals(1, result.getHeaders().get("location").size(), "Response location header unexpectedly empty");
         assertEquals("http://serverAddress:serverPort/location", result.getHeaders().get("location").get(0), "Response location header different from expected");
+        assertFalse(result.hasBody(), "Response body unexpectedly present");
+    }
+
+    /**
+     * Tests the {@link ControllerHelper#resolvePostResponse} method with the {@code return=representation} preference.
+     */
+    @Test
+    @DisplayName("Resolve POST response (with representation)")
+    void testResolvePostResponseWithRepresentation() {
+        // Prepares the inputs
+        this.servletRequest.addHeader(ControllerHelper.PREFER_HEADER, ControllerHelper.RETURN_REPRESENTATION_PREFERENCE);
+
+        // Calls the method
+        final var result = this.helper.resolvePostResponse(this.request, () -> "value", value -> "/location", value -> value + "Representation");
+
+        // Checks the result
+        assertNotNull(result, "Result object unexpectedly null");
+        assertEquals(HttpStatus.CREATED, result.getStatusCode(), "Response status different from expected");
+        assertEquals("http://serverAddress:serverPort/location", result.getHeaders().getFirst(HttpHeaders.LOCATION), "Response location header different from expected");
+        assertEquals(ControllerHelper.RETURN_REPRESENTATION_PREFERENCE, result.getHeaders().getFirst(ControllerHelper.PREFERENCE_APPLIED_HEADER),
+            "Preference applied header different from expected");
+        assertEquals("valueRepresentation", result.getBody(), "Response body different from expected");
     }
 
     /**
@@ -132,7 +593,7 @@ class ControllerHelperTest {
     @DisplayName("Resolve POST response (error case)")
     void testResolvePostResponseInError() {
         // Calls the method
-        assertThrows(NullPointerException.class, () -> this.helper.resolvePostResponse(null), "Expected exception not thrown");
+        assertThrows(NullPointerException.class, () -> this.helper.resolvePostResponse(this.request, null, null, null), "Expected exception not thrown");
     }
 
     /**
@@ -142,13 +603,31 @@ class ControllerHelperTest {
     @DisplayName("Resolve PUT response")
     void testResolvePutResponse() {
         // Calls the method
-        final var result = this.helper.resolvePutResponse(Object::new);
+        final var result = this.helper.resolvePutResponse(this.request, Object::new, UnaryOperator.identity());
 
         // Checks the result
         assertNotNull(result, "Result object unexpectedly null");
         assertEquals(HttpStatus.NO_CONTENT, result.getStatusCode(), "Response status different from expected");
     }
 
+    /**
+     * Tests the {@link ControllerHelper#resolvePutResponse} method with the {@code return=representation} preference.
+     */
+    @Test
+    @DisplayName("Resolve PUT response (with representation)")
+    void testResolvePutResponseWithRepresentation() {
+        // Prepares the inputs
+        this.servletRequest.addHeader(ControllerHelper.PREFER_HEADER, ControllerHelper.RETURN_REPRESENTATION_PREFERENCE);
+
+        // Calls the method
+        final var result = this.helper.resolvePutResponse(this.request, () -> "value", value -> value + "Representation");
+
+        // Checks the result
+        assertNotNull(result, "Result object unexpectedly null");
+        assertEquals(HttpStatus.OK, result.getStatusCode(), "Response status different from expected");
+        assertEquals("valueRepresentation", result.getBody(), "Response body different from expected");
+    }
+
     /**
      * Tests the {@link ControllerHelper#resolvePutResponse} method in error.
      */
@@ -156,7 +635,122 @@ class ControllerHelperTest {
     @DisplayName("Resolve PUT response (error case)")
     void testResolvePutResponseInError() {
         // Calls the method
-        assertThrows(NullPointerException.class, () -> this.helper.resolvePutResponse(null), "Expected exception not thrown");
+        assertThrows(NullPointerException.class, () -> this.helper.resolvePutResponse(this.request, null, null), "Expected exception not thrown");
+    }
+
+    /**
+     * Tests the {@link ControllerHelper#resolveOptionalPatchResponse} method with content.
+     */
+    @Test
+    @DisplayName("Resolve optional PATCH response (with content)")
+    void testResolveOptionalPatchResponseWithContent() {
+        // Calls the method
+        final var result = this.helper.resolveOptionalPatchResponse(this.request, () -> Optional.of("value"), value -> value + "Representation");
+
+        // Checks the result
+        assertNotNull(result, "Result object unexpectedly null");
+        assertEquals(HttpStatus.NO_CONTENT, result.getStatusCode(), "Response status different from expected");
+        assertFalse(result.getHeaders().containsKey(ControllerHelper.PREFERENCE_APPLIED_HEADER), "Preference applied header unexpectedly present");
+    }
+
+    /**
+     * Tests the {@link ControllerHelper#resolveOptionalPatchResponse} method with content and several preferences.
+     */
+    @Test
+    @DisplayName("Resolve optional PATCH response (with representation)")
+    void testResolveOptionalPatchResponseWithRepresentation() {
+        // Prepares the inputs
+        this.servletRequest.addHeader(ControllerHelper.PREFER_HEADER, "respond-async, Return=Representation; parameter");
+
+        // Calls the method
+        final var result = this.helper.resolveOptionalPatchResponse(this.request, () -> Optional.of("value"), value -> value + "Representation");
+
+        // Checks the result
+        assertNotNull(result, "Result object unexpectedly null");
+        assertEquals(HttpStatus.OK, result.getStatusCode(), "Response status different from expected");
+        assertEquals(ControllerHelper.RETURN_REPRESENTATION_PREFERENCE, result.getHeaders().getFirst(ControllerHelper.PREFERENCE_APPLIED_HEADER),
+            "Preference applied header different from expected");
+        assertEquals("valueRepresentation", result.getBody(), "Response body different from expected");
+    }
+
+    /**
+     * Tests the {@link ControllerHelper#resolveOptionalPatchResponse} method without content.
+     */
+    @Test
+    @DisplayName("Resolve optional PATCH response (without content)")
+    void testResolveOptionalPatchResponseWithoutContent() {
+        // Calls the method
+        final var result = this.helper.resolveOptionalPatchResponse(this.request, Optional::empty, UnaryOperator.identity());
+
+        // Checks the result
+        assertNotNull(result, "Result object unexpectedly null");
+        assertEquals(HttpStatus.NOT_FOUND, result.getStatusCode(), "Response status different from expected");
+    }
+
+    /**
+     * Tests the {@link ControllerHelper#applyMergePatch} method.
+     *
+     * @throws Exception
+     *     if the patch cannot be parsed
+     */
+    @Test
+    @DisplayName("Apply merge patch")
+    void testApplyMergePatch() throws Exception {
+        // Prepares the inputs
+        final var object = new HashMap<String, Object>(Map.of("removed", "value", "replaced", "value", "kept", "value"));
+        final var patch = this.objectMapper.readTree("{\"removed\": null, \"replaced\": \"newValue\", \"added\": \"value\"}");
+
+        // Calls the method
+        final var result = this.helper.applyMergePatch(object, patch);
+
+        // Checks the result
+        final var expected = new HashMap<String, Object>(Map.of("replaced", "newValue", "kept", "value", "added", "value"));
+        expected.put("removed", null);
+        assertEquals(expected, result, "Result different from expected");
+    }
+
+    /**
+     * Tests the {@link ControllerHelper#applyMergePatch} method with a patch which isn't an object.
+     *
+     * @throws Exception
+     *     if the patch cannot be parsed
+     */
+    @Test
+    @DisplayName("Apply merge patch (not an object)")
+    void testApplyMergePatchNotObject() throws Exception {
+        // Prepares the inputs
+        final var patch = this.objectMapper.readTree("[]");
+
+        // Calls the method
+        assertThrows(InvalidRequestException.class, () -> this.helper.applyMergePatch(new HashMap<>(), patch), "Expected exception not thrown");
+    }
+
+    /**
+     * Tests the {@link ControllerHelper#resolveOptionalPutResponse} method with content.
+     */
+    @Test
+    @DisplayName("Resolve optional PUT response (with content)")
+    void testResolveOptionalPutResponseWithContent() {
+        // Calls the method
+        final var result = this.helper.resolveOptionalPutResponse(() -> Optional.of(new Object()));
+
+        // Checks the result
+        assertNotNull(result, "Result object unexpectedly null");
+        assertEquals(HttpStatus.NO_CONTENT, result.getStatusCode(), "Response status different from expected");
+    }
+
+    /**
+     * Tests the {@link ControllerHelper#resolveOptionalPutResponse} method without content.
+     */
+    @Test
+    @DisplayName("Resolve optional PUT response (without content)")
+    void testResolveOptionalPutResponseWithoutContent() {
+        // Calls the method
+        final var result = this.helper.resolveOptionalPutResponse(Optional::empty);
+
+        // Checks the result
+        assertNotNull(result, "Result object unexpectedly null");
+        assertEquals(HttpStatus.NOT_FOUND, result.getStatusCode(), "Response status different from expected");
     }
 
     /**
@@ -183,6 +777,42 @@ class ControllerHelperTest {
         assertThrows(NullPointerException.class, () -> this.helper.resolveDeleteResponse(null), "Expected exception not thrown");
     }
 
+    /**
+     * Tests the {@link ControllerHelper#resolveBatchResponse} method with successful items only.
+     */
+    @Test
+    @DisplayName("Resolve batch response (successful)")
+    void testResolveBatchResponseSuccessful() {
+        // Prepares the intermediary results
+        final var results = List.of(new BatchResult(HttpStatus.CREATED.value(), 1, 0), new BatchResult(HttpStatus.NO_CONTENT, 2));
+
+        // Calls the method
+        final var result = this.helper.resolveBatchResponse(() -> results);
+
+        // Checks the result
+        assertNotNull(result, "Result object unexpectedly null");
+        assertEquals(HttpStatus.OK, result.getStatusCode(), "Response status different from expected");
+        assertEquals(results, result.getBody(), "Response body different from expected");
+    }
+
+    /**
+     * Tests the {@link ControllerHelper#resolveBatchResponse} method with a failed item.
+     */
+    @Test
+    @DisplayName("Resolve batch response (partially failed)")
+    void testResolveBatchResponsePartiallyFailed() {
+        // Prepares the intermediary results
+        final var results = List.of(new BatchResult(HttpStatus.OK.value(), 1, 1), new BatchResult(HttpStatus.CONFLICT, 2));
+
+        // Calls the method
+        final var result = this.helper.resolveBatchResponse(() -> results);
+
+        // Checks the result
+        assertNotNull(result, "Result object unexpectedly null");
+        assertEquals(HttpStatus.MULTI_STATUS, result.getStatusCode(), "Response status different from expected");
+        assertEquals(results, result.getBody(), "Response body different from expected");
+    }
+
     /**
      * Tests the {@link ControllerHelper#restTemplate()} method.
      */
@@ -0,0 +1,162 @@
+package fr.foacs.hostocars.controller;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import fr.foacs.hostocars.entity.Intervention;
+import fr.foacs.hostocars.repository.InterventionRepository;
+import fr.foacs.hostocars.repository.TableVersionRepository;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.function.Function;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+/**
+ * Test class for the {@link InterventionController} class.
+ */
+@DisplayName("Intervention controller")
+@ExtendWith(MockitoExtension.class)
+class InterventionControllerTest {
+
+    @Mock
+    private ControllerHelper helper;
+
+    @Mock
+    private InterventionRepository repository;
+
+    @Mock
+    private TableVersionRepository tableVersionRepository;
+
+    @Mock
+    private WebRequest request;
+
+    @InjectMocks
+    private InterventionController interventionController;
+
+    /**
+     * Tests the {@link InterventionController#getInterventions} method without filters.
+     */
+    @Test
+    @DisplayName("Get interventions (without filters)")
+    void testGetInterventionsWithoutFilters() {
+        // Prepares the intermediary results
+        final ResponseEntity<Collection<Intervention>> response = mock(ResponseEntity.class);
+
+        // Mocks the calls
+        when(this.helper.resolveGetSliceResponse(eq(this.request), any(Callable.class), any(Callable.class), any(Function.class), isNull())).thenReturn(response);
+
+        // Calls the method
+        final var result = this.interventionController.getInterventions(this.request, null, null, null, null, null, null, null, null, null, false,
+            (String[]) null);
+
+        // Checks the mocks calls
+        verify(this.helper).resolveGetSliceResponse(eq(this.request), any(Callable.class), any(Callable.class), any(Function.class), isNull());
+
+        // Checks the result
+        assertSame(response, result, "Result different from expected");
+    }
+
+    /**
+     * Tests the {@link InterventionController#getInterventions} method with filters, sorting fields and the total count requested.
+     *
+     * @throws Exception
+     *     if the interventions cannot be retrieved
+     */
+    @Test
+    @DisplayName("Get interventions (with filters)")
+    void testGetInterventionsWithFilters() throws Exception {
+        // Prepares the intermediary results
+        final ResponseEntity<Collection<Intervention>> response = mock(ResponseEntity.class);
+        final ArgumentCaptor<Callable<Slice<Intervention>>> sliceCaptor = ArgumentCaptor.forClass(Callable.class);
+        final ArgumentCaptor<Callable<Long>> counterCaptor = ArgumentCaptor.forClass(Callable.class);
+        final Pageable pageable = PageRequest.of(0, 10, Sort.by("year", "number", "id"));
+
+        // Mocks the calls
+        when(this.helper.resolveGetSliceResponse(eq(this.request), any(Callable.class), sliceCaptor.capture(), any(Function.class), counterCaptor.capture()))
+            .thenReturn(response);
+        when(this.helper.resolvePageRequest(10, Sort.by("year", "number", "id"))).thenReturn(pageable);
+
+        // Calls the method
+        final var result = this.interventionController.getInterventions(this.request, List.of("Diagnostic"), 2026, null, 1, 1000, null, true, 10, null,
+            true, "year", "number");
+        sliceCaptor.getValue().call();
+        counterCaptor.getValue().call();
+
+        // Checks the mocks calls
+        verify(this.repository).findSlice(any(Specification.class), eq(pageable));
+        verify(this.repository).count(any(Specification.class));
+
+        // Checks the result
+        assertSame(response, result, "Result different from expected");
+    }
+
+    /**
+     * Tests the {@link InterventionController#getInterventionById} method.
+     */
+    @Test
+    @DisplayName("Get intervention by ID")
+    void testGetInterventionById() {
+        // Prepares the intermediary results
+        final ResponseEntity<Intervention> response = mock(ResponseEntity.class);
+
+        // Mocks the calls
+        when(this.helper.resolveGetResponse(eq(this.request), any(Callable.class), any(Callable.class), any(Function.class))).thenReturn(response);
+
+        // Calls the method
+        final var result = this.interventionController.getInterventionById(this.request, 0);
+
+        // Checks the mocks calls
+        verify(this.helper).resolveGetResponse(eq(this.request), any(Callable.class), any(Callable.class), any(Function.class));
+
+        // Checks the result
+        assertSame(response, result, "Result different from expected");
+    }
+
+    /**
+     * Tests the {@link InterventionController#getInterventionByNumber} method.
+     *
+     * @throws Exception
+     *     if the intervention cannot be retrieved
+     */
+    @Test
+    @DisplayName("Get intervention by number")
+    void testGetInterventionByNumber() throws Exception {
+        // Prepares the intermediary results
+        final ResponseEntity<Intervention> response = mock(ResponseEntity.class);
+        final ArgumentCaptor<Callable<Optional<Intervention>>> captor = ArgumentCaptor.forClass(Callable.class);
+
+        // Mocks the calls
+        when(this.helper.resolveGetResponse(eq(this.request), any(Callable.class), captor.capture(), any(Function.class))).thenReturn(response);
+
+        // Calls the method
+        final var result = this.interventionController.getInterventionByNumber(this.request, 2026, 12);
+        captor.getValue().call();
+
+        // Checks the mocks calls
+        verify(this.repository).findByYearAndNumber(2026, 12);
+
+        // Checks the result
+        assertSame(response, result, "Result different from expected");
+    }
+
+}
@@ -0,0 +1,74 @@
+package fr.foacs.hostocars.controller;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import fr.foacs.hostocars.repository.InterventionRepository;
+import fr.foacs.hostocars.repository.InterventionStats;
+import fr.foacs.hostocars.repository.TableVersionRepository;
+import java.util.Collection;
+import java.util.concurrent.Callable;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+/**
+ * Test class for the {@link StatsController} class.
+ */
+@DisplayName("Stats controller")
+@ExtendWith(MockitoExtension.class)
+class StatsControllerTest {
+
+    @Mock
+    private ControllerHelper helper;
+
+    @Mock
+    private InterventionRepository repository;
+
+    @Mock
+    private TableVersionRepository tableVersionRepository;
+
+    @Mock
+    private WebRequest request;
+
+    @InjectMocks
+    private StatsController statsController;
+
+    /**
+     * Tests the {@link StatsController#getStats} method.
+     *
+     * @throws Exception
+     *     if the stats cannot be retrieved
+     */
+    @Test
+    @DisplayName("Get stats")
+    void testGetStats() throws Exception {
+        // Prepares the intermediary results
+        final ResponseEntity<Collection<InterventionStats>> response = mock(ResponseEntity.class);
+        final ArgumentCaptor<Callable<Collection<InterventionStats>>> captor = ArgumentCaptor.forClass(Callable.class);
+
+        // Mocks the calls
+        when(this.helper.resolveGetCollectionResponse(eq(this.request), any(Callable.class), captor.capture())).thenReturn(response);
+
+        // Calls the method
+        final var result = this.statsController.getStats(this.request, 2026);
+        captor.getValue().call();
+
+        // Checks the mocks calls
+        verify(this.repository).findStats(2026);
+
+        // Checks the result
+        assertSame(response, result, "Result different from expected");
+    }
+
+}
@@ -0,0 +1,27 @@
+package fr.foacs.hostocars.entity;
+
+import org.junit.jupiter.api.DisplayName;
+
+/**
+ * Test class for the {@link Attachment} class.
+ */
+@DisplayName("Attachment entity")
+class AttachmentTest extends AbstractEntityTest<Attachment> {
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    Class<Attachment> getTestClass() {
+        return Attachment.class;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    Attachment constructTestObject() {
+        return new Attachment();
+    }
+
+}
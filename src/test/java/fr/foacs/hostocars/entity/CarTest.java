@@ -1,6 +1,11 @@
 package fr.foacs.hostocars.entity;
 
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
 import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
 
 /**
  * Test class for the {@link Car} class.
@@ -24,4 +29,91 @@ class CarTest extends AbstractEntityTest<Car> {
         return new Car();
     }
 
+    /**
+     * Tests the {@link Car#completeVersions} method.
+     */
+    @Test
+    @DisplayName("Complete versions")
+    void testCompleteVersions() {
+        // Prepares the inputs
+        final var car = this.createCar(1, null);
+        final var intervention = this.createIntervention(car, 10, null);
+        final var newIntervention = this.createIntervention(car, null, null);
+        final var versionedIntervention = this.createIntervention(car, 12, 1);
+        final var operation = this.createOperation(intervention, 20, null);
+
+        // Prepares the intermediary results
+        final var existingCar = this.createCar(1, 5);
+        final var existingIntervention = this.createIntervention(existingCar, 10, 3);
+        this.createIntervention(existingCar, 12, 4);
+        this.createOperation(existingIntervention, 20, 7);
+
+        // Calls the method
+        car.completeVersions(existingCar);
+
+        // Checks the result
+        assertAll("Result different from expected", () -> assertEquals(5, car.getVersion()), () -> assertEquals(3, intervention.getVersion()),
+            () -> assertNull(newIntervention.getVersion()), () -> assertEquals(1, versionedIntervention.getVersion()),
+            () -> assertEquals(7, operation.getVersion()));
+    }
+
+    /**
+     * Creates a {@link Car} with the given ID and version.
+     *
+     * @param id
+     *     The ID of the car
+     * @param version
+     *     The version of the car
+     *
+     * @return the car
+     */
+    private Car createCar(final Integer id, final Integer version) {
+        final var car = new Car();
+        car.setId(id);
+        car.setVersion(version);
+        return car;
+    }
+
+    /**
+     * Creates an {@link Intervention} of the given car with the given ID and version.
+     *
+     * @param car
+     *     The car of the intervention
+     * @param id
+     *     The ID of the intervention
+     * @param version
+     *     The version of the intervention
+     *
+     * @return the intervention
+     */
+    private Intervention createIntervention(final Car car, final Integer id, final Integer version) {
+        final var intervention = new Intervention();
+        intervention.setId(id);
+        intervention.setVersion(version);
+        intervention.setCar(car);
+        car.getInterventions().add(intervention);
+        return intervention;
+    }
+
+    /**
+     * Creates an {@link Operation} of the given intervention with the given ID and version.
+     *
+     * @param intervention
+     *     The intervention of the operation
+     * @param id
+     *     The ID of the operation
+     * @param version
+     *     The version of the operation
+     *
+     * @return the operation
+     */
+    private Operation createOperation(final Intervention intervention, final Integer id, final Integer version) {
+        final var operation = new Operation();
+        operation.setId(id);
+        operation.setVersion(version);
+        operation.setIntervention(intervention);
+        intervention.getOperations().add(operation);
+        return operation;
+    }
+
 }
@@ -0,0 +1,337 @@
+package fr.foacs.hostocars.entity;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import javax.transaction.Status;
+import javax.transaction.Synchronization;
+import org.hibernate.HibernateException;
+import org.hibernate.event.spi.EventSource;
+import org.hibernate.event.spi.PreInsertEvent;
+import org.hibernate.event.spi.PreUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+
+/**
+ * Test class for the {@link InterventionNumberGenerator} class, on a SQLite database.
+ */
+@DisplayName("Intervention number generator")
+class InterventionNumberGeneratorTest {
+
+    private static final int BLOCK_SIZE = 3;
+
+    private static final int YEAR = 2026;
+
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2026-03-01T10:00:00Z"), ZoneOffset.UTC);
+
+    @TempDir
+    Path directory;
+
+    private Connection connection;
+
+    private EventSource session;
+
+    private InterventionNumberGenerator generator;
+
+    /**
+     * Initialization method called before all tests.
+     *
+     * @throws SQLException
+     *     if the database cannot be created
+     */
+    @BeforeEach
+    void initialize() throws SQLException {
+        this.connection = DriverManager.getConnection("jdbc:sqlite:" + this.directory.resolve("test.db"));
+        try (final var statement = this.connection.createStatement()) {
+            statement.executeUpdate("CREATE TABLE interventionsSequences (year INTEGER PRIMARY KEY, number INTEGER)");
+            statement.executeUpdate("CREATE TABLE interventions (id INTEGER PRIMARY KEY, year INTEGER, number INTEGER)");
+        }
+
+        this.session = mock(EventSource.class, RETURNS_DEEP_STUBS);
+        when(this.session.getJdbcCoordinator().getLogicalConnection().getPhysicalConnection()).thenReturn(this.connection);
+
+        this.generator = new InterventionNumberGenerator(BLOCK_SIZE, CLOCK);
+    }
+
+    /**
+     * Cleaning method called after all tests.
+     *
+     * @throws SQLException
+     *     if the database cannot be closed
+     */
+    @AfterEach
+    void clean() throws SQLException {
+        this.connection.close();
+    }
+
+    /**
+     * Tests the {@link InterventionNumberGenerator#generate} method over several blocks.
+     *
+     * @throws SQLException
+     *     if the sequence cannot be read
+     */
+    @Test
+    @DisplayName("Generate")
+    void testGenerate() throws SQLException {
+        // Calls the method
+        final var result = this.generate(YEAR, 4);
+
+        // Checks the result
+        assertEquals(List.of(1, 2, 3, 4), result, "Result different from expected");
+        assertEquals(6, this.readSequence(YEAR), "Sequence different from expected");
+    }
+
+    /**
+     * Tests the {@link InterventionNumberGenerator#generate} method for a year whose interventions were numbered before its sequence was maintained.
+     *
+     * @throws SQLException
+     *     if the interventions cannot be inserted
+     */
+    @Test
+    @DisplayName("Generate (numbered interventions)")
+    void testGenerateWithNumberedInterventions() throws SQLException {
+        // Prepares the inputs
+        try (final var statement = this.connection.createStatement()) {
+            statement.executeUpdate("INSERT INTO interventions (year, number) VALUES (2026, 7), (2025, 12)");
+        }
+
+        // Calls the method
+        assertEquals(List.of(8, 9), this.generate(YEAR, 2), "Result different from expected");
+    }
+
+    /**
+     * Tests the {@link InterventionNumberGenerator#generate} method once the year changes, then after a restart.
+     */
+    @Test
+    @DisplayName("Generate (new year and restart)")
+    void testGenerateForNewYear() {
+        // Prepares the inputs
+        this.generate(YEAR, 2);
+
+        // Calls the method
+        final var nextYearResult = this.generate(YEAR + 1, 2);
+        final var restartResult = new InterventionNumberGenerator(BLOCK_SIZE, CLOCK).generate(this.session, YEAR);
+
+        // Checks the result
+        assertAll("Result different from expected", () -> assertEquals(List.of(1, 2), nextYearResult), () -> assertEquals(4, restartResult));
+    }
+
+    /**
+     * Tests the {@link InterventionNumberGenerator#generate} method after a rolled back allocation.
+     *
+     * @throws SQLException
+     *     if the transaction cannot be rolled back
+     */
+    @Test
+    @DisplayName("Generate (rolled back allocation)")
+    void testGenerateAfterRollback() throws SQLException {
+        // Prepares the inputs
+        this.connection.setAutoCommit(false);
+        this.generate(YEAR, 3);
+        this.connection.rollback();
+
+        // Calls the method
+        final var result = this.generator.generate(this.session, YEAR);
+
+        // Checks the result
+        assertEquals(4, result, "Result different from expected");
+        assertEquals(6, this.readSequence(YEAR), "Sequence different from expected");
+    }
+
+    /**
+     * Tests the {@link InterventionNumberGenerator#generate} method after an allocation rolled back in the middle of its block, then after a restart. The
+     * block must be dropped with the transaction, so that no number is handed out twice once the sequence is restored.
+     *
+     * @throws SQLException
+     *     if the transaction cannot be rolled back or committed
+     */
+    @Test
+    @DisplayName("Generate (allocation rolled back in the middle of its block, then restart)")
+    void testGenerateAfterRollbackInBlock() throws SQLException {
+        // Prepares the inputs
+        final ArgumentCaptor<Synchronization> captor = ArgumentCaptor.forClass(Synchronization.class);
+        this.connection.setAutoCommit(false);
+        this.generate(YEAR, 1);
+        this.connection.rollback();
+        verify(this.session.accessTransaction()).registerSynchronization(captor.capture());
+        captor.getValue().afterCompletion(Status.STATUS_ROLLEDBACK);
+
+        // Calls the method
+        final var result = this.generate(YEAR, 2);
+        this.connection.commit();
+        final var restartResult = new InterventionNumberGenerator(BLOCK_SIZE, CLOCK).generate(this.session, YEAR);
+
+        // Checks the result
+        assertAll("Result different from expected", () -> assertEquals(List.of(1, 2), result), () -> assertEquals(4, restartResult));
+    }
+
+    /**
+     * Tests the {@link InterventionNumberGenerator#generate} method called concurrently, which must hand out each number once.
+     *
+     * @param testReporter
+     *     The reporter of the measured throughput
+     *
+     * @throws Exception
+     *     if a thread fails
+     */
+    @Test
+    @DisplayName("Generate (concurrent calls)")
+    void testGenerateConcurrently(final TestReporter testReporter) throws Exception {
+        // Prepares the inputs
+        final var threadCount = 8;
+        final var callCount = 10_000;
+        this.generator = new InterventionNumberGenerator(100, CLOCK);
+        this.connection.setAutoCommit(false);
+        final var numbers = ConcurrentHashMap.<Integer>newKeySet();
+        final ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+
+        // Calls the method
+        final var start = System.nanoTime();
+        final List<Future<?>> futures = IntStream.range(0, threadCount)
+            .mapToObj(thread -> executor.submit(() -> this.generate(YEAR, callCount).forEach(numbers::add)))
+            .collect(Collectors.toList());
+        for (final var future : futures) {
+            future.get();
+        }
+        final var duration = System.nanoTime() - start;
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(1, TimeUnit.SECONDS), "Executor not terminated");
+        testReporter.publishEntry("numbersPerSecond", String.valueOf(threadCount * callCount * TimeUnit.SECONDS.toNanos(1) / duration));
+
+        // Checks the result
+        assertAll("Result different from expected", () -> assertEquals(threadCount * callCount, numbers.size()),
+            () -> assertEquals(IntStream.rangeClosed(1, threadCount * callCount).boxed().collect(Collectors.toSet()), numbers));
+    }
+
+    /**
+     * Tests the {@link InterventionNumberGenerator#generate} method in error.
+     *
+     * @throws SQLException
+     *     if the connection cannot be closed
+     */
+    @Test
+    @DisplayName("Generate (error case)")
+    void testGenerateInError() throws SQLException {
+        // Prepares the inputs
+        this.connection.close();
+
+        // Calls the method
+        assertThrows(HibernateException.class, () -> this.generator.generate(this.session, YEAR), "Expected exception not thrown");
+    }
+
+    /**
+     * Tests the {@link InterventionNumberGenerator#onPreInsert} method, which overrides the creation date, the year and the number of the intervention.
+     */
+    @Test
+    @DisplayName("On pre-insert")
+    void testOnPreInsert() {
+        // Prepares the inputs
+        final var intervention = new Intervention();
+        intervention.setYear(2000);
+        intervention.setNumber(42);
+        final var state = new Object[] {2000, 42, null, "DONE"};
+
+        // Calls the method
+        final var result = this.generator.onPreInsert(new PreInsertEvent(intervention, 1, state, this.mockPersister(), this.session));
+
+        // Checks the result
+        assertAll("Result different from expected", () -> assertFalse(result), () -> assertEquals(YEAR, intervention.getYear()),
+            () -> assertEquals(1, intervention.getNumber()), () -> assertEquals("2026-03-01", intervention.getCreationDate()),
+            () -> assertEquals(List.of(YEAR, 1, "2026-03-01", "DONE"), List.of(state)));
+    }
+
+    /**
+     * Tests the {@link InterventionNumberGenerator#onPreUpdate} method, which restores the creation date, the year and the number of the intervention.
+     */
+    @Test
+    @DisplayName("On pre-update")
+    void testOnPreUpdate() {
+        // Prepares the inputs
+        final var intervention = new Intervention();
+        final var state = new Object[] {null, null, null, "DONE"};
+        final var oldState = new Object[] {2025, 12, "2025-11-04", "TODO"};
+
+        // Calls the method
+        final var result = this.generator.onPreUpdate(new PreUpdateEvent(intervention, 1, state, oldState, this.mockPersister(), this.session));
+
+        // Checks the result
+        assertAll("Result different from expected", () -> assertFalse(result), () -> assertEquals(2025, intervention.getYear()),
+            () -> assertEquals(12, intervention.getNumber()), () -> assertEquals("2025-11-04", intervention.getCreationDate()),
+            () -> assertEquals(List.of(2025, 12, "2025-11-04", "DONE"), List.of(state)));
+    }
+
+    /**
+     * Generates numbers of the given year.
+     *
+     * @param year
+     *     The year of the numbers
+     * @param count
+     *     The number of numbers to generate
+     *
+     * @return the generated numbers
+     */
+    private List<Integer> generate(final int year, final int count) {
+        return IntStream.range(0, count).mapToObj(index -> this.generator.generate(this.session, year)).collect(Collectors.toList());
+    }
+
+    /**
+     * Mocks the persister of the interventions, whose year, number and creation date are their first properties.
+     *
+     * @return the persister
+     */
+    private EntityPersister mockPersister() {
+        final var persister = mock(EntityPersister.class, RETURNS_DEEP_STUBS);
+        when(persister.getEntityMetamodel().getPropertyIndex("year")).thenReturn(0);
+        when(persister.getEntityMetamodel().getPropertyIndex("number")).thenReturn(1);
+        when(persister.getEntityMetamodel().getPropertyIndex("creationDate")).thenReturn(2);
+        return persister;
+    }
+
+    /**
+     * Reads the sequence of the given year.
+     *
+     * @param year
+     *     The year of the sequence
+     *
+     * @return the last reserved number
+     *
+     * @throws SQLException
+     *     if the sequence cannot be read
+     */
+    private int readSequence(final int year) throws SQLException {
+        try (final var statement = this.connection.createStatement();
+            final var resultSet = statement.executeQuery("SELECT number FROM interventionsSequences WHERE year = " + year)) {
+            resultSet.next();
+            return resultSet.getInt(1);
+        }
+    }
+
+}
@@ -0,0 +1,192 @@
+package fr.foacs.hostocars.entity;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import fr.foacs.hostocars.repository.CarRepository;
+import fr.foacs.hostocars.repository.SqliteDataJpaTest;
+import java.time.Year;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Test class for the numbering of the {@link Intervention}s by the {@link InterventionNumberGenerator}, inserted through Hibernate on a SQLite database
+ * migrated by Liquibase and configured with the application properties.
+ * <br/>
+ * <br/>
+ * The tests aren't run in a transaction, so that the cars are inserted by concurrent transactions, queued on a single connection like the writes of the
+ * application.
+ */
+@SqliteDataJpaTest
+@DisplayName("Intervention numbering")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = {"spring.datasource.url=jdbc:sqlite:file:./target/numbering-test.db", "spring.datasource.hikari.maximum-pool-size=1"})
+class InterventionNumberingTest {
+
+    private static final int THREAD_COUNT = 8;
+    private static final int CARS_PER_THREAD = 25;
+    private static final int INTERVENTIONS_PER_CAR = 4;
+
+    @Autowired
+    private CarRepository repository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    /**
+     * Cleaning method called after all tests.
+     */
+    @AfterEach
+    void clean() {
+        this.jdbcTemplate.update("DELETE FROM interventions");
+        this.jdbcTemplate.update("DELETE FROM cars");
+    }
+
+    /**
+     * Tests the numbers of the interventions inserted by concurrent transactions, which must be unique and consecutive.
+     *
+     * @param testReporter
+     *     The reporter of the measured throughput
+     *
+     * @throws Exception
+     *     if a thread fails
+     */
+    @Test
+    @DisplayName("Concurrent inserts")
+    void testConcurrentInserts(final TestReporter testReporter) throws Exception {
+        // Prepares the inputs
+        final var transactionTemplate = new TransactionTemplate(this.transactionManager);
+        final ExecutorService executor = Executors.newFixedThreadPool(THREAD_COUNT);
+
+        // Calls the method
+        final var start = System.nanoTime();
+        final List<Future<?>> futures = IntStream.range(0, THREAD_COUNT)
+            .mapToObj(thread -> executor.submit(() -> IntStream.range(0, CARS_PER_THREAD)
+                .forEach(index -> transactionTemplate.executeWithoutResult(status -> this.repository.save(this.createCar(thread + "-" + index, INTERVENTIONS_PER_CAR))))))
+            .collect(Collectors.toList());
+        for (final var future : futures) {
+            future.get();
+        }
+        final var duration = System.nanoTime() - start;
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(1, TimeUnit.SECONDS), "Executor not terminated");
+
+        final var count = THREAD_COUNT * CARS_PER_THREAD * INTERVENTIONS_PER_CAR;
+        testReporter.publishEntry("interventionsPerSecond", String.valueOf(count * TimeUnit.SECONDS.toNanos(1) / duration));
+
+        // Checks the result
+        // The numbers are consecutive as no transaction is rolled back
+        final var year = Year.now().getValue();
+        assertEquals(List.of(count, count, count, year, year), this.jdbcTemplate.queryForObject("SELECT COUNT(*), COUNT(DISTINCT number), "
+                + "MAX(number) - MIN(number) + 1, MIN(year), MAX(year) FROM interventions",
+            (resultSet, row) -> List.of(resultSet.getInt(1), resultSet.getInt(2), resultSet.getInt(3), resultSet.getInt(4), resultSet.getInt(5))),
+            "Result different from expected");
+    }
+
+    /**
+     * Tests the numbers of the interventions inserted after a transaction rolled back in the middle of the block it reserved. The numbers of the dropped block
+     * must be reserved again, so that the sequence covers them and they aren't handed out again after a restart.
+     */
+    @Test
+    @DisplayName("Insert after a rollback")
+    void testInsertAfterRollback() {
+        // Prepares the inputs
+        final var transactionTemplate = new TransactionTemplate(this.transactionManager);
+        final var sequence = this.readSequence();
+        // Inserts interventions one by one until a block is reserved, so that only its first number is handed out before the rollback
+        transactionTemplate.executeWithoutResult(status -> {
+            var index = 0;
+            do {
+                this.repository.saveAndFlush(this.createCar("rolled-back-" + index++, 1));
+            } while (this.readSequence() == sequence);
+            status.setRollbackOnly();
+        });
+
+        // Calls the method
+        transactionTemplate.executeWithoutResult(status -> this.repository.save(this.createCar("committed", INTERVENTIONS_PER_CAR)));
+
+        // Checks the result
+        assertEquals(List.of(sequence + 1, sequence + INTERVENTIONS_PER_CAR, true),
+            List.of(this.jdbcTemplate.queryForObject("SELECT MIN(number) FROM interventions", Integer.class),
+                this.jdbcTemplate.queryForObject("SELECT MAX(number) FROM interventions", Integer.class),
+                this.readSequence() >= sequence + INTERVENTIONS_PER_CAR), "Result different from expected");
+    }
+
+    /**
+     * Tests the update of an intervention whose year and number aren't given, which must keep them.
+     */
+    @Test
+    @DisplayName("Update")
+    void testUpdate() {
+        // Prepares the inputs
+        final var car = this.repository.save(this.createCar("update", INTERVENTIONS_PER_CAR));
+        final var intervention = car.getInterventions().iterator().next();
+        final var number = intervention.getNumber();
+        intervention.setYear(null);
+        intervention.setNumber(null);
+        intervention.setDescription("Updated");
+
+        // Calls the method
+        final var result = this.repository.save(car).getInterventions().stream().filter(item -> item.getId().equals(intervention.getId())).findAny()
+            .orElseThrow();
+
+        // Checks the result
+        assertAll("Result different from expected", () -> assertEquals(number, result.getNumber()),
+            () -> assertEquals(number, this.jdbcTemplate.queryForObject("SELECT number FROM interventions WHERE id = ?", Integer.class, result.getId())),
+            () -> assertEquals("Updated", this.jdbcTemplate.queryForObject("SELECT description FROM interventions WHERE id = ?", String.class,
+                result.getId())));
+    }
+
+    /**
+     * Reads the last number reserved by the sequences.
+     *
+     * @return the last reserved number, or {@code 0}
+     */
+    private int readSequence() {
+        return this.jdbcTemplate.queryForObject("SELECT IFNULL(MAX(number), 0) FROM interventionsSequences", Integer.class);
+    }
+
+    /**
+     * Creates a {@link Car} with the given number of interventions.
+     *
+     * @param registration
+     *     The registration of the car
+     * @param interventionCount
+     *     The number of interventions of the car
+     *
+     * @return the car
+     */
+    private Car createCar(final String registration, final int interventionCount) {
+        final var car = new Car();
+        car.setRegistration(registration);
+        car.setOwner("Owner");
+        IntStream.range(0, interventionCount).forEach(index -> {
+            final var intervention = new Intervention();
+            intervention.setStatus("TODO");
+            intervention.setCar(car);
+            car.getInterventions().add(intervention);
+        });
+        return car;
+    }
+
+}
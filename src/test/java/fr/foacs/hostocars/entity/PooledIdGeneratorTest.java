@@ -0,0 +1,190 @@
+package fr.foacs.hostocars.entity;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.hibernate.HibernateException;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.PersistentIdentifierGenerator;
+import org.hibernate.service.ServiceRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Test class for the {@link PooledIdGenerator} class, on a SQLite database.
+ */
+@DisplayName("Pooled ID generator")
+class PooledIdGeneratorTest {
+
+    @TempDir
+    Path directory;
+
+    private Connection connection;
+
+    private SharedSessionContractImplementor session;
+
+    private PooledIdGenerator generator;
+
+    /**
+     * Initialization method called before all tests.
+     *
+     * @throws SQLException
+     *     if the database cannot be created
+     */
+    @BeforeEach
+    void initialize() throws SQLException {
+        this.connection = DriverManager.getConnection("jdbc:sqlite:" + this.directory.resolve("test.db"));
+        try (final var statement = this.connection.createStatement()) {
+            statement.executeUpdate("CREATE TABLE cars (id INTEGER PRIMARY KEY AUTOINCREMENT, owner TEXT)");
+        }
+
+        this.session = mock(SharedSessionContractImplementor.class, RETURNS_DEEP_STUBS);
+        when(this.session.getJdbcCoordinator().getLogicalConnection().getPhysicalConnection()).thenReturn(this.connection);
+
+        final var serviceRegistry = mock(ServiceRegistry.class);
+        final var configurationService = mock(ConfigurationService.class);
+        when(serviceRegistry.getService(ConfigurationService.class)).thenReturn(configurationService);
+        when(configurationService.getSettings()).thenReturn(Map.of(AvailableSettings.STATEMENT_BATCH_SIZE, "3"));
+        final var params = new Properties();
+        params.setProperty(PersistentIdentifierGenerator.TABLE, "cars");
+
+        this.generator = new PooledIdGenerator();
+        this.generator.configure(null, params, serviceRegistry);
+    }
+
+    /**
+     * Cleaning method called after all tests.
+     *
+     * @throws SQLException
+     *     if the database cannot be closed
+     */
+    @AfterEach
+    void clean() throws SQLException {
+        this.connection.close();
+    }
+
+    /**
+     * Tests the {@link PooledIdGenerator#generate} method over several blocks.
+     *
+     * @throws SQLException
+     *     if the sequence cannot be read
+     */
+    @Test
+    @DisplayName("Generate")
+    void testGenerate() throws SQLException {
+        // Calls the method
+        final var result = IntStream.range(0, 4).mapToObj(index -> this.generator.generate(this.session, new Car())).collect(Collectors.toList());
+
+        // Checks the result
+        assertEquals(List.of(1, 2, 3, 4), result, "Result different from expected");
+        assertEquals(6, this.readSequence(), "Sequence different from expected");
+    }
+
+    /**
+     * Tests the {@link PooledIdGenerator#generate} method followed by an insert without the generator.
+     *
+     * @throws SQLException
+     *     if the row cannot be inserted
+     */
+    @Test
+    @DisplayName("Generate (insert without the generator)")
+    void testGenerateWithExternalInsert() throws SQLException {
+        // Calls the method
+        final var result = this.generator.generate(this.session, new Car());
+
+        // Checks the result
+        assertEquals(1, result, "Result different from expected");
+        assertEquals(4, this.insertRow(), "External ID different from expected");
+        assertEquals(2, this.generator.generate(this.session, new Car()), "Next result different from expected");
+    }
+
+    /**
+     * Tests the {@link PooledIdGenerator#generate} method after a rolled back allocation.
+     *
+     * @throws SQLException
+     *     if the transaction cannot be rolled back
+     */
+    @Test
+    @DisplayName("Generate (rolled back allocation)")
+    void testGenerateAfterRollback() throws SQLException {
+        // Prepares the inputs
+        this.connection.setAutoCommit(false);
+        IntStream.range(0, 3).forEach(index -> this.generator.generate(this.session, new Car()));
+        this.connection.rollback();
+
+        // Calls the method
+        final var result = this.generator.generate(this.session, new Car());
+
+        // Checks the result
+        assertEquals(4, result, "Result different from expected");
+        assertEquals(6, this.readSequence(), "Sequence different from expected");
+    }
+
+    /**
+     * Tests the {@link PooledIdGenerator#generate} method in error.
+     *
+     * @throws SQLException
+     *     if the connection cannot be closed
+     */
+    @Test
+    @DisplayName("Generate (error case)")
+    void testGenerateInError() throws SQLException {
+        // Prepares the inputs
+        this.connection.close();
+
+        // Calls the method
+        assertThrows(HibernateException.class, () -> this.generator.generate(this.session, new Car()), "Expected exception not thrown");
+    }
+
+    /**
+     * Reads the sequence of the {@code cars} table.
+     *
+     * @return the last reserved ID
+     *
+     * @throws SQLException
+     *     if the sequence cannot be read
+     */
+    private int readSequence() throws SQLException {
+        try (final var statement = this.connection.createStatement();
+            final var resultSet = statement.executeQuery("SELECT seq FROM sqlite_sequence WHERE name = 'cars'")) {
+            resultSet.next();
+            return resultSet.getInt(1);
+        }
+    }
+
+    /**
+     * Inserts a row in the {@code cars} table without the generator.
+     *
+     * @return the ID of the row
+     *
+     * @throws SQLException
+     *     if the row cannot be inserted
+     */
+    private int insertRow() throws SQLException {
+        try (final var statement = this.connection.createStatement()) {
+            statement.executeUpdate("INSERT INTO cars (owner) VALUES ('Owner')");
+            try (final var resultSet = statement.executeQuery("SELECT last_insert_rowid()")) {
+                resultSet.next();
+                return resultSet.getInt(1);
+            }
+        }
+    }
+
+}
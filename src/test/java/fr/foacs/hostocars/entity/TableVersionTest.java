@@ -0,0 +1,27 @@
+package fr.foacs.hostocars.entity;
+
+import org.junit.jupiter.api.DisplayName;
+
+/**
+ * Test class for the {@link TableVersion} class.
+ */
+@DisplayName("Table version entity")
+class TableVersionTest extends AbstractEntityTest<TableVersion> {
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    Class<TableVersion> getTestClass() {
+        return TableVersion.class;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    TableVersion constructTestObject() {
+        return new TableVersion();
+    }
+
+}
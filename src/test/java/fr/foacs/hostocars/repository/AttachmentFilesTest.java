@@ -0,0 +1,176 @@
+package fr.foacs.hostocars.repository;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.MediaType;
+
+/**
+ * Test class for the {@link AttachmentFiles} class.
+ */
+@DisplayName("Attachment files")
+class AttachmentFilesTest {
+
+    private static final byte[] DATA = "content".getBytes(StandardCharsets.US_ASCII);
+
+    // SHA-256 hash of the test data
+    private static final String HASH = "ed7002b439e9ac845f22357d822bac1444730fbdb6016d3ec9432297b9ec9f73";
+
+    @TempDir
+    Path directory;
+
+    private AttachmentFiles files;
+
+    /**
+     * Initialization method called before all tests.
+     */
+    @BeforeEach
+    void initialize() {
+        this.files = new AttachmentFiles(this.directory);
+    }
+
+    /**
+     * Tests the {@link AttachmentFiles#write} method.
+     *
+     * @throws IOException
+     *     if the test file cannot be written or read
+     */
+    @Test
+    @DisplayName("Write")
+    void testWrite() throws IOException {
+        // Calls the method
+        final var result = this.files.write(new ByteArrayInputStream(DATA));
+
+        // Checks the result
+        assertAll("Result different from expected", () -> assertEquals(HASH, result.getHash()), () -> assertEquals(DATA.length, result.getSize()),
+            () -> assertEquals(MediaType.APPLICATION_OCTET_STREAM_VALUE, result.getContentType()));
+        assertArrayEquals(DATA, Files.readAllBytes(this.directory.resolve("ed").resolve(HASH)), "File content different from expected");
+    }
+
+    /**
+     * Tests the {@link AttachmentFiles#write} method with a writer writing the content byte by byte and by chunks.
+     *
+     * @throws IOException
+     *     if the test file cannot be written or read
+     */
+    @Test
+    @DisplayName("Write (content writer)")
+    void testWriteWithContentWriter() throws IOException {
+        // Prepares the inputs
+        final var signature = new byte[] {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+
+        // Calls the method
+        final var result = this.files.write(output -> {
+            output.write(signature[0]);
+            output.write(signature, 1, signature.length - 1);
+            output.write(DATA);
+        });
+
+        // Checks the result
+        final var content = Files.readAllBytes(this.files.resolve(result.getHash()));
+        assertAll("Result different from expected", () -> assertEquals(signature.length + DATA.length, result.getSize()),
+            () -> assertEquals(MediaType.IMAGE_PNG_VALUE, result.getContentType()), () -> assertEquals(signature.length + DATA.length, content.length),
+            () -> assertArrayEquals(signature, Arrays.copyOf(content, signature.length)));
+    }
+
+    /**
+     * Tests the {@link AttachmentFiles#write} method with an already stored content.
+     *
+     * @throws IOException
+     *     if the test file cannot be written or read
+     */
+    @Test
+    @DisplayName("Write (already stored content)")
+    void testWriteWithAlreadyStoredContent() throws IOException {
+        // Prepares the inputs
+        this.files.write(new ByteArrayInputStream(DATA));
+        final var path = this.files.resolve(HASH);
+        final var oldTime = FileTime.from(Instant.now().minus(Duration.ofDays(1)));
+        Files.setLastModifiedTime(path, oldTime);
+
+        // Calls the method
+        final var result = this.files.write(new ByteArrayInputStream(DATA));
+
+        // Checks the result
+        assertEquals(HASH, result.getHash(), "Result different from expected");
+        assertTrue(Files.getLastModifiedTime(path).compareTo(oldTime) > 0, "File modification time not refreshed");
+        try (final var paths = Files.walk(this.directory)) {
+            assertEquals(1, paths.filter(Files::isRegularFile).count(), "Files count different from expected");
+        }
+    }
+
+    /**
+     * Tests the {@link AttachmentFiles#findHashesModifiedBefore} and {@link AttachmentFiles#isModifiedBefore} methods.
+     *
+     * @throws IOException
+     *     if the test file cannot be written
+     */
+    @Test
+    @DisplayName("Find hashes modified before")
+    void testFindHashesModifiedBefore() throws IOException {
+        // Prepares the inputs
+        this.files.write(new ByteArrayInputStream(DATA));
+
+        // Calls the methods and checks the results
+        assertEquals(List.of(), this.files.findHashesModifiedBefore(Instant.now().minus(Duration.ofHours(1))), "Result different from expected");
+        assertEquals(List.of(HASH), this.files.findHashesModifiedBefore(Instant.now().plus(Duration.ofHours(1))), "Result different from expected");
+        assertFalse(this.files.isModifiedBefore(HASH, Instant.now().minus(Duration.ofHours(1))), "Result different from expected");
+        assertTrue(this.files.isModifiedBefore("0000", Instant.now()), "Result different from expected");
+    }
+
+    /**
+     * Tests the {@link AttachmentFiles#deleteTemporaryFilesModifiedBefore} method.
+     *
+     * @throws IOException
+     *     if the test files cannot be written
+     */
+    @Test
+    @DisplayName("Delete temporary files modified before")
+    void testDeleteTemporaryFilesModifiedBefore() throws IOException {
+        // Prepares the inputs
+        this.files.write(new ByteArrayInputStream(DATA));
+        final var temporaryFile = Files.write(this.directory.resolve("interrupted.tmp"), DATA);
+
+        // Calls the method
+        final var result = this.files.deleteTemporaryFilesModifiedBefore(Instant.now().plus(Duration.ofHours(1)));
+
+        // Checks the result
+        assertEquals(1, result, "Result different from expected");
+        assertFalse(Files.exists(temporaryFile), "Temporary file not deleted");
+        assertTrue(Files.exists(this.files.resolve(HASH)), "Stored file unexpectedly deleted");
+    }
+
+    /**
+     * Tests the {@link AttachmentFiles#detectContentType} method.
+     */
+    @Test
+    @DisplayName("Detect content type")
+    void testDetectContentType() {
+        // Calls the method and checks the results
+        assertAll("Result different from expected",
+            () -> assertEquals(MediaType.IMAGE_PNG_VALUE, AttachmentFiles.detectContentType(new byte[] {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'})),
+            () -> assertEquals(MediaType.IMAGE_JPEG_VALUE, AttachmentFiles.detectContentType(new byte[] {(byte) 0xFF, (byte) 0xD8, (byte) 0xFF, 0})),
+            () -> assertEquals(MediaType.IMAGE_GIF_VALUE, AttachmentFiles.detectContentType("GIF89a".getBytes(StandardCharsets.US_ASCII))),
+            () -> assertEquals("image/webp", AttachmentFiles.detectContentType("RIFF0000WEBP".getBytes(StandardCharsets.US_ASCII))),
+            () -> assertEquals(MediaType.APPLICATION_PDF_VALUE, AttachmentFiles.detectContentType("%PDF-1.4".getBytes(StandardCharsets.US_ASCII))),
+            () -> assertEquals(MediaType.APPLICATION_OCTET_STREAM_VALUE, AttachmentFiles.detectContentType(new byte[] {1})));
+    }
+
+}
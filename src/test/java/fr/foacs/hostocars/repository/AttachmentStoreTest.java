@@ -0,0 +1,233 @@
+package fr.foacs.hostocars.repository;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import fr.foacs.hostocars.entity.Attachment;
+import fr.foacs.hostocars.entity.Car;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.MediaType;
+
+/**
+ * Test class for the {@link AttachmentStore} class.
+ */
+@DisplayName("Attachment store")
+class AttachmentStoreTest {
+
+    private static final byte[] DATA = "content".getBytes(StandardCharsets.US_ASCII);
+
+    // SHA-256 hash of the test data
+    private static final String HASH = "ed7002b439e9ac845f22357d822bac1444730fbdb6016d3ec9432297b9ec9f73";
+
+    @TempDir
+    Path directory;
+
+    private AttachmentRepository repository;
+
+    private WriteExecutor writeExecutor;
+
+    private AttachmentStore store;
+
+    /**
+     * Initialization method called before all tests.
+     */
+    @BeforeEach
+    void initialize() {
+        this.repository = mock(AttachmentRepository.class);
+        this.writeExecutor = mock(WriteExecutor.class);
+        this.store = new AttachmentStore(this.repository, this.writeExecutor, this.directory, Duration.ofHours(1));
+    }
+
+    /**
+     * Tests the {@link AttachmentStore#write} method.
+     *
+     * @throws IOException
+     *     if the content cannot be written
+     */
+    @Test
+    @DisplayName("Write")
+    void testWrite() throws IOException {
+        // Calls the method
+        final var result = this.store.write(new ByteArrayInputStream(DATA), MediaType.TEXT_PLAIN_VALUE);
+
+        // Checks the mocks calls
+        verify(this.repository, never()).findByHash(any());
+
+        // Checks the result
+        assertAll("Result different from expected", () -> assertNull(result.getId()), () -> assertEquals(HASH, result.getHash()),
+            () -> assertEquals(DATA.length, result.getSize()), () -> assertEquals(MediaType.TEXT_PLAIN_VALUE, result.getContentType()));
+        assertTrue(Files.exists(this.store.resolve(HASH)), "Stored file not found");
+    }
+
+    /**
+     * Tests the {@link AttachmentStore#persist} method with a new content.
+     */
+    @Test
+    @DisplayName("Persist (new content)")
+    void testPersistWithNewContent() {
+        // Prepares the inputs
+        final var attachment = new Attachment();
+        attachment.setHash(HASH);
+        attachment.setSize(DATA.length);
+        attachment.setContentType(MediaType.TEXT_PLAIN_VALUE);
+
+        // Mocks the calls
+        when(this.repository.findByHash(HASH)).thenReturn(Optional.empty());
+        when(this.repository.save(any(Attachment.class))).then(invocation -> invocation.getArgument(0));
+
+        // Calls the method
+        final var result = this.store.persist(attachment);
+
+        // Checks the mocks calls
+        verify(this.repository).save(result);
+
+        // Checks the result
+        assertAll("Result different from expected", () -> assertNotSame(attachment, result), () -> assertEquals(HASH, result.getHash()),
+            () -> assertEquals(DATA.length, result.getSize()), () -> assertEquals(MediaType.TEXT_PLAIN_VALUE, result.getContentType()));
+    }
+
+    /**
+     * Tests the {@link AttachmentStore#persist} method with an already persisted content.
+     */
+    @Test
+    @DisplayName("Persist (already persisted content)")
+    void testPersistWithAlreadyPersistedContent() {
+        // Prepares the inputs
+        final var attachment = new Attachment();
+        attachment.setHash(HASH);
+
+        // Prepares the intermediary results
+        final var existingAttachment = new Attachment();
+
+        // Mocks the calls
+        when(this.repository.findByHash(HASH)).thenReturn(Optional.of(existingAttachment));
+
+        // Calls the method
+        final var result = this.store.persist(attachment);
+
+        // Checks the mocks calls
+        verify(this.repository, never()).save(any(Attachment.class));
+
+        // Checks the result
+        assertSame(existingAttachment, result, "Result different from expected");
+    }
+
+    /**
+     * Tests the {@link AttachmentStore#persist} method with a persisted attachment.
+     */
+    @Test
+    @DisplayName("Persist (persisted attachment)")
+    void testPersistWithPersistedAttachment() {
+        // Prepares the inputs
+        final var attachment = new Attachment();
+        attachment.setId(1);
+
+        // Calls the method
+        final var result = this.store.persist(attachment);
+
+        // Checks the mocks calls
+        verify(this.repository, never()).findByHash(any());
+
+        // Checks the result
+        assertSame(attachment, result, "Result different from expected");
+    }
+
+    /**
+     * Tests the {@link AttachmentStore#persistAttachments} method.
+     */
+    @Test
+    @DisplayName("Persist attachments")
+    void testPersistAttachments() {
+        // Prepares the inputs
+        final var car = new Car();
+        final var picture = new Attachment();
+        picture.setHash(HASH);
+        car.setPicture(picture);
+
+        // Prepares the intermediary results
+        final var existingPicture = new Attachment();
+
+        // Mocks the calls
+        when(this.repository.findByHash(HASH)).thenReturn(Optional.of(existingPicture));
+
+        // Calls the method
+        this.store.persistAttachments(car);
+
+        // Checks the result
+        assertAll("Car attachments different from expected", () -> assertSame(existingPicture, car.getPicture()), () -> assertTrue(car.getHasPicture()),
+            () -> assertNull(car.getCertificate()), () -> assertFalse(car.getHasCertificate()));
+    }
+
+    /**
+     * Tests the {@link AttachmentStore#collectGarbage} method.
+     *
+     * @throws IOException
+     *     if the test files cannot be written
+     */
+    @Test
+    @DisplayName("Collect garbage")
+    void testCollectGarbage() throws IOException {
+        // Prepares the inputs
+        final var oldTime = FileTime.from(Instant.now().minus(Duration.ofDays(1)));
+        final var files = new AttachmentFiles(this.directory);
+        final var unreferencedHash = files.write(new ByteArrayInputStream(DATA)).getHash();
+        final var recentHash = files.write(new ByteArrayInputStream(new byte[] {1})).getHash();
+        final var orphanHash = files.write(new ByteArrayInputStream(new byte[] {2})).getHash();
+        final var referencedHash = files.write(new ByteArrayInputStream(new byte[] {3})).getHash();
+        for (final var hash : List.of(unreferencedHash, orphanHash, referencedHash)) {
+            Files.setLastModifiedTime(files.resolve(hash), oldTime);
+        }
+
+        // Prepares the intermediary results
+        final var unreferencedAttachment = new Attachment();
+        unreferencedAttachment.setId(1);
+        unreferencedAttachment.setHash(unreferencedHash);
+        final var recentAttachment = new Attachment();
+        recentAttachment.setId(2);
+        recentAttachment.setHash(recentHash);
+
+        // Mocks the calls
+        when(this.repository.findUnreferenced()).thenReturn(List.of(unreferencedAttachment, recentAttachment));
+        when(this.writeExecutor.execute(any(Supplier.class))).then(invocation -> invocation.<Supplier<?>>getArgument(0).get());
+        when(this.repository.deleteIfUnreferenced(1)).thenReturn(1);
+        when(this.repository.findAllHashes()).thenReturn(List.of(recentHash, referencedHash));
+
+        // Calls the method
+        this.store.collectGarbage();
+
+        // Checks the mocks calls
+        verify(this.writeExecutor).execute(any(Supplier.class));
+        verify(this.repository).deleteIfUnreferenced(1);
+        verify(this.repository, never()).deleteIfUnreferenced(2);
+
+        // Checks the result
+        assertAll("Stored files different from expected", () -> assertFalse(Files.exists(files.resolve(unreferencedHash))),
+            () -> assertTrue(Files.exists(files.resolve(recentHash))), () -> assertFalse(Files.exists(files.resolve(orphanHash))),
+            () -> assertTrue(Files.exists(files.resolve(referencedHash))));
+    }
+
+}
@@ -0,0 +1,214 @@
+package fr.foacs.hostocars.repository;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import fr.foacs.hostocars.configuration.InvalidRequestException;
+import fr.foacs.hostocars.entity.Car;
+import fr.foacs.hostocars.repository.CarImporter.Format;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataIntegrityViolationException;
+
+/**
+ * Test class for the {@link CarImporter} class.
+ */
+@DisplayName("Car importer")
+class CarImporterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().addMixIn(Car.class, CarMixIn.class);
+
+    private CarRepository repository;
+
+    private CarSuggestionIndex suggestionIndex;
+
+    private AttachmentStore attachmentStore;
+
+    private WriteExecutor writeExecutor;
+
+    private CarImporter importer;
+
+    /**
+     * Initialization method called before all tests.
+     */
+    @BeforeEach
+    void initialize() {
+        this.repository = mock(CarRepository.class);
+        this.suggestionIndex = mock(CarSuggestionIndex.class);
+        this.attachmentStore = mock(AttachmentStore.class);
+        this.writeExecutor = mock(WriteExecutor.class);
+        when(this.writeExecutor.execute(any(Supplier.class))).then(invocation -> invocation.<Supplier<?>>getArgument(0).get());
+        this.importer = new CarImporter(this.repository, this.suggestionIndex, this.attachmentStore, this.objectMapper, this.writeExecutor, 2, 1);
+    }
+
+    /**
+     * Tests the {@link CarImporter#importCars} method with a CSV stream.
+     *
+     * @throws IOException
+     *     if the stream cannot be read
+     */
+    @Test
+    @DisplayName("Import cars (CSV)")
+    void testImportCarsFromCsv() throws IOException {
+        // Prepares the inputs
+        final var input = this.toStream("\uFEFFregistration,car.owner,intervention.description,operation.label,operationLine.type,operationLine.done\n"
+            + "AA-111-AA,Owner 1,Revision,Oil,Change,true\n"
+            + "AA-111-AA,,Revision,Oil,Check,false\n"
+            + "AA-111-AA,,Repair,Brakes,Change,false\n"
+            + "BB-222-BB,\"Owner, 2\",,,,\n"
+            + "CC-333-CC,Owner 3,,,,\n");
+
+        // Prepares the intermediary results
+        final var captor = ArgumentCaptor.forClass(Car.class);
+
+        // Calls the method
+        final var result = this.importer.importCars(input, Format.CSV);
+
+        // Checks the mocks calls
+        verify(this.repository, times(3)).save(captor.capture());
+        verify(this.repository, times(2)).flush();
+        verify(this.writeExecutor, times(2)).execute(any(Supplier.class));
+        verify(this.suggestionIndex, times(3)).put(any());
+
+        // Checks the result
+        final var car = captor.getAllValues().get(0);
+        assertAll("Result different from expected", () -> assertEquals(3, result.getImportedCount()), () -> assertEquals(0, result.getRejectedCount()),
+            () -> assertEquals("AA-111-AA", car.getRegistration()), () -> assertEquals("Owner 1", car.getOwner()),
+            () -> assertEquals("Owner, 2", captor.getAllValues().get(1).getOwner()),
+            () -> assertEquals(2, car.getInterventions().size()),
+            () -> assertEquals(List.of(1, 2), this.objectMapper.valueToTree(car).findValues("operationLines").stream()
+                .map(JsonNode::size)
+                .sorted()
+                .collect(Collectors.toList())));
+    }
+
+    /**
+     * Tests the {@link CarImporter#importCars} method with an NDJSON stream holding invalid lines.
+     *
+     * @throws IOException
+     *     if the stream cannot be read
+     */
+    @Test
+    @DisplayName("Import cars (NDJSON with invalid lines)")
+    void testImportCarsFromNdjson() throws IOException {
+        // Prepares the inputs
+        final var input = this.toStream("{\"id\":5,\"version\":2,\"registration\":\"AA-111-AA\"}\n\n[1]\n{\"registration\":\n");
+
+        // Calls the method
+        final var result = this.importer.importCars(input, Format.NDJSON);
+
+        // Checks the mocks calls
+        verify(this.repository).save(argThat(car -> car.getId() == null && car.getVersion() == null && "AA-111-AA".equals(car.getRegistration())));
+
+        // Checks the result
+        assertAll("Result different from expected", () -> assertEquals(1, result.getImportedCount()), () -> assertEquals(2, result.getRejectedCount()),
+            () -> assertEquals(1, result.getRejectedRows().size()), () -> assertEquals(3, result.getRejectedRows().get(0).getLine()));
+    }
+
+    /**
+     * Tests the {@link CarImporter#importCars} method with a chunk which can't be committed.
+     *
+     * @throws IOException
+     *     if the stream cannot be read
+     */
+    @Test
+    @DisplayName("Import cars (chunk in error)")
+    void testImportCarsWithChunkInError() throws IOException {
+        // Prepares the inputs
+        final var input = this.toStream("{\"registration\":\"AA-111-AA\"}\n{\"registration\":\"BB-222-BB\"}\n");
+
+        // Mocks the calls
+        doThrow(new DataIntegrityViolationException("Duplicate")).doNothing().when(this.repository).flush();
+        when(this.repository.saveAndFlush(any(Car.class))).then(invocation -> {
+            if ("BB-222-BB".equals(invocation.<Car>getArgument(0).getRegistration())) {
+                throw new DataIntegrityViolationException("Duplicate");
+            }
+            return invocation.getArgument(0);
+        });
+
+        // Calls the method
+        final var result = this.importer.importCars(input, Format.NDJSON);
+
+        // Checks the mocks calls
+        verify(this.repository, times(2)).saveAndFlush(any(Car.class));
+        verify(this.writeExecutor, times(3)).execute(any(Supplier.class));
+
+        // Checks the result
+        assertAll("Result different from expected", () -> assertEquals(1, result.getImportedCount()), () -> assertEquals(1, result.getRejectedCount()),
+            () -> assertEquals(2, result.getRejectedRows().get(0).getLine()), () -> assertEquals("Duplicate", result.getRejectedRows().get(0).getReason()));
+    }
+
+    /**
+     * Tests the {@link CarImporter#importCars} method with an invalid CSV header.
+     */
+    @Test
+    @DisplayName("Import cars (invalid CSV header)")
+    void testImportCarsWithInvalidHeader() {
+        // Prepares the inputs
+        final var input = this.toStream("registration,garage.name\nAA-111-AA,Garage\n");
+
+        // Calls the method
+        assertThrows(InvalidRequestException.class, () -> this.importer.importCars(input, Format.CSV), "Expected exception not thrown");
+    }
+
+    /**
+     * Tests the {@link Format#ofMediaType} and {@link Format#ofFileName} methods.
+     */
+    @Test
+    @DisplayName("Format")
+    void testFormat() {
+        // Calls the method
+        assertAll("Result different from expected", () -> assertEquals(Format.CSV, Format.ofMediaType("text/csv;charset=UTF-8")),
+            () -> assertEquals(Format.NDJSON, Format.ofFileName("cars.NDJSON")),
+            () -> assertThrows(InvalidRequestException.class, () -> Format.ofMediaType("application/json")),
+            () -> assertThrows(IllegalArgumentException.class, () -> Format.ofFileName("cars.xls")));
+    }
+
+    /**
+     * Converts a text into a stream encoded in UTF-8.
+     *
+     * @param text
+     *     The text
+     *
+     * @return the stream
+     */
+    private ByteArrayInputStream toStream(final String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Jackson mix-in of the {@link Car} class, replacing the (de)serializers of its attachments which require the attachment store.
+     */
+    private abstract static class CarMixIn {
+
+        @JsonSerialize
+        @JsonDeserialize
+        private Object certificate;
+
+        @JsonSerialize
+        @JsonDeserialize
+        private Object picture;
+
+    }
+
+}
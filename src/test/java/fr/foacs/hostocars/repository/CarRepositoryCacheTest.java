@@ -0,0 +1,203 @@
+package fr.foacs.hostocars.repository;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import fr.foacs.hostocars.entity.Car;
+import java.util.stream.Collectors;
+import javax.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Test class for the second-level and query caches of the {@link CarRepository} methods used by the car controller, on a SQLite database migrated by
+ * Liquibase and configured with the application properties.
+ * <br/>
+ * <br/>
+ * The tests aren't run in a transaction, so that each repository call commits and updates the caches like a request of the application.
+ */
+@SqliteDataJpaTest
+@DisplayName("Car repository cache")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = "spring.datasource.url=jdbc:sqlite:file:./target/cache-test.db")
+class CarRepositoryCacheTest {
+
+    private static final Sort SORT = Sort.by("registration");
+
+    @Autowired
+    private CarRepository repository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Integer carId;
+
+    /**
+     * Initialization method called before all tests.
+     */
+    @BeforeEach
+    void initialize() {
+        this.jdbcTemplate.update("INSERT INTO cars (owner, registration) VALUES ('Owner', 'REG-1')");
+        this.carId = this.jdbcTemplate.queryForObject("SELECT id FROM cars WHERE registration = 'REG-1'", Integer.class);
+        this.jdbcTemplate.update("INSERT INTO interventions (carId, status) VALUES (?, 'DONE')", this.carId);
+        this.jdbcTemplate.update("INSERT INTO operations (interventionId, label) SELECT id, 'Operation' FROM interventions");
+        this.jdbcTemplate.update("INSERT INTO operationLines (operationId, type, description) SELECT id, 'TODO', 'Line' FROM operations");
+
+        this.sessionFactory().getCache().evictAll();
+        this.sessionFactory().getCache().evictQueryRegions();
+        this.sessionFactory().getStatistics().clear();
+    }
+
+    /**
+     * Cleaning method called after all tests.
+     */
+    @AfterEach
+    void clean() {
+        this.jdbcTemplate.update("DELETE FROM operationLines");
+        this.jdbcTemplate.update("DELETE FROM operations");
+        this.jdbcTemplate.update("DELETE FROM interventions");
+        this.jdbcTemplate.update("DELETE FROM cars");
+    }
+
+    /**
+     * Tests the {@link CarRepository#findById} method with a {@link Car} in the second-level cache.
+     */
+    @Test
+    @DisplayName("Find by ID - cached")
+    void testFindByIdCached() {
+        // Prepares the intermediary results
+        this.repository.findAllWithInterventions(SORT);
+
+        // Calls the method
+        final var result = this.repository.findById(this.carId);
+
+        // Checks the result
+        assertEquals(1, result.orElseThrow().getInterventions().size(), "Result different from expected");
+    }
+
+    /**
+     * Tests the {@link CarRepository#findSlice} method called twice.
+     */
+    @Test
+    @DisplayName("Find slice - cached")
+    void testFindSliceCached() {
+        // Prepares the intermediary results
+        final var statistics = this.sessionFactory().getStatistics();
+        final var pageable = PageRequest.of(0, 10, SORT);
+
+        // Calls the method
+        this.repository.findSlice(null, pageable);
+        final var statementCount = statistics.getPrepareStatementCount();
+        final var result = this.repository.findSlice(null, pageable);
+
+        // Checks the result
+        assertAll(() -> assertEquals(1, result.getNumberOfElements(), "Result different from expected"),
+            () -> assertEquals(statementCount, statistics.getPrepareStatementCount(), "Result different from expected"),
+            () -> assertEquals(1, statistics.getQueryCacheHitCount(), "Result different from expected"));
+    }
+
+    /**
+     * Tests the {@link CarRepository#findAllWithInterventions} method called twice.
+     */
+    @Test
+    @DisplayName("Find all with interventions - cached")
+    void testFindAllWithInterventionsCached() {
+        // Prepares the intermediary results
+        final var statistics = this.sessionFactory().getStatistics();
+
+        // Calls the method
+        this.repository.findAllWithInterventions(SORT);
+        final var statementCount = statistics.getPrepareStatementCount();
+        final var result = this.repository.findAllWithInterventions(SORT);
+
+        // Checks the result
+        assertAll(() -> assertEquals(1, result.size(), "Result different from expected"),
+            () -> assertEquals(1, result.get(0).getInterventions().size(), "Result different from expected"),
+            () -> assertEquals(statementCount, statistics.getPrepareStatementCount(), "Result different from expected"),
+            () -> assertEquals(1, statistics.getQueryCacheHitCount(), "Result different from expected"));
+    }
+
+    /**
+     * Tests the invalidation of the caches when a {@link Car} is updated.
+     */
+    @Test
+    @DisplayName("Save - update")
+    void testSaveUpdate() {
+        // Prepares the inputs
+        final var car = this.repository.findById(this.carId).orElseThrow();
+        this.repository.findAllWithInterventions(SORT);
+        car.setOwner("New owner");
+
+        // Calls the method
+        this.repository.save(car);
+
+        // Checks the result
+        assertAll(() -> assertEquals("New owner", this.repository.findById(this.carId).orElseThrow().getOwner(), "Result different from expected"),
+            () -> assertEquals("New owner", this.repository.findAllWithInterventions(SORT).get(0).getOwner(), "Result different from expected"),
+            () -> assertEquals(0, this.sessionFactory().getStatistics().getQueryCacheHitCount(), "Result different from expected"));
+    }
+
+    /**
+     * Tests the invalidation of the caches when a {@link Car} is inserted.
+     */
+    @Test
+    @DisplayName("Save - insert")
+    void testSaveInsert() {
+        // Prepares the inputs
+        final var car = new Car();
+        car.setOwner("Owner");
+        car.setRegistration("REG-2");
+        this.repository.findAllWithInterventions(SORT);
+
+        // Calls the method
+        this.repository.save(car);
+
+        // Checks the result
+        assertEquals("REG-1,REG-2", this.repository.findAllWithInterventions(SORT).stream().map(Car::getRegistration).collect(Collectors.joining(",")),
+            "Result different from expected");
+    }
+
+    /**
+     * Tests the invalidation of the caches when a {@link Car} is deleted.
+     */
+    @Test
+    @DisplayName("Delete by ID")
+    void testDeleteById() {
+        // Prepares the inputs
+        this.repository.findById(this.carId);
+        this.repository.findAllWithInterventions(SORT);
+
+        // Calls the method
+        this.repository.deleteById(this.carId);
+
+        // Checks the result
+        assertAll(() -> assertFalse(this.repository.findById(this.carId).isPresent(), "Result different from expected"),
+            () -> assertTrue(this.repository.findAllWithInterventions(SORT).isEmpty(), "Result different from expected"));
+    }
+
+    /**
+     * Retrieves the Hibernate session factory, giving access to the caches and their {@link Statistics}.
+     *
+     * @return the session factory
+     */
+    private SessionFactory sessionFactory() {
+        return this.entityManagerFactory.unwrap(SessionFactory.class);
+    }
+
+}
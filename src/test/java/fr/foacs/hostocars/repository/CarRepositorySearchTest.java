@@ -0,0 +1,136 @@
+package fr.foacs.hostocars.repository;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Test class for the {@link CarRepository#search} method, on a SQLite database migrated by Liquibase, whose full-text indexes are kept in sync by triggers.
+ */
+@SqliteDataJpaTest
+@DisplayName("Car repository search")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = "spring.datasource.url=jdbc:sqlite:file:./target/search-test.db")
+class CarRepositorySearchTest {
+
+    private static final PageRequest PAGE_REQUEST = PageRequest.of(0, 10);
+
+    @Autowired
+    private CarRepository repository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Initialization method called before all tests.
+     */
+    @BeforeEach
+    void initialize() {
+        this.jdbcTemplate.update("INSERT INTO cars (owner, registration, brand, model) VALUES ('Hélène Dupont', 'AA-111-AA', 'Renault', 'Clio')");
+        this.jdbcTemplate.update("INSERT INTO cars (owner, registration, brand, comments) VALUES ('Jean Martin', 'BB-222-BB', 'Peugeot', 'Bought from Clio')");
+        this.jdbcTemplate.update("INSERT INTO interventions (carId, status, description) SELECT id, 'DONE', 'Vidange et filtre à huile' FROM cars "
+            + "WHERE registration = 'BB-222-BB'");
+    }
+
+    /**
+     * Cleaning method called after all tests.
+     */
+    @AfterEach
+    void clean() {
+        this.jdbcTemplate.update("DELETE FROM interventions");
+        this.jdbcTemplate.update("DELETE FROM cars");
+    }
+
+    /**
+     * Tests the {@link CarRepository#search} method with word prefixes of a car field.
+     */
+    @Test
+    @DisplayName("Search - car fields")
+    void testSearch() {
+        // Calls the method
+        final var result = this.repository.search("helene DUP", PAGE_REQUEST);
+
+        // Checks the result
+        final var car = result.getContent().get(0);
+        assertAll("Result different from expected", () -> assertEquals(1, result.getNumberOfElements()), () -> assertFalse(result.hasNext()),
+            () -> assertEquals("AA-111-AA", car.getRegistration()), () -> assertEquals("<mark>Hélène</mark> <mark>Dupont</mark>", car.getHighlight()));
+    }
+
+    /**
+     * Tests the {@link CarRepository#search} method with a word of an intervention.
+     */
+    @Test
+    @DisplayName("Search - intervention fields")
+    void testSearchInterventions() {
+        // Calls the method
+        final var result = this.repository.search("huile", PAGE_REQUEST);
+
+        // Checks the result
+        final var car = result.getContent().get(0);
+        assertAll("Result different from expected", () -> assertEquals(1, result.getNumberOfElements()),
+            () -> assertEquals("BB-222-BB", car.getRegistration()), () -> assertEquals("Vidange et filtre à <mark>huile</mark>", car.getHighlight()));
+    }
+
+    /**
+     * Tests the {@link CarRepository#search} method with a word matching several cars, in fields of different weights.
+     */
+    @Test
+    @DisplayName("Search - ranking and pagination")
+    void testSearchRanking() {
+        // Calls the method
+        final var result = this.repository.search("clio", PAGE_REQUEST);
+        final var firstPage = this.repository.search("clio", PageRequest.of(0, 1));
+        final var secondPage = this.repository.search("clio", PageRequest.of(1, 1));
+
+        // Checks the result
+        assertAll("Result different from expected",
+            () -> assertEquals(List.of("AA-111-AA", "BB-222-BB"), result.stream().map(CarSearchResult::getRegistration).collect(Collectors.toList())),
+            () -> assertTrue(result.getContent().get(0).getScore() < result.getContent().get(1).getScore()),
+            () -> assertTrue(firstPage.hasNext()), () -> assertEquals("BB-222-BB", secondPage.getContent().get(0).getRegistration()),
+            () -> assertFalse(secondPage.hasNext()));
+    }
+
+    /**
+     * Tests the {@link CarRepository#search} method once the indexed fields have been updated and deleted.
+     */
+    @Test
+    @DisplayName("Search - updated and deleted rows")
+    void testSearchUpdatedRows() {
+        // Prepares the inputs
+        this.jdbcTemplate.update("UPDATE cars SET owner = 'Paul Durand' WHERE registration = 'AA-111-AA'");
+        this.jdbcTemplate.update("DELETE FROM interventions");
+
+        // Calls the method
+        assertAll("Result different from expected", () -> assertTrue(this.repository.search("dupont", PAGE_REQUEST).isEmpty()),
+            () -> assertEquals(1, this.repository.search("durand", PAGE_REQUEST).getNumberOfElements()),
+            () -> assertTrue(this.repository.search("vidange", PAGE_REQUEST).isEmpty()));
+    }
+
+    /**
+     * Tests the {@link CarRepository#search} method with texts holding FTS5 operators, or no word at all.
+     */
+    @Test
+    @DisplayName("Search - special characters")
+    void testSearchSpecialCharacters() {
+        // Calls the method
+        assertAll("Result different from expected",
+            () -> assertEquals(1, this.repository.search("\"AA-111\"* ^", PAGE_REQUEST).getNumberOfElements()),
+            () -> assertTrue(this.repository.search("clio NEAR(x)", PAGE_REQUEST).isEmpty()),
+            () -> assertTrue(this.repository.search(" -*\" ", PAGE_REQUEST).isEmpty()));
+    }
+
+}
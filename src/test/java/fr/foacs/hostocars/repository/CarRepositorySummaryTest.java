@@ -0,0 +1,178 @@
+package fr.foacs.hostocars.repository;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import fr.foacs.hostocars.entity.Car;
+import fr.foacs.hostocars.entity.Intervention;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Sort.Direction;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Test class for the summary of the interventions of the {@link Car}s, maintained by triggers and read by the {@link CarRepository} methods, on a SQLite
+ * database migrated by Liquibase.
+ * <br/>
+ * <br/>
+ * The tests aren't run in a transaction, so that each repository call commits and updates the caches like a request of the application.
+ */
+@SqliteDataJpaTest
+@DisplayName("Car repository summary")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = "spring.datasource.url=jdbc:sqlite:file:./target/summary-test.db")
+class CarRepositorySummaryTest {
+
+    @Autowired
+    private CarRepository repository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Integer carId;
+
+    /**
+     * Initialization method called before all tests.
+     */
+    @BeforeEach
+    void initialize() {
+        this.jdbcTemplate.update("INSERT INTO cars (owner, registration) VALUES ('Owner', 'AA-111-AA'), ('Owner', 'BB-222-BB'), ('Owner', 'CC-333-CC')");
+        this.carId = this.jdbcTemplate.queryForObject("SELECT id FROM cars WHERE registration = 'AA-111-AA'", Integer.class);
+        this.jdbcTemplate.update("INSERT INTO interventions (carId, status, creationDate, mileage, amount, paidAmount) VALUES "
+            + "(?, 'Terminé', '2025-03-02', 10000, 100.0, 100.0), (?, 'Diagnostic', '2026-01-12', 20000, 150.0, NULL), "
+            + "(?, 'Commande', '2026-02-20', 30000, 400.0, 100.0)", this.carId, this.carId, this.carId + 1);
+    }
+
+    /**
+     * Cleaning method called after all tests.
+     */
+    @AfterEach
+    void clean() {
+        this.jdbcTemplate.update("DELETE FROM operationLines");
+        this.jdbcTemplate.update("DELETE FROM operations");
+        this.jdbcTemplate.update("DELETE FROM interventions");
+        this.jdbcTemplate.update("DELETE FROM cars");
+    }
+
+    /**
+     * Tests the triggers maintaining the summary of the interventions of a car while they are inserted, updated and deleted.
+     */
+    @Test
+    @DisplayName("Triggers")
+    void testTriggers() {
+        // Prepares the intermediary results
+        final var inserted = this.readSummary(this.carId);
+        this.jdbcTemplate.update("UPDATE interventions SET paidAmount = 150.0 WHERE carId = ? AND mileage = 20000", this.carId);
+        final var updated = this.readSummary(this.carId);
+        this.jdbcTemplate.update("DELETE FROM interventions WHERE carId = ? AND mileage = 20000", this.carId);
+        final var deleted = this.readSummary(this.carId);
+        this.jdbcTemplate.update("UPDATE interventions SET carId = ? WHERE carId = ?", this.carId + 1, this.carId);
+
+        // Checks the result
+        assertAll("Result different from expected", () -> assertEquals(List.of(2, 20000, "2026-01-12", 150.0), inserted),
+            () -> assertEquals(List.of(2, 20000, "2026-01-12", 0.0), updated), () -> assertEquals(List.of(1, 10000, "2025-03-02", 0.0), deleted),
+            () -> assertEquals(Arrays.asList(0, null, null, 0.0), this.readSummary(this.carId)),
+            () -> assertEquals(List.of(2, 30000, "2026-02-20", 300.0), this.readSummary(this.carId + 1)));
+    }
+
+    /**
+     * Tests the {@link CarRepository#findSummaries} method sorted by outstanding balance.
+     */
+    @Test
+    @DisplayName("Find summaries")
+    void testFindSummaries() {
+        // Calls the method
+        final var result = this.repository.findSummaries(Sort.by(Direction.DESC, "balance"));
+
+        // Checks the result
+        assertEquals(List.of("BB-222-BB: 1 30000 2026-02-20 300.0", "AA-111-AA: 2 20000 2026-01-12 150.0", "CC-333-CC: 0 null null 0.0"),
+            result.stream()
+                .map(summary -> summary.getRegistration() + ": " + summary.getInterventionCount() + " " + summary.getLastMileage() + " "
+                    + summary.getLastInterventionDate() + " " + summary.getBalance())
+                .collect(Collectors.toList()), "Result different from expected");
+    }
+
+    /**
+     * Tests the {@link CarRepository#findSlice} method sorted by last intervention date.
+     */
+    @Test
+    @DisplayName("Find slice - last intervention date")
+    void testFindSliceByLastInterventionDate() {
+        // Calls the method
+        final var result = this.findRegistrations(PageRequest.of(0, 10, Keyset.withTieBreaker(Sort.by(Direction.DESC, "lastInterventionDate"))));
+
+        // Checks the result
+        assertEquals(List.of("BB-222-BB", "AA-111-AA", "CC-333-CC"), result, "Result different from expected");
+    }
+
+    /**
+     * Tests the refresh of the summary of a cached {@link Car} when one of its interventions is inserted through Hibernate.
+     */
+    @Test
+    @DisplayName("Save - insert intervention")
+    void testSaveInsertIntervention() {
+        // Prepares the inputs
+        final var car = this.repository.findById(this.carId).orElseThrow();
+        this.findRegistrations(PageRequest.of(0, 10, Keyset.withTieBreaker(Sort.by(Direction.DESC, "balance"))));
+        final var intervention = new Intervention();
+        intervention.setStatus("Diagnostic");
+        intervention.setMileage(25000);
+        intervention.setAmount(500.0);
+        intervention.setCar(car);
+        car.getInterventions().add(intervention);
+
+        // Calls the method
+        final var result = this.repository.save(car);
+
+        // Checks the result
+        final var expected = List.of(3, 25000, LocalDate.now().toString(), 650.0);
+        final var cachedCar = this.repository.findById(this.carId).orElseThrow();
+        assertAll("Result different from expected",
+            () -> assertEquals(expected,
+                List.of(result.getInterventionCount(), result.getLastMileage(), result.getLastInterventionDate(), result.getBalance())),
+            () -> assertEquals(expected, List.of(cachedCar.getInterventionCount(), cachedCar.getLastMileage(), cachedCar.getLastInterventionDate(),
+                cachedCar.getBalance())),
+            () -> assertEquals(List.of("AA-111-AA", "BB-222-BB", "CC-333-CC"),
+                this.findRegistrations(PageRequest.of(0, 10, Keyset.withTieBreaker(Sort.by(Direction.DESC, "balance"))))));
+    }
+
+    /**
+     * Reads the summary of the interventions of a car from the cars table.
+     *
+     * @param id
+     *     The ID of the car
+     *
+     * @return the number of interventions, the last mileage, the last intervention date and the balance of the car
+     */
+    private List<Object> readSummary(final Integer id) {
+        final Map<String, Object> row = this.jdbcTemplate.queryForMap("SELECT interventionCount, lastMileage, lastInterventionDate, balance FROM cars "
+            + "WHERE id = ?", id);
+        return Arrays.asList(row.get("interventionCount"), row.get("lastMileage"), row.get("lastInterventionDate"), row.get("balance"));
+    }
+
+    /**
+     * Finds the registrations of the cars of a slice.
+     *
+     * @param pageable
+     *     The page request of the slice
+     *
+     * @return the registrations of the cars, in order
+     */
+    private List<String> findRegistrations(final PageRequest pageable) {
+        return this.repository.findSlice(null, pageable).stream().map(Car::getRegistration).collect(Collectors.toList());
+    }
+
+}
@@ -0,0 +1,173 @@
+package fr.foacs.hostocars.repository;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import fr.foacs.hostocars.entity.Car;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Test class for the {@link CarSuggestionIndex} class.
+ */
+@DisplayName("Car suggestion index")
+class CarSuggestionIndexTest {
+
+    private CarSuggestionIndex index;
+
+    /**
+     * Initialization method called before all tests.
+     */
+    @BeforeEach
+    void initialize() {
+        final var repository = mock(CarRepository.class);
+        when(repository.findSuggestions()).thenReturn(List.of(new CarSuggestion(1, "AB-123-CD", "VF1AB123", 0), new CarSuggestion(2, "AB 12", null, 0),
+            new CarSuggestion(3, "XY-999-ZZ", "ab-120", 0)));
+        this.index = new CarSuggestionIndex(repository);
+        this.index.afterPropertiesSet();
+    }
+
+    /**
+     * Tests the {@link CarSuggestionIndex#normalize} method.
+     */
+    @Test
+    @DisplayName("Normalize")
+    void testNormalize() {
+        // Calls the method
+        assertEquals("AB123CD", CarSuggestionIndex.normalize(" ab-123 - cd"), "Result different from expected");
+    }
+
+    /**
+     * Tests the {@link CarSuggestionIndex#suggest} method, matching the registrations and the serial numbers whatever their spaces, dashes and case.
+     */
+    @Test
+    @DisplayName("Suggest")
+    void testSuggest() {
+        // Calls the method
+        assertAll("Result different from expected", () -> assertEquals(List.of(2, 3, 1), this.suggest("a-b 12", 10)),
+            () -> assertEquals(List.of(2, 3), this.suggest("AB12", 2)), () -> assertEquals(List.of(1), this.suggest("vf1", 10)),
+            () -> assertTrue(this.suggest("ZZ", 10).isEmpty()), () -> assertTrue(this.suggest(" - ", 10).isEmpty()));
+    }
+
+    /**
+     * Tests the {@link CarSuggestionIndex#put} method with a new car and with the successive versions of an existing one.
+     */
+    @Test
+    @DisplayName("Put")
+    void testPut() {
+        // Calls the method
+        this.index.put(this.createCar(4, "CD-456-EF", 0));
+        this.index.put(this.createCar(1, "EF-789-GH", 2));
+        this.index.put(this.createCar(1, "GH-000-IJ", 1));
+
+        // Checks the result
+        assertAll("Result different from expected", () -> assertEquals(List.of(4), this.suggest("cd4", 10)),
+            () -> assertEquals(List.of(1), this.suggest("EF7", 10)), () -> assertTrue(this.suggest("GH", 10).isEmpty()),
+            () -> assertEquals(List.of(2, 3), this.suggest("AB", 10)));
+    }
+
+    /**
+     * Tests the {@link CarSuggestionIndex#remove} method, followed by the commit of an older write of the removed car.
+     */
+    @Test
+    @DisplayName("Remove")
+    void testRemove() {
+        // Prepares the intermediary results
+        final var olderWrite = this.startWrite(this.createCar(1, "AB-123-CD", 1));
+
+        // Calls the method
+        this.index.remove(1);
+        olderWrite.forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+
+        // Checks the result
+        assertAll("Result different from expected", () -> assertEquals(List.of(2, 3), this.suggest("AB", 10)),
+            () -> assertTrue(this.suggest("VF", 10).isEmpty()),
+            () -> assertTrue(((Map<?, ?>) ReflectionTestUtils.getField(this.index, "removedIds")).isEmpty()));
+    }
+
+    /**
+     * Tests the {@link CarSuggestionIndex#remove} method, with a write started before the remove and another one started after it.
+     */
+    @Test
+    @DisplayName("Remove with pending writes")
+    void testRemoveWithPendingWrites() {
+        // Prepares the intermediary results
+        final var olderWrite = this.startWrite(this.createCar(1, "AB-123-CD", 1));
+        this.index.remove(1);
+        final var newerWrite = this.startWrite(this.createCar(3, "XY-999-ZZ", 1));
+        final var removedIds = (Map<?, ?>) ReflectionTestUtils.getField(this.index, "removedIds");
+
+        // Calls the method
+        newerWrite.forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        final var removedIdsWhilePending = Map.copyOf(removedIds);
+        olderWrite.forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+
+        // Checks the result
+        assertAll("Result different from expected", () -> assertEquals(Map.of(1, 1L), removedIdsWhilePending),
+            () -> assertTrue(removedIds.isEmpty()), () -> assertTrue(this.suggest("VF", 10).isEmpty()),
+            () -> assertEquals(List.of(3), this.suggest("XY", 10)));
+    }
+
+    /**
+     * Puts the given car in the index within a transaction, which is left pending.
+     *
+     * @param car
+     *     The saved car
+     *
+     * @return the synchronizations completing the transaction
+     */
+    private List<TransactionSynchronization> startWrite(final Car car) {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            this.index.put(car);
+            return TransactionSynchronizationManager.getSynchronizations();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    /**
+     * Suggests the IDs of the cars matching the given prefix.
+     *
+     * @param prefix
+     *     The typed prefix
+     * @param size
+     *     The maximal number of suggestions
+     *
+     * @return the IDs of the suggested cars
+     */
+    private List<Integer> suggest(final String prefix, final int size) {
+        return this.index.suggest(prefix, size).stream().map(CarSuggestion::getId).collect(Collectors.toList());
+    }
+
+    /**
+     * Creates a saved {@link Car} with the given ID, registration and version.
+     *
+     * @param id
+     *     The ID of the car
+     * @param registration
+     *     The registration of the car
+     * @param version
+     *     The version of the car
+     *
+     * @return the car
+     */
+    private Car createCar(final Integer id, final String registration, final Integer version) {
+        final var car = new Car();
+        car.setId(id);
+        car.setRegistration(registration);
+        car.setVersion(version);
+        return car;
+    }
+
+}
@@ -0,0 +1,95 @@
+package fr.foacs.hostocars.repository;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the {@link CsvReader} class.
+ */
+@DisplayName("CSV reader")
+class CsvReaderTest {
+
+    /**
+     * Tests the {@link CsvReader#readRecord} method with unquoted fields.
+     *
+     * @throws IOException
+     *     if the records cannot be read
+     */
+    @Test
+    @DisplayName("Read record (unquoted fields)")
+    void testReadRecord() throws IOException {
+        // Prepares the inputs
+        final var reader = new CsvReader(new StringReader("a,b,c\r\n1,,3\n"));
+
+        // Calls the method
+        final var first = reader.readRecord();
+        final var second = reader.readRecord();
+
+        // Checks the result
+        assertAll("Result different from expected", () -> assertEquals(List.of("a", "b", "c"), first), () -> assertEquals(List.of("1", "", "3"), second),
+            () -> assertEquals(2, reader.getRecordLine()), () -> assertNull(reader.readRecord()));
+    }
+
+    /**
+     * Tests the {@link CsvReader#readRecord} method with quoted fields.
+     *
+     * @throws IOException
+     *     if the records cannot be read
+     */
+    @Test
+    @DisplayName("Read record (quoted fields)")
+    void testReadRecordWithQuotedFields() throws IOException {
+        // Prepares the inputs
+        final var reader = new CsvReader(new StringReader("\"a,b\",\"say \"\"hi\"\"\",\"line\r\nbreak\"\nlast"));
+
+        // Calls the method
+        final var first = reader.readRecord();
+        final var second = reader.readRecord();
+
+        // Checks the result
+        assertAll("Result different from expected", () -> assertEquals(List.of("a,b", "say \"hi\"", "line\r\nbreak"), first),
+            () -> assertEquals(List.of("last"), second), () -> assertEquals(3, reader.getRecordLine()), () -> assertNull(reader.readRecord()));
+    }
+
+    /**
+     * Tests the {@link CsvReader#readRecord} method with a record larger than the buffer.
+     *
+     * @throws IOException
+     *     if the record cannot be read
+     */
+    @Test
+    @DisplayName("Read record (larger than the buffer)")
+    void testReadLargeRecord() throws IOException {
+        // Prepares the inputs
+        final var field = "x".repeat(20_000);
+        final var reader = new CsvReader(new StringReader(field + ",\"" + field + "\""));
+
+        // Calls the method
+        final var result = reader.readRecord();
+
+        // Checks the result
+        assertEquals(List.of(field, field), result, "Result different from expected");
+    }
+
+    /**
+     * Tests the {@link CsvReader#readRecord} method with an unterminated quoted field.
+     */
+    @Test
+    @DisplayName("Read record (unterminated quoted field)")
+    void testReadRecordWithUnterminatedField() {
+        // Prepares the inputs
+        final var reader = new CsvReader(new StringReader("a,\"b\nc"));
+
+        // Calls the method
+        assertThrows(IllegalArgumentException.class, reader::readRecord, "Expected exception not thrown");
+    }
+
+}
@@ -0,0 +1,194 @@
+package fr.foacs.hostocars.repository;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import fr.foacs.hostocars.entity.Intervention;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Test class for the {@link InterventionRepository} methods, the {@link InterventionSpecifications} filters and the triggers maintaining the
+ * {@link InterventionStats}, on a SQLite database migrated by Liquibase.
+ */
+@SqliteDataJpaTest
+@DisplayName("Intervention repository")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = "spring.datasource.url=jdbc:sqlite:file:./target/intervention-test.db")
+class InterventionRepositoryTest {
+
+    private static final PageRequest PAGE_REQUEST = PageRequest.of(0, 10, Sort.by("year", "number", "id"));
+
+    @Autowired
+    private InterventionRepository repository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Integer carId;
+
+    /**
+     * Initialization method called before all tests.
+     */
+    @BeforeEach
+    void initialize() {
+        this.jdbcTemplate.update("INSERT INTO cars (owner, registration) VALUES ('Owner', 'AA-111-AA'), ('Owner', 'BB-222-BB')");
+        this.carId = this.jdbcTemplate.queryForObject("SELECT id FROM cars WHERE registration = 'AA-111-AA'", Integer.class);
+        this.jdbcTemplate.update("INSERT INTO interventions (carId, year, number, status, mileage, amount, paidAmount) VALUES "
+            + "(?, 2025, 1, 'Terminé', 10000, 100.0, 100.0), (?, 2025, 2, 'Diagnostic', 20000, 100.0, NULL), (?, 2026, 1, 'Commande', 30000, NULL, NULL), "
+            + "(?, 2026, 2, 'Diagnostic', 15000, 250.0, 100.0)", this.carId, this.carId, this.carId, this.carId + 1);
+        this.jdbcTemplate.update("INSERT INTO operations (interventionId, label) SELECT id, 'Vidange' FROM interventions WHERE year = 2026 AND number = 1");
+        this.jdbcTemplate.update("INSERT INTO operationLines (operationId, type, description) SELECT id, 'TODO', 'Huile' FROM operations");
+    }
+
+    /**
+     * Cleaning method called after all tests.
+     */
+    @AfterEach
+    void clean() {
+        this.jdbcTemplate.update("DELETE FROM operationLines");
+        this.jdbcTemplate.update("DELETE FROM operations");
+        this.jdbcTemplate.update("DELETE FROM interventions");
+        this.jdbcTemplate.update("DELETE FROM cars");
+    }
+
+    /**
+     * Tests the {@link InterventionRepository#findByYearAndNumber} method, which reads the whole operations tree.
+     */
+    @Test
+    @DisplayName("Find by year and number")
+    void testFindByYearAndNumber() {
+        // Calls the method
+        final var result = this.repository.findByYearAndNumber(2026, 1).orElseThrow();
+
+        // Checks the result
+        assertAll("Result different from expected", () -> assertEquals("Commande", result.getStatus()), () -> assertEquals(this.carId, result.getCarId()),
+            () -> assertEquals(1, result.getOperations().iterator().next().getOperationLines().size()),
+            () -> assertTrue(this.repository.findByYearAndNumber(2024, 1).isEmpty()));
+    }
+
+    /**
+     * Tests the {@link InterventionSpecifications#hasStatus}, {@link InterventionSpecifications#hasYear} and {@link InterventionSpecifications#hasNumber}
+     * filters.
+     */
+    @Test
+    @DisplayName("Find slice - status, year and number")
+    void testFindSliceByStatusYearAndNumber() {
+        // Calls the method
+        assertAll("Result different from expected",
+            () -> assertEquals(List.of("2025-2", "2026-1", "2026-2"), this.findNumbers(InterventionSpecifications.hasStatus(List.of("Diagnostic", "Commande")))),
+            () -> assertEquals(List.of("2026-1", "2026-2"), this.findNumbers(InterventionSpecifications.hasYear(2026))),
+            () -> assertEquals(List.of("2025-1", "2026-1"), this.findNumbers(InterventionSpecifications.hasNumber(1))),
+            () -> assertEquals(4, this.findNumbers(InterventionSpecifications.hasStatus(List.of())).size()));
+    }
+
+    /**
+     * Tests the {@link InterventionSpecifications#hasCar} and {@link InterventionSpecifications#hasMileageBetween} filters.
+     */
+    @Test
+    @DisplayName("Find slice - car and mileage")
+    void testFindSliceByCarAndMileage() {
+        // Calls the method
+        final var carSpecification = InterventionSpecifications.hasCar(this.carId);
+        assertAll("Result different from expected", () -> assertEquals(List.of("2025-1", "2025-2", "2026-1"), this.findNumbers(carSpecification)),
+            () -> assertEquals(List.of("2025-2", "2026-1"), this.findNumbers(carSpecification.and(InterventionSpecifications.hasMileageBetween(15000, null)))),
+            () -> assertEquals(List.of("2025-1", "2025-2"), this.findNumbers(carSpecification.and(InterventionSpecifications.hasMileageBetween(null, 20000)))),
+            () -> assertEquals(List.of("2025-2"), this.findNumbers(carSpecification.and(InterventionSpecifications.hasMileageBetween(15000, 25000)))));
+    }
+
+    /**
+     * Tests the {@link InterventionSpecifications#isUnpaid} filter, with missing amounts.
+     */
+    @Test
+    @DisplayName("Find slice - unpaid")
+    void testFindSliceByBalance() {
+        // Calls the method
+        assertAll("Result different from expected", () -> assertEquals(List.of("2025-2", "2026-2"), this.findNumbers(InterventionSpecifications.isUnpaid(true))),
+            () -> assertEquals(List.of("2025-1", "2026-1"), this.findNumbers(InterventionSpecifications.isUnpaid(false))));
+    }
+
+    /**
+     * Tests the {@link InterventionRepository#findStats} method, reading the stats maintained by the triggers while the interventions are inserted, updated
+     * and deleted.
+     */
+    @Test
+    @DisplayName("Find stats")
+    void testFindStats() {
+        // Prepares the inputs
+        this.jdbcTemplate.update("UPDATE interventions SET creationDate = '2026-03-02', paidAmount = 250.0, status = 'Terminé' WHERE year = 2026 AND number = 2");
+        this.jdbcTemplate.update("UPDATE interventions SET mileage = 12000 WHERE year = 2025 AND number = 1");
+        this.jdbcTemplate.update("DELETE FROM interventions WHERE year = 2025 AND number = 2");
+
+        // Calls the method
+        final var result = this.findStats(null);
+
+        // Checks the result
+        assertAll("Result different from expected",
+            () -> assertEquals(List.of("2025-0-Terminé: 1 100.0 100.0 0.0", "2026-0-Commande: 1 0.0 0.0 0.0", "2026-3-Terminé: 1 250.0 250.0 0.0"), result),
+            () -> assertEquals(List.of("2026-0-Commande: 1 0.0 0.0 0.0", "2026-3-Terminé: 1 250.0 250.0 0.0"), this.findStats(2026)));
+    }
+
+    /**
+     * Tests the {@link InterventionRepository#rebuildStats} method, recovering from stats drifting from the interventions.
+     */
+    @Test
+    @DisplayName("Rebuild stats")
+    void testRebuildStats() {
+        // Prepares the inputs
+        final var expected = this.findStats(null);
+        this.jdbcTemplate.update("UPDATE interventionsStats SET count = count + 1, amount = 0");
+        this.jdbcTemplate.update("INSERT INTO interventionsStats (year, month, status, count) VALUES (2024, 1, 'Diagnostic', 3)");
+
+        // Calls the method
+        final var result = this.repository.rebuildStats();
+
+        // Checks the result
+        assertAll("Result different from expected", () -> assertEquals(4, result), () -> assertEquals(expected, this.findStats(null)),
+            () -> assertEquals(Map.of("count", 1, "amount", 100.0), this.jdbcTemplate.queryForMap("SELECT count, amount FROM interventionsStats "
+                + "WHERE year = 2025 AND status = 'Diagnostic'")));
+    }
+
+    /**
+     * Finds the stats of all the years, or of the given year only.
+     *
+     * @param year
+     *     The optional year of the stats
+     *
+     * @return the years, months, statuses, counts, amounts, paid amounts and balances of the stats, in order
+     */
+    private List<String> findStats(final Integer year) {
+        return this.repository.findStats(year).stream()
+            .map(stats -> stats.getYear() + "-" + stats.getMonth() + "-" + stats.getStatus() + ": " + stats.getCount() + " " + stats.getAmount() + " "
+                + stats.getPaidAmount() + " " + stats.getBalance())
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Finds the interventions matching the given specification.
+     *
+     * @param specification
+     *     The specification to match
+     *
+     * @return the years and numbers of the interventions, in order
+     */
+    private List<String> findNumbers(final Specification<Intervention> specification) {
+        return this.repository.findSlice(specification, PAGE_REQUEST).stream()
+            .map(intervention -> intervention.getYear() + "-" + intervention.getNumber())
+            .collect(Collectors.toList());
+    }
+
+}
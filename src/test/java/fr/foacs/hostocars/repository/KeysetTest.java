@@ -0,0 +1,166 @@
+package fr.foacs.hostocars.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import fr.foacs.hostocars.configuration.InvalidRequestException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Root;
+import lombok.Getter;
+import lombok.Setter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Sort.Order;
+
+/**
+ * Test class for the {@link Keyset} class.
+ */
+@DisplayName("Keyset")
+class KeysetTest {
+
+    /**
+     * Tests the {@link Keyset#withTieBreaker} method without the ID in the sorting clause.
+     */
+    @Test
+    @DisplayName("With tie breaker (without ID)")
+    void testWithTieBreakerWithoutId() {
+        // Calls the method
+        final var result = Keyset.withTieBreaker(Sort.by("field"));
+
+        // Checks the result
+        assertEquals(Sort.by("field", "id"), result, "Result different from expected");
+    }
+
+    /**
+     * Tests the {@link Keyset#withTieBreaker} method with the ID in the sorting clause.
+     */
+    @Test
+    @DisplayName("With tie breaker (with ID)")
+    void testWithTieBreakerWithId() {
+        // Prepares the inputs
+        final var sort = Sort.by(Order.desc("id"), Order.asc("field"));
+
+        // Calls the method
+        final var result = Keyset.withTieBreaker(sort);
+
+        // Checks the result
+        assertSame(sort, result, "Result different from expected");
+    }
+
+    /**
+     * Tests the {@link Keyset#cursorOf} method.
+     */
+    @Test
+    @DisplayName("Cursor of")
+    void testCursorOf() {
+        // Prepares the inputs
+        final var entity = new KeysetEntity();
+        entity.setField("value");
+        entity.setId(1);
+
+        // Calls the method
+        final var result = Keyset.cursorOf(entity, Sort.by("field", "id"));
+
+        // Checks the result
+        assertEquals("[\"value\",1]", new String(Base64.getUrlDecoder().decode(result), StandardCharsets.UTF_8), "Result different from expected");
+    }
+
+    /**
+     * Tests the {@link Keyset#after} method without cursor.
+     */
+    @Test
+    @DisplayName("After (without cursor)")
+    void testAfterWithoutCursor() {
+        // Calls the method and checks the result
+        assertNull(Keyset.after(Sort.by("id"), null), "Result unexpectedly not null");
+    }
+
+    /**
+     * Tests the {@link Keyset#after} method with an invalid cursor.
+     */
+    @Test
+    @DisplayName("After (invalid cursor)")
+    void testAfterWithInvalidCursor() {
+        // Prepares the inputs
+        final var sort = Sort.by("id");
+        final var objectCursor = Base64.getUrlEncoder().encodeToString("[{}]".getBytes(StandardCharsets.UTF_8));
+
+        // Calls the method and checks the results
+        assertThrows(InvalidRequestException.class, () -> Keyset.after(sort, "%%%"), "Expected exception not thrown");
+        assertThrows(InvalidRequestException.class, () -> Keyset.after(sort, objectCursor), "Expected exception not thrown");
+    }
+
+    /**
+     * Tests the {@link Keyset#after} method with a cursor not matching the sorting clause.
+     */
+    @Test
+    @DisplayName("After (cursor not matching the sorting clause)")
+    void testAfterWithCursorNotMatchingTheSortingClause() {
+        // Prepares the inputs
+        final var entity = new KeysetEntity();
+        entity.setId(1);
+        final var cursor = Keyset.cursorOf(entity, Sort.by("id"));
+        final var sort = Sort.by("field", "id");
+
+        // Calls the method and checks the result
+        assertThrows(InvalidRequestException.class, () -> Keyset.after(sort, cursor), "Expected exception not thrown");
+    }
+
+    /**
+     * Tests the {@link Keyset#after} method.
+     */
+    @Test
+    @DisplayName("After")
+    void testAfter() {
+        // Prepares the inputs
+        final var entity = new KeysetEntity();
+        entity.setField("value");
+        entity.setId(1);
+        final var sort = Sort.by("field", "id");
+        final Root<KeysetEntity> root = mock(Root.class);
+        final CriteriaQuery<?> query = mock(CriteriaQuery.class);
+        final var builder = mock(CriteriaBuilder.class);
+
+        // Prepares the intermediary results
+        final Path<String> fieldPath = mock(Path.class);
+        final Path<Integer> idPath = mock(Path.class);
+
+        // Mocks the calls
+        doReturn(fieldPath).when(root).get("field");
+        doReturn(idPath).when(root).get("id");
+        doReturn(String.class).when(fieldPath).getJavaType();
+        doReturn(Integer.class).when(idPath).getJavaType();
+
+        // Calls the method
+        Keyset.<KeysetEntity>after(sort, Keyset.cursorOf(entity, sort)).toPredicate(root, query, builder);
+
+        // Checks the mocks calls
+        verify(builder).greaterThan(fieldPath, "value");
+        verify(builder).equal(fieldPath, "value");
+        verify(builder).greaterThan(idPath, 1);
+    }
+
+    /**
+     * Entity class for unit tests.
+     */
+    @Getter
+    @Setter
+    public static class KeysetEntity {
+
+        private Integer id;
+
+        private String field;
+
+    }
+
+}
@@ -0,0 +1,319 @@
+package fr.foacs.hostocars.repository;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Pattern;
+import javax.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Sort.Direction;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Test class for the query plans of the statements issued by Hibernate for the repositories methods, on a SQLite database migrated by Liquibase.
+ * <br/>
+ * <br/>
+ * Each statement recorded while calling a method is explained with {@code EXPLAIN QUERY PLAN}, and the tables it scans must be the expected ones: a new
+ * query or a missing index scanning a table that should be searched makes the test fail.
+ */
+@SqliteDataJpaTest
+@DisplayName("Query plans")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = {"spring.datasource.url=jdbc:sqlite:file:./target/query-plan-test.db",
+    "spring.jpa.properties.hibernate.session_factory.statement_inspector=fr.foacs.hostocars.repository.QueryPlanTest$StatementRecorder"})
+class QueryPlanTest {
+
+    // Matches the scans of a table or of one of its indexes, in the format of SQLite before and after 3.36
+    private static final Pattern SCAN_PATTERN = Pattern.compile("^SCAN (?:TABLE )?(\\w+)");
+
+    private static final Sort SORT = Sort.by("registration");
+
+    @Autowired
+    private CarRepository carRepository;
+
+    @Autowired
+    private InterventionRepository interventionRepository;
+
+    @Autowired
+    private AttachmentRepository attachmentRepository;
+
+    @Autowired
+    private TableVersionRepository tableVersionRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Integer carId;
+
+    private Integer interventionId;
+
+    /**
+     * Initialization method called before all tests.
+     */
+    @BeforeEach
+    void initialize() {
+        this.jdbcTemplate.update("INSERT INTO attachments (hash, size) VALUES ('hash', 4)");
+        this.jdbcTemplate.update("INSERT INTO cars (owner, registration, brand, model, pictureId) SELECT 'Owner', 'AA-111-AA', 'Renault', 'Clio', id "
+            + "FROM attachments");
+        this.carId = this.jdbcTemplate.queryForObject("SELECT id FROM cars", Integer.class);
+        this.jdbcTemplate.update("INSERT INTO interventions (carId, year, number, status, description) VALUES (?, 2026, 1, 'DONE', 'Vidange')", this.carId);
+        this.interventionId = this.jdbcTemplate.queryForObject("SELECT id FROM interventions", Integer.class);
+        this.jdbcTemplate.update("INSERT INTO operations (interventionId, label) SELECT id, 'Vidange' FROM interventions");
+        this.jdbcTemplate.update("INSERT INTO operationLines (operationId, type, description) SELECT id, 'TODO', 'Huile' FROM operations");
+    }
+
+    /**
+     * Cleaning method called after all tests.
+     */
+    @AfterEach
+    void clean() {
+        this.jdbcTemplate.update("DELETE FROM operationLines");
+        this.jdbcTemplate.update("DELETE FROM operations");
+        this.jdbcTemplate.update("DELETE FROM interventions");
+        this.jdbcTemplate.update("DELETE FROM cars");
+        this.jdbcTemplate.update("DELETE FROM attachments");
+    }
+
+    /**
+     * Tests the query plans of the {@link CarRepository#findById} method, loading the whole graph of a car by its ID.
+     */
+    @Test
+    @DisplayName("Car repository - find by ID")
+    void testCarFindById() {
+        assertEquals(Set.of(), this.findScannedTables(() -> this.carRepository.findById(this.carId)), "Result different from expected");
+    }
+
+    /**
+     * Tests the query plans of the {@link CarRepository#findAllWithInterventionsByIds} method.
+     */
+    @Test
+    @DisplayName("Car repository - find all with interventions by IDs")
+    void testCarFindAllWithInterventionsByIds() {
+        assertEquals(Set.of(), this.findScannedTables(() -> this.carRepository.findAllWithInterventionsByIds(List.of(this.carId), SORT)),
+            "Result different from expected");
+    }
+
+    /**
+     * Tests the query plans of the {@link CarRepository#findAllWithInterventions} method, which scans the cars only.
+     */
+    @Test
+    @DisplayName("Car repository - find all with interventions")
+    void testCarFindAllWithInterventions() {
+        assertEquals(Set.of("cars"), this.findScannedTables(() -> this.carRepository.findAllWithInterventions(SORT)), "Result different from expected");
+    }
+
+    /**
+     * Tests the query plans of the {@link CarRepository#findSlice} method, which scans the cars only.
+     */
+    @Test
+    @DisplayName("Car repository - find slice")
+    void testCarFindSlice() {
+        assertEquals(Set.of("cars"), this.findScannedTables(() -> this.carRepository.findSlice(null, PageRequest.of(0, 10, SORT))),
+            "Result different from expected");
+    }
+
+    /**
+     * Tests the query plans of the {@link CarRepository#findSlice} method sorted by the summary of the interventions, which reads the cars in the order of
+     * an index instead of sorting them all, only the ties being sorted by ID.
+     */
+    @Test
+    @DisplayName("Car repository - find slice by summary")
+    void testCarFindSliceBySummary() {
+        final var details = this.explain(() -> {
+            this.carRepository.findSlice(null, PageRequest.of(0, 10, Keyset.withTieBreaker(Sort.by(Direction.DESC, "lastInterventionDate"))));
+            this.carRepository.findSlice(null, PageRequest.of(0, 10, Keyset.withTieBreaker(Sort.by(Direction.DESC, "balance"))));
+        });
+        assertAll("Result different from expected",
+            () -> assertTrue(details.stream().anyMatch(detail -> detail.endsWith("USING INDEX idxCarsLastInterventionDate"))),
+            () -> assertTrue(details.stream().anyMatch(detail -> detail.endsWith("USING INDEX idxCarsBalance"))),
+            () -> assertTrue(details.stream().noneMatch(detail -> detail.startsWith("USE TEMP B-TREE FOR ORDER BY"))));
+    }
+
+    /**
+     * Tests the query plans of the {@link CarRepository#findSummaries} method, which scans the cars only.
+     */
+    @Test
+    @DisplayName("Car repository - find summaries")
+    void testCarFindSummaries() {
+        assertEquals(Set.of("cars"), this.findScannedTables(() -> this.carRepository.findSummaries(SORT)), "Result different from expected");
+    }
+
+    /**
+     * Tests the query plans of the {@link CarRepository#search} method, which searches the full-text indexes.
+     */
+    @Test
+    @DisplayName("Car repository - search")
+    void testCarSearch() {
+        assertEquals(Set.of(), this.findScannedTables(() -> this.carRepository.search("Clio vidange", PageRequest.of(0, 10))),
+            "Result different from expected");
+    }
+
+    /**
+     * Tests the query plans of the {@link CarRepository#deleteById} method, deleting the whole graph of a car.
+     */
+    @Test
+    @DisplayName("Car repository - delete by ID")
+    void testCarDeleteById() {
+        assertEquals(Set.of(), this.findScannedTables(() -> this.carRepository.deleteById(this.carId)), "Result different from expected");
+    }
+
+    /**
+     * Tests the query plans of the {@link InterventionRepository} methods reading one intervention.
+     */
+    @Test
+    @DisplayName("Intervention repository - single intervention")
+    void testInterventionSingle() {
+        assertEquals(Set.of(), this.findScannedTables(() -> {
+            assertTrue(this.interventionRepository.findById(this.interventionId).isPresent(), "Intervention not found");
+            this.interventionRepository.findByYearAndNumber(2026, 1);
+        }), "Result different from expected");
+    }
+
+    /**
+     * Tests the query plans of the {@link InterventionRepository#findSlice} method filtering the interventions by status, by year, or by car and mileage.
+     */
+    @Test
+    @DisplayName("Intervention repository - find slice")
+    void testInterventionFindSlice() {
+        final var pageRequest = PageRequest.of(0, 10, Keyset.withTieBreaker(Sort.by("year", "number")));
+        assertEquals(Set.of(), this.findScannedTables(() -> {
+            this.interventionRepository.findSlice(InterventionSpecifications.hasStatus(List.of("Diagnostic", "Commande")), pageRequest);
+            this.interventionRepository.findSlice(InterventionSpecifications.hasYear(2026), pageRequest);
+            this.interventionRepository.findSlice(Specification.where(InterventionSpecifications.hasCar(this.carId))
+                .and(InterventionSpecifications.hasMileageBetween(1000, 20000)), pageRequest);
+        }), "Result different from expected");
+    }
+
+    /**
+     * Tests the query plans of the {@link InterventionRepository#findStats} method, which scans the aggregates only.
+     */
+    @Test
+    @DisplayName("Intervention repository - find stats")
+    void testInterventionFindStats() {
+        assertEquals(Set.of("interventionsStats"), this.findScannedTables(() -> this.interventionRepository.findStats(2026)), "Result different from expected");
+    }
+
+    /**
+     * Tests the query plans of the {@link AttachmentRepository} methods reading or deleting one attachment.
+     */
+    @Test
+    @DisplayName("Attachment repository - single attachment")
+    void testAttachmentSingle() {
+        assertEquals(Set.of(), this.findScannedTables(() -> {
+            this.attachmentRepository.findPictureSummaryByCarId(this.carId);
+            this.attachmentRepository.findCertificateSummaryByCarId(this.carId);
+            this.attachmentRepository.findByHash("hash");
+            this.attachmentRepository.deleteIfUnreferenced(this.carId);
+        }), "Result different from expected");
+    }
+
+    /**
+     * Tests the query plans of the {@link TableVersionRepository#findCarsSummary} method.
+     */
+    @Test
+    @DisplayName("Table version repository - find cars summary")
+    void testTableVersionFindCarsSummary() {
+        assertEquals(Set.of(), this.findScannedTables(() -> this.tableVersionRepository.findCarsSummary()), "Result different from expected");
+    }
+
+    /**
+     * Calls the given repositories methods without second-level cache, and finds the tables scanned by the statements they issued.
+     *
+     * @param call
+     *     The call of the repositories methods
+     *
+     * @return the names of the scanned tables, the virtual ones excepted
+     */
+    private Set<String> findScannedTables(final Runnable call) {
+        final var details = this.explain(call);
+        final var tables = new HashSet<>(this.jdbcTemplate.queryForList("SELECT name FROM sqlite_master WHERE type = 'table' "
+            + "AND sql NOT LIKE 'CREATE VIRTUAL TABLE%'", String.class));
+        final Set<String> scannedTables = new HashSet<>();
+        for (final var detail : details) {
+            final var matcher = SCAN_PATTERN.matcher(detail);
+            if (matcher.find() && tables.contains(matcher.group(1))) {
+                scannedTables.add(matcher.group(1));
+            }
+        }
+        return scannedTables;
+    }
+
+    /**
+     * Calls the given repositories methods without second-level cache, and explains the query plans of the statements they issued.
+     *
+     * @param call
+     *     The call of the repositories methods
+     *
+     * @return the details of the steps of the query plans
+     */
+    private List<String> explain(final Runnable call) {
+        this.entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+        StatementRecorder.STATEMENTS.clear();
+        call.run();
+        final var statements = new ArrayList<>(StatementRecorder.STATEMENTS);
+        assertFalse(statements.isEmpty(), "No statement issued");
+
+        return this.jdbcTemplate.execute((ConnectionCallback<List<String>>) connection -> {
+            final List<String> details = new ArrayList<>();
+            for (final var statement : statements) {
+                try (final var explainStatement = connection.prepareStatement("EXPLAIN QUERY PLAN " + statement)) {
+                    // The plans don't depend on the values of the parameters
+                    for (var index = 1; index <= explainStatement.getParameterMetaData().getParameterCount(); index++) {
+                        explainStatement.setNull(index, Types.NULL);
+                    }
+                    try (final var resultSet = explainStatement.executeQuery()) {
+                        while (resultSet.next()) {
+                            details.add(resultSet.getString("detail"));
+                        }
+                    }
+                }
+            }
+            return details;
+        });
+    }
+
+    /**
+     * Hibernate statement inspector recording the statements issued by the tested methods.
+     */
+    public static class StatementRecorder implements StatementInspector {
+
+        private static final long serialVersionUID = 7120913654418272304L;
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public String inspect(final String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+
+    }
+
+}
@@ -0,0 +1,32 @@
+package fr.foacs.hostocars.repository;
+
+import fr.foacs.hostocars.configuration.CacheConfig;
+import fr.foacs.hostocars.configuration.PersistenceConfig;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+
+/**
+ * Annotation for the test classes run on a SQLite database migrated by Liquibase and configured with the application properties, with the caches and the
+ * persistence configuration of the application.
+ * <br/>
+ * <br/>
+ * Each test class declares the file of its database with a {@link TestPropertySource} setting {@code spring.datasource.url}, so that the test classes don't
+ * share their data.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@DataJpaTest(showSql = false)
+@AutoConfigureTestDatabase(replace = Replace.NONE)
+@Import({CacheConfig.class, PersistenceConfig.class})
+@TestPropertySource(locations = "file:src/main/resources/application.properties",
+    properties = {"spring.autoconfigure.exclude=", "spring.liquibase.enabled=true", "attachment.store.directory=./target/test-attachments",
+        "logging.file.name=", "logging.level.root=OFF", "logging.level.fr.foacs.hostocars=OFF"})
+public @interface SqliteDataJpaTest {
+}
@@ -0,0 +1,198 @@
+package fr.foacs.hostocars.repository;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import javax.imageio.ImageIO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.MediaType;
+
+/**
+ * Test class for the {@link ThumbnailStore} class.
+ */
+@DisplayName("Thumbnail store")
+class ThumbnailStoreTest {
+
+    @TempDir
+    Path directory;
+
+    private AttachmentRepository repository;
+
+    private AttachmentStore attachmentStore;
+
+    private ThumbnailStore thumbnailStore;
+
+    /**
+     * Initialization method called before all tests.
+     */
+    @BeforeEach
+    void initialize() {
+        this.repository = mock(AttachmentRepository.class);
+        this.attachmentStore = new AttachmentStore(this.repository, mock(WriteExecutor.class), this.directory.resolve("attachments"), Duration.ofHours(1));
+        this.thumbnailStore = new ThumbnailStore(this.repository, this.attachmentStore, this.directory.resolve("thumbnails"), List.of(40, 20),
+            Duration.ofHours(1), 1, 1);
+    }
+
+    /**
+     * Cleaning method called after all tests.
+     */
+    @AfterEach
+    void destroy() throws InterruptedException {
+        this.thumbnailStore.destroy();
+    }
+
+    /**
+     * Writes a PNG picture in the attachment files.
+     *
+     * @param width
+     *     The width of the picture
+     * @param height
+     *     The height of the picture
+     *
+     * @return the hash of the picture
+     *
+     * @throws IOException
+     *     if the picture cannot be written
+     */
+    private String writePicture(final int width, final int height) throws IOException {
+        final var outputStream = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB), "png", outputStream);
+        return new AttachmentFiles(this.directory.resolve("attachments")).write(new ByteArrayInputStream(outputStream.toByteArray())).getHash();
+    }
+
+    /**
+     * Tests the {@link ThumbnailStore#scale} method.
+     */
+    @Test
+    @DisplayName("Scale")
+    void testScale() {
+        // Calls the methods
+        final var landscape = ThumbnailStore.scale(new BufferedImage(400, 100, BufferedImage.TYPE_INT_ARGB), 40);
+        final var portrait = ThumbnailStore.scale(new BufferedImage(30, 90, BufferedImage.TYPE_INT_RGB), 45);
+        final var small = ThumbnailStore.scale(new BufferedImage(10, 5, BufferedImage.TYPE_INT_RGB), 40);
+
+        // Checks the results
+        assertAll("Result different from expected", () -> assertEquals(40, landscape.getWidth()), () -> assertEquals(10, landscape.getHeight()),
+            () -> assertEquals(15, portrait.getWidth()), () -> assertEquals(45, portrait.getHeight()), () -> assertEquals(10, small.getWidth()),
+            () -> assertEquals(5, small.getHeight()), () -> assertEquals(BufferedImage.TYPE_INT_RGB, landscape.getType()));
+    }
+
+    /**
+     * Tests the {@link ThumbnailStore#generateThumbnails} and {@link ThumbnailStore#findThumbnail} methods.
+     *
+     * @throws IOException
+     *     if the thumbnails cannot be generated
+     */
+    @Test
+    @DisplayName("Generate thumbnails")
+    void testGenerateThumbnails() throws IOException {
+        // Prepares the inputs
+        final var hash = this.writePicture(200, 100);
+        final var picture = mock(AttachmentSummary.class);
+        when(picture.getId()).thenReturn(1);
+        when(picture.getHash()).thenReturn(hash);
+
+        // Calls the method
+        this.thumbnailStore.generateThumbnails(hash);
+
+        // Checks the results
+        final var thumbnail = this.thumbnailStore.findThumbnail(picture, 30);
+        assertAll("Thumbnail different from expected", () -> assertEquals(1, thumbnail.getId()), () -> assertEquals(hash + "-40", thumbnail.getHash()),
+            () -> assertEquals(MediaType.IMAGE_JPEG_VALUE, thumbnail.getContentType()),
+            () -> assertEquals(Files.size(this.thumbnailStore.resolve(thumbnail.getHash())), (long) thumbnail.getSize()));
+        final var image = ImageIO.read(this.thumbnailStore.resolve(hash + "-20").toFile());
+        assertAll("Image different from expected", () -> assertEquals(20, image.getWidth()), () -> assertEquals(10, image.getHeight()));
+        assertEquals(hash + "-40", this.thumbnailStore.findThumbnail(picture, 100).getHash(), "Largest thumbnail different from expected");
+        assertEquals(this.attachmentStore.resolve(hash), this.thumbnailStore.resolve(hash), "Picture path different from expected");
+    }
+
+    /**
+     * Tests the {@link ThumbnailStore#findThumbnail} method when the thumbnail isn't generated yet.
+     *
+     * @throws IOException
+     *     if the picture cannot be written
+     */
+    @Test
+    @DisplayName("Find thumbnail (not generated yet)")
+    void testFindThumbnailWithoutGeneratedThumbnail() throws IOException {
+        // Prepares the inputs
+        final var picture = mock(AttachmentSummary.class);
+        when(picture.getHash()).thenReturn(this.writePicture(10, 10));
+
+        // Calls the method
+        final var result = this.thumbnailStore.findThumbnail(picture, 20);
+
+        // Checks the result
+        assertSame(picture, result, "Result different from expected");
+    }
+
+    /**
+     * Tests the {@link ThumbnailStore#generateThumbnails} method with a picture which isn't an image.
+     *
+     * @throws IOException
+     *     if the picture cannot be written
+     */
+    @Test
+    @DisplayName("Generate thumbnails (not an image)")
+    void testGenerateThumbnailsWithoutImage() throws IOException {
+        // Prepares the inputs
+        final var hash = new AttachmentFiles(this.directory.resolve("attachments")).write(new ByteArrayInputStream(new byte[] {1, 2, 3})).getHash();
+
+        // Calls the method
+        this.thumbnailStore.generateThumbnails(hash);
+
+        // Checks the result
+        assertFalse(Files.exists(this.thumbnailStore.resolve(hash + "-20")), "Thumbnail unexpectedly generated");
+    }
+
+    /**
+     * Tests the {@link ThumbnailStore#backfill} method deleting the thumbnails of deleted pictures.
+     *
+     * @throws IOException
+     *     if the thumbnails cannot be generated
+     */
+    @Test
+    @DisplayName("Backfill (deleted picture)")
+    void testBackfillWithDeletedPicture() throws IOException {
+        // Prepares the inputs
+        final var deletedHash = this.writePicture(50, 50);
+        final var keptHash = this.writePicture(60, 60);
+        this.thumbnailStore.generateThumbnails(deletedHash);
+        this.thumbnailStore.generateThumbnails(keptHash);
+        final var oldTime = FileTime.from(Instant.now().minus(Duration.ofDays(1)));
+        for (final var hash : List.of(deletedHash + "-20", deletedHash + "-40", keptHash + "-20", keptHash + "-40")) {
+            Files.setLastModifiedTime(this.thumbnailStore.resolve(hash), oldTime);
+        }
+
+        // Mocks the calls
+        when(this.repository.findAllPictureHashes()).thenReturn(List.of(keptHash));
+
+        // Calls the method
+        this.thumbnailStore.backfill();
+
+        // Checks the result
+        assertAll("Thumbnails different from expected", () -> assertFalse(Files.exists(this.thumbnailStore.resolve(deletedHash + "-40"))),
+            () -> assertFalse(Files.exists(this.thumbnailStore.resolve(deletedHash + "-20"))),
+            () -> assertTrue(Files.exists(this.thumbnailStore.resolve(keptHash + "-40"))));
+    }
+
+}
@@ -0,0 +1,229 @@
+package fr.foacs.hostocars.repository;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionSystemException;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+/**
+ * Test class for the {@link WriteExecutor} class.
+ */
+@DisplayName("Write executor")
+class WriteExecutorTest {
+
+    private static final int MAX_GROUP_SIZE = 3;
+
+    // The groups are only closed once full, so that the writes of a test are committed together
+    private static final Duration MAX_DELAY = Duration.ofMinutes(1);
+
+    private PlatformTransactionManager transactionManager;
+
+    private EntityManager entityManager;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private WriteExecutor writeExecutor;
+
+    /**
+     * Initialization method called before all tests.
+     */
+    @BeforeEach
+    void initialize() {
+        this.transactionManager = mock(PlatformTransactionManager.class);
+        when(this.transactionManager.getTransaction(any())).then(invocation -> new SimpleTransactionStatus());
+        this.entityManager = mock(EntityManager.class);
+        this.meterRegistry = new SimpleMeterRegistry();
+    }
+
+    /**
+     * Cleaning method called after all tests.
+     *
+     * @throws InterruptedException
+     *     if the executor thread is interrupted
+     */
+    @AfterEach
+    void clean() throws InterruptedException {
+        this.writeExecutor.destroy();
+    }
+
+    /**
+     * Tests the {@link WriteExecutor#submit} method with a group of writes.
+     */
+    @Test
+    @DisplayName("Submit (group of writes)")
+    void testSubmit() {
+        // Prepares the inputs
+        this.createWriteExecutor(MAX_DELAY);
+
+        // Calls the method
+        final var futures = this.submit(0, 1, 2);
+
+        // Checks the result
+        assertEquals(List.of(0, 1, 2), this.join(futures), "Result different from expected");
+
+        // Checks the mocks calls
+        verify(this.transactionManager).commit(any());
+        verify(this.entityManager, times(MAX_GROUP_SIZE)).flush();
+        verify(this.entityManager, times(MAX_GROUP_SIZE)).clear();
+
+        // Checks the metrics
+        final var groupSizes = this.meterRegistry.get("write.group.size").summary();
+        assertAll("Metrics different from expected", () -> assertEquals(1, groupSizes.count()), () -> assertEquals(MAX_GROUP_SIZE, groupSizes.totalAmount()),
+            () -> assertEquals(0, this.meterRegistry.get("write.queue.depth").gauge().value()));
+    }
+
+    /**
+     * Tests the {@link WriteExecutor#submit} method with a failing write in a group.
+     */
+    @Test
+    @DisplayName("Submit (failing write)")
+    void testSubmitWithFailingWrite() {
+        // Prepares the inputs
+        this.createWriteExecutor(MAX_DELAY);
+        final var exception = new OptimisticLockingFailureException("Conflict");
+        final var firstWriteCount = new AtomicInteger();
+
+        // Calls the method
+        final var first = this.writeExecutor.submit(firstWriteCount::incrementAndGet);
+        final var second = this.writeExecutor.submit(() -> {
+            throw exception;
+        });
+        final var third = this.writeExecutor.submit(() -> 3);
+
+        // Checks the result
+        final var thrown = assertThrows(CompletionException.class, second::join, "Expected exception not thrown");
+        assertAll("Result different from expected", () -> assertSame(exception, thrown.getCause()), () -> assertEquals(2, first.join()),
+            () -> assertEquals(3, third.join()));
+
+        // Checks the mocks calls
+        verify(this.transactionManager, times(2)).commit(any());
+    }
+
+    /**
+     * Tests the {@link WriteExecutor#submit} method with a group which can't be committed.
+     */
+    @Test
+    @DisplayName("Submit (group not committed)")
+    void testSubmitWithGroupNotCommitted() {
+        // Prepares the inputs
+        this.createWriteExecutor(MAX_DELAY);
+
+        // Mocks the calls
+        doThrow(new TransactionSystemException("Commit failed")).doNothing().when(this.transactionManager).commit(any());
+
+        // Calls the method
+        final var futures = this.submit(0, 1, 2);
+
+        // Checks the result
+        assertEquals(List.of(0, 1, 2), this.join(futures), "Result different from expected");
+
+        // Checks the mocks calls
+        verify(this.transactionManager, times(1 + MAX_GROUP_SIZE)).commit(any());
+    }
+
+    /**
+     * Tests the {@link WriteExecutor#execute} method with a failing write.
+     */
+    @Test
+    @DisplayName("Execute (failing write)")
+    void testExecuteWithFailingWrite() {
+        // Prepares the inputs
+        this.createWriteExecutor(Duration.ZERO);
+        final var exception = new IllegalArgumentException("Invalid");
+
+        // Calls the method
+        final var thrown = assertThrows(IllegalArgumentException.class, () -> this.writeExecutor.execute(() -> {
+            throw exception;
+        }), "Expected exception not thrown");
+
+        // Checks the result
+        assertSame(exception, thrown, "Result different from expected");
+    }
+
+    /**
+     * Tests the {@link WriteExecutor#submit} method once the executor is closed.
+     *
+     * @throws InterruptedException
+     *     if the executor thread is interrupted
+     */
+    @Test
+    @DisplayName("Submit (closed executor)")
+    void testSubmitWhenClosed() throws InterruptedException {
+        // Prepares the inputs
+        this.createWriteExecutor(MAX_DELAY);
+        final var future = this.writeExecutor.submit(() -> 0);
+
+        // Calls the method
+        this.writeExecutor.destroy();
+
+        // Checks the result
+        assertAll("Result different from expected", () -> assertEquals(0, future.join()),
+            () -> assertThrows(IllegalStateException.class, () -> this.writeExecutor.submit(() -> 1)));
+    }
+
+    /**
+     * Creates the tested {@link WriteExecutor}, committing the groups of {@link #MAX_GROUP_SIZE} writes.
+     *
+     * @param maxDelay
+     *     The maximal time waited for other writes
+     */
+    private void createWriteExecutor(final Duration maxDelay) {
+        this.writeExecutor = new WriteExecutor(this.transactionManager, this.meterRegistry, MAX_GROUP_SIZE, maxDelay);
+        ReflectionTestUtils.setField(this.writeExecutor, "entityManager", this.entityManager);
+    }
+
+    /**
+     * Submits writes returning the given results.
+     *
+     * @param results
+     *     The results of the writes
+     *
+     * @return the futures of the writes
+     */
+    private List<CompletableFuture<Integer>> submit(final Integer... results) {
+        final var futures = new ArrayList<CompletableFuture<Integer>>(results.length);
+        for (final var result : results) {
+            futures.add(this.writeExecutor.submit(() -> result));
+        }
+        return futures;
+    }
+
+    /**
+     * Waits for the results of the given futures.
+     *
+     * @param futures
+     *     The futures
+     *
+     * @return the results
+     */
+    private List<Integer> join(final List<CompletableFuture<Integer>> futures) {
+        final var results = new ArrayList<Integer>(futures.size());
+        futures.forEach(future -> results.add(future.join()));
+        return results;
+    }
+
+}